@@ -0,0 +1,114 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Conjunto;
+import mx.unam.ciencias.edd.ConjuntoBits;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara la intersección y la unión de dos {@link Conjunto} de enteros contra
+ * las de dos {@link ConjuntoBits}, para conjuntos de identificadores tomados de
+ * un dominio denso con la densidad dada en porcentaje.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkConjuntos {
+
+    /** Tamaño del dominio. */
+    @Param({ "100000" })
+    public int dominio;
+
+    /** Porcentaje del dominio que tiene cada conjunto. */
+    @Param({ "1", "10", "50" })
+    public int densidad;
+
+    /* Los conjuntos con diccionario. */
+    private Conjunto<Integer> a, b;
+    /* Los conjuntos de bits. */
+    private ConjuntoBits x, y;
+
+    /**
+     * Genera dos conjuntos aleatorios con la densidad dada.
+     */
+    @Setup
+    public void genera() {
+        Random random = new Random(1);
+        a = new Conjunto<>();
+        b = new Conjunto<>();
+        x = new ConjuntoBits();
+        y = new ConjuntoBits();
+        for (int i = 0; i < dominio; i++) {
+            if (random.nextInt(100) < densidad) {
+                a.agrega(i);
+                x.agrega(i);
+            }
+            if (random.nextInt(100) < densidad) {
+                b.agrega(i);
+                y.agrega(i);
+            }
+        }
+        x.compacta();
+        y.compacta();
+    }
+
+    /**
+     * Intersección de dos {@link Conjunto}.
+     * @return la intersección.
+     */
+    @Benchmark
+    public Conjunto<Integer> interseccionConjunto() {
+        return a.interseccion(b);
+    }
+
+    /**
+     * Intersección de dos {@link ConjuntoBits}.
+     * @return la intersección.
+     */
+    @Benchmark
+    public ConjuntoBits interseccionBits() {
+        return x.interseccion(y);
+    }
+
+    /**
+     * Cardinalidad de la intersección de dos {@link ConjuntoBits}, sin
+     * construirla.
+     * @return la cardinalidad.
+     */
+    @Benchmark
+    public int cardinalidadBits() {
+        return x.cardinalidadInterseccion(y);
+    }
+
+    /**
+     * Unión de dos {@link Conjunto}.
+     * @return la unión.
+     */
+    @Benchmark
+    public Conjunto<Integer> unionConjunto() {
+        return a.union(b);
+    }
+
+    /**
+     * Unión de dos {@link ConjuntoBits}.
+     * @return la unión.
+     */
+    @Benchmark
+    public ConjuntoBits unionBits() {
+        return x.union(y);
+    }
+}
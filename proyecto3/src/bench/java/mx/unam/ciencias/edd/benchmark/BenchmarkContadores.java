@@ -0,0 +1,124 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.ContadorCadenas;
+import mx.unam.ciencias.edd.Diccionario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara el conteo de palabras con {@link Diccionario} contra el conteo con
+ * {@link ContadorCadenas}, sobre un corpus cuyas frecuencias siguen una ley de
+ * Zipf, como las de las palabras de un texto.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkContadores {
+
+    /** Número de palabras del corpus. */
+    public static final int PALABRAS = 1 << 20;
+
+    /** Número de palabras distintas. */
+    @Param({ "1000", "100000" })
+    public int vocabulario;
+
+    /** Exponente de la ley de Zipf. */
+    @Param({ "1.0" })
+    public double exponente;
+
+    /* El corpus. */
+    private String[] corpus;
+
+    /**
+     * Genera el corpus. Cada palabra es una cadena nueva, como las que produce el
+     * lector, para que las comparaciones no se resuelvan por identidad.
+     */
+    @Setup(Level.Trial)
+    public void generaCorpus() {
+        double[] acumuladas = new double[vocabulario];
+        double suma = 0;
+        for (int i = 0; i < vocabulario; i++) {
+            suma += 1.0 / Math.pow(i + 1, exponente);
+            acumuladas[i] = suma;
+        }
+        Random random = new Random(1);
+        corpus = new String[PALABRAS];
+        for (int i = 0; i < PALABRAS; i++) {
+            double u = random.nextDouble() * suma;
+            int a = 0, b = vocabulario - 1;
+            while (a < b) {
+                int m = (a + b) >>> 1;
+                if (acumuladas[m] < u)
+                    a = m + 1;
+                else
+                    b = m;
+            }
+            corpus[i] = new String("palabra" + Integer.toString(a, 36));
+        }
+    }
+
+    /**
+     * Cuenta el corpus con {@link Diccionario} usando <code>contiene</code>,
+     * <code>get</code> y <code>agrega</code>.
+     * @return el número de palabras distintas.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PALABRAS)
+    public int diccionario() {
+        Diccionario<String, Integer> palabras = new Diccionario<>();
+        for (String palabra : corpus) {
+            if (!palabras.contiene(palabra))
+                palabras.agrega(palabra, 1);
+            else
+                palabras.agrega(palabra, palabras.get(palabra) + 1);
+        }
+        return palabras.getElementos();
+    }
+
+    /**
+     * Cuenta el corpus con {@link ContadorCadenas}.
+     * @return el número de palabras distintas.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PALABRAS)
+    public int contadorCadenas() {
+        ContadorCadenas palabras = new ContadorCadenas();
+        for (String palabra : corpus)
+            palabras.incrementa(palabra);
+        return palabras.getElementos();
+    }
+
+    /**
+     * Cuenta el corpus con {@link ContadorCadenas} a partir de los caracteres de
+     * cada palabra, como lo hace {@link mx.unam.ciencias.edd.proyecto3.reportes.Archivo}.
+     * @return el número de palabras distintas.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PALABRAS)
+    public int contadorCaracteres() {
+        ContadorCadenas palabras = new ContadorCadenas();
+        char[] buffer = new char[32];
+        for (String palabra : corpus) {
+            int n = palabra.length();
+            palabra.getChars(0, n, buffer, 0);
+            palabras.incrementa(buffer, 0, n);
+        }
+        return palabras.getElementos();
+    }
+}
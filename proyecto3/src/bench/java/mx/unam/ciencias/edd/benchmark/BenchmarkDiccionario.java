@@ -0,0 +1,188 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.AlgoritmoDispersor;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.Dispersor;
+import mx.unam.ciencias.edd.FabricaDispersores;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara las formas de actualizar un valor de {@link Diccionario}: con
+ * <code>contiene</code>, <code>get</code> y <code>agrega</code>, o con una sola
+ * búsqueda usando {@link Diccionario#combina} o {@link Diccionario#calcula}.
+ * Para ver las asignaciones por actualización hay que correrlo con
+ * <code>-prof gc</code> y consultar <code>gc.alloc.rate.norm</code>.
+ *
+ * También mide la distribución del tiempo de una sola inserción en un
+ * diccionario que crece, cuyos percentiles altos muestran las pausas al
+ * cambiar de tamaño, y el tiempo de llenar un diccionario de cadenas con un
+ * dispersor de {@link FabricaDispersores}, que crece muchas veces.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkDiccionario {
+
+    /** Número de actualizaciones por invocación. */
+    public static final int ACTUALIZACIONES = 1 << 16;
+
+    /** Número de llaves distintas. */
+    @Param({ "1000" })
+    public int llaves;
+
+    /* Las llaves a actualizar, en orden aleatorio. */
+    private String[] orden;
+    /* El diccionario, con todas las llaves ya presentes. */
+    private Diccionario<String, Integer> diccionario;
+
+    /** Diccionario que sólo crece, para medir inserciones individuales. */
+    @State(Scope.Thread)
+    public static class Creciente {
+        /** Número de llaves tras el cual se empieza de nuevo. */
+        public static final int MAXIMO = 1 << 22;
+
+        /* El diccionario. */
+        private Diccionario<Integer, Integer> diccionario;
+        /* La siguiente llave. */
+        private int llave;
+
+        /** Crea un diccionario vacío en cada iteración. */
+        @Setup(Level.Iteration)
+        public void reinicia() {
+            diccionario = new Diccionario<>();
+            llave = 0;
+        }
+    }
+
+    /** Cadenas distintas y el dispersor con el que se agregan. */
+    @State(Scope.Benchmark)
+    public static class Cadenas {
+        /** Número de cadenas. */
+        public static final int CADENAS = 1 << 18;
+
+        /** Algoritmo del dispersor. */
+        @Param({ "BJ_STRING" })
+        public AlgoritmoDispersor algoritmo;
+
+        /* Las cadenas. */
+        private String[] cadenas;
+        /* El dispersor. */
+        private Dispersor<String> dispersor;
+
+        /** Genera las cadenas. */
+        @Setup(Level.Trial)
+        public void genera() {
+            dispersor = FabricaDispersores.dispersorCadena(algoritmo);
+            cadenas = new String[CADENAS];
+            for (int i = 0; i < CADENAS; i++)
+                cadenas[i] = "palabra" + Integer.toString(i, 36);
+        }
+    }
+
+    /**
+     * Genera las llaves y llena el diccionario.
+     */
+    @Setup(Level.Trial)
+    public void genera() {
+        String[] distintas = new String[llaves];
+        diccionario = new Diccionario<>();
+        for (int i = 0; i < llaves; i++) {
+            distintas[i] = "llave" + i;
+            diccionario.agrega(distintas[i], 0);
+        }
+        Random random = new Random(1);
+        orden = new String[ACTUALIZACIONES];
+        for (int i = 0; i < ACTUALIZACIONES; i++)
+            orden[i] = distintas[random.nextInt(llaves)];
+    }
+
+    /**
+     * Incrementa los valores con <code>contiene</code>, <code>get</code> y
+     * <code>agrega</code>.
+     * @return el diccionario actualizado.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ACTUALIZACIONES)
+    public Diccionario<String, Integer> contieneGetAgrega() {
+        for (String llave : orden) {
+            if (!diccionario.contiene(llave))
+                diccionario.agrega(llave, 1);
+            else
+                diccionario.agrega(llave, diccionario.get(llave) + 1);
+        }
+        return diccionario;
+    }
+
+    /**
+     * Incrementa los valores con {@link Diccionario#combina}.
+     * @return el diccionario actualizado.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ACTUALIZACIONES)
+    public Diccionario<String, Integer> combina() {
+        for (String llave : orden)
+            diccionario.combina(llave, 1, Integer::sum);
+        return diccionario;
+    }
+
+    /**
+     * Incrementa los valores con {@link Diccionario#calcula}.
+     * @return el diccionario actualizado.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ACTUALIZACIONES)
+    public Diccionario<String, Integer> calcula() {
+        for (String llave : orden)
+            diccionario.calcula(llave, (k, v) -> (v == null) ? 1 : v + 1);
+        return diccionario;
+    }
+
+    /**
+     * Agrega una llave nueva a un diccionario que crece; en modo
+     * <code>SampleTime</code> reporta los percentiles del tiempo por inserción.
+     * @param creciente el diccionario que crece.
+     * @return el diccionario actualizado.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Diccionario<Integer, Integer> agregaCreciente(Creciente creciente) {
+        if (creciente.llave == Creciente.MAXIMO)
+            creciente.reinicia();
+        int llave = creciente.llave++;
+        creciente.diccionario.agrega(llave, llave);
+        return creciente.diccionario;
+    }
+
+    /**
+     * Llena un diccionario vacío con las cadenas, de modo que crece desde la
+     * capacidad mínima hasta tener todas las cadenas.
+     * @param cadenas las cadenas y el dispersor.
+     * @return el diccionario lleno.
+     */
+    @Benchmark
+    @OperationsPerInvocation(Cadenas.CADENAS)
+    public Diccionario<String, String> llenaCadenas(Cadenas cadenas) {
+        Diccionario<String, String> diccionario = new Diccionario<>(cadenas.dispersor);
+        for (String cadena : cadenas.cadenas)
+            diccionario.agrega(cadena, cadena);
+        return diccionario;
+    }
+}
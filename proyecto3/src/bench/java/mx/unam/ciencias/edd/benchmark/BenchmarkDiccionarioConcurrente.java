@@ -0,0 +1,110 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.DiccionarioConcurrente;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara los incrementos concurrentes en un {@link DiccionarioConcurrente}
+ * contra los incrementos en un solo {@link Diccionario} protegido por un
+ * candado global. El número de hilos se elige con la opción <code>-t</code> de
+ * JMH; para ver cómo escalan hay que correrlo con <code>-t 1</code>,
+ * <code>-t 2</code>, ..., <code>-t N</code>, o con <code>-t max</code>. El
+ * resultado es el rendimiento total de todos los hilos.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkDiccionarioConcurrente {
+
+    /** Número de incrementos por invocación. */
+    public static final int INCREMENTOS = 1 << 10;
+
+    /** Número de llaves distintas. */
+    @Param({ "100000" })
+    public int llaves;
+
+    /* Las llaves. */
+    private String[] distintas;
+    /* El diccionario concurrente. */
+    private DiccionarioConcurrente<String, Integer> concurrente;
+    /* El diccionario protegido por un candado global. */
+    private Diccionario<String, Integer> global;
+
+    /** Las llaves que incrementa cada hilo, en orden aleatorio. */
+    @State(Scope.Thread)
+    public static class Hilo {
+        /* Los índices de las llaves. */
+        private int[] orden;
+
+        /**
+         * Genera el orden de las llaves del hilo.
+         * @param benchmark el estado compartido.
+         */
+        @Setup(Level.Trial)
+        public void genera(BenchmarkDiccionarioConcurrente benchmark) {
+            Random random = new Random(Thread.currentThread().getId());
+            orden = new int[INCREMENTOS];
+            for (int i = 0; i < INCREMENTOS; i++)
+                orden[i] = random.nextInt(benchmark.llaves);
+        }
+    }
+
+    /**
+     * Genera las llaves y crea los diccionarios.
+     */
+    @Setup(Level.Trial)
+    public void genera() {
+        distintas = new String[llaves];
+        for (int i = 0; i < llaves; i++)
+            distintas[i] = "llave" + i;
+        concurrente = new DiccionarioConcurrente<>(64);
+        global = new Diccionario<>();
+    }
+
+    /**
+     * Incrementa las llaves del hilo en el diccionario concurrente.
+     * @param hilo las llaves del hilo.
+     * @return el diccionario.
+     */
+    @Benchmark
+    @OperationsPerInvocation(INCREMENTOS)
+    public DiccionarioConcurrente<String, Integer> concurrente(Hilo hilo) {
+        for (int i : hilo.orden)
+            concurrente.combina(distintas[i], 1, Integer::sum);
+        return concurrente;
+    }
+
+    /**
+     * Incrementa las llaves del hilo en el diccionario con candado global.
+     * @param hilo las llaves del hilo.
+     * @return el diccionario.
+     */
+    @Benchmark
+    @OperationsPerInvocation(INCREMENTOS)
+    public Diccionario<String, Integer> candadoGlobal(Hilo hilo) {
+        for (int i : hilo.orden) {
+            synchronized (global) {
+                global.combina(distintas[i], 1, Integer::sum);
+            }
+        }
+        return global;
+    }
+}
@@ -0,0 +1,86 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Grafica;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mide {@link Grafica#dijkstra} en una gráfica dispersa y en una completa.
+ * Con pesos enteros usa el montículo radix; con los mismos pesos más un medio
+ * usa el montículo indexado en la dispersa y el arreglo en la completa.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkDijkstra {
+
+    /** La gráfica: "dispersa", con 20000 vértices y grado promedio 8, o
+     *  "completa", con 600 vértices. */
+    @Param({ "dispersa", "completa" })
+    public String grafica;
+
+    /** Si los pesos son enteros. */
+    @Param({ "true", "false" })
+    public boolean enteros;
+
+    /* La gráfica. */
+    private Grafica<Integer> g;
+    /* El número de vértices. */
+    private int n;
+
+    /**
+     * Genera la gráfica con pesos entre 1 y 100, más un medio si no son
+     * enteros. La dispersa tiene un camino por todos los vértices para que
+     * sea conexa.
+     */
+    @Setup(Level.Trial)
+    public void generaGrafica() {
+        Random random = new Random(1);
+        double medio = enteros ? 0 : 0.5;
+        g = new Grafica<>();
+        if (grafica.equals("dispersa")) {
+            n = 20000;
+            for (int i = 0; i < n; i++)
+                g.agrega(i);
+            for (int i = 1; i < n; i++)
+                g.conecta(i - 1, i, 1 + random.nextInt(100) + medio);
+            for (int k = 0; k < 3 * n; k++) {
+                int a = random.nextInt(n), b = random.nextInt(n);
+                if (a != b && !g.sonVecinos(a, b))
+                    g.conecta(a, b, 1 + random.nextInt(100) + medio);
+            }
+        } else {
+            n = 600;
+            for (int i = 0; i < n; i++)
+                g.agrega(i);
+            for (int i = 0; i < n; i++)
+                for (int j = i + 1; j < n; j++)
+                    g.conecta(i, j, 1 + random.nextInt(100) + medio);
+        }
+    }
+
+    /**
+     * Calcula la trayectoria de peso mínimo entre el primer y el último
+     * vértice.
+     * @return el número de vértices de la trayectoria.
+     */
+    @Benchmark
+    public int dijkstra() {
+        return g.dijkstra(0, n - 1).getElementos();
+    }
+}
@@ -0,0 +1,81 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.AlgoritmoDispersor;
+import mx.unam.ciencias.edd.Dispersor;
+import mx.unam.ciencias.edd.FabricaDispersores;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara los dispersores de cadenas de {@link FabricaDispersores}, con
+ * palabras cortas y con cadenas largas. Para ver las asignaciones por cadena
+ * hay que correrlo con <code>-prof gc</code> y consultar
+ * <code>gc.alloc.rate.norm</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkDispersores {
+
+    /** Número de cadenas dispersadas por invocación. */
+    public static final int CADENAS = 1 << 12;
+
+    /** Algoritmo del dispersor. */
+    @Param({ "XOR_STRING", "BJ_STRING", "DJB_STRING", "MURMUR3_STRING", "XXHASH_STRING" })
+    public AlgoritmoDispersor algoritmo;
+
+    /** Longitud de las cadenas. */
+    @Param({ "8", "64" })
+    public int longitud;
+
+    /* Las cadenas. */
+    private String[] cadenas;
+    /* El dispersor. */
+    private Dispersor<String> dispersor;
+
+    /**
+     * Genera las cadenas, con algunas letras acentuadas, y el dispersor.
+     */
+    @Setup(Level.Trial)
+    public void genera() {
+        String letras = "abcdefghijklmnopqrstuvwxyzáéíóúñ";
+        Random random = new Random(1);
+        cadenas = new String[CADENAS];
+        char[] c = new char[longitud];
+        for (int i = 0; i < CADENAS; i++) {
+            for (int j = 0; j < longitud; j++)
+                c[j] = letras.charAt(random.nextInt(letras.length()));
+            cadenas[i] = new String(c);
+        }
+        dispersor = FabricaDispersores.dispersorCadena(algoritmo);
+    }
+
+    /**
+     * Dispersa todas las cadenas.
+     * @return la combinación de las dispersiones.
+     */
+    @Benchmark
+    @OperationsPerInvocation(CADENAS)
+    public int dispersa() {
+        int r = 0;
+        for (String cadena : cadenas)
+            r ^= dispersor.dispersa(cadena);
+        return r;
+    }
+}
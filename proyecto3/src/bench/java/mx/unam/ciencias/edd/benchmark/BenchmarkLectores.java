@@ -0,0 +1,131 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.proyecto3.io.LectorPalabra;
+import mx.unam.ciencias.edd.proyecto3.io.TokenizadorMapeado;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara el rendimiento de {@link LectorPalabra} con el de
+ * {@link TokenizadorMapeado}. El contador auxiliar <code>megabytes</code>
+ * reporta el rendimiento de cada lector en MB/s.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkLectores {
+
+    /** Palabras con las que se genera el archivo de prueba. */
+    private static final String[] PALABRAS = {
+        "árbol", "rojinegro", "estructura", "datos", "montículo", "gráfica",
+        "diccionario", "conjunto", "lista", "cola", "pila", "dispersor",
+        "niño", "canción", "pingüino", "año", "the", "quick", "brown", "fox"
+    };
+
+    /** Tamaño del archivo de prueba en MB. */
+    @Param({ "64" })
+    public int megabytes;
+
+    /* El archivo de prueba. */
+    private File archivo;
+
+    /** Contador con los MB leídos. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Leidos {
+        /** MB leídos; JMH lo reporta como MB/s. */
+        public double megabytes;
+
+        /** Reinicia el contador en cada iteración. */
+        @Setup(Level.Iteration)
+        public void reinicia() {
+            megabytes = 0;
+        }
+    }
+
+    /**
+     * Genera el archivo de prueba.
+     * @throws IOException si no se puede escribir el archivo.
+     */
+    @Setup(Level.Trial)
+    public void generaArchivo() throws IOException {
+        archivo = File.createTempFile("benchmark", ".txt");
+        archivo.deleteOnExit();
+        Random random = new Random(1);
+        long total = megabytes * 1024L * 1024L;
+        long escritos = 0;
+        try (BufferedWriter out = new BufferedWriter(
+                 new OutputStreamWriter(new FileOutputStream(archivo),
+                                        StandardCharsets.UTF_8))) {
+            while (escritos < total) {
+                String palabra = PALABRAS[random.nextInt(PALABRAS.length)];
+                out.write(palabra);
+                out.write(random.nextInt(12) == 0 ? '\n' : ' ');
+                escritos += palabra.getBytes(StandardCharsets.UTF_8).length + 1;
+            }
+        }
+    }
+
+    /** Borra el archivo de prueba. */
+    @TearDown(Level.Trial)
+    public void borraArchivo() {
+        archivo.delete();
+    }
+
+    /**
+     * Lee el archivo con {@link LectorPalabra}.
+     * @param leidos el contador de MB leídos.
+     * @return el número de palabras leídas.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Benchmark
+    public long lectorPalabra(Leidos leidos) throws IOException {
+        long n = 0;
+        try (LectorPalabra in = new LectorPalabra(archivo)) {
+            while (in.leePalabra() != null)
+                n++;
+        }
+        leidos.megabytes += megabytes;
+        return n;
+    }
+
+    /**
+     * Lee el archivo con {@link TokenizadorMapeado}.
+     * @param leidos el contador de MB leídos.
+     * @return el número de palabras leídas.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Benchmark
+    public long tokenizadorMapeado(Leidos leidos) throws IOException {
+        long n = 0;
+        try (TokenizadorMapeado in = new TokenizadorMapeado(archivo)) {
+            while (in.siguiente())
+                n++;
+        }
+        leidos.megabytes += megabytes;
+        return n;
+    }
+}
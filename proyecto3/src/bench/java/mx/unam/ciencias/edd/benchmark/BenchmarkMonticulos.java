@@ -0,0 +1,119 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.MonticuloD;
+import mx.unam.ciencias.edd.MonticuloDijkstra;
+import mx.unam.ciencias.edd.MonticuloMinimo;
+import mx.unam.ciencias.edd.ValorIndexable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara {@link MonticuloMinimo} con {@link MonticuloD} de aridad 2, 4 y 8
+ * en las operaciones que usa Dijkstra: construir el montículo con todos los
+ * elementos, disminuir valores con <code>reordena</code> y vaciarlo con
+ * <code>elimina</code>. Las dos últimas incluyen la construcción.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkMonticulos {
+
+    /** El montículo: "minimo" o la aridad del montículo d-ario. */
+    @Param({ "minimo", "2", "4", "8" })
+    public String monticulo;
+
+    /** Número de elementos. */
+    @Param({ "100000" })
+    public int elementos;
+
+    /* Los elementos. */
+    private Lista<ValorIndexable<Integer>> lista;
+    /* Los valores iniciales de los elementos. */
+    private double[] valores;
+    /* Los elementos que se disminuyen, en orden. */
+    private int[] disminuidos;
+    /* Los elementos en un arreglo. */
+    private ValorIndexable<Integer>[] arreglo;
+
+    /**
+     * Genera los elementos con valores aleatorios.
+     */
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void generaElementos() {
+        Random random = new Random(1);
+        lista = new Lista<>();
+        valores = new double[elementos];
+        arreglo = new ValorIndexable[elementos];
+        for (int i = 0; i < elementos; i++) {
+            valores[i] = random.nextDouble();
+            arreglo[i] = new ValorIndexable<>(i, valores[i]);
+            lista.agrega(arreglo[i]);
+        }
+        disminuidos = new int[elementos];
+        for (int i = 0; i < elementos; i++)
+            disminuidos[i] = random.nextInt(elementos);
+    }
+
+    /* Restaura los valores y construye el montículo. */
+    private MonticuloDijkstra<ValorIndexable<Integer>> construye() {
+        for (int i = 0; i < elementos; i++)
+            arreglo[i].setValor(valores[i]);
+        if (monticulo.equals("minimo"))
+            return new MonticuloMinimo<>(lista, elementos);
+        return new MonticuloD<>(lista, elementos, Integer.parseInt(monticulo));
+    }
+
+    /**
+     * Construye el montículo.
+     * @return el número de elementos del montículo.
+     */
+    @Benchmark
+    public int heapify() {
+        return construye().getElementos();
+    }
+
+    /**
+     * Construye el montículo y disminuye a la mitad el valor de un elemento
+     * aleatorio tantas veces como elementos hay.
+     * @return el valor mínimo al final.
+     */
+    @Benchmark
+    public double reordena() {
+        MonticuloDijkstra<ValorIndexable<Integer>> m = construye();
+        for (int i : disminuidos) {
+            arreglo[i].setValor(arreglo[i].getValor() / 2);
+            m.reordena(arreglo[i]);
+        }
+        return m.get(0).getValor();
+    }
+
+    /**
+     * Construye el montículo y lo vacía.
+     * @return la suma de los elementos eliminados.
+     */
+    @Benchmark
+    public long elimina() {
+        MonticuloDijkstra<ValorIndexable<Integer>> m = construye();
+        long suma = 0;
+        while (!m.esVacia())
+            suma += m.elimina().getElemento();
+        return suma;
+    }
+}
@@ -0,0 +1,84 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Arreglos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara los ordenamientos de {@link Arreglos} con {@link Arrays#sort} al
+ * ordenar alfabéticamente un vocabulario de palabras, al azar y ya ordenado.
+ * Cada operación copia el arreglo antes de ordenarlo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkOrdenamientos {
+
+    /** El ordenamiento: "quickSort", "paralelo", "heapSort" o "arrays". */
+    @Param({ "quickSort", "paralelo", "heapSort", "arrays" })
+    public String ordenamiento;
+
+    /** El orden inicial de las palabras: "azar" u "ordenado". */
+    @Param({ "azar", "ordenado" })
+    public String orden;
+
+    /** Número de palabras. */
+    @Param({ "500000" })
+    public int palabras;
+
+    /* Las palabras en su orden inicial. */
+    private String[] vocabulario;
+    /* La copia que se ordena. */
+    private String[] copia;
+
+    /**
+     * Genera las palabras.
+     */
+    @Setup(Level.Trial)
+    public void generaPalabras() {
+        Random random = new Random(1);
+        vocabulario = new String[palabras];
+        for (int i = 0; i < palabras; i++) {
+            char[] letras = new char[3 + random.nextInt(8)];
+            for (int j = 0; j < letras.length; j++)
+                letras[j] = (char) ('a' + random.nextInt(26));
+            vocabulario[i] = new String(letras);
+        }
+        if (orden.equals("ordenado"))
+            Arrays.sort(vocabulario);
+        copia = new String[palabras];
+    }
+
+    /**
+     * Ordena una copia de las palabras.
+     *
+     * @return las palabras ordenadas.
+     */
+    @Benchmark
+    public String[] ordena() {
+        System.arraycopy(vocabulario, 0, copia, 0, palabras);
+        switch (ordenamiento) {
+        case "quickSort": Arreglos.quickSort(copia); break;
+        case "paralelo":  Arreglos.ordenaParalelo(copia); break;
+        case "heapSort":  Arreglos.heapSort(copia); break;
+        default:          Arrays.sort(copia);
+        }
+        return copia;
+    }
+}
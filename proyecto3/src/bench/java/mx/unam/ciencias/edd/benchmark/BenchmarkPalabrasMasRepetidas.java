@@ -0,0 +1,92 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.MonticuloMinimo;
+import mx.unam.ciencias.edd.proyecto3.reportes.Archivo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara dos formas de obtener las 15 palabras más repetidas de un archivo:
+ * sacarlas del montículo de todas sus palabras, {@link
+ * Archivo#monticuloPalabras}, o seleccionarlas con {@link
+ * Archivo#palabrasMasRepetidas}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkPalabrasMasRepetidas {
+
+    /** Número de palabras distintas del archivo. */
+    @Param({ "1000", "100000" })
+    public int vocabulario;
+
+    /* El archivo. */
+    private Archivo archivo;
+
+    /**
+     * Genera y lee un archivo con el doble de palabras que su vocabulario.
+     * @throws IOException si no se puede escribir o leer el archivo.
+     */
+    @Setup(Level.Trial)
+    public void generaArchivo() throws IOException {
+        Random random = new Random(1);
+        File temporal = File.createTempFile("benchmark", ".txt");
+        temporal.deleteOnExit();
+        try (BufferedWriter out = new BufferedWriter(
+                 new OutputStreamWriter(new FileOutputStream(temporal),
+                                        StandardCharsets.UTF_8))) {
+            for (int i = 0; i < 2 * vocabulario; i++) {
+                out.write("palabra" + random.nextInt(vocabulario));
+                out.write(' ');
+            }
+        }
+        archivo = new Archivo(temporal, 1);
+        temporal.delete();
+    }
+
+    /**
+     * Saca las 15 palabras más repetidas del montículo de todas las palabras.
+     * @return la suma de sus repeticiones.
+     */
+    @Benchmark
+    public int monticulo() {
+        MonticuloMinimo<Archivo.PalabraContada> monticulo = archivo.monticuloPalabras();
+        int suma = 0;
+        for (int i = 0; i < 15 && !monticulo.esVacia(); i++)
+            suma += monticulo.elimina().obtenerRepeticiones();
+        return suma;
+    }
+
+    /**
+     * Selecciona las 15 palabras más repetidas.
+     * @return la suma de sus repeticiones.
+     */
+    @Benchmark
+    public int selector() {
+        int suma = 0;
+        for (Archivo.PalabraContada palabra : archivo.palabrasMasRepetidas(15))
+            suma += palabra.obtenerRepeticiones();
+        return suma;
+    }
+}
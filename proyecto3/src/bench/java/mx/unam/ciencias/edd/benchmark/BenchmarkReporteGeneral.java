@@ -0,0 +1,123 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.proyecto3.reportes.Archivo;
+import mx.unam.ciencias.edd.proyecto3.reportes.ConfiguracionArchivo;
+import mx.unam.ciencias.edd.proyecto3.reportes.ReporteGeneral;
+import mx.unam.ciencias.edd.proyecto3.util.Pareja;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mide el {@link ReporteGeneral} y las consultas de palabras de un archivo en
+ * otro con {@link Archivo#contienePalabra}, sobre un corpus donde cada archivo
+ * comparte muy pocas palabras con los demás, así que casi todas las consultas
+ * fallan. Con <code>tasaFiltro</code> en cero los archivos no tienen filtro de
+ * Bloom.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkReporteGeneral {
+
+    /** Número de archivos del corpus. */
+    @Param({ "20" })
+    public int archivos;
+
+    /** Número de palabras distintas de cada archivo. */
+    @Param({ "5000" })
+    public int vocabulario;
+
+    /** Tasa de falsos positivos del filtro de Bloom, o cero sin filtro. */
+    @Param({ "0", "0.01" })
+    public double tasaFiltro;
+
+    /* Los archivos del corpus con su nombre en el reporte. */
+    private Lista<Pareja<Archivo, String>> corpus;
+    /* Las palabras de cada archivo, tal como se consultan. */
+    private String[][] palabras;
+
+    /**
+     * Genera el corpus y lee sus archivos. Cada palabra de un archivo es propia
+     * de él, salvo una de cada cien, que sale de un vocabulario común.
+     * @throws IOException si no se pueden escribir o leer los archivos.
+     */
+    @Setup(Level.Trial)
+    public void generaCorpus() throws IOException {
+        Random random = new Random(1);
+        ConfiguracionArchivo configuracion = new ConfiguracionArchivo();
+        configuracion.setTasaFiltro(tasaFiltro);
+        corpus = new Lista<>();
+        palabras = new String[archivos][vocabulario];
+        for (int i = 0; i < archivos; i++) {
+            for (int j = 0; j < vocabulario; j++)
+                palabras[i][j] = random.nextInt(100) == 0 ? "comun" + random.nextInt(vocabulario)
+                                                          : "archivo" + i + "palabra" + j;
+            File archivo = File.createTempFile("benchmark", ".txt");
+            archivo.deleteOnExit();
+            try (BufferedWriter out = new BufferedWriter(
+                     new OutputStreamWriter(new FileOutputStream(archivo),
+                                            StandardCharsets.UTF_8))) {
+                for (String palabra : palabras[i]) {
+                    out.write(palabra);
+                    out.write(' ');
+                }
+            }
+            corpus.agrega(new Pareja<>(new Archivo(archivo, i, configuracion), archivo.getName()));
+            archivo.delete();
+        }
+    }
+
+    /**
+     * Consulta cada palabra de cada archivo en todos los demás.
+     * @return el número de consultas con éxito.
+     */
+    @Benchmark
+    public int consultasCruzadas() {
+        int encontradas = 0;
+        int i = 0;
+        for (Pareja<Archivo, String> pareja : corpus) {
+            for (Pareja<Archivo, String> otra : corpus)
+                if (otra != pareja)
+                    for (String palabra : palabras[i])
+                        if (otra.getX().contienePalabra(palabra))
+                            encontradas++;
+            i++;
+        }
+        return encontradas;
+    }
+
+    /**
+     * Genera el reporte general del corpus.
+     * @return la longitud del reporte.
+     * @throws IOException si ocurre un error al escribir el reporte.
+     */
+    @Benchmark
+    public int reporteGeneral() throws IOException {
+        StringWriter out = new StringWriter();
+        new ReporteGeneral(corpus, "Reporte General", "estilo.css").generarReportes(out);
+        return out.getBuffer().length();
+    }
+}
@@ -0,0 +1,72 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.FirmaMinHash;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mide {@link FirmaMinHash#parejasSimilares} con los parámetros del reporte
+ * general sobre firmas de muchos archivos. Cada archivo tiene palabras de un
+ * vocabulario común y propias, y uno de cada diez es una copia ligeramente
+ * modificada del anterior.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkSimilitud {
+
+    /** Número de archivos. */
+    @Param({ "10000", "100000" })
+    public int archivos;
+
+    /** Número de palabras distintas de cada archivo. */
+    @Param({ "50" })
+    public int palabras;
+
+    /* Las firmas de los archivos. */
+    private FirmaMinHash[] firmas;
+
+    /**
+     * Genera las firmas de los archivos.
+     */
+    @Setup
+    public void generaFirmas() {
+        Random random = new Random(1);
+        firmas = new FirmaMinHash[archivos];
+        for (int i = 0; i < archivos; i++) {
+            firmas[i] = new FirmaMinHash(128);
+            boolean copia = i > 0 && random.nextInt(10) == 0;
+            for (int j = 0; j < palabras; j++) {
+                if (copia && random.nextInt(10) != 0)
+                    firmas[i].agrega("archivo" + (i - 1) + "palabra" + j);
+                else if (random.nextInt(5) == 0)
+                    firmas[i].agrega("comun" + random.nextInt(10000));
+                else
+                    firmas[i].agrega("archivo" + i + "palabra" + j);
+            }
+        }
+    }
+
+    /**
+     * Busca las parejas similares con las bandas.
+     * @return el número de parejas similares.
+     */
+    @Benchmark
+    public int parejasSimilares() {
+        return FirmaMinHash.parejasSimilares(firmas, 42, 0.3).length;
+    }
+}
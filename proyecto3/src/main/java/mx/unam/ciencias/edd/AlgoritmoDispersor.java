@@ -9,5 +9,9 @@ public enum AlgoritmoDispersor {
     /** Algoritmo de Bob Jenkins para cadenas. */
     BJ_STRING,
     /** Algoritmo de Daniel J. Bernstein para cadenas. */
-    DJB_STRING;
+    DJB_STRING,
+    /** Algoritmo MurmurHash3 (x86, 32 bits) para cadenas; acepta semilla. */
+    MURMUR3_STRING,
+    /** Algoritmo xxHash (32 bits) para cadenas; acepta semilla. */
+    XXHASH_STRING;
 }
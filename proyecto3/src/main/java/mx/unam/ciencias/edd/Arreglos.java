@@ -1,60 +1,152 @@
 package mx.unam.ciencias.edd;
 
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Clase para ordenar y buscar arreglos genéricos.
  */
 public class Arreglos {
 
+    /* Tarea que ordena un subarreglo y reparte sus partes en otras tareas. */
+    private static class OrdenamientoParalelo<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private T[] arreglo;
+        private int inicio;
+        private int fin;
+        private Comparator<T> comparador;
+        /* Las particiones que quedan antes de terminar con HeapSort. */
+        private int presupuesto;
+
+        /* Crea la tarea que ordena [inicio, fin). */
+        private OrdenamientoParalelo(T[] arreglo, int inicio, int fin, Comparator<T> comparador,
+                                     int presupuesto) {
+            this.arreglo = arreglo;
+            this.inicio = inicio;
+            this.fin = fin;
+            this.comparador = comparador;
+            this.presupuesto = presupuesto;
+        }
+
+        /* Ordena el subarreglo. */
+        @Override
+        protected void compute() {
+            if (fin - inicio <= CORTE_PARALELO || presupuesto == 0) {
+                quickSort(arreglo, inicio, fin, comparador, presupuesto);
+                return;
+            }
+            long particion = particionaDoble(arreglo, inicio, fin, comparador);
+            int p = (int) (particion >>> 32), q = (int) particion;
+            OrdenamientoParalelo<T> menores =
+                new OrdenamientoParalelo<>(arreglo, inicio, p, comparador, presupuesto - 1);
+            OrdenamientoParalelo<T> mayores =
+                new OrdenamientoParalelo<>(arreglo, q + 1, fin, comparador, presupuesto - 1);
+            if (comparador.compare(arreglo[p], arreglo[q]) == 0) {
+                invokeAll(menores, mayores);
+                return;
+            }
+            long medio = separaIguales(arreglo, p, q, comparador, fin - inicio);
+            invokeAll(menores, mayores, new OrdenamientoParalelo<>(arreglo, (int) (medio >>> 32), (int) medio,
+                                                                   comparador, presupuesto - 1));
+        }
+    }
+
+    /* Tamaño de los subarreglos que la selección termina con InsertionSort. */
+    private static final int INSERCION = 16;
+    /** Tamaño de los subarreglos que el ordenamiento paralelo ordena en un solo hilo. */
+    public static final int CORTE_PARALELO = 1 << 13;
+
     /* Constructor privado para evitar instanciación. */
     private Arreglos() {
     }
 
     /**
-     * Ordena el arreglo recibido usando QickSort.
+     * Ordena el arreglo recibido usando QuickSort con dos pivotes, que se eligen
+     * entre cinco elementos repartidos en el subarreglo, así que un arreglo ya
+     * ordenado no es el peor caso. Si las particiones se desbalancean demasiado,
+     * el subarreglo se termina con {@link #heapSort(Object[],Comparator)}, y el
+     * tiempo es <i>O</i>(<i>n</i> log <i>n</i>) en el peor caso. El ordenamiento
+     * no es estable.
      * 
      * @param <T>        tipo del que puede ser el arreglo.
      * @param arreglo    el arreglo a ordenar.
      * @param comparador el comparador para ordenar el arreglo.
      */
     public static <T> void quickSort(T[] arreglo, Comparator<T> comparador) {
-        quickSortAux(arreglo, 0, arreglo.length - 1, comparador);
-    }
-
-    private static <T> void quickSortAux(T[] arreglo, int a, int b, Comparator<T> comparador) {
-        if (b <= a)
-            return;
-        int i = a + 1;
-        int j = b;
-        while (i < j) {
-            if (comparador.compare(arreglo[i], arreglo[a]) > 0 && comparador.compare(arreglo[j], arreglo[a]) <= 0) {
-                intercambia(arreglo, i, j);
-                i++;
-                j--;
-            } else if (comparador.compare(arreglo[i], arreglo[a]) <= 0) {
-                i++;
-            } else {
-                j--;
-            }
-        }
-        if (comparador.compare(arreglo[i], arreglo[a]) > 0)
-            i--;
-        intercambia(arreglo, a, i);
-        quickSortAux(arreglo, a, i - 1, comparador);
-        quickSortAux(arreglo, i + 1, b, comparador);
+        quickSort(arreglo, 0, arreglo.length, comparador, presupuesto(arreglo.length));
     }
 
     /**
-     * Ordena el arreglo recibido usando QickSort.
+     * Ordena el arreglo recibido usando QuickSort con dos pivotes.
      * 
      * @param <T>     tipo del que puede ser el arreglo.
      * @param arreglo un arreglo cuyos elementos son comparables.
+     * @see #quickSort(Object[],Comparator)
      */
     public static <T extends Comparable<T>> void quickSort(T[] arreglo) {
         quickSort(arreglo, (a, b) -> a.compareTo(b));
     }
 
+    /**
+     * Ordena el arreglo recibido en paralelo, en el {@link
+     * ForkJoinPool#commonPool}. Cada tarea parte su subarreglo con dos pivotes,
+     * como {@link #quickSort(Object[],Comparator)}, y ordena las tres partes
+     * como tareas independientes; los subarreglos de a lo más {@value
+     * #CORTE_PARALELO} elementos se ordenan de forma secuencial. Si el arreglo es
+     * pequeño o el pool no tiene paralelismo, se ordena en el hilo que llama. El
+     * comparador se usa desde varios hilos a la vez, así que no debe tener
+     * estado. El ordenamiento no es estable.
+     * 
+     * @param <T>        tipo del que puede ser el arreglo.
+     * @param arreglo    el arreglo a ordenar.
+     * @param comparador el comparador para ordenar el arreglo.
+     */
+    public static <T> void ordenaParalelo(T[] arreglo, Comparator<T> comparador) {
+        if (arreglo.length <= CORTE_PARALELO || ForkJoinPool.getCommonPoolParallelism() <= 1)
+            quickSort(arreglo, comparador);
+        else
+            ForkJoinPool.commonPool().invoke(new OrdenamientoParalelo<>(arreglo, 0, arreglo.length, comparador,
+                                                                        presupuesto(arreglo.length)));
+    }
+
+    /**
+     * Ordena el arreglo recibido en paralelo.
+     * 
+     * @param <T>     tipo del que puede ser el arreglo.
+     * @param arreglo un arreglo cuyos elementos son comparables.
+     * @see #ordenaParalelo(Object[],Comparator)
+     */
+    public static <T extends Comparable<T>> void ordenaParalelo(T[] arreglo) {
+        ordenaParalelo(arreglo, (a, b) -> a.compareTo(b));
+    }
+
+    /**
+     * Ordena el arreglo recibido usando HeapSort, en el lugar: el arreglo mismo
+     * es el montículo, así que no se crea ningún objeto. Toma tiempo
+     * <i>O</i>(<i>n</i> log <i>n</i>) en el peor caso y no es estable.
+     * 
+     * @param <T>        tipo del que puede ser el arreglo.
+     * @param arreglo    el arreglo a ordenar.
+     * @param comparador el comparador para ordenar el arreglo.
+     */
+    public static <T> void heapSort(T[] arreglo, Comparator<T> comparador) {
+        heapSort(arreglo, 0, arreglo.length, comparador);
+    }
+
+    /**
+     * Ordena el arreglo recibido usando HeapSort, en el lugar.
+     * 
+     * @param <T>     tipo del que puede ser el arreglo.
+     * @param arreglo un arreglo cuyos elementos son comparables.
+     * @see #heapSort(Object[],Comparator)
+     */
+    public static <T extends Comparable<T>> void heapSort(T[] arreglo) {
+        heapSort(arreglo, (a, b) -> a.compareTo(b));
+    }
+
     /**
      * Ordena el arreglo recibido usando SelectionSort.
      * 
@@ -127,6 +219,407 @@ public class Arreglos {
         return busquedaBinaria(arreglo, elemento, (a, b) -> a.compareTo(b));
     }
 
+    /**
+     * Selecciona el elemento que quedaría en el índice k si se ordenara el
+     * arreglo, y lo deja ahí: los elementos en [0, k) quedan menores o iguales
+     * que él, y los de (k, n) mayores o iguales. Usa QuickSelect con pivote
+     * mediana de tres, y cambia a la mediana de medianas si las particiones no
+     * reducen el subarreglo lo suficiente (IntroSelect); así el tiempo es
+     * <i>O</i>(<i>n</i>) aun con arreglos ordenados o con muchos repetidos.
+     * 
+     * @param <T>        tipo del que puede ser el arreglo.
+     * @param arreglo    el arreglo dónde seleccionar.
+     * @param k          el índice del elemento a seleccionar.
+     * @param comparador el comparador para ordenar el arreglo.
+     * @return el elemento que queda en el índice k.
+     * @throws IllegalArgumentException si k no es un índice del arreglo.
+     */
+    public static <T> T seleccion(T[] arreglo, int k, Comparator<T> comparador) {
+        if (k < 0 || k >= arreglo.length)
+            throw new IllegalArgumentException("Índice inválido: " + k);
+        introSelect(arreglo, 0, arreglo.length, k, comparador, presupuesto(arreglo.length));
+        return arreglo[k];
+    }
+
+    /**
+     * Selecciona el elemento que quedaría en el índice k si se ordenara el
+     * arreglo, y lo deja ahí. Ver {@link #seleccion(Object[],int,Comparator)}.
+     * 
+     * @param <T>     tipo del que puede ser el arreglo.
+     * @param arreglo un arreglo cuyos elementos son comparables.
+     * @param k       el índice del elemento a seleccionar.
+     * @return el elemento que queda en el índice k.
+     * @throws IllegalArgumentException si k no es un índice del arreglo.
+     */
+    public static <T extends Comparable<T>> T seleccion(T[] arreglo, int k) {
+        return seleccion(arreglo, k, (a, b) -> a.compareTo(b));
+    }
+
+    /**
+     * Selecciona el entero que quedaría en el índice k si se ordenara el
+     * arreglo, y lo deja ahí. Ver {@link #seleccion(Object[],int,Comparator)}.
+     * 
+     * @param arreglo el arreglo dónde seleccionar.
+     * @param k       el índice del entero a seleccionar.
+     * @return el entero que queda en el índice k.
+     * @throws IllegalArgumentException si k no es un índice del arreglo.
+     */
+    public static int seleccion(int[] arreglo, int k) {
+        if (k < 0 || k >= arreglo.length)
+            throw new IllegalArgumentException("Índice inválido: " + k);
+        introSelect(arreglo, 0, arreglo.length, k, presupuesto(arreglo.length));
+        return arreglo[k];
+    }
+
+    /**
+     * Parte el arreglo para que sus k elementos mayores queden, sin orden, en
+     * [0, k), y regresa el menor de ellos, el k-ésimo mayor del arreglo. Los
+     * elementos en [k, n) quedan menores o iguales que él. Usa {@link
+     * #seleccion(Object[],int,Comparator)}, así que toma tiempo
+     * <i>O</i>(<i>n</i>).
+     * 
+     * @param <T>        tipo del que puede ser el arreglo.
+     * @param arreglo    el arreglo a partir.
+     * @param k          el número de elementos mayores.
+     * @param comparador el comparador para ordenar el arreglo.
+     * @return el k-ésimo mayor elemento del arreglo.
+     * @throws IllegalArgumentException si k no está entre 1 y la longitud del
+     *                                  arreglo.
+     */
+    public static <T> T particionaMayores(T[] arreglo, int k, Comparator<T> comparador) {
+        if (k < 1 || k > arreglo.length)
+            throw new IllegalArgumentException("Número inválido de elementos: " + k);
+        return seleccion(arreglo, k - 1, (a, b) -> comparador.compare(b, a));
+    }
+
+    /**
+     * Parte el arreglo para que sus k elementos mayores queden, sin orden, en
+     * [0, k), y regresa el k-ésimo mayor. Ver {@link
+     * #particionaMayores(Object[],int,Comparator)}.
+     * 
+     * @param <T>     tipo del que puede ser el arreglo.
+     * @param arreglo un arreglo cuyos elementos son comparables.
+     * @param k       el número de elementos mayores.
+     * @return el k-ésimo mayor elemento del arreglo.
+     * @throws IllegalArgumentException si k no está entre 1 y la longitud del
+     *                                  arreglo.
+     */
+    public static <T extends Comparable<T>> T particionaMayores(T[] arreglo, int k) {
+        return particionaMayores(arreglo, k, (a, b) -> a.compareTo(b));
+    }
+
+    /**
+     * Parte el arreglo para que sus k enteros mayores queden, sin orden, en
+     * [0, k), y regresa el k-ésimo mayor. Los enteros en [k, n) quedan menores
+     * o iguales que él. Sirve, por ejemplo, para encontrar las k repeticiones
+     * más altas de un arreglo de conteos sin ordenarlo.
+     * 
+     * @param arreglo el arreglo a partir.
+     * @param k       el número de enteros mayores.
+     * @return el k-ésimo mayor entero del arreglo.
+     * @throws IllegalArgumentException si k no está entre 1 y la longitud del
+     *                                  arreglo.
+     */
+    public static int particionaMayores(int[] arreglo, int k) {
+        int n = arreglo.length;
+        if (k < 1 || k > n)
+            throw new IllegalArgumentException("Número inválido de elementos: " + k);
+        int umbral = seleccion(arreglo, n - k);
+        // Los k mayores quedaron en [n - k, n); se mueven al inicio
+        // intercambiando sólo el bloque más corto.
+        if (k <= n - k)
+            for (int i = 0; i < k; i++)
+                intercambia(arreglo, i, n - k + i);
+        else
+            for (int i = 0; i < n - k; i++)
+                intercambia(arreglo, i, k + i);
+        return umbral;
+    }
+
+    /*
+     * El número de particiones que la selección intenta antes de cambiar de
+     * pivote, y QuickSort antes de cambiar a HeapSort.
+     */
+    private static int presupuesto(int n) {
+        return 2 * (32 - Integer.numberOfLeadingZeros(n));
+    }
+
+    /*
+     * Deja en k el elemento de [inicio, fin) que le toca en el orden. Con el
+     * presupuesto agotado, el pivote es la mediana de medianas.
+     */
+    private static <T> void introSelect(T[] arreglo, int inicio, int fin, int k,
+                                        Comparator<T> comparador, int presupuesto) {
+        while (fin - inicio > INSERCION) {
+            int pivote = presupuesto-- > 0
+                ? medianaDeTres(arreglo, inicio, inicio + (fin - inicio) / 2, fin - 1, comparador)
+                : medianaDeMedianas(arreglo, inicio, fin, comparador);
+            long particion = particiona(arreglo, inicio, fin, pivote, comparador);
+            int menores = (int) (particion >>> 32), mayores = (int) particion;
+            if (k < menores)
+                fin = menores;
+            else if (k >= mayores)
+                inicio = mayores;
+            else
+                return;
+        }
+        insertionSort(arreglo, inicio, fin, comparador);
+    }
+
+    /* Regresa el índice de la mediana de los elementos en i, j y l. */
+    private static <T> int medianaDeTres(T[] arreglo, int i, int j, int l, Comparator<T> comparador) {
+        if (comparador.compare(arreglo[i], arreglo[j]) > 0) {
+            int t = i;
+            i = j;
+            j = t;
+        }
+        if (comparador.compare(arreglo[j], arreglo[l]) <= 0)
+            return j;
+        return comparador.compare(arreglo[i], arreglo[l]) > 0 ? i : l;
+    }
+
+    /*
+     * Regresa el índice de la mediana de las medianas de los grupos de cinco de
+     * [inicio, fin). Las medianas se juntan al inicio del subarreglo.
+     */
+    private static <T> int medianaDeMedianas(T[] arreglo, int inicio, int fin, Comparator<T> comparador) {
+        int medianas = inicio;
+        for (int i = inicio; i < fin; i += 5) {
+            int f = Math.min(i + 5, fin);
+            insertionSort(arreglo, i, f, comparador);
+            intercambia(arreglo, medianas++, i + (f - i) / 2);
+        }
+        int m = inicio + (medianas - inicio) / 2;
+        introSelect(arreglo, inicio, medianas, m, comparador, 0);
+        return m;
+    }
+
+    /*
+     * Parte [inicio, fin) en tres bloques: menores, iguales y mayores que el
+     * pivote. Regresa el inicio del bloque de iguales en los 32 bits altos y el
+     * de mayores en los bajos.
+     */
+    private static <T> long particiona(T[] arreglo, int inicio, int fin, int pivote,
+                                       Comparator<T> comparador) {
+        T p = arreglo[pivote];
+        int menores = inicio, i = inicio, mayores = fin;
+        while (i < mayores) {
+            int c = comparador.compare(arreglo[i], p);
+            if (c < 0)
+                intercambia(arreglo, menores++, i++);
+            else if (c > 0)
+                intercambia(arreglo, i, --mayores);
+            else
+                i++;
+        }
+        return ((long) menores << 32) | mayores;
+    }
+
+    /* Ordena [inicio, fin) usando InsertionSort. */
+    private static <T> void insertionSort(T[] arreglo, int inicio, int fin, Comparator<T> comparador) {
+        for (int i = inicio + 1; i < fin; i++) {
+            T e = arreglo[i];
+            int j = i;
+            for (; j > inicio && comparador.compare(arreglo[j - 1], e) > 0; j--)
+                arreglo[j] = arreglo[j - 1];
+            arreglo[j] = e;
+        }
+    }
+
+    /*
+     * Ordena [inicio, fin) con QuickSort de dos pivotes; con el presupuesto
+     * agotado, termina con HeapSort. Se recurre sobre las partes de los extremos
+     * y se itera sobre la de en medio.
+     */
+    private static <T> void quickSort(T[] arreglo, int inicio, int fin, Comparator<T> comparador,
+                                      int presupuesto) {
+        while (fin - inicio > INSERCION) {
+            if (presupuesto-- == 0) {
+                heapSort(arreglo, inicio, fin, comparador);
+                return;
+            }
+            long particion = particionaDoble(arreglo, inicio, fin, comparador);
+            int p = (int) (particion >>> 32), q = (int) particion;
+            quickSort(arreglo, inicio, p, comparador, presupuesto);
+            quickSort(arreglo, q + 1, fin, comparador, presupuesto);
+            // Con pivotes iguales, todos los de en medio son iguales a ellos.
+            if (comparador.compare(arreglo[p], arreglo[q]) == 0)
+                return;
+            long medio = separaIguales(arreglo, p, q, comparador, fin - inicio);
+            inicio = (int) (medio >>> 32);
+            fin = (int) medio;
+        }
+        insertionSort(arreglo, inicio, fin, comparador);
+    }
+
+    /*
+     * Parte [inicio, fin), con más de INSERCION elementos, con dos pivotes: el
+     * segundo y el cuarto de cinco elementos repartidos en el subarreglo. Regresa
+     * las posiciones finales de los pivotes, p en los 32 bits altos y q en los
+     * bajos: [inicio, p) son menores que el primero, (q, fin) mayores que el
+     * segundo, y (p, q) los que quedan entre ambos.
+     */
+    private static <T> long particionaDoble(T[] arreglo, int inicio, int fin, Comparator<T> comparador) {
+        int septimo = (fin - inicio) / 7;
+        int e3 = inicio + (fin - inicio) / 2;
+        int e2 = e3 - septimo, e1 = e2 - septimo, e4 = e3 + septimo, e5 = e4 + septimo;
+        int[] muestra = { e1, e2, e3, e4, e5 };
+        for (int i = 1; i < muestra.length; i++)
+            for (int j = i; j > 0 && comparador.compare(arreglo[muestra[j - 1]], arreglo[muestra[j]]) > 0; j--)
+                intercambia(arreglo, muestra[j - 1], muestra[j]);
+        intercambia(arreglo, inicio, e2);
+        intercambia(arreglo, fin - 1, e4);
+        T p1 = arreglo[inicio], p2 = arreglo[fin - 1];
+        int menores = inicio + 1, mayores = fin - 2;
+        for (int k = menores; k <= mayores; k++) {
+            T e = arreglo[k];
+            if (comparador.compare(e, p1) < 0) {
+                intercambia(arreglo, k, menores++);
+            } else if (comparador.compare(e, p2) > 0) {
+                while (k < mayores && comparador.compare(arreglo[mayores], p2) > 0)
+                    mayores--;
+                intercambia(arreglo, k, mayores--);
+                if (comparador.compare(arreglo[k], p1) < 0)
+                    intercambia(arreglo, k, menores++);
+            }
+        }
+        intercambia(arreglo, inicio, --menores);
+        intercambia(arreglo, fin - 1, ++mayores);
+        return ((long) menores << 32) | mayores;
+    }
+
+    /*
+     * Regresa los límites de la parte de en medio (p, q) de una partición con
+     * pivotes distintos. Si la parte es más de la mitad del subarreglo de n
+     * elementos, antes junta al inicio los iguales al primer pivote y al final
+     * los iguales al segundo, que ya están en su lugar; así las llaves muy
+     * repetidas no desbalancean las particiones.
+     */
+    private static <T> long separaIguales(T[] arreglo, int p, int q, Comparator<T> comparador, int n) {
+        int inicio = p + 1, fin = q;
+        if (fin - inicio <= n / 2)
+            return ((long) inicio << 32) | fin;
+        T p1 = arreglo[p], p2 = arreglo[q];
+        int k = inicio;
+        while (k < fin) {
+            if (comparador.compare(arreglo[k], p1) == 0)
+                intercambia(arreglo, k++, inicio++);
+            else if (comparador.compare(arreglo[k], p2) == 0)
+                intercambia(arreglo, k, --fin);
+            else
+                k++;
+        }
+        return ((long) inicio << 32) | fin;
+    }
+
+    /* Ordena [inicio, fin) usando HeapSort, con el montículo máximo en el subarreglo. */
+    private static <T> void heapSort(T[] arreglo, int inicio, int fin, Comparator<T> comparador) {
+        int n = fin - inicio;
+        for (int i = n / 2 - 1; i >= 0; i--)
+            hunde(arreglo, inicio, i, n, arreglo[inicio + i], comparador);
+        for (int m = n - 1; m > 0; m--) {
+            T e = arreglo[inicio + m];
+            arreglo[inicio + m] = arreglo[inicio];
+            hunde(arreglo, inicio, 0, m, e, comparador);
+        }
+    }
+
+    /*
+     * Baja el hueco en i del montículo máximo de n elementos que empieza en
+     * inicio, subiendo al hijo mayor, y ahí pone el elemento.
+     */
+    private static <T> void hunde(T[] arreglo, int inicio, int i, int n, T elemento, Comparator<T> comparador) {
+        while (true) {
+            int hijo = 2 * i + 1;
+            if (hijo >= n)
+                break;
+            if (hijo + 1 < n && comparador.compare(arreglo[inicio + hijo + 1], arreglo[inicio + hijo]) > 0)
+                hijo++;
+            if (comparador.compare(arreglo[inicio + hijo], elemento) <= 0)
+                break;
+            arreglo[inicio + i] = arreglo[inicio + hijo];
+            i = hijo;
+        }
+        arreglo[inicio + i] = elemento;
+    }
+
+    /* Versión de introSelect para enteros. */
+    private static void introSelect(int[] arreglo, int inicio, int fin, int k, int presupuesto) {
+        while (fin - inicio > INSERCION) {
+            int pivote = presupuesto-- > 0
+                ? medianaDeTres(arreglo, inicio, inicio + (fin - inicio) / 2, fin - 1)
+                : medianaDeMedianas(arreglo, inicio, fin);
+            long particion = particiona(arreglo, inicio, fin, pivote);
+            int menores = (int) (particion >>> 32), mayores = (int) particion;
+            if (k < menores)
+                fin = menores;
+            else if (k >= mayores)
+                inicio = mayores;
+            else
+                return;
+        }
+        insertionSort(arreglo, inicio, fin);
+    }
+
+    /* Versión de medianaDeTres para enteros. */
+    private static int medianaDeTres(int[] arreglo, int i, int j, int l) {
+        if (arreglo[i] > arreglo[j]) {
+            int t = i;
+            i = j;
+            j = t;
+        }
+        if (arreglo[j] <= arreglo[l])
+            return j;
+        return arreglo[i] > arreglo[l] ? i : l;
+    }
+
+    /* Versión de medianaDeMedianas para enteros. */
+    private static int medianaDeMedianas(int[] arreglo, int inicio, int fin) {
+        int medianas = inicio;
+        for (int i = inicio; i < fin; i += 5) {
+            int f = Math.min(i + 5, fin);
+            insertionSort(arreglo, i, f);
+            intercambia(arreglo, medianas++, i + (f - i) / 2);
+        }
+        int m = inicio + (medianas - inicio) / 2;
+        introSelect(arreglo, inicio, medianas, m, 0);
+        return m;
+    }
+
+    /* Versión de particiona para enteros. */
+    private static long particiona(int[] arreglo, int inicio, int fin, int pivote) {
+        int p = arreglo[pivote];
+        int menores = inicio, i = inicio, mayores = fin;
+        while (i < mayores) {
+            int e = arreglo[i];
+            if (e < p)
+                intercambia(arreglo, menores++, i++);
+            else if (e > p)
+                intercambia(arreglo, i, --mayores);
+            else
+                i++;
+        }
+        return ((long) menores << 32) | mayores;
+    }
+
+    /* Versión de insertionSort para enteros. */
+    private static void insertionSort(int[] arreglo, int inicio, int fin) {
+        for (int i = inicio + 1; i < fin; i++) {
+            int e = arreglo[i];
+            int j = i;
+            for (; j > inicio && arreglo[j - 1] > e; j--)
+                arreglo[j] = arreglo[j - 1];
+            arreglo[j] = e;
+        }
+    }
+
+    /* Intercambia los enteros en a y b del arreglo. */
+    private static void intercambia(int[] arreglo, int a, int b) {
+        int auxiliar = arreglo[a];
+        arreglo[a] = arreglo[b];
+        arreglo[b] = auxiliar;
+    }
+
     /**
      * Intercambia la posicion de dos elementos de un arreglo
      * 
@@ -0,0 +1,160 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * <p>Bosquejo <i>Count-Min</i> de Cormode y Muthukrishnan, para estimar cuántas
+ * veces aparece una cadena en un flujo usando memoria fija.</p>
+ *
+ * <p>El bosquejo es una matriz de <i>d</i> renglones por <i>w</i> columnas de
+ * contadores. Cada cadena incrementa un contador por renglón, elegido con una
+ * función de dispersión distinta para cada renglón, y su estimación es el
+ * mínimo de esos contadores. La estimación nunca es menor que el conteo real,
+ * y con <i>w</i> = ⌈e/ε⌉ y <i>d</i> = ⌈ln(1/δ)⌉ la sobreestimación es a lo más
+ * ε<i>N</i> con probabilidad al menos 1 - δ, para un flujo de <i>N</i>
+ * cadenas.</p>
+ */
+public class BosquejoConteo {
+
+    /**
+     * Máximo número de columnas de cada renglón. Un epsilon que necesite más
+     * columnas que éstas, es decir, menor que e/2<sup>24</sup>, se rechaza.
+     */
+    public static final int MAXIMO_ANCHO = 1 << 24;
+
+    /* Número de columnas de cada renglón; es una potencia de dos. */
+    private int ancho;
+    /* Número de renglones. */
+    private int profundidad;
+    /* Los contadores, renglón por renglón. */
+    private int[] contadores;
+    /* Número de cadenas del flujo. */
+    private long total;
+
+    /**
+     * Construye un bosquejo con los parámetros de error dados. El ancho se
+     * redondea a la siguiente potencia de dos, así que el error relativo real,
+     * {@link #getEpsilon}, puede ser menor que el pedido, pero nunca mayor.
+     *
+     * @param epsilon el error relativo, como fracción del total de cadenas.
+     * @param delta   la probabilidad de que una estimación exceda el error.
+     * @throws IllegalArgumentException si epsilon o delta no están en el
+     *                                  intervalo (0, 1), o si epsilon necesita
+     *                                  más de {@link #MAXIMO_ANCHO} columnas.
+     */
+    public BosquejoConteo(double epsilon, double delta) {
+        if (!(epsilon > 0 && epsilon < 1) || !(delta > 0 && delta < 1))
+            throw new IllegalArgumentException("Epsilon y delta deben estar en el intervalo (0, 1).");
+        double w = Math.ceil(Math.E / epsilon);
+        if (w > MAXIMO_ANCHO)
+            throw new IllegalArgumentException("Epsilon debe ser al menos e/" + MAXIMO_ANCHO + ".");
+        ancho = 1;
+        while (ancho < w)
+            ancho *= 2;
+        profundidad = (int) Math.ceil(Math.log(1 / delta));
+        contadores = new int[ancho * profundidad];
+    }
+
+    /**
+     * Cuenta una aparición de la cadena.
+     *
+     * @param cadena la cadena.
+     * @throws IllegalArgumentException si la cadena es nula.
+     */
+    public void incrementa(String cadena) {
+        if (cadena == null)
+            throw new IllegalArgumentException("La cadena no puede ser nula.");
+        incrementa(Dispersores.dispersa64(cadena));
+    }
+
+    /**
+     * Cuenta una aparición de la cadena formada por los caracteres
+     * <code>cadena[inicio, inicio + longitud)</code>.
+     *
+     * @param cadena   arreglo con los caracteres de la cadena.
+     * @param inicio   índice del primer carácter de la cadena.
+     * @param longitud número de caracteres de la cadena.
+     * @throws IllegalArgumentException si la cadena es nula.
+     */
+    public void incrementa(char[] cadena, int inicio, int longitud) {
+        if (cadena == null)
+            throw new IllegalArgumentException("La cadena no puede ser nula.");
+        incrementa(Dispersores.dispersa64(cadena, inicio, longitud));
+    }
+
+    /**
+     * Regresa una cota superior de las apariciones de la cadena.
+     *
+     * @param cadena la cadena.
+     * @return la estimación de las apariciones de la cadena.
+     */
+    public int estima(String cadena) {
+        if (cadena == null)
+            return 0;
+        long h = Dispersores.dispersa64(cadena);
+        int h1 = (int) h, h2 = (int) (h >>> 32) | 1;
+        int mascara = ancho - 1;
+        int minimo = Integer.MAX_VALUE;
+        for (int r = 0; r < profundidad; r++)
+            minimo = Math.min(minimo, contadores[r * ancho + ((h1 + r * h2) & mascara)]);
+        return minimo;
+    }
+
+    /**
+     * Regresa el error relativo del bosquejo: con probabilidad al menos 1 -
+     * {@link #getDelta}, ninguna estimación excede al conteo real por más de
+     * <code>getEpsilon() * getTotal()</code>.
+     *
+     * @return el error relativo del bosquejo.
+     */
+    public double getEpsilon() {
+        return Math.E / ancho;
+    }
+
+    /**
+     * Regresa la probabilidad de que una estimación exceda el error
+     * <code>getEpsilon() * getTotal()</code>.
+     *
+     * @return la probabilidad de exceder el error.
+     */
+    public double getDelta() {
+        return Math.exp(-profundidad);
+    }
+
+    /**
+     * Regresa el número de columnas de cada renglón.
+     *
+     * @return el ancho del bosquejo.
+     */
+    public int getAncho() {
+        return ancho;
+    }
+
+    /**
+     * Regresa el número de renglones.
+     *
+     * @return la profundidad del bosquejo.
+     */
+    public int getProfundidad() {
+        return profundidad;
+    }
+
+    /**
+     * Regresa el número de cadenas contadas.
+     *
+     * @return el número de cadenas contadas, con repeticiones.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /*
+     * Incrementa un contador por renglón. Las columnas salen de dos mitades de la
+     * dispersión, h1 + r * h2, como en Kirsch y Mitzenmacher.
+     */
+    private void incrementa(long h) {
+        total++;
+        int h1 = (int) h, h2 = (int) (h >>> 32) | 1;
+        int mascara = ancho - 1;
+        for (int r = 0; r < profundidad; r++)
+            contadores[r * ancho + ((h1 + r * h2) & mascara)]++;
+    }
+}
@@ -0,0 +1,629 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para conjuntos de enteros no negativos, pensada para dominios
+ * densos como los identificadores de archivos o de palabras.</p>
+ *
+ * <p>El conjunto se guarda de una de dos formas: como un mapa de bits, con un
+ * <code>long</code> por cada 64 enteros del dominio, o como una lista ordenada
+ * de corridas de enteros consecutivos cuando eso ocupa menos memoria. La
+ * intersección, la unión y su cardinalidad se calculan 64 elementos a la vez
+ * sobre los mapas de bits, o corrida por corrida, en lugar de elemento por
+ * elemento como en {@link Conjunto}.</p>
+ *
+ * <p>Los conjuntos que regresan {@link #interseccion} y {@link #union} ya están
+ * en su forma más compacta; un conjunto construido agregando elementos uno por
+ * uno puede compactarse con {@link #compacta}.</p>
+ */
+public class ConjuntoBits implements Coleccion<Integer> {
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador implements Iterator<Integer> {
+
+        /* El último elemento regresado, o -1 si no se ha regresado ninguno. */
+        private int ultimo;
+        /* El siguiente elemento, o -1 si no hay; válido si calculado es true. */
+        private int siguiente;
+        /* Si ya se calculó el siguiente elemento. */
+        private boolean calculado;
+
+        /* Construye un nuevo iterador. */
+        public Iterador() {
+            ultimo = -1;
+        }
+
+        /* Nos dice si hay un elemento siguiente. */
+        @Override public boolean hasNext() {
+            if (!calculado) {
+                siguiente = ultimo == Integer.MAX_VALUE ? -1 : siguienteDesde(ultimo + 1);
+                calculado = true;
+            }
+            return siguiente != -1;
+        }
+
+        /* Regresa el siguiente elemento en orden creciente. */
+        @Override public Integer next() {
+            if (!hasNext())
+                throw new NoSuchElementException("No hay más elementos.");
+            ultimo = siguiente;
+            calculado = false;
+            return ultimo;
+        }
+
+        /* Elimina el último elemento regresado. */
+        @Override public void remove() {
+            if (ultimo == -1)
+                throw new IllegalStateException("No se ha regresado ningún elemento.");
+            elimina(ultimo);
+        }
+    }
+
+    /* Mapa de bits; null si el conjunto está en corridas. */
+    private long[] bits;
+    /* Inicio y fin (inclusivo) de cada corrida, en orden y sin corridas
+     * adyacentes; null si el conjunto está en mapa de bits. */
+    private int[] corridas;
+    /* Número de corridas. */
+    private int numCorridas;
+    /* Número de elementos. */
+    private int elementos;
+
+    /**
+     * Crea un nuevo conjunto vacío.
+     */
+    public ConjuntoBits() {
+        corridas = new int[8];
+    }
+
+    /**
+     * Crea un nuevo conjunto vacío para elementos entre 0 y <code>n</code> - 1.
+     * El conjunto puede guardar elementos mayores; <code>n</code> sólo evita
+     * que el mapa de bits crezca mientras se agregan los elementos.
+     *
+     * @param n el tamaño tentativo del dominio.
+     */
+    public ConjuntoBits(int n) {
+        bits = new long[n <= 0 ? 1 : palabras(n - 1)];
+    }
+
+    /* Crea un conjunto con el mapa de bits y el número de elementos. */
+    private ConjuntoBits(long[] bits, int elementos) {
+        this.bits = bits;
+        this.elementos = elementos;
+    }
+
+    /* Crea un conjunto con las corridas y el número de elementos. */
+    private ConjuntoBits(int[] corridas, int numCorridas, int elementos) {
+        this.corridas = corridas;
+        this.numCorridas = numCorridas;
+        this.elementos = elementos;
+    }
+
+    /**
+     * Agrega un elemento al conjunto.
+     *
+     * @param elemento el elemento que queremos agregar al conjunto.
+     * @throws IllegalArgumentException si el elemento es <code>null</code> o
+     *                                  negativo.
+     */
+    @Override
+    public void agrega(Integer elemento) {
+        if (elemento == null || elemento < 0)
+            throw new IllegalArgumentException("El elemento debe ser un entero no negativo.");
+        int e = elemento;
+        int w = e >>> 6;
+        if (bits != null && w >= bits.length) {
+            // Antes de hacer crecer el mapa se revisa si el conjunto cabe en
+            // menos corridas que las palabras que necesitaría el mapa.
+            if (elementos == 0) {
+                limpia();
+            } else {
+                int n = palabras(ultimoBit(bits));
+                if (cuentaCorridas(bits, n) < w)
+                    aCorridas(n);
+            }
+        }
+        if (bits != null) {
+            if (w >= bits.length) {
+                long[] nuevos = new long[Math.max(w + 1, bits.length * 2)];
+                System.arraycopy(bits, 0, nuevos, 0, bits.length);
+                bits = nuevos;
+            }
+            if ((bits[w] & (1L << e)) == 0) {
+                bits[w] |= 1L << e;
+                elementos++;
+            }
+            return;
+        }
+        int i = busca(e);
+        if (i > 0 && corridas[2 * i - 1] >= e)
+            return;
+        boolean anterior = i > 0 && corridas[2 * i - 1] == e - 1;
+        boolean posterior = i < numCorridas && corridas[2 * i] == e + 1;
+        if (anterior && posterior) {
+            corridas[2 * i - 1] = corridas[2 * i + 1];
+            quitaCorrida(i);
+        } else if (anterior) {
+            corridas[2 * i - 1] = e;
+        } else if (posterior) {
+            corridas[2 * i] = e;
+        } else {
+            meteCorrida(i, e, e);
+        }
+        elementos++;
+        if (numCorridas >= palabras(corridas[2 * numCorridas - 1]))
+            aBits();
+    }
+
+    /**
+     * Elimina el elemento del conjunto, si está.
+     *
+     * @param elemento el elemento que queremos eliminar del conjunto.
+     */
+    @Override
+    public void elimina(Integer elemento) {
+        if (!contiene(elemento))
+            return;
+        int e = elemento;
+        elementos--;
+        if (bits != null) {
+            bits[e >>> 6] &= ~(1L << e);
+            return;
+        }
+        int i = busca(e) - 1;
+        int inicio = corridas[2 * i], fin = corridas[2 * i + 1];
+        if (inicio == fin) {
+            quitaCorrida(i);
+        } else if (e == inicio) {
+            corridas[2 * i] = e + 1;
+        } else if (e == fin) {
+            corridas[2 * i + 1] = e - 1;
+        } else {
+            corridas[2 * i + 1] = e - 1;
+            meteCorrida(i + 1, e + 1, fin);
+            if (numCorridas >= palabras(corridas[2 * numCorridas - 1]))
+                aBits();
+        }
+    }
+
+    /**
+     * Nos dice si el elemento está en el conjunto.
+     *
+     * @param elemento el elemento que queremos saber si está en el conjunto.
+     * @return <code>true</code> si el elemento está en el conjunto,
+     *         <code>false</code> en otro caso.
+     */
+    @Override
+    public boolean contiene(Integer elemento) {
+        if (elemento == null || elemento < 0)
+            return false;
+        int e = elemento;
+        if (bits != null)
+            return (e >>> 6) < bits.length && (bits[e >>> 6] & (1L << e)) != 0;
+        int i = busca(e);
+        return i > 0 && corridas[2 * i - 1] >= e;
+    }
+
+    /**
+     * Nos dice si el conjunto es vacío.
+     *
+     * @return <code>true</code> si el conjunto es vacío, <code>false</code> en
+     *         otro caso.
+     */
+    @Override
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de elementos en el conjunto.
+     *
+     * @return el número de elementos en el conjunto.
+     */
+    @Override
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Limpia el conjunto de elementos, dejándolo vacío.
+     */
+    @Override
+    public void limpia() {
+        bits = null;
+        corridas = new int[8];
+        numCorridas = 0;
+        elementos = 0;
+    }
+
+    /**
+     * Cambia el conjunto a la representación que ocupe menos memoria: corridas
+     * si hay menos corridas que palabras de 64 bits en el mapa, mapa de bits en
+     * otro caso.
+     */
+    public void compacta() {
+        if (elementos == 0) {
+            limpia();
+            return;
+        }
+        if (bits == null) {
+            if (numCorridas >= palabras(corridas[2 * numCorridas - 1]))
+                aBits();
+            return;
+        }
+        int n = palabras(ultimoBit(bits));
+        if (cuentaCorridas(bits, n) < n) {
+            aCorridas(n);
+        } else if (n < bits.length) {
+            long[] recortados = new long[n];
+            System.arraycopy(bits, 0, recortados, 0, n);
+            bits = recortados;
+        }
+    }
+
+    /**
+     * Nos dice si el conjunto está guardado como corridas de enteros
+     * consecutivos.
+     *
+     * @return <code>true</code> si el conjunto está en corridas,
+     *         <code>false</code> si está en un mapa de bits.
+     */
+    public boolean enCorridas() {
+        return bits == null;
+    }
+
+    /**
+     * Regresa la intersección del conjunto y el conjunto recibido.
+     *
+     * @param conjunto el conjunto que queremos intersectar con éste.
+     * @return la intersección del conjunto y el conjunto recibido.
+     */
+    public ConjuntoBits interseccion(ConjuntoBits conjunto) {
+        ConjuntoBits interseccion;
+        if (bits != null && conjunto.bits != null) {
+            int n = Math.min(bits.length, conjunto.bits.length);
+            long[] resultado = new long[n];
+            int cuenta = 0;
+            for (int w = 0; w < n; w++) {
+                resultado[w] = bits[w] & conjunto.bits[w];
+                cuenta += Long.bitCount(resultado[w]);
+            }
+            interseccion = new ConjuntoBits(resultado, cuenta);
+        } else if (bits == null && conjunto.bits == null) {
+            int[] resultado = new int[2 * (numCorridas + conjunto.numCorridas) + 2];
+            int n = 0, cuenta = 0;
+            int i = 0, j = 0;
+            while (i < numCorridas && j < conjunto.numCorridas) {
+                int inicio = Math.max(corridas[2 * i], conjunto.corridas[2 * j]);
+                int fin = Math.min(corridas[2 * i + 1], conjunto.corridas[2 * j + 1]);
+                if (inicio <= fin) {
+                    resultado[2 * n] = inicio;
+                    resultado[2 * n + 1] = fin;
+                    n++;
+                    cuenta += fin - inicio + 1;
+                }
+                if (corridas[2 * i + 1] < conjunto.corridas[2 * j + 1])
+                    i++;
+                else
+                    j++;
+            }
+            interseccion = new ConjuntoBits(resultado, n, cuenta);
+        } else {
+            ConjuntoBits c = bits == null ? this : conjunto;
+            long[] mapa = bits == null ? conjunto.bits : bits;
+            long[] resultado = new long[c.numCorridas == 0 ? 0 :
+                    Math.min(mapa.length, palabras(c.corridas[2 * c.numCorridas - 1]))];
+            for (int k = 0; k < c.numCorridas; k++)
+                llena(resultado, mapa, c.corridas[2 * k], c.corridas[2 * k + 1]);
+            int cuenta = 0;
+            for (long palabra : resultado)
+                cuenta += Long.bitCount(palabra);
+            interseccion = new ConjuntoBits(resultado, cuenta);
+        }
+        interseccion.compacta();
+        return interseccion;
+    }
+
+    /**
+     * Regresa el número de elementos de la intersección del conjunto y el
+     * conjunto recibido, sin construir la intersección.
+     *
+     * @param conjunto el conjunto que queremos intersectar con éste.
+     * @return el número de elementos en la intersección.
+     */
+    public int cardinalidadInterseccion(ConjuntoBits conjunto) {
+        int cuenta = 0;
+        if (bits != null && conjunto.bits != null) {
+            int n = Math.min(bits.length, conjunto.bits.length);
+            for (int w = 0; w < n; w++)
+                cuenta += Long.bitCount(bits[w] & conjunto.bits[w]);
+        } else if (bits == null && conjunto.bits == null) {
+            int i = 0, j = 0;
+            while (i < numCorridas && j < conjunto.numCorridas) {
+                int inicio = Math.max(corridas[2 * i], conjunto.corridas[2 * j]);
+                int fin = Math.min(corridas[2 * i + 1], conjunto.corridas[2 * j + 1]);
+                if (inicio <= fin)
+                    cuenta += fin - inicio + 1;
+                if (corridas[2 * i + 1] < conjunto.corridas[2 * j + 1])
+                    i++;
+                else
+                    j++;
+            }
+        } else {
+            ConjuntoBits c = bits == null ? this : conjunto;
+            long[] mapa = bits == null ? conjunto.bits : bits;
+            for (int k = 0; k < c.numCorridas; k++) {
+                int inicio = c.corridas[2 * k], fin = c.corridas[2 * k + 1];
+                int ultima = Math.min(fin >>> 6, mapa.length - 1);
+                for (int w = inicio >>> 6; w <= ultima; w++)
+                    cuenta += Long.bitCount(mapa[w] & mascara(w, inicio, fin));
+            }
+        }
+        return cuenta;
+    }
+
+    /**
+     * Regresa la unión del conjunto y el conjunto recibido.
+     *
+     * @param conjunto el conjunto que queremos unir con éste.
+     * @return la unión del conjunto y el conjunto recibido.
+     */
+    public ConjuntoBits union(ConjuntoBits conjunto) {
+        ConjuntoBits union;
+        if (bits != null && conjunto.bits != null) {
+            long[] mayor = bits.length >= conjunto.bits.length ? bits : conjunto.bits;
+            long[] menor = mayor == bits ? conjunto.bits : bits;
+            long[] resultado = new long[mayor.length];
+            int cuenta = 0;
+            for (int w = 0; w < mayor.length; w++) {
+                resultado[w] = w < menor.length ? mayor[w] | menor[w] : mayor[w];
+                cuenta += Long.bitCount(resultado[w]);
+            }
+            union = new ConjuntoBits(resultado, cuenta);
+        } else if (bits == null && conjunto.bits == null) {
+            int[] resultado = new int[2 * (numCorridas + conjunto.numCorridas) + 2];
+            int n = 0, cuenta = 0;
+            int i = 0, j = 0;
+            while (i < numCorridas || j < conjunto.numCorridas) {
+                int inicio, fin;
+                if (j == conjunto.numCorridas ||
+                    (i < numCorridas && corridas[2 * i] <= conjunto.corridas[2 * j])) {
+                    inicio = corridas[2 * i];
+                    fin = corridas[2 * i++ + 1];
+                } else {
+                    inicio = conjunto.corridas[2 * j];
+                    fin = conjunto.corridas[2 * j++ + 1];
+                }
+                if (n > 0 && (long)inicio <= (long)resultado[2 * n - 1] + 1) {
+                    if (fin > resultado[2 * n - 1]) {
+                        cuenta += fin - resultado[2 * n - 1];
+                        resultado[2 * n - 1] = fin;
+                    }
+                } else {
+                    resultado[2 * n] = inicio;
+                    resultado[2 * n + 1] = fin;
+                    n++;
+                    cuenta += fin - inicio + 1;
+                }
+            }
+            union = new ConjuntoBits(resultado, n, cuenta);
+        } else {
+            ConjuntoBits c = bits == null ? this : conjunto;
+            long[] mapa = bits == null ? conjunto.bits : bits;
+            int n = mapa.length;
+            if (c.numCorridas > 0)
+                n = Math.max(n, palabras(c.corridas[2 * c.numCorridas - 1]));
+            long[] resultado = new long[n];
+            System.arraycopy(mapa, 0, resultado, 0, mapa.length);
+            for (int k = 0; k < c.numCorridas; k++)
+                llena(resultado, null, c.corridas[2 * k], c.corridas[2 * k + 1]);
+            int cuenta = 0;
+            for (long palabra : resultado)
+                cuenta += Long.bitCount(palabra);
+            union = new ConjuntoBits(resultado, cuenta);
+        }
+        union.compacta();
+        return union;
+    }
+
+    /**
+     * Regresa una representación en cadena del conjunto.
+     *
+     * @return una representación en cadena del conjunto.
+     */
+    @Override
+    public String toString() {
+        StringBuilder s = new StringBuilder("{ ");
+        int i = 0, n = elementos - 1;
+        for (Integer elemento : this) {
+            s.append(elemento);
+            if (i++ < n)
+                s.append(", ");
+        }
+        s.append(" }");
+        return s.toString();
+    }
+
+    /**
+     * Nos dice si el conjunto es igual al objeto recibido.
+     *
+     * @param o el objeto que queremos saber si es igual al conjunto.
+     * @return <code>true</code> si el objeto recibido es instancia de
+     *         ConjuntoBits, y tiene los mismos elementos.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        ConjuntoBits c = (ConjuntoBits)o;
+        return elementos == c.elementos && cardinalidadInterseccion(c) == elementos;
+    }
+
+    /**
+     * Regresa la suma de los elementos del conjunto, que es consistente con
+     * {@link #equals}.
+     *
+     * @return la dispersión del conjunto.
+     */
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (Integer elemento : this)
+            h += elemento;
+        return h;
+    }
+
+    /**
+     * Regresa un iterador para iterar el conjunto en orden creciente. El
+     * iterador tolera que el conjunto se modifique mientras se recorre.
+     *
+     * @return un iterador para iterar el conjunto.
+     */
+    @Override
+    public Iterator<Integer> iterator() {
+        return new Iterador();
+    }
+
+    /* Regresa el menor elemento mayor o igual a k, o -1 si no hay. */
+    private int siguienteDesde(int k) {
+        if (bits != null) {
+            int w = k >>> 6;
+            if (w >= bits.length)
+                return -1;
+            long palabra = bits[w] & (-1L << k);
+            while (palabra == 0) {
+                if (++w == bits.length)
+                    return -1;
+                palabra = bits[w];
+            }
+            return (w << 6) + Long.numberOfTrailingZeros(palabra);
+        }
+        int i = busca(k);
+        if (i > 0 && corridas[2 * i - 1] >= k)
+            return k;
+        return i < numCorridas ? corridas[2 * i] : -1;
+    }
+
+    /* Regresa el número de corridas cuyo inicio es menor o igual a e. */
+    private int busca(int e) {
+        int a = 0, b = numCorridas;
+        while (a < b) {
+            int m = (a + b) >>> 1;
+            if (corridas[2 * m] <= e)
+                a = m + 1;
+            else
+                b = m;
+        }
+        return a;
+    }
+
+    /* Mete la corrida [inicio, fin] en la posición i. */
+    private void meteCorrida(int i, int inicio, int fin) {
+        if (2 * numCorridas + 2 > corridas.length) {
+            int[] nuevas = new int[corridas.length * 2];
+            System.arraycopy(corridas, 0, nuevas, 0, 2 * numCorridas);
+            corridas = nuevas;
+        }
+        System.arraycopy(corridas, 2 * i, corridas, 2 * i + 2, 2 * (numCorridas - i));
+        corridas[2 * i] = inicio;
+        corridas[2 * i + 1] = fin;
+        numCorridas++;
+    }
+
+    /* Quita la corrida en la posición i. */
+    private void quitaCorrida(int i) {
+        System.arraycopy(corridas, 2 * i + 2, corridas, 2 * i, 2 * (numCorridas - i - 1));
+        numCorridas--;
+    }
+
+    /* Cambia el conjunto de corridas a mapa de bits. */
+    private void aBits() {
+        long[] mapa = new long[numCorridas == 0 ? 1 : palabras(corridas[2 * numCorridas - 1])];
+        for (int k = 0; k < numCorridas; k++)
+            llena(mapa, null, corridas[2 * k], corridas[2 * k + 1]);
+        bits = mapa;
+        corridas = null;
+        numCorridas = 0;
+    }
+
+    /* Cambia el conjunto de mapa de bits a corridas; n es el número de
+     * palabras del mapa con algún bit prendido. */
+    private void aCorridas(int n) {
+        int[] nuevas = new int[Math.max(8, 2 * cuentaCorridas(bits, n))];
+        int k = 0;
+        int inicio = -1;
+        for (int w = 0; w < n; w++) {
+            long palabra = bits[w];
+            long anterior = w == 0 ? 0 : bits[w - 1] >>> 63;
+            // Bits donde empieza o termina una corrida.
+            long inicios = palabra & ~((palabra << 1) | anterior);
+            long siguiente = w + 1 < n ? bits[w + 1] & 1L : 0;
+            long fines = palabra & ~((palabra >>> 1) | (siguiente << 63));
+            while (inicios != 0 || fines != 0) {
+                int a = inicios == 0 ? 64 : Long.numberOfTrailingZeros(inicios);
+                int b = fines == 0 ? 64 : Long.numberOfTrailingZeros(fines);
+                if (a <= b && inicios != 0) {
+                    inicio = (w << 6) + a;
+                    inicios &= inicios - 1;
+                } else {
+                    nuevas[2 * k] = inicio;
+                    nuevas[2 * k + 1] = (w << 6) + b;
+                    k++;
+                    fines &= fines - 1;
+                }
+            }
+        }
+        corridas = nuevas;
+        numCorridas = k;
+        bits = null;
+    }
+
+    /* Prende en destino los bits de [inicio, fin] que estén prendidos en
+     * origen, o todos si origen es null. */
+    private static void llena(long[] destino, long[] origen, int inicio, int fin) {
+        int ultima = Math.min(fin >>> 6, destino.length - 1);
+        if (origen != null)
+            ultima = Math.min(ultima, origen.length - 1);
+        for (int w = inicio >>> 6; w <= ultima; w++) {
+            long m = mascara(w, inicio, fin);
+            destino[w] |= origen == null ? m : origen[w] & m;
+        }
+    }
+
+    /* Regresa la máscara de los bits de [inicio, fin] en la palabra w. */
+    private static long mascara(int w, int inicio, int fin) {
+        long m = -1L;
+        if (w == inicio >>> 6)
+            m &= -1L << inicio;
+        if (w == fin >>> 6)
+            m &= -1L >>> (63 - (fin & 63));
+        return m;
+    }
+
+    /* Regresa el número de corridas en las primeras n palabras del mapa. */
+    private static int cuentaCorridas(long[] mapa, int n) {
+        int cuenta = 0;
+        long anterior = 0;
+        for (int w = 0; w < n; w++) {
+            cuenta += Long.bitCount(mapa[w] & ~((mapa[w] << 1) | anterior));
+            anterior = mapa[w] >>> 63;
+        }
+        return cuenta;
+    }
+
+    /* Regresa la posición del último bit prendido del mapa, o -1 si no hay. */
+    private static int ultimoBit(long[] mapa) {
+        for (int w = mapa.length - 1; w >= 0; w--)
+            if (mapa[w] != 0)
+                return (w << 6) + 63 - Long.numberOfLeadingZeros(mapa[w]);
+        return -1;
+    }
+
+    /* Regresa el número de palabras de 64 bits necesarias para el elemento e. */
+    private static int palabras(int e) {
+        return (e >>> 6) + 1;
+    }
+}
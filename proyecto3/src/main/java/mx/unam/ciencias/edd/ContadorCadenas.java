@@ -0,0 +1,320 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Clase para contadores de cadenas. Un contador asocia a cada cadena un número
+ * entero de repeticiones, sin crear objetos por cada incremento.
+ *
+ * El contador usa direccionamiento abierto con sondeo lineal: las llaves, sus
+ * repeticiones y sus dispersiones se guardan en tres arreglos paralelos, por lo
+ * que incrementar una cadena hace una sola búsqueda, y al crecer no es necesario
+ * volver a dispersar las llaves.
+ */
+public class ContadorCadenas {
+
+    /* Clase interna privada para iteradores de llaves. */
+    private class IteradorLlaves implements Iterator<String> {
+
+        /* La siguiente posición ocupada. */
+        private int indice;
+
+        /* Construye un nuevo iterador. */
+        public IteradorLlaves() {
+            indice = -1;
+            mueveIndice();
+        }
+
+        /* Nos dice si hay una siguiente llave. */
+        @Override
+        public boolean hasNext() {
+            return indice < llaves.length;
+        }
+
+        /* Regresa la siguiente llave. */
+        @Override
+        public String next() {
+            if (indice >= llaves.length)
+                throw new NoSuchElementException("No quedan elementos por iterar.");
+            String llave = llaves[indice];
+            mueveIndice();
+            return llave;
+        }
+
+        /* Mueve el índice a la siguiente posición ocupada. */
+        private void mueveIndice() {
+            do {
+                indice++;
+            } while (indice < llaves.length && llaves[indice] == null);
+        }
+    }
+
+    /** Máxima carga permitida por el contador. */
+    public static final double MAXIMA_CARGA = 0.5;
+
+    /* Capacidad mínima; decidida arbitrariamente a 2^6. */
+    private static final int MINIMA_CAPACIDAD = 64;
+    /* Capacidad máxima de los arreglos. */
+    private static final int MAXIMA_CAPACIDAD = 1 << 30;
+
+    /* Las llaves; null en las posiciones libres. */
+    private String[] llaves;
+    /* Las repeticiones de cada llave. */
+    private int[] conteos;
+    /* La dispersión de cada llave. */
+    private int[] dispersiones;
+    /* Número de llaves. */
+    private int elementos;
+    /* Número de llaves a partir del cual el contador crece. */
+    private int umbral;
+
+    /**
+     * Construye un contador con una capacidad inicial predeterminada.
+     */
+    public ContadorCadenas() {
+        this(MINIMA_CAPACIDAD);
+    }
+
+    /**
+     * Construye un contador con una capacidad inicial definida por el usuario.
+     *
+     * @param capacidad el número tentativo de llaves.
+     */
+    public ContadorCadenas(int capacidad) {
+        if (capacidad < MINIMA_CAPACIDAD)
+            capacidad = MINIMA_CAPACIDAD;
+        int n = 1;
+        while (n < MAXIMA_CAPACIDAD && n < capacidad * 2L)
+            n *= 2;
+        inicializa(n);
+    }
+
+    /* Crea arreglos vacíos de tamaño n. */
+    private void inicializa(int n) {
+        llaves = new String[n];
+        conteos = new int[n];
+        dispersiones = new int[n];
+        umbral = (int) (n * MAXIMA_CARGA);
+    }
+
+    /**
+     * Aumenta en uno las repeticiones de una llave.
+     *
+     * @param llave la llave a incrementar.
+     * @return las repeticiones de la llave después del incremento.
+     * @throws IllegalArgumentException si la llave es nula.
+     */
+    public int incrementa(String llave) {
+        return incrementa(llave, 1);
+    }
+
+    /**
+     * Aumenta las repeticiones de una llave en la cantidad dada. Si la llave no
+     * estaba en el contador, se agrega con la cantidad como repeticiones.
+     *
+     * @param llave    la llave a incrementar.
+     * @param cantidad la cantidad a sumar a las repeticiones de la llave.
+     * @return las repeticiones de la llave después del incremento.
+     * @throws IllegalArgumentException si la llave es nula.
+     */
+    public int incrementa(String llave, int cantidad) {
+        if (llave == null)
+            throw new IllegalArgumentException("La llave no puede ser nula.");
+        int dispersion = Dispersores.mezcla(llave.hashCode());
+        int mascara = llaves.length - 1;
+        int i = dispersion & mascara;
+        String actual;
+        while ((actual = llaves[i]) != null) {
+            if (dispersiones[i] == dispersion && actual.equals(llave))
+                return conteos[i] += cantidad;
+            i = (i + 1) & mascara;
+        }
+        return inserta(i, llave, dispersion, cantidad);
+    }
+
+    /**
+     * Agrega una llave con la cantidad dada como repeticiones, si no estaba en el
+     * contador; si ya estaba, sus repeticiones no cambian. Así el contador puede
+     * asociar a cada llave un valor fijo, como el orden en que se agregó, con una
+     * sola búsqueda.
+     *
+     * @param llave    la llave a agregar.
+     * @param cantidad las repeticiones de la llave si no estaba en el contador.
+     * @return las repeticiones de la llave; si no estaba, la cantidad dada.
+     * @throws IllegalArgumentException si la llave es nula.
+     */
+    public int agregaSiFalta(String llave, int cantidad) {
+        if (llave == null)
+            throw new IllegalArgumentException("La llave no puede ser nula.");
+        int dispersion = Dispersores.mezcla(llave.hashCode());
+        int mascara = llaves.length - 1;
+        int i = dispersion & mascara;
+        String actual;
+        while ((actual = llaves[i]) != null) {
+            if (dispersiones[i] == dispersion && actual.equals(llave))
+                return conteos[i];
+            i = (i + 1) & mascara;
+        }
+        return inserta(i, llave, dispersion, cantidad);
+    }
+
+    /**
+     * Aumenta en uno las repeticiones de la llave formada por los caracteres
+     * <code>cadena[inicio, inicio + longitud)</code>. Sólo se crea una cadena si
+     * la llave no estaba en el contador.
+     *
+     * @param cadena   arreglo con los caracteres de la llave.
+     * @param inicio   índice del primer carácter de la llave.
+     * @param longitud número de caracteres de la llave.
+     * @return las repeticiones de la llave después del incremento.
+     * @throws IllegalArgumentException si la cadena es nula.
+     */
+    public int incrementa(char[] cadena, int inicio, int longitud) {
+        if (cadena == null)
+            throw new IllegalArgumentException("La llave no puede ser nula.");
+        // Misma función que String.hashCode, para poder comparar dispersiones.
+        int h = 0;
+        for (int k = inicio; k < inicio + longitud; k++)
+            h = 31 * h + cadena[k];
+        int dispersion = Dispersores.mezcla(h);
+        int mascara = llaves.length - 1;
+        int i = dispersion & mascara;
+        String actual;
+        while ((actual = llaves[i]) != null) {
+            if (dispersiones[i] == dispersion && iguales(actual, cadena, inicio, longitud))
+                return ++conteos[i];
+            i = (i + 1) & mascara;
+        }
+        return inserta(i, new String(cadena, inicio, longitud), dispersion, 1);
+    }
+
+    /**
+     * Regresa las repeticiones de una llave.
+     *
+     * @param llave la llave a buscar.
+     * @return las repeticiones de la llave, o cero si no está en el contador.
+     * @throws IllegalArgumentException si la llave es nula.
+     */
+    public int get(String llave) {
+        if (llave == null)
+            throw new IllegalArgumentException("La llave no puede ser nula.");
+        int i = busca(llave);
+        return (i < 0) ? 0 : conteos[i];
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el contador.
+     *
+     * @param llave la llave que queremos ver si está en el contador.
+     * @return <code>true</code> si la llave está en el contador,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(String llave) {
+        return (llave == null) ? false : busca(llave) >= 0;
+    }
+
+    /**
+     * Regresa el número de llaves en el contador.
+     *
+     * @return el número de llaves en el contador.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Nos dice si el contador es vacío.
+     *
+     * @return <code>true</code> si el contador es vacío, <code>false</code> en
+     *         otro caso.
+     */
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Nos dice la carga del contador.
+     *
+     * @return la carga del contador.
+     */
+    public double carga() {
+        return ((double) elementos) / llaves.length;
+    }
+
+    /**
+     * Limpia el contador de llaves, dejándolo vacío.
+     */
+    public void limpia() {
+        inicializa(llaves.length);
+        elementos = 0;
+    }
+
+    /**
+     * Regresa un iterador para iterar las llaves del contador. El contador se
+     * itera sin ningún orden específico.
+     *
+     * @return un iterador para iterar las llaves del contador.
+     */
+    public Iterator<String> iteradorLlaves() {
+        return new IteradorLlaves();
+    }
+
+    /* Regresa la posición de la llave, o -1 si no está. */
+    private int busca(String llave) {
+        int dispersion = Dispersores.mezcla(llave.hashCode());
+        int mascara = llaves.length - 1;
+        int i = dispersion & mascara;
+        String actual;
+        while ((actual = llaves[i]) != null) {
+            if (dispersiones[i] == dispersion && actual.equals(llave))
+                return i;
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    /* Guarda una llave nueva en la posición libre i. */
+    private int inserta(int i, String llave, int dispersion, int cantidad) {
+        llaves[i] = llave;
+        conteos[i] = cantidad;
+        dispersiones[i] = dispersion;
+        if (++elementos > umbral)
+            crece();
+        return cantidad;
+    }
+
+    /* Duplica el tamaño de los arreglos, reusando las dispersiones guardadas. */
+    private void crece() {
+        if (llaves.length == MAXIMA_CAPACIDAD) {
+            if (elementos == llaves.length)
+                throw new IllegalStateException("El contador está lleno.");
+            return;
+        }
+        String[] viejasLlaves = llaves;
+        int[] viejosConteos = conteos;
+        int[] viejasDispersiones = dispersiones;
+        inicializa(viejasLlaves.length * 2);
+        int mascara = llaves.length - 1;
+        for (int j = 0; j < viejasLlaves.length; j++) {
+            if (viejasLlaves[j] == null)
+                continue;
+            int i = viejasDispersiones[j] & mascara;
+            while (llaves[i] != null)
+                i = (i + 1) & mascara;
+            llaves[i] = viejasLlaves[j];
+            conteos[i] = viejosConteos[j];
+            dispersiones[i] = viejasDispersiones[j];
+        }
+    }
+
+    /* Nos dice si la cadena es igual a los caracteres dados. */
+    private static boolean iguales(String s, char[] cadena, int inicio, int longitud) {
+        if (s.length() != longitud)
+            return false;
+        for (int k = 0; k < longitud; k++)
+            if (s.charAt(k) != cadena[inicio + k])
+                return false;
+        return true;
+    }
+}
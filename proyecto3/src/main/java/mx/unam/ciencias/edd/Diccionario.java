@@ -1,13 +1,28 @@
 package mx.unam.ciencias.edd;
 
 import java.lang.reflect.Array;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
 
 /**
  * Clase para diccionarios (<em>hash tables</em>). Un diccionario generaliza el
  * concepto de arreglo, mapeando un conjunto de <em>llaves</em> a una colección
  * de <em>valores</em>.
+ *
+ * Cuando la carga rebasa {@link #MAXIMA_CARGA} el diccionario duplica su
+ * arreglo, y cuando baja de {@link #MINIMA_CARGA} lo reduce a la mitad. En
+ * ambos casos las entradas no se mueven todas a la vez: cada operación que
+ * modifica el diccionario mueve unas cuantas listas del arreglo anterior al
+ * nuevo, así que ninguna operación individual paga el costo de mover todas las
+ * entradas.
+ *
+ * Se pueden eliminar llaves mientras se itera el diccionario, aunque las
+ * eliminaciones muevan listas o reduzcan el arreglo: cada entrada que siga en
+ * el diccionario se recorre exactamente una vez, y las eliminadas antes de
+ * llegar a ellas no se recorren. Las llaves agregadas mientras se itera pueden
+ * recorrerse o no.
  */
 public class Diccionario<K, V> implements Iterable<V> {
 
@@ -18,57 +33,122 @@ public class Diccionario<K, V> implements Iterable<V> {
         public K llave;
         /* El valor. */
         public V valor;
+        /* La dispersión completa de la llave. */
+        public int dispersion;
+        /* Si la entrada ya se eliminó del diccionario. */
+        public boolean eliminada;
 
         /* Construye una nueva entrada. */
-        public Entrada(K llave, V valor) {
+        public Entrada(K llave, V valor, int dispersion) {
             this.llave = llave;
             this.valor = valor;
+            this.dispersion = dispersion;
         }
     }
 
-    /* Clase interna privada para iteradores. */
+    /*
+     * Clase interna privada para iteradores. Recorre las entradas por cubetas:
+     * la cubeta b tiene las entradas cuya dispersión, con la máscara del arreglo
+     * actual cuando se creó el iterador, es b. Al llegar a una cubeta junta sus
+     * entradas de las listas de ambos arreglos, estén como estén en ese momento,
+     * así que las migraciones y los cambios de tamaño entre una cubeta y otra no
+     * hacen que se salten ni se repitan entradas. Sin cambios de tamaño, el orden
+     * es el de las listas del arreglo actual.
+     */
     private class Iterador {
 
-        /* En qué lista estamos. */
+        /* La máscara de las cubetas. */
+        private int mascara;
+        /* La cubeta actual. */
         private int indice;
-        /* Iterador auxiliar. */
-        private Iterator<Entrada> iterador;
+        /* Las entradas de la cubeta actual. */
+        private Entrada[] cubeta;
+        /* Número de entradas en la cubeta actual. */
+        private int elementosCubeta;
+        /* Posición de la siguiente entrada en la cubeta actual. */
+        private int posicion;
+        /* La siguiente entrada. */
+        private Entrada siguiente;
 
         /*
          * Construye un nuevo iterador, auxiliándose de las listas del diccionario.
          */
+        @SuppressWarnings("unchecked")
         public Iterador() {
-            indice = 0;
+            mascara = entradas.length - 1;
+            indice = -1;
+            cubeta = (Entrada[]) Array.newInstance(Entrada.class, 4);
             mueveIterador();
         }
 
         /* Nos dice si hay una siguiente entrada. */
         public boolean hasNext() {
-            return iterador != null;
+            if (siguiente != null && siguiente.eliminada)
+                mueveIterador();
+            return siguiente != null;
         }
 
         /* Regresa la siguiente entrada. */
         public Entrada siguiente() {
-            if (iterador == null)
+            if (!hasNext())
                 throw new NoSuchElementException("No quedan elementos por iterar.");
-            Entrada siguiente = iterador.next();
-            if (!iterador.hasNext()) {
-                ++indice;
-                mueveIterador();
-            }
-            return siguiente;
+            Entrada e = siguiente;
+            mueveIterador();
+            return e;
         }
 
-        /* Mueve el iterador a la siguiente entrada válida. */
+        /* Mueve el iterador a la siguiente entrada que no se haya eliminado. */
         private void mueveIterador() {
-            while (indice < entradas.length) {
-                if (entradas[indice] != null) {
-                    iterador = entradas[indice].iterator();
+            while (true) {
+                while (posicion < elementosCubeta) {
+                    Entrada e = cubeta[posicion++];
+                    if (!e.eliminada) {
+                        siguiente = e;
+                        return;
+                    }
+                }
+                if (indice == mascara) {
+                    siguiente = null;
+                    cubeta = null;
                     return;
                 }
-                indice++;
+                llenaCubeta(++indice);
+            }
+        }
+
+        /* Junta las entradas de la cubeta b de ambos arreglos. */
+        private void llenaCubeta(int b) {
+            elementosCubeta = posicion = 0;
+            llenaCubeta(entradas, b);
+            if (anteriores != null)
+                llenaCubeta(anteriores, b);
+        }
+
+        /*
+         * Junta las entradas de la cubeta b que están en el arreglo: si el
+         * arreglo es más grande que la máscara están repartidas en varias
+         * listas, y si es más chico comparten su lista con otras cubetas.
+         */
+        private void llenaCubeta(Lista<Entrada>[] arreglo, int b) {
+            if (arreglo.length > mascara) {
+                for (int i = b; i < arreglo.length; i += mascara + 1)
+                    if (arreglo[i] != null)
+                        for (Entrada e : arreglo[i])
+                            agregaACubeta(e);
+                return;
             }
-            iterador = null;
+            Lista<Entrada> lista = arreglo[b & (arreglo.length - 1)];
+            if (lista != null)
+                for (Entrada e : lista)
+                    if ((e.dispersion & mascara) == b)
+                        agregaACubeta(e);
+        }
+
+        /* Agrega una entrada a la cubeta actual. */
+        private void agregaACubeta(Entrada e) {
+            if (elementosCubeta == cubeta.length)
+                cubeta = Arrays.copyOf(cubeta, cubeta.length * 2);
+            cubeta[elementosCubeta++] = e;
         }
     }
 
@@ -95,13 +175,33 @@ public class Diccionario<K, V> implements Iterable<V> {
     /** Máxima carga permitida por el diccionario. */
     public static final double MAXIMA_CARGA = 0.72;
 
+    /**
+     * Carga por debajo de la cual el diccionario se reduce. Es la cuarta parte de
+     * la máxima para que, tras crecer o reducirse, hagan falta muchas operaciones
+     * antes de volver a cambiar de tamaño.
+     */
+    public static final double MINIMA_CARGA = MAXIMA_CARGA / 4;
+
     /* Capacidad mínima; decidida arbitrariamente a 2^6. */
     private static final int MINIMA_CAPACIDAD = 64;
 
+    /*
+     * Listas del arreglo anterior que se migran en cada operación que modifica el
+     * diccionario. Con este número la migración siempre termina antes de que la
+     * carga vuelva a cruzar uno de los límites.
+     */
+    private static final int MIGRACION = 16;
+
     /* Dispersor. */
     private Dispersor<K> dispersor;
     /* Nuestro diccionario. */
     private Lista<Entrada>[] entradas;
+    /* El arreglo anterior mientras se migra, o null si no hay migración. */
+    private Lista<Entrada>[] anteriores;
+    /* Siguiente lista del arreglo anterior a migrar. */
+    private int migradas;
+    /* Tamaño del arreglo con el que se creó el diccionario. */
+    private int capacidadInicial;
     /* Número de valores. */
     private int elementos;
 
@@ -145,7 +245,8 @@ public class Diccionario<K, V> implements Iterable<V> {
 
     /**
      * Construye un diccionario con una capacidad inicial y un método de dispersor
-     * definidos por el usuario.
+     * definidos por el usuario. El diccionario nunca se reduce por debajo de esta
+     * capacidad.
      * 
      * @param capacidad la capacidad inicial del diccionario.
      * @param dispersor el dispersor a utilizar.
@@ -159,6 +260,7 @@ public class Diccionario<K, V> implements Iterable<V> {
         while (n < capacidad)
             n *= 2;
         capacidad = n;
+        capacidadInicial = capacidad;
         entradas = nuevoArreglo(capacidad);
     }
 
@@ -174,37 +276,170 @@ public class Diccionario<K, V> implements Iterable<V> {
     public void agrega(K llave, V valor) {
         if (llave == null || valor == null)
             throw new IllegalArgumentException("No se aceptan llaves ni valores nulos.");
-        int hash = dispersarLLave(llave);
+        int dispersion = preparaLLave(llave);
+        Entrada e = buscarEntrada(llave, dispersion);
+        if (e != null)
+            e.valor = valor;
+        else
+            agregaEntrada(dispersion, llave, valor);
+        ajustaTamano();
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada, sólo si
+     * la llave no tiene ya un valor asociado.
+     * 
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @return el valor que ya estaba asociado a la llave, o <code>null</code> si
+     *         no había ninguno y se agregó el valor recibido.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    public V agregaSiAusente(K llave, V valor) {
+        if (llave == null || valor == null)
+            throw new IllegalArgumentException("No se aceptan llaves ni valores nulos.");
+        int dispersion = preparaLLave(llave);
+        Entrada e = buscarEntrada(llave, dispersion);
+        if (e != null)
+            return e.valor;
+        agregaEntrada(dispersion, llave, valor);
+        ajustaTamano();
+        return null;
+    }
+
+    /**
+     * Calcula un nuevo valor para la llave a partir de la llave y su valor actual
+     * (<code>null</code> si no tiene uno), y lo asocia a la llave. Si la función
+     * regresa <code>null</code>, la llave se elimina del diccionario.
+     * 
+     * @param llave   la llave cuyo valor queremos calcular.
+     * @param funcion la función que calcula el nuevo valor.
+     * @return el nuevo valor asociado a la llave, o <code>null</code> si la llave
+     *         ya no está en el diccionario.
+     * @throws IllegalArgumentException si la llave o la función son nulas.
+     */
+    public V calcula(K llave, BiFunction<? super K, ? super V, ? extends V> funcion) {
+        if (llave == null || funcion == null)
+            throw new IllegalArgumentException("La llave y la función no pueden ser nulas.");
+        int dispersion = preparaLLave(llave);
+        Entrada e = buscarEntrada(llave, dispersion);
+        V valor = funcion.apply(llave, (e == null) ? null : e.valor);
+        return actualizaEntrada(dispersion, e, llave, valor);
+    }
+
+    /**
+     * Combina el valor recibido con el valor actual de la llave. Si la llave no
+     * tiene un valor, se le asocia el valor recibido; si lo tiene, se le asocia el
+     * resultado de aplicar la función al valor actual y al recibido. Si la función
+     * regresa <code>null</code>, la llave se elimina del diccionario.
+     * 
+     * @param llave   la llave cuyo valor queremos combinar.
+     * @param valor   el valor a combinar.
+     * @param funcion la función que combina el valor actual con el recibido.
+     * @return el nuevo valor asociado a la llave, o <code>null</code> si la llave
+     *         ya no está en el diccionario.
+     * @throws IllegalArgumentException si la llave, el valor o la función son
+     *                                  nulos.
+     */
+    public V combina(K llave, V valor, BiFunction<? super V, ? super V, ? extends V> funcion) {
+        if (llave == null || valor == null || funcion == null)
+            throw new IllegalArgumentException("La llave, el valor y la función no pueden ser nulos.");
+        int dispersion = preparaLLave(llave);
+        Entrada e = buscarEntrada(llave, dispersion);
+        if (e != null)
+            valor = funcion.apply(e.valor, valor);
+        return actualizaEntrada(dispersion, e, llave, valor);
+    }
+
+    /*
+     * Asocia el valor a la llave, cuya entrada (o null si no tiene) ya se buscó.
+     * Si el valor es null elimina la entrada.
+     */
+    private V actualizaEntrada(int dispersion, Entrada e, K llave, V valor) {
+        if (e != null && valor != null)
+            e.valor = valor;
+        else if (e != null)
+            eliminaEntrada(e);
+        else if (valor != null)
+            agregaEntrada(dispersion, llave, valor);
+        ajustaTamano();
+        return valor;
+    }
+
+    /* Agrega una entrada nueva a la lista hash del arreglo actual. */
+    private void agregaEntrada(int dispersion, K llave, V valor) {
+        int hash = dispersion & (entradas.length - 1);
         if (entradas[hash] == null)
             entradas[hash] = new Lista<Entrada>();
-        else
-            for (Entrada e : entradas[hash])
-                if (e.llave.equals(llave)) {
-                    entradas[hash].elimina(e);
-                    --elementos;
-                }
         ++elementos;
-        entradas[hash].agrega(new Entrada(llave, valor));
-        if (carga() >= MAXIMA_CARGA) {
-            Lista<Entrada>[] nuevoArreglo = nuevoArreglo(entradas.length * 2);
-            Iterador iterador = new Iterador();
-            while (iterador.hasNext()) {
-                Entrada e = iterador.siguiente();
-                hash = dispersarLLave(e.llave, nuevoArreglo.length - 1);
-                if (nuevoArreglo[hash] == null)
-                    nuevoArreglo[hash] = new Lista<Entrada>();
-                nuevoArreglo[hash].agrega(e);
-            }
-            entradas = nuevoArreglo;
+        entradas[hash].agrega(new Entrada(llave, valor, dispersion));
+    }
+
+    /*
+     * Prepara al diccionario para modificar la llave: si hay una migración
+     * pendiente, migra primero la lista del arreglo
+     * anterior donde estaría la llave, para que las llaves nuevas sólo se agreguen
+     * al arreglo actual. Regresa la dispersión de la llave.
+     */
+    private int preparaLLave(K llave) {
+        int dispersion = dispersor.dispersa(llave);
+        if (anteriores != null)
+            migraLista(dispersion & (anteriores.length - 1));
+        return dispersion;
+    }
+
+    /*
+     * Avanza la migración pendiente o, si no hay ninguna, empieza una cuando la
+     * carga sale de los límites.
+     */
+    private void ajustaTamano() {
+        if (anteriores != null) {
+            for (int i = 0; i < MIGRACION && anteriores != null; i++)
+                migraLista(migradas);
+            // Sólo por precaución; la migración termina antes de que esto ocurra.
+            if (anteriores != null && carga() >= MAXIMA_CARGA)
+                terminaMigracion();
         }
+        if (anteriores != null)
+            return;
+        if (carga() >= MAXIMA_CARGA)
+            iniciaMigracion(entradas.length * 2);
+        else if (carga() < MINIMA_CARGA && entradas.length > capacidadInicial)
+            iniciaMigracion(entradas.length / 2);
     }
 
-    private int dispersarLLave(K llave) {
-        return dispersarLLave(llave, entradas.length - 1);
+    /* Cambia al arreglo de tamaño n, dejando el actual como el anterior. */
+    private void iniciaMigracion(int n) {
+        anteriores = entradas;
+        entradas = nuevoArreglo(n);
+        migradas = 0;
     }
 
-    private int dispersarLLave(K llave, int mascara) {
-        return dispersor.dispersa(llave) & (mascara);
+    /* Migra todas las listas pendientes del arreglo anterior. */
+    private void terminaMigracion() {
+        while (anteriores != null)
+            migraLista(migradas);
+    }
+
+    /*
+     * Mueve las entradas de la lista i del arreglo anterior al arreglo actual, y
+     * avanza el índice de la siguiente lista a migrar si es necesario.
+     */
+    private void migraLista(int i) {
+        Lista<Entrada> lista = anteriores[i];
+        if (lista != null) {
+            anteriores[i] = null;
+            for (Entrada e : lista) {
+                int hash = e.dispersion & (entradas.length - 1);
+                if (entradas[hash] == null)
+                    entradas[hash] = new Lista<Entrada>();
+                entradas[hash].agrega(e);
+            }
+        }
+        while (migradas < anteriores.length && anteriores[migradas] == null)
+            migradas++;
+        if (migradas == anteriores.length)
+            anteriores = null;
     }
 
     /**
@@ -218,12 +453,28 @@ public class Diccionario<K, V> implements Iterable<V> {
     public V get(K llave) {
         if (llave == null)
             throw new IllegalArgumentException("La llave no puede ser nula.");
-        Entrada elementoBuscado = buscarEntrada(llave, dispersarLLave(llave));
+        Entrada elementoBuscado = buscarEntrada(llave);
         if (elementoBuscado == null)
             throw new NoSuchElementException("La llave introducida no se encuentra en el diccionario.");
         return elementoBuscado.valor;
     }
 
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada, o el
+     * valor por omisión si la llave no está en el diccionario.
+     * 
+     * @param llave      la llave para buscar el valor.
+     * @param porOmision el valor a regresar si la llave no está.
+     * @return el valor correspondiente a la llave, o el valor por omisión.
+     * @throws IllegalArgumentException si la llave es nula.
+     */
+    public V get(K llave, V porOmision) {
+        if (llave == null)
+            throw new IllegalArgumentException("La llave no puede ser nula.");
+        Entrada elementoBuscado = buscarEntrada(llave);
+        return (elementoBuscado == null) ? porOmision : elementoBuscado.valor;
+    }
+
     /**
      * Nos dice si una llave se encuentra en el diccionario.
      * 
@@ -232,18 +483,39 @@ public class Diccionario<K, V> implements Iterable<V> {
      *         <code>false</code> en otro caso.
      */
     public boolean contiene(K llave) {
-        return (llave == null) ? false : buscarEntrada(llave, dispersarLLave(llave)) != null;
+        return (llave == null) ? false : buscarEntrada(llave) != null;
     }
 
     /*
-     * Busca en el diccionario la entrada asociada a la llave. Regresa null si no la
-     * encuentra
+     * Busca en el diccionario la entrada asociada a la llave, tanto en el arreglo
+     * actual como en el anterior si hay una migración pendiente. Regresa null si
+     * no la encuentra.
      */
-    private Entrada buscarEntrada(K llave, int hash) {
-        if (entradas[hash] == null)
+    private Entrada buscarEntrada(K llave) {
+        return buscarEntrada(llave, dispersor.dispersa(llave));
+    }
+
+    /* Busca la entrada de la llave con la dispersión dada en ambos arreglos. */
+    private Entrada buscarEntrada(K llave, int dispersion) {
+        if (anteriores != null) {
+            Entrada e = buscarEntrada(anteriores, llave, dispersion);
+            if (e != null)
+                return e;
+        }
+        return buscarEntrada(entradas, llave, dispersion);
+    }
+
+    /*
+     * Busca en la lista hash del arreglo la entrada asociada a la llave. Sólo
+     * compara con equals las entradas con la misma dispersión. Regresa null si no
+     * la encuentra
+     */
+    private Entrada buscarEntrada(Lista<Entrada>[] arreglo, K llave, int dispersion) {
+        Lista<Entrada> lista = arreglo[dispersion & (arreglo.length - 1)];
+        if (lista == null)
             return null;
-        for (Entrada e : entradas[hash])
-            if (e.llave.equals(llave))
+        for (Entrada e : lista)
+            if (e.dispersion == dispersion && e.llave.equals(llave))
                 return e;
         return null;
     }
@@ -259,11 +531,23 @@ public class Diccionario<K, V> implements Iterable<V> {
     public void elimina(K llave) {
         if (llave == null)
             throw new IllegalArgumentException("La llave no puede ser nula.");
-        int hash = dispersarLLave(llave);
-        Entrada entradaEliminar = buscarEntrada(llave, hash);
+        int dispersion = preparaLLave(llave);
+        Entrada entradaEliminar = buscarEntrada(llave, dispersion);
         if (entradaEliminar == null)
             throw new NoSuchElementException("La llave introducida no se encuentra en el diccionario.");
-        entradas[hash].elimina(entradaEliminar);
+        eliminaEntrada(entradaEliminar);
+        ajustaTamano();
+    }
+
+    /*
+     * Elimina una entrada de su lista hash, que está en el arreglo actual porque
+     * preparaLLave ya migró su lista. La marca como eliminada para que los
+     * iteradores que ya la tenían en su cubeta se la salten.
+     */
+    private void eliminaEntrada(Entrada e) {
+        int hash = e.dispersion & (entradas.length - 1);
+        entradas[hash].elimina(e);
+        e.eliminada = true;
         elementos--;
         if (entradas[hash].esVacia())
             entradas[hash] = null;
@@ -275,10 +559,15 @@ public class Diccionario<K, V> implements Iterable<V> {
      * @return cuántas colisiones hay en el diccionario.
      */
     public int colisiones() {
+        return colisiones(entradas) + ((anteriores == null) ? 0 : colisiones(anteriores));
+    }
+
+    /* Cuenta las colisiones en las listas del arreglo. */
+    private int colisiones(Lista<Entrada>[] arreglo) {
         int colisiones = 0;
-        for (int i = 0; i < entradas.length; i++)
-            if (entradas[i] != null)
-                colisiones += entradas[i].getElementos() - 1;
+        for (int i = 0; i < arreglo.length; i++)
+            if (arreglo[i] != null)
+                colisiones += arreglo[i].getElementos() - 1;
         return colisiones;
     }
 
@@ -289,16 +578,24 @@ public class Diccionario<K, V> implements Iterable<V> {
      * @return el máximo número de colisiones para una misma llave.
      */
     public int colisionMaxima() {
+        int colisionMaxima = colisionMaxima(entradas);
+        if (anteriores != null)
+            colisionMaxima = Math.max(colisionMaxima, colisionMaxima(anteriores));
+        return colisionMaxima;
+    }
+
+    /* Regresa el máximo número de colisiones en una lista del arreglo. */
+    private int colisionMaxima(Lista<Entrada>[] arreglo) {
         int colisionMaxima = 0;
-        for (int i = 0; i < entradas.length; i++) {
-            if (entradas[i] != null && colisionMaxima < entradas[i].getElementos() - 1)
-                colisionMaxima = entradas[i].getElementos() - 1;
+        for (int i = 0; i < arreglo.length; i++) {
+            if (arreglo[i] != null && colisionMaxima < arreglo[i].getElementos() - 1)
+                colisionMaxima = arreglo[i].getElementos() - 1;
         }
         return colisionMaxima;
     }
 
     /**
-     * Nos dice la carga del diccionario.
+     * Nos dice la carga del diccionario, respecto al tamaño de su arreglo actual.
      * 
      * @return la carga del diccionario.
      */
@@ -326,10 +623,12 @@ public class Diccionario<K, V> implements Iterable<V> {
     }
 
     /**
-     * Limpia el diccionario de elementos, dejándolo vacío.
+     * Limpia el diccionario de elementos, dejándolo vacío y con su capacidad
+     * inicial.
      */
     public void limpia() {
-        entradas = nuevoArreglo(entradas.length);
+        entradas = nuevoArreglo(capacidadInicial);
+        anteriores = null;
         elementos = 0;
     }
 
@@ -371,7 +670,7 @@ public class Diccionario<K, V> implements Iterable<V> {
         Iterador iterador = new Iterador();
         while (iterador.hasNext()) {
             Entrada e1 = iterador.siguiente();
-            Entrada e2 = d.buscarEntrada(e1.llave, d.dispersarLLave(e1.llave));
+            Entrada e2 = d.buscarEntrada(e1.llave);
             if (e2 == null || !e1.valor.equals(e2.valor))
                 return false;
         }
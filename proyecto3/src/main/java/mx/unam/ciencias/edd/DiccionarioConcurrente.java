@@ -0,0 +1,486 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+
+/**
+ * Clase para diccionarios que pueden usarse desde varios hilos a la vez.
+ *
+ * El diccionario se divide en segmentos, cada uno un {@link Diccionario} con su
+ * propio candado; la dispersión de una llave decide su segmento. Las operaciones
+ * sobre una llave sólo toman el candado de su segmento, así que hilos que usan
+ * llaves de segmentos distintos no se estorban. Todas las operaciones sobre una
+ * llave son atómicas; en particular {@link #combina} y {@link #calcula} leen y
+ * actualizan el valor sin que otro hilo pueda modificarlo en medio. Para
+ * incrementar un contador de forma atómica basta con
+ * <code>combina(llave, 1, Integer::sum)</code>.
+ *
+ * Los iteradores nunca fallan por modificaciones concurrentes: cada segmento se
+ * copia, con su candado tomado, en el momento en que el iterador llega a él. Una
+ * llave se itera a lo más una vez, y el valor iterado es el que tenía cuando se
+ * copió su segmento. Para obtener el estado de todo el diccionario en un mismo
+ * instante está {@link #copia}.
+ */
+public class DiccionarioConcurrente<K, V> implements Iterable<V> {
+
+    /* Clase interna privada para segmentos: un diccionario con su candado. */
+    private static class Segmento<K, V> extends ReentrantLock {
+
+        private static final long serialVersionUID = 1L;
+
+        /* El diccionario del segmento. */
+        public Diccionario<K, V> diccionario;
+
+        /* Construye un nuevo segmento. */
+        public Segmento(int capacidad, Dispersor<K> dispersor) {
+            diccionario = new Diccionario<>(capacidad, dispersor);
+        }
+    }
+
+    /*
+     * Clase interna privada para iteradores. Copia las llaves y los valores de
+     * cada segmento cuando llega a él.
+     */
+    private class Iterador {
+
+        /* El siguiente segmento a copiar. */
+        private int segmento;
+        /* Iteradores de las llaves y los valores copiados del segmento actual. */
+        private Iterator<K> iteradorLlaves;
+        private Iterator<V> iteradorValores;
+
+        /* Construye un nuevo iterador. */
+        public Iterador() {
+            mueveSegmento();
+        }
+
+        /* Nos dice si hay un siguiente elemento. */
+        public boolean hasNext() {
+            return iteradorLlaves.hasNext();
+        }
+
+        /* Avanza al siguiente elemento y regresa su llave. */
+        protected K siguienteLlave() {
+            if (!iteradorLlaves.hasNext())
+                throw new NoSuchElementException("No quedan elementos por iterar.");
+            K llave = iteradorLlaves.next();
+            iteradorValores.next();
+            if (!iteradorLlaves.hasNext())
+                mueveSegmento();
+            return llave;
+        }
+
+        /* Avanza al siguiente elemento y regresa su valor. */
+        protected V siguienteValor() {
+            if (!iteradorValores.hasNext())
+                throw new NoSuchElementException("No quedan elementos por iterar.");
+            iteradorLlaves.next();
+            V valor = iteradorValores.next();
+            if (!iteradorLlaves.hasNext())
+                mueveSegmento();
+            return valor;
+        }
+
+        /* Copia el siguiente segmento no vacío, si hay uno. */
+        private void mueveSegmento() {
+            Lista<K> llaves = new Lista<>();
+            Lista<V> valores = new Lista<>();
+            while (llaves.esVacia() && segmento < segmentos.length) {
+                Segmento<K, V> s = segmentos[segmento++];
+                s.lock();
+                try {
+                    Iterator<K> i = s.diccionario.iteradorLlaves();
+                    Iterator<V> j = s.diccionario.iterator();
+                    while (i.hasNext()) {
+                        llaves.agrega(i.next());
+                        valores.agrega(j.next());
+                    }
+                } finally {
+                    s.unlock();
+                }
+            }
+            iteradorLlaves = llaves.iterator();
+            iteradorValores = valores.iterator();
+        }
+    }
+
+    /* Clase interna privada para iteradores de llaves. */
+    private class IteradorLlaves extends Iterador implements Iterator<K> {
+
+        /* Regresa el siguiente elemento. */
+        @Override
+        public K next() {
+            return siguienteLlave();
+        }
+    }
+
+    /* Clase interna privada para iteradores de valores. */
+    private class IteradorValores extends Iterador implements Iterator<V> {
+
+        /* Regresa el siguiente elemento. */
+        @Override
+        public V next() {
+            return siguienteValor();
+        }
+    }
+
+    /** Número de segmentos por omisión. */
+    public static final int SEGMENTOS = 16;
+
+    /* Número máximo de segmentos. */
+    private static final int MAXIMOS_SEGMENTOS = 1 << 16;
+    /* Capacidad inicial por omisión. */
+    private static final int CAPACIDAD = 1024;
+
+    /* Dispersor. */
+    private Dispersor<K> dispersor;
+    /* Los segmentos. */
+    private Segmento<K, V>[] segmentos;
+    /* Corrimiento que deja los bits altos de la dispersión, que eligen segmento. */
+    private int corrimiento;
+
+    /**
+     * Construye un diccionario con un número de segmentos y dispersor
+     * predeterminados.
+     */
+    public DiccionarioConcurrente() {
+        this(SEGMENTOS, (K llave) -> llave.hashCode());
+    }
+
+    /**
+     * Construye un diccionario con un número de segmentos definido por el usuario,
+     * y un dispersor predeterminado.
+     * 
+     * @param segmentos el número de segmentos; se redondea a una potencia de dos.
+     * @throws IllegalArgumentException si el número de segmentos es menor que uno.
+     */
+    public DiccionarioConcurrente(int segmentos) {
+        this(segmentos, (K llave) -> llave.hashCode());
+    }
+
+    /**
+     * Construye un diccionario con un número de segmentos predeterminado, y un
+     * dispersor definido por el usuario.
+     * 
+     * @param dispersor el dispersor a utilizar.
+     */
+    public DiccionarioConcurrente(Dispersor<K> dispersor) {
+        this(SEGMENTOS, dispersor);
+    }
+
+    /**
+     * Construye un diccionario con un número de segmentos y un dispersor definidos
+     * por el usuario. Más segmentos permiten que más hilos modifiquen el
+     * diccionario a la vez, a cambio de más memoria.
+     * 
+     * @param segmentos el número de segmentos; se redondea a una potencia de dos.
+     * @param dispersor el dispersor a utilizar.
+     * @throws IllegalArgumentException si el número de segmentos es menor que uno.
+     */
+    @SuppressWarnings("unchecked")
+    public DiccionarioConcurrente(int segmentos, Dispersor<K> dispersor) {
+        if (segmentos < 1)
+            throw new IllegalArgumentException("Debe haber al menos un segmento.");
+        int n = 1;
+        while (n < segmentos && n < MAXIMOS_SEGMENTOS)
+            n *= 2;
+        this.dispersor = dispersor;
+        this.segmentos = (Segmento<K, V>[]) new Segmento[n];
+        for (int i = 0; i < n; i++)
+            this.segmentos[i] = new Segmento<>(Math.max(1, CAPACIDAD / n), dispersor);
+        corrimiento = 32 - Integer.numberOfTrailingZeros(n);
+    }
+
+    /*
+     * Regresa el segmento de la llave. Los segmentos se eligen con los bits altos
+     * de la dispersión mezclada, mientras que el diccionario de cada segmento usa
+     * los bits bajos de la dispersión original, de modo que las llaves de un mismo
+     * segmento siguen repartiéndose en todo su arreglo.
+     */
+    private Segmento<K, V> segmento(K llave) {
+        if (segmentos.length == 1)
+            return segmentos[0];
+        int h = dispersor.dispersa(llave) * 0x9e3779b9;
+        return segmentos[h >>> corrimiento];
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si la
+     * llave ya había sido utilizada antes para agregar un valor, el diccionario
+     * reemplaza ese valor con el recibido aquí.
+     * 
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    public void agrega(K llave, V valor) {
+        if (llave == null || valor == null)
+            throw new IllegalArgumentException("No se aceptan llaves ni valores nulos.");
+        Segmento<K, V> s = segmento(llave);
+        s.lock();
+        try {
+            s.diccionario.agrega(llave, valor);
+        } finally {
+            s.unlock();
+        }
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada, sólo si
+     * la llave no tiene ya un valor asociado.
+     * 
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @return el valor que ya estaba asociado a la llave, o <code>null</code> si
+     *         no había ninguno y se agregó el valor recibido.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    public V agregaSiAusente(K llave, V valor) {
+        if (llave == null || valor == null)
+            throw new IllegalArgumentException("No se aceptan llaves ni valores nulos.");
+        Segmento<K, V> s = segmento(llave);
+        s.lock();
+        try {
+            return s.diccionario.agregaSiAusente(llave, valor);
+        } finally {
+            s.unlock();
+        }
+    }
+
+    /**
+     * Calcula de forma atómica un nuevo valor para la llave a partir de la llave y
+     * su valor actual (<code>null</code> si no tiene uno), y lo asocia a la llave.
+     * Si la función regresa <code>null</code>, la llave se elimina del
+     * diccionario. La función se evalúa con el candado del segmento tomado, así
+     * que debe ser breve y no debe usar el diccionario.
+     * 
+     * @param llave   la llave cuyo valor queremos calcular.
+     * @param funcion la función que calcula el nuevo valor.
+     * @return el nuevo valor asociado a la llave, o <code>null</code> si la llave
+     *         ya no está en el diccionario.
+     * @throws IllegalArgumentException si la llave o la función son nulas.
+     */
+    public V calcula(K llave, BiFunction<? super K, ? super V, ? extends V> funcion) {
+        if (llave == null || funcion == null)
+            throw new IllegalArgumentException("La llave y la función no pueden ser nulas.");
+        Segmento<K, V> s = segmento(llave);
+        s.lock();
+        try {
+            return s.diccionario.calcula(llave, funcion);
+        } finally {
+            s.unlock();
+        }
+    }
+
+    /**
+     * Combina de forma atómica el valor recibido con el valor actual de la llave.
+     * Si la llave no tiene un valor, se le asocia el valor recibido; si lo tiene,
+     * se le asocia el resultado de aplicar la función al valor actual y al
+     * recibido. Si la función regresa <code>null</code>, la llave se elimina del
+     * diccionario. La función se evalúa con el candado del segmento tomado, así
+     * que debe ser breve y no debe usar el diccionario.
+     * 
+     * @param llave   la llave cuyo valor queremos combinar.
+     * @param valor   el valor a combinar.
+     * @param funcion la función que combina el valor actual con el recibido.
+     * @return el nuevo valor asociado a la llave, o <code>null</code> si la llave
+     *         ya no está en el diccionario.
+     * @throws IllegalArgumentException si la llave, el valor o la función son
+     *                                  nulos.
+     */
+    public V combina(K llave, V valor, BiFunction<? super V, ? super V, ? extends V> funcion) {
+        if (llave == null || valor == null || funcion == null)
+            throw new IllegalArgumentException("La llave, el valor y la función no pueden ser nulos.");
+        Segmento<K, V> s = segmento(llave);
+        s.lock();
+        try {
+            return s.diccionario.combina(llave, valor, funcion);
+        } finally {
+            s.unlock();
+        }
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada.
+     * 
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException   si la llave no está en el diccionario.
+     */
+    public V get(K llave) {
+        if (llave == null)
+            throw new IllegalArgumentException("La llave no puede ser nula.");
+        Segmento<K, V> s = segmento(llave);
+        s.lock();
+        try {
+            return s.diccionario.get(llave);
+        } finally {
+            s.unlock();
+        }
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada, o el
+     * valor por omisión si la llave no está en el diccionario.
+     * 
+     * @param llave      la llave para buscar el valor.
+     * @param porOmision el valor a regresar si la llave no está.
+     * @return el valor correspondiente a la llave, o el valor por omisión.
+     * @throws IllegalArgumentException si la llave es nula.
+     */
+    public V get(K llave, V porOmision) {
+        if (llave == null)
+            throw new IllegalArgumentException("La llave no puede ser nula.");
+        Segmento<K, V> s = segmento(llave);
+        s.lock();
+        try {
+            return s.diccionario.get(llave, porOmision);
+        } finally {
+            s.unlock();
+        }
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario.
+     * 
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <code>true</code> si la llave está en el diccionario,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(K llave) {
+        if (llave == null)
+            return false;
+        Segmento<K, V> s = segmento(llave);
+        s.lock();
+        try {
+            return s.diccionario.contiene(llave);
+        } finally {
+            s.unlock();
+        }
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada.
+     * 
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException   si la llave no se encuentra en el
+     *                                  diccionario.
+     */
+    public void elimina(K llave) {
+        if (llave == null)
+            throw new IllegalArgumentException("La llave no puede ser nula.");
+        Segmento<K, V> s = segmento(llave);
+        s.lock();
+        try {
+            s.diccionario.elimina(llave);
+        } finally {
+            s.unlock();
+        }
+    }
+
+    /**
+     * Regresa el número de entradas en el diccionario. Si otros hilos modifican el
+     * diccionario mientras tanto, el resultado es aproximado.
+     * 
+     * @return el número de entradas en el diccionario.
+     */
+    public int getElementos() {
+        int elementos = 0;
+        for (Segmento<K, V> s : segmentos) {
+            s.lock();
+            try {
+                elementos += s.diccionario.getElementos();
+            } finally {
+                s.unlock();
+            }
+        }
+        return elementos;
+    }
+
+    /**
+     * Nos dice si el diccionario es vacío.
+     * 
+     * @return <code>true</code> si el diccionario es vacío, <code>false</code> en
+     *         otro caso.
+     */
+    public boolean esVacia() {
+        for (Segmento<K, V> s : segmentos) {
+            s.lock();
+            try {
+                if (!s.diccionario.esVacia())
+                    return false;
+            } finally {
+                s.unlock();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Limpia el diccionario de elementos, dejándolo vacío.
+     */
+    public void limpia() {
+        for (Segmento<K, V> s : segmentos) {
+            s.lock();
+            try {
+                s.diccionario.limpia();
+            } finally {
+                s.unlock();
+            }
+        }
+    }
+
+    /**
+     * Regresa una copia del diccionario tomada en un solo instante: mientras se
+     * copia, ningún otro hilo puede modificar el diccionario.
+     * 
+     * @return un {@link Diccionario} con las mismas llaves y valores.
+     */
+    public Diccionario<K, V> copia() {
+        // Los candados se toman siempre en el mismo orden para evitar bloqueos
+        // mutuos entre dos copias simultáneas.
+        for (Segmento<K, V> s : segmentos)
+            s.lock();
+        try {
+            int elementos = 0;
+            for (Segmento<K, V> s : segmentos)
+                elementos += s.diccionario.getElementos();
+            Diccionario<K, V> copia = new Diccionario<>(elementos, dispersor);
+            for (Segmento<K, V> s : segmentos) {
+                Iterator<K> llaves = s.diccionario.iteradorLlaves();
+                Iterator<V> valores = s.diccionario.iterator();
+                while (llaves.hasNext())
+                    copia.agrega(llaves.next(), valores.next());
+            }
+            return copia;
+        } finally {
+            for (Segmento<K, V> s : segmentos)
+                s.unlock();
+        }
+    }
+
+    /**
+     * Regresa un iterador para iterar las llaves del diccionario. El diccionario se
+     * itera sin ningún orden específico.
+     * 
+     * @return un iterador para iterar las llaves del diccionario.
+     */
+    public Iterator<K> iteradorLlaves() {
+        return new IteradorLlaves();
+    }
+
+    /**
+     * Regresa un iterador para iterar los valores del diccionario. El diccionario
+     * se itera sin ningún orden específico.
+     * 
+     * @return un iterador para iterar los valores del diccionario.
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new IteradorValores();
+    }
+}
@@ -1,10 +1,17 @@
 package mx.unam.ciencias.edd;
 
 /**
- * Clase para métodos estáticos con dispersores de bytes.
+ * Clase para métodos estáticos con dispersores de bytes, y de caracteres para
+ * las estructuras que necesitan dispersiones de 64 bits.
  */
 public class Dispersores {
 
+    /* Primos de la variante de 64 bits de xxHash, para dispersa64. */
+    private static final long P1_64 = 0x9e3779b185ebca87L;
+    private static final long P2_64 = 0xc2b2ae3d27d4eb4fL;
+    private static final long P4_64 = 0x85ebca77c2b2ae63L;
+    private static final long P5_64 = 0x27d4eb2f165667c5L;
+
     /* Constructor privado para evitar instanciación. */
     private Dispersores() {
     }
@@ -16,16 +23,29 @@ public class Dispersores {
      * @return la dispersión de XOR de la llave.
      */
     public static int dispersaXOR(byte[] llave) {
-        int r = 0, i = 0;
-        int longitud = llave.length;
+        return dispersaXOR(llave, 0, llave.length);
+    }
+
+    /**
+     * Función de dispersión XOR de los bytes
+     * <code>llave[inicio, inicio + longitud)</code>.
+     * 
+     * @param llave    el arreglo con la llave a dispersar.
+     * @param inicio   el índice del primer byte de la llave.
+     * @param longitud el número de bytes de la llave.
+     * @return la dispersión de XOR de la llave.
+     */
+    public static int dispersaXOR(byte[] llave, int inicio, int longitud) {
+        int r = 0, i = inicio;
+        int fin = inicio + longitud;
         do {
             byte a, b, c, d;
-            a = (i >= longitud) ? 0 : llave[i++];
-            b = (i >= longitud) ? 0 : llave[i++];
-            c = (i >= longitud) ? 0 : llave[i++];
-            d = (i >= longitud) ? 0 : llave[i++];
+            a = (i >= fin) ? 0 : llave[i++];
+            b = (i >= fin) ? 0 : llave[i++];
+            c = (i >= fin) ? 0 : llave[i++];
+            d = (i >= fin) ? 0 : llave[i++];
             r ^= combina(a, b, c, d);
-        } while (i < longitud);
+        } while (i < fin);
         return r;
     }
 
@@ -36,49 +56,58 @@ public class Dispersores {
      * @return la dispersión de Bob Jenkins de la llave.
      */
     public static int dispersaBJ(byte[] llave) {
-        int[] arr = new int[3];
-        arr[0] = arr[1] = 0x9e3779b9;
-        arr[2] = 0xffffffff;
-        int i = 0;
-        while (llave.length - i >= 12) {
-            arr[0] += combina(llave[i + 3], llave[i + 2], llave[i + 1], llave[i]);
-            arr[1] += combina(llave[i + 7], llave[i + 6], llave[i + 5], llave[i + 4]);
-            arr[2] += combina(llave[i + 11], llave[i + 10], llave[i + 9], llave[i + 8]);
-            i += 12;
-            mezcla(arr);
-        }
-        switch (llave.length - i) {
-            case 11: arr[2] += aEnteroPos(llave[i+10], 3);
-            case 10: arr[2] += aEnteroPos(llave[i+9], 2);
-            case 9: arr[2] += aEnteroPos(llave[i+8], 1);
-            case 8: arr[1] += aEnteroPos(llave[i+7], 3);
-            case 7: arr[1] += aEnteroPos(llave[i+6], 2);
-            case 6: arr[1] += aEnteroPos(llave[i+5], 1);
-            case 5: arr[1] += aEnteroPos(llave[i+4], 0);
-            case 4: arr[0] += aEnteroPos(llave[i+3], 3);
-            case 3: arr[0] += aEnteroPos(llave[i+2], 2);
-            case 2: arr[0] += aEnteroPos(llave[i+1], 1);
-            case 1: arr[0] += aEnteroPos(llave[i], 0);
-        }
-        arr[2] += llave.length;
-        mezcla(arr);
-        return arr[2];
+        return dispersaBJ(llave, 0, llave.length);
     }
 
-    private static void mezcla(int[] arr) {
-        int[] aux = { 13, 8, 13, 12, 16, 5, 3, 10, 15 };
-        int i = 0;
-        do {
-            arr[0] -= arr[1];
-            arr[0] -= arr[2];
-            arr[0] ^= (arr[2] >>> aux[i++]);
-            arr[1] -= arr[2];
-            arr[1] -= arr[0];
-            arr[1] ^= (arr[0] << aux[i++]);
-            arr[2] -= arr[0];
-            arr[2] -= arr[1];
-            arr[2] ^= (arr[1] >>> aux[i++]);
-        } while (i < 9);
+    /**
+     * Función de dispersión de Bob Jenkins de los bytes
+     * <code>llave[inicio, inicio + longitud)</code>.
+     * 
+     * @param llave    el arreglo con la llave a dispersar.
+     * @param inicio   el índice del primer byte de la llave.
+     * @param longitud el número de bytes de la llave.
+     * @return la dispersión de Bob Jenkins de la llave.
+     */
+    public static int dispersaBJ(byte[] llave, int inicio, int longitud) {
+        int a = 0x9e3779b9, b = 0x9e3779b9, c = 0xffffffff;
+        int i = inicio;
+        boolean ultimo = false;
+        // Cada vuelta mezcla un bloque de 12 bytes; la última, el resto y la
+        // longitud.
+        while (!ultimo) {
+            if (inicio + longitud - i >= 12) {
+                a += combina(llave[i + 3], llave[i + 2], llave[i + 1], llave[i]);
+                b += combina(llave[i + 7], llave[i + 6], llave[i + 5], llave[i + 4]);
+                c += combina(llave[i + 11], llave[i + 10], llave[i + 9], llave[i + 8]);
+                i += 12;
+            } else {
+                switch (inicio + longitud - i) {
+                    case 11: c += aEnteroPos(llave[i+10], 3);
+                    case 10: c += aEnteroPos(llave[i+9], 2);
+                    case 9: c += aEnteroPos(llave[i+8], 1);
+                    case 8: b += aEnteroPos(llave[i+7], 3);
+                    case 7: b += aEnteroPos(llave[i+6], 2);
+                    case 6: b += aEnteroPos(llave[i+5], 1);
+                    case 5: b += aEnteroPos(llave[i+4], 0);
+                    case 4: a += aEnteroPos(llave[i+3], 3);
+                    case 3: a += aEnteroPos(llave[i+2], 2);
+                    case 2: a += aEnteroPos(llave[i+1], 1);
+                    case 1: a += aEnteroPos(llave[i], 0);
+                }
+                c += longitud;
+                ultimo = true;
+            }
+            a -= b; a -= c; a ^= (c >>> 13);
+            b -= c; b -= a; b ^= (a << 8);
+            c -= a; c -= b; c ^= (b >>> 13);
+            a -= b; a -= c; a ^= (c >>> 12);
+            b -= c; b -= a; b ^= (a << 16);
+            c -= a; c -= b; c ^= (b >>> 5);
+            a -= b; a -= c; a ^= (c >>> 3);
+            b -= c; b -= a; b ^= (a << 10);
+            c -= a; c -= b; c ^= (b >>> 15);
+        }
+        return c;
     }
 
     /**
@@ -88,12 +117,219 @@ public class Dispersores {
      * @return la dispersión de Daniel Bernstein de la llave.
      */
     public static int dispersaDJB(byte[] llave) {
+        return dispersaDJB(llave, 0, llave.length);
+    }
+
+    /**
+     * Función de dispersión Daniel J. Bernstein de los bytes
+     * <code>llave[inicio, inicio + longitud)</code>.
+     * 
+     * @param llave    el arreglo con la llave a dispersar.
+     * @param inicio   el índice del primer byte de la llave.
+     * @param longitud el número de bytes de la llave.
+     * @return la dispersión de Daniel Bernstein de la llave.
+     */
+    public static int dispersaDJB(byte[] llave, int inicio, int longitud) {
         int hash = 5381;
-        for (int i = 0; i < llave.length; i++)
+        for (int i = inicio; i < inicio + longitud; i++)
             hash += (hash << 5) + (llave[i] & 0xff);
         return hash;
     }
 
+    /**
+     * Función de dispersión MurmurHash3 (la variante x86 de 32 bits) con semilla
+     * cero.
+     * 
+     * @param llave la llave a dispersar.
+     * @return la dispersión MurmurHash3 de la llave.
+     */
+    public static int dispersaMurmur3(byte[] llave) {
+        return dispersaMurmur3(llave, 0, llave.length, 0);
+    }
+
+    /**
+     * Función de dispersión MurmurHash3 (la variante x86 de 32 bits) de los bytes
+     * <code>llave[inicio, inicio + longitud)</code>.
+     * 
+     * @param llave    el arreglo con la llave a dispersar.
+     * @param inicio   el índice del primer byte de la llave.
+     * @param longitud el número de bytes de la llave.
+     * @param semilla  la semilla de la dispersión.
+     * @return la dispersión MurmurHash3 de la llave.
+     */
+    public static int dispersaMurmur3(byte[] llave, int inicio, int longitud, int semilla) {
+        final int c1 = 0xcc9e2d51, c2 = 0x1b873593;
+        int h = semilla;
+        int i = inicio;
+        int fin = inicio + (longitud & ~3);
+        for (; i < fin; i += 4) {
+            int k = combina(llave[i + 3], llave[i + 2], llave[i + 1], llave[i]);
+            k *= c1;
+            k = Integer.rotateLeft(k, 15);
+            k *= c2;
+            h ^= k;
+            h = Integer.rotateLeft(h, 13);
+            h = h * 5 + 0xe6546b64;
+        }
+        int k = 0;
+        switch (longitud & 3) {
+            case 3: k ^= aEnteroPos(llave[i + 2], 2);
+            case 2: k ^= aEnteroPos(llave[i + 1], 1);
+            case 1: k ^= aEnteroPos(llave[i], 0);
+                k *= c1;
+                k = Integer.rotateLeft(k, 15);
+                k *= c2;
+                h ^= k;
+        }
+        h ^= longitud;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Función de dispersión xxHash (la variante de 32 bits) con semilla cero.
+     * 
+     * @param llave la llave a dispersar.
+     * @return la dispersión xxHash de la llave.
+     */
+    public static int dispersaXXHash(byte[] llave) {
+        return dispersaXXHash(llave, 0, llave.length, 0);
+    }
+
+    /**
+     * Función de dispersión xxHash (la variante de 32 bits) de los bytes
+     * <code>llave[inicio, inicio + longitud)</code>.
+     * 
+     * @param llave    el arreglo con la llave a dispersar.
+     * @param inicio   el índice del primer byte de la llave.
+     * @param longitud el número de bytes de la llave.
+     * @param semilla  la semilla de la dispersión.
+     * @return la dispersión xxHash de la llave.
+     */
+    public static int dispersaXXHash(byte[] llave, int inicio, int longitud, int semilla) {
+        final int p1 = 0x9e3779b1, p2 = 0x85ebca77, p3 = 0xc2b2ae3d, p4 = 0x27d4eb2f, p5 = 0x165667b1;
+        int i = inicio;
+        int fin = inicio + longitud;
+        int h;
+        if (longitud >= 16) {
+            int v1 = semilla + p1 + p2, v2 = semilla + p2, v3 = semilla, v4 = semilla - p1;
+            for (; fin - i >= 16; i += 16) {
+                v1 = Integer.rotateLeft(v1 + enteroLE(llave, i) * p2, 13) * p1;
+                v2 = Integer.rotateLeft(v2 + enteroLE(llave, i + 4) * p2, 13) * p1;
+                v3 = Integer.rotateLeft(v3 + enteroLE(llave, i + 8) * p2, 13) * p1;
+                v4 = Integer.rotateLeft(v4 + enteroLE(llave, i + 12) * p2, 13) * p1;
+            }
+            h = Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7)
+                + Integer.rotateLeft(v3, 12) + Integer.rotateLeft(v4, 18);
+        } else {
+            h = semilla + p5;
+        }
+        h += longitud;
+        for (; fin - i >= 4; i += 4)
+            h = Integer.rotateLeft(h + enteroLE(llave, i) * p3, 17) * p4;
+        for (; i < fin; i++)
+            h = Integer.rotateLeft(h + (llave[i] & 0xff) * p5, 11) * p1;
+        h ^= h >>> 15;
+        h *= p2;
+        h ^= h >>> 13;
+        h *= p3;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Función de dispersión de 64 bits de los caracteres
+     * <code>cadena[inicio, inicio + longitud)</code>, al estilo de la variante
+     * de 64 bits de xxHash: cada bloque de cuatro caracteres, y cada carácter
+     * del final, se mezcla con multiplicaciones y rotaciones en el estado de 64
+     * bits, que al final pasa por el finalizador de MurmurHash3. A diferencia de
+     * un polinomio como el de <code>String.hashCode</code>, las cadenas cortas
+     * no chocan entre sí de forma sistemática.
+     * 
+     * @param cadena   el arreglo con los caracteres a dispersar.
+     * @param inicio   el índice del primer carácter.
+     * @param longitud el número de caracteres.
+     * @return la dispersión de 64 bits de los caracteres.
+     */
+    public static long dispersa64(char[] cadena, int inicio, int longitud) {
+        long h = P5_64 + 2L * longitud;
+        int k = inicio, fin = inicio + longitud;
+        for (; fin - k >= 4; k += 4)
+            h = mezclaBloque(h, cadena[k] | (long) cadena[k + 1] << 16
+                                | (long) cadena[k + 2] << 32 | (long) cadena[k + 3] << 48);
+        for (; k < fin; k++)
+            h = mezclaCaracter(h, cadena[k]);
+        return mezcla64(h);
+    }
+
+    /**
+     * Función de dispersión de 64 bits de una secuencia de caracteres; es igual a
+     * la de {@link #dispersa64(char[],int,int)} con los mismos caracteres.
+     * 
+     * @param cadena la secuencia de caracteres a dispersar.
+     * @return la dispersión de 64 bits de los caracteres.
+     */
+    public static long dispersa64(CharSequence cadena) {
+        int longitud = cadena.length();
+        long h = P5_64 + 2L * longitud;
+        int k = 0;
+        for (; longitud - k >= 4; k += 4)
+            h = mezclaBloque(h, cadena.charAt(k) | (long) cadena.charAt(k + 1) << 16
+                                | (long) cadena.charAt(k + 2) << 32
+                                | (long) cadena.charAt(k + 3) << 48);
+        for (; k < longitud; k++)
+            h = mezclaCaracter(h, cadena.charAt(k));
+        return mezcla64(h);
+    }
+
+    /* Mezcla un bloque de cuatro caracteres en el estado de dispersa64. */
+    private static long mezclaBloque(long h, long bloque) {
+        h ^= Long.rotateLeft(bloque * P2_64, 31) * P1_64;
+        return Long.rotateLeft(h, 27) * P1_64 + P4_64;
+    }
+
+    /* Mezcla un carácter suelto en el estado de dispersa64. */
+    private static long mezclaCaracter(long h, char c) {
+        h ^= c * P5_64;
+        return Long.rotateLeft(h, 11) * P1_64;
+    }
+
+    /**
+     * Mezcla los bits de un entero de 64 bits con el finalizador de MurmurHash3.
+     * La mezcla es una biyección, así que enteros distintos dan resultados
+     * distintos.
+     * 
+     * @param h el entero a mezclar.
+     * @return el entero mezclado.
+     */
+    public static long mezcla64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /*
+     * Mezcla los bits de una dispersión de 32 bits para las tablas con sondeo
+     * lineal: las palabras con prefijos comunes tienen dispersiones consecutivas,
+     * que el sondeo agruparía si se usaran sus bits bajos directamente.
+     */
+    static int mezcla(int h) {
+        h *= 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    /* Lee cuatro bytes a partir de i como un entero little-endian. */
+    private static int enteroLE(byte[] llave, int i) {
+        return combina(llave[i + 3], llave[i + 2], llave[i + 1], llave[i]);
+    }
+
     /**
      * Combina cuatro bytes en un entero de 32 bits.
      * 
@@ -2,29 +2,125 @@ package mx.unam.ciencias.edd;
 
 /**
  * Clase para fabricar dispersores.
+ *
+ * Los dispersores de cadenas dispersan la codificación UTF-8 de la cadena. La
+ * codificación se escribe en un arreglo de bytes que cada hilo reutiliza, por
+ * lo que dispersar una cadena no crea objetos.
  */
 public class FabricaDispersores {
 
+    /* Interfaz para los dispersores de subarreglos de bytes. */
+    @FunctionalInterface
+    private interface DispersorBytes {
+        /* Dispersa los bytes llave[inicio, inicio + longitud). */
+        int dispersa(byte[] llave, int inicio, int longitud);
+    }
+
+    /* Clase interna privada para codificar cadenas en UTF-8. */
+    private static class Codificador {
+
+        /* Los bytes de la última cadena codificada. */
+        private byte[] bytes = new byte[64];
+
+        /*
+         * Codifica la cadena en el arreglo de bytes y regresa el número de bytes
+         * escritos. Como String.getBytes, cambia los sustitutos sin pareja por
+         * '?'.
+         */
+        public int codifica(CharSequence cadena) {
+            int n = cadena.length();
+            if (bytes.length < n * 3)
+                bytes = new byte[Math.max(n * 3, bytes.length * 2)];
+            byte[] b = bytes;
+            int j = 0;
+            for (int i = 0; i < n; i++) {
+                char c = cadena.charAt(i);
+                if (c < 0x80) {
+                    b[j++] = (byte)c;
+                } else if (c < 0x800) {
+                    b[j++] = (byte)(0xc0 | (c >> 6));
+                    b[j++] = (byte)(0x80 | (c & 0x3f));
+                } else if (!Character.isSurrogate(c)) {
+                    b[j++] = (byte)(0xe0 | (c >> 12));
+                    b[j++] = (byte)(0x80 | ((c >> 6) & 0x3f));
+                    b[j++] = (byte)(0x80 | (c & 0x3f));
+                } else if (Character.isHighSurrogate(c) && i + 1 < n &&
+                           Character.isLowSurrogate(cadena.charAt(i + 1))) {
+                    int p = Character.toCodePoint(c, cadena.charAt(++i));
+                    b[j++] = (byte)(0xf0 | (p >> 18));
+                    b[j++] = (byte)(0x80 | ((p >> 12) & 0x3f));
+                    b[j++] = (byte)(0x80 | ((p >> 6) & 0x3f));
+                    b[j++] = (byte)(0x80 | (p & 0x3f));
+                } else {
+                    b[j++] = '?';
+                }
+            }
+            return j;
+        }
+    }
+
+    /* El codificador de cada hilo. */
+    private static final ThreadLocal<Codificador> CODIFICADOR =
+        ThreadLocal.withInitial(Codificador::new);
+
     /* Constructor privado para evitar instanciación. */
     private FabricaDispersores() {}
 
     /**
-     * Regresa una instancia de {@link Dispersor} para cadenas.
+     * Regresa una instancia de {@link Dispersor} para cadenas. Los algoritmos
+     * con semilla usan la semilla cero.
+     * @param <T> el tipo de las cadenas.
      * @param algoritmo el algoritmo de dispersor que se desea.
      * @return una instancia de {@link Dispersor} para cadenas.
      * @throws IllegalArgumentException si recibe un identificador no
      *         reconocido.
      */
-    public static Dispersor<String>
+    public static <T extends CharSequence> Dispersor<T>
     dispersorCadena(AlgoritmoDispersor algoritmo) {
         switch (algoritmo) {
         case XOR_STRING:
-            return c -> Dispersores.dispersaXOR(c.getBytes());
+            return dispersorUtf8(Dispersores::dispersaXOR);
         case BJ_STRING:
-            return c -> Dispersores.dispersaBJ(c.getBytes());
+            return dispersorUtf8(Dispersores::dispersaBJ);
         case DJB_STRING:
-            return c -> Dispersores.dispersaDJB(c.getBytes());
+            return dispersorUtf8(Dispersores::dispersaDJB);
+        case MURMUR3_STRING:
+        case XXHASH_STRING:
+            return dispersorCadena(algoritmo, 0);
         default: throw new IllegalArgumentException("Algoritmo inválido");
         }
     }
+
+    /**
+     * Regresa una instancia de {@link Dispersor} para cadenas con la semilla
+     * dada. Dispersores con semillas distintas dan dispersiones independientes
+     * para las mismas cadenas.
+     * @param <T> el tipo de las cadenas.
+     * @param algoritmo el algoritmo de dispersor que se desea; debe ser
+     *        {@link AlgoritmoDispersor#MURMUR3_STRING} o
+     *        {@link AlgoritmoDispersor#XXHASH_STRING}.
+     * @param semilla la semilla del dispersor.
+     * @return una instancia de {@link Dispersor} para cadenas.
+     * @throws IllegalArgumentException si el algoritmo no acepta semilla.
+     */
+    public static <T extends CharSequence> Dispersor<T>
+    dispersorCadena(AlgoritmoDispersor algoritmo, int semilla) {
+        switch (algoritmo) {
+        case MURMUR3_STRING:
+            return dispersorUtf8((b, i, n) -> Dispersores.dispersaMurmur3(b, i, n, semilla));
+        case XXHASH_STRING:
+            return dispersorUtf8((b, i, n) -> Dispersores.dispersaXXHash(b, i, n, semilla));
+        default: throw new IllegalArgumentException("El algoritmo no acepta semilla");
+        }
+    }
+
+    /* Regresa un dispersor de cadenas que dispersa su codificación UTF-8. */
+    private static <T extends CharSequence> Dispersor<T>
+    dispersorUtf8(DispersorBytes dispersor) {
+        return c -> {
+            Codificador codificador = CODIFICADOR.get();
+            int n = codificador.codifica(c);
+            return dispersor.dispersa(codificador.bytes, 0, n);
+        };
+    }
 }
@@ -0,0 +1,163 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * <p>Filtro de Bloom de cadenas, para saber rápidamente que una cadena
+ * <i>no</i> está en un conjunto.</p>
+ *
+ * <p>El filtro es un arreglo de <i>m</i> bits. Cada cadena enciende <i>k</i>
+ * bits, elegidos con <i>k</i> funciones de dispersión, y una cadena puede estar
+ * en el conjunto sólo si sus <i>k</i> bits están encendidos. Así, el filtro
+ * nunca da falsos negativos, y para <i>n</i> cadenas con <i>m</i> =
+ * -<i>n</i> ln <i>p</i> / (ln 2)<sup>2</sup> y <i>k</i> = (<i>m</i>/<i>n</i>)
+ * ln 2 da falsos positivos con probabilidad alrededor de <i>p</i>.</p>
+ */
+public class FiltroBloom {
+
+    /* Los bits del filtro. */
+    private long[] bits;
+    /* Número de bits; es una potencia de dos. */
+    private int numeroBits;
+    /* Número de funciones de dispersión. */
+    private int funciones;
+    /* Número de cadenas agregadas. */
+    private int elementos;
+
+    /**
+     * Construye un filtro vacío para el número de cadenas y la tasa de falsos
+     * positivos dados. El número de bits se redondea a la siguiente potencia de
+     * dos, así que la tasa real puede ser menor que la pedida.
+     *
+     * @param capacidad el número de cadenas que se espera agregar.
+     * @param tasa      la tasa de falsos positivos con esa capacidad.
+     * @throws IllegalArgumentException si la capacidad es negativa o la tasa no
+     *                                  está en el intervalo (0, 1).
+     */
+    public FiltroBloom(int capacidad, double tasa) {
+        if (capacidad < 0)
+            throw new IllegalArgumentException("La capacidad no puede ser negativa.");
+        if (!(tasa > 0 && tasa < 1))
+            throw new IllegalArgumentException("La tasa debe estar en el intervalo (0, 1).");
+        double ln2 = Math.log(2);
+        double m = -Math.max(capacidad, 1) * Math.log(tasa) / (ln2 * ln2);
+        numeroBits = 64;
+        while (numeroBits < m && numeroBits < (1 << 30))
+            numeroBits *= 2;
+        bits = new long[numeroBits / 64];
+        funciones = (int) Math.max(1, Math.round(-Math.log(tasa) / ln2));
+    }
+
+    /**
+     * Agrega una cadena al filtro.
+     *
+     * @param cadena la cadena.
+     * @throws IllegalArgumentException si la cadena es nula.
+     */
+    public void agrega(String cadena) {
+        if (cadena == null)
+            throw new IllegalArgumentException("La cadena no puede ser nula.");
+        agrega(Dispersores.dispersa64(cadena));
+    }
+
+    /**
+     * Agrega al filtro la cadena formada por los caracteres
+     * <code>cadena[inicio, inicio + longitud)</code>.
+     *
+     * @param cadena   arreglo con los caracteres de la cadena.
+     * @param inicio   índice del primer carácter de la cadena.
+     * @param longitud número de caracteres de la cadena.
+     * @throws IllegalArgumentException si la cadena es nula.
+     */
+    public void agrega(char[] cadena, int inicio, int longitud) {
+        if (cadena == null)
+            throw new IllegalArgumentException("La cadena no puede ser nula.");
+        agrega(Dispersores.dispersa64(cadena, inicio, longitud));
+    }
+
+    /**
+     * Nos dice si una cadena puede estar en el filtro.
+     *
+     * @param cadena la cadena.
+     * @return <code>false</code> si la cadena seguro no se agregó,
+     *         <code>true</code> si pudo haberse agregado.
+     */
+    public boolean contiene(String cadena) {
+        return cadena != null && contiene(Dispersores.dispersa64(cadena));
+    }
+
+    /**
+     * Nos dice si la cadena formada por los caracteres <code>cadena[inicio,
+     * inicio + longitud)</code> puede estar en el filtro.
+     *
+     * @param cadena   arreglo con los caracteres de la cadena.
+     * @param inicio   índice del primer carácter de la cadena.
+     * @param longitud número de caracteres de la cadena.
+     * @return <code>false</code> si la cadena seguro no se agregó,
+     *         <code>true</code> si pudo haberse agregado.
+     */
+    public boolean contiene(char[] cadena, int inicio, int longitud) {
+        return cadena != null && contiene(Dispersores.dispersa64(cadena, inicio, longitud));
+    }
+
+    /**
+     * Regresa la probabilidad de un falso positivo con las cadenas agregadas
+     * hasta ahora, (1 - e<sup>-<i>kn</i>/<i>m</i></sup>)<sup><i>k</i></sup>.
+     *
+     * @return la tasa de falsos positivos esperada.
+     */
+    public double tasaFalsosPositivos() {
+        return Math.pow(1 - Math.exp(-(double) funciones * elementos / numeroBits), funciones);
+    }
+
+    /**
+     * Regresa el número de bits del filtro.
+     *
+     * @return el número de bits del filtro.
+     */
+    public int getBits() {
+        return numeroBits;
+    }
+
+    /**
+     * Regresa el número de funciones de dispersión del filtro.
+     *
+     * @return el número de bits que enciende cada cadena.
+     */
+    public int getFunciones() {
+        return funciones;
+    }
+
+    /**
+     * Regresa el número de cadenas agregadas, con repeticiones.
+     *
+     * @return el número de cadenas agregadas.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /*
+     * Enciende un bit por función. Los bits salen de dos mitades de la
+     * dispersión, h1 + i * h2, como en Kirsch y Mitzenmacher.
+     */
+    private void agrega(long h) {
+        elementos++;
+        int h1 = (int) h, h2 = (int) (h >>> 32) | 1;
+        int mascara = numeroBits - 1;
+        for (int i = 0; i < funciones; i++) {
+            int b = (h1 + i * h2) & mascara;
+            bits[b >>> 6] |= 1L << b;
+        }
+    }
+
+    /* Nos dice si están encendidos todos los bits de la dispersión. */
+    private boolean contiene(long h) {
+        int h1 = (int) h, h2 = (int) (h >>> 32) | 1;
+        int mascara = numeroBits - 1;
+        for (int i = 0; i < funciones; i++) {
+            int b = (h1 + i * h2) & mascara;
+            if ((bits[b >>> 6] & (1L << b)) == 0)
+                return false;
+        }
+        return true;
+    }
+}
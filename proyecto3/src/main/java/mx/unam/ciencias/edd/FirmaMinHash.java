@@ -0,0 +1,245 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+
+/**
+ * <p>Firma <i>MinHash</i> de un conjunto de cadenas, para estimar la similitud
+ * de Jaccard entre dos conjuntos sin compararlos elemento por elemento.</p>
+ *
+ * <p>La firma tiene <i>k</i> componentes. La componente <i>i</i> es el mínimo,
+ * sobre todas las cadenas del conjunto, de la <i>i</i>-ésima función de
+ * dispersión de la cadena. Dos conjuntos tienen la misma componente con
+ * probabilidad igual a su similitud de Jaccard |A ∩ B| / |A ∪ B|, así que la
+ * fracción de componentes iguales la estima con error estándar de a lo más
+ * 1/(2√<i>k</i>). Las cadenas repetidas no cambian la firma, y todas las
+ * firmas del mismo tamaño usan las mismas funciones, así que se pueden
+ * comparar entre sí.</p>
+ *
+ * <p>Para encontrar las parejas similares de muchas firmas sin compararlas
+ * todas, {@link #parejasSimilares} usa <i>locality-sensitive hashing</i>: las
+ * firmas se parten en bandas de componentes consecutivas, y sólo se comparan
+ * las firmas que coinciden en alguna banda completa.</p>
+ */
+public class FirmaMinHash {
+
+    /* Incremento entre las semillas de las funciones de dispersión. */
+    private static final long SEMILLA = 0x9e3779b97f4a7c15L;
+    /* Número de firmas hasta el cual se comparan todas las parejas. */
+    private static final int COMPARACION_TOTAL = 1024;
+
+    /* Las componentes; Long.MAX_VALUE mientras el conjunto es vacío. */
+    private long[] componentes;
+    /* Si no se ha agregado ninguna cadena. */
+    private boolean vacia;
+
+    /**
+     * Construye la firma del conjunto vacío.
+     *
+     * @param tamano el número de componentes de la firma.
+     * @throws IllegalArgumentException si el tamaño no es positivo.
+     */
+    public FirmaMinHash(int tamano) {
+        if (tamano < 1)
+            throw new IllegalArgumentException("El tamaño de la firma debe ser positivo.");
+        componentes = new long[tamano];
+        Arrays.fill(componentes, Long.MAX_VALUE);
+        vacia = true;
+    }
+
+    /**
+     * Agrega una cadena al conjunto de la firma.
+     *
+     * @param cadena la cadena.
+     * @throws IllegalArgumentException si la cadena es nula.
+     */
+    public void agrega(String cadena) {
+        if (cadena == null)
+            throw new IllegalArgumentException("La cadena no puede ser nula.");
+        agrega(Dispersores.dispersa64(cadena));
+    }
+
+    /**
+     * Agrega al conjunto de la firma la cadena formada por los caracteres
+     * <code>cadena[inicio, inicio + longitud)</code>.
+     *
+     * @param cadena   arreglo con los caracteres de la cadena.
+     * @param inicio   índice del primer carácter de la cadena.
+     * @param longitud número de caracteres de la cadena.
+     * @throws IllegalArgumentException si la cadena es nula.
+     */
+    public void agrega(char[] cadena, int inicio, int longitud) {
+        if (cadena == null)
+            throw new IllegalArgumentException("La cadena no puede ser nula.");
+        agrega(Dispersores.dispersa64(cadena, inicio, longitud));
+    }
+
+    /**
+     * Regresa la estimación de la similitud de Jaccard entre el conjunto de esta
+     * firma y el de otra: la fracción de componentes iguales. Si alguno de los
+     * conjuntos es vacío, la similitud es cero.
+     *
+     * @param firma la otra firma.
+     * @return la similitud estimada, entre 0 y 1.
+     * @throws IllegalArgumentException si la firma es nula o de otro tamaño.
+     */
+    public double similitud(FirmaMinHash firma) {
+        if (firma == null || firma.componentes.length != componentes.length)
+            throw new IllegalArgumentException("Las firmas deben tener el mismo tamaño.");
+        if (vacia || firma.vacia)
+            return 0;
+        int iguales = 0;
+        for (int i = 0; i < componentes.length; i++)
+            if (componentes[i] == firma.componentes[i])
+                iguales++;
+        return (double) iguales / componentes.length;
+    }
+
+    /**
+     * Nos dice si no se ha agregado ninguna cadena a la firma.
+     *
+     * @return <code>true</code> si el conjunto de la firma es vacío,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean esVacia() {
+        return vacia;
+    }
+
+    /**
+     * Regresa el número de componentes de la firma.
+     *
+     * @return el tamaño de la firma.
+     */
+    public int getTamano() {
+        return componentes.length;
+    }
+
+    /**
+     * <p>Regresa las parejas de firmas con similitud estimada de al menos el
+     * umbral dado. Las firmas se parten en el número de bandas dado, de
+     * <i>r</i> = <i>k</i>/bandas componentes cada una, y sólo se comparan las
+     * firmas que coinciden en alguna banda; una pareja con similitud <i>s</i>
+     * coincide en alguna banda con probabilidad 1 - (1 - <i>s</i><sup>r</sup>)
+     * <sup>bandas</sup>, así que las bandas deben elegirse para que esa
+     * probabilidad sea alta en el umbral. Con pocas firmas se comparan todas las
+     * parejas, y el resultado es exacto respecto a las firmas.</p>
+     *
+     * <p>Cada pareja se regresa empacada en un <code>long</code>, con el índice
+     * menor en los 32 bits altos y el mayor en los bajos. Las parejas están
+     * ordenadas y no se repiten. Las firmas vacías no se emparejan.</p>
+     *
+     * @param firmas las firmas, todas del mismo tamaño.
+     * @param bandas el número de bandas en que se parte cada firma.
+     * @param umbral la similitud mínima de las parejas.
+     * @return las parejas similares, empacadas.
+     * @throws IllegalArgumentException si las firmas son nulas o de tamaños
+     *                                  distintos, o si el número de bandas no
+     *                                  está entre 1 y el tamaño de las firmas.
+     */
+    public static long[] parejasSimilares(FirmaMinHash[] firmas, int bandas, double umbral) {
+        if (firmas == null)
+            throw new IllegalArgumentException("Las firmas no pueden ser nulas.");
+        int n = firmas.length;
+        if (n == 0)
+            return new long[0];
+        int tamano = firmas[0].getTamano();
+        for (FirmaMinHash firma : firmas)
+            if (firma == null || firma.getTamano() != tamano)
+                throw new IllegalArgumentException("Las firmas deben tener el mismo tamaño.");
+        if (bandas < 1 || bandas > tamano)
+            throw new IllegalArgumentException("El número de bandas debe estar entre 1 y el tamaño de las firmas.");
+        ParejasLong parejas = new ParejasLong();
+        if (n <= COMPARACION_TOTAL) {
+            for (int i = 0; i < n; i++)
+                for (int j = i + 1; j < n; j++)
+                    parejas.agregaSiSimilares(firmas, i, j, umbral);
+            return parejas.ordenadas();
+        }
+        int filas = tamano / bandas;
+        int[][] dispersiones = new int[n][];
+        for (int i = 0; i < n; i++)
+            if (!firmas[i].vacia) {
+                dispersiones[i] = new int[bandas];
+                for (int b = 0; b < bandas; b++)
+                    dispersiones[i][b] = firmas[i].dispersaBanda(b * filas, filas);
+            }
+        long[] claves = new long[n];
+        for (int b = 0; b < bandas; b++) {
+            // Empaca la dispersión de la banda con el índice de su firma, y
+            // ordena para juntar las firmas que coinciden en la banda.
+            int m = 0;
+            for (int i = 0; i < n; i++)
+                if (dispersiones[i] != null)
+                    claves[m++] = ((long) dispersiones[i][b] << 32) | i;
+            Arrays.sort(claves, 0, m);
+            int inicio = 0;
+            while (inicio < m) {
+                int fin = inicio + 1;
+                while (fin < m && (claves[fin] >>> 32) == (claves[inicio] >>> 32))
+                    fin++;
+                for (int i = inicio; i < fin; i++)
+                    for (int j = i + 1; j < fin; j++) {
+                        int a = (int) claves[i], c = (int) claves[j];
+                        // Cada pareja se compara sólo en la primera banda en
+                        // que coincide.
+                        if (primeraBanda(dispersiones[a], dispersiones[c]) == b)
+                            parejas.agregaSiSimilares(firmas, a, c, umbral);
+                    }
+                inicio = fin;
+            }
+        }
+        return parejas.ordenadas();
+    }
+
+    /* Regresa la primera banda en que coinciden dos firmas, o -1 si no
+     * coinciden en ninguna. */
+    private static int primeraBanda(int[] a, int[] b) {
+        for (int i = 0; i < a.length; i++)
+            if (a[i] == b[i])
+                return i;
+        return -1;
+    }
+
+    /* Actualiza cada componente con su función de dispersión de la cadena. */
+    private void agrega(long h) {
+        vacia = false;
+        long semilla = SEMILLA;
+        for (int i = 0; i < componentes.length; i++) {
+            long v = Dispersores.mezcla64(h ^ semilla);
+            if (v < componentes[i])
+                componentes[i] = v;
+            semilla += SEMILLA;
+        }
+    }
+
+    /* Dispersa las componentes [inicio, inicio + filas) en 32 bits. */
+    private int dispersaBanda(int inicio, int filas) {
+        long h = 0;
+        for (int i = inicio; i < inicio + filas; i++)
+            h = Dispersores.mezcla64(h ^ componentes[i]);
+        return (int) (h >>> 32);
+    }
+
+    /* Arreglo creciente de parejas empacadas. */
+    private static class ParejasLong {
+
+        /* Las parejas. */
+        private long[] parejas = new long[16];
+        /* Número de parejas. */
+        private int elementos;
+
+        /* Agrega la pareja (i, j) si la similitud de sus firmas alcanza el umbral. */
+        private void agregaSiSimilares(FirmaMinHash[] firmas, int i, int j, double umbral) {
+            if (firmas[i].vacia || firmas[j].vacia || firmas[i].similitud(firmas[j]) < umbral)
+                return;
+            if (elementos == parejas.length)
+                parejas = Arrays.copyOf(parejas, parejas.length * 2);
+            parejas[elementos++] = ((long) Math.min(i, j) << 32) | Math.max(i, j);
+        }
+
+        /* Regresa las parejas ordenadas; cada una se agregó una sola vez. */
+        private long[] ordenadas() {
+            Arrays.sort(parejas, 0, elementos);
+            return Arrays.copyOf(parejas, elementos);
+        }
+    }
+}
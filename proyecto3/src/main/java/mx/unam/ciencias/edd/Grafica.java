@@ -94,7 +94,7 @@ public class Grafica<T> implements Coleccion<T> {
         /* Compara dos vértices por distancia. */
         @Override
         public int compareTo(Vertice vertice) {
-            return (int) (this.distancia - vertice.distancia);
+            return Double.compare(this.distancia, vertice.distancia);
         }
     }
 
@@ -154,6 +154,17 @@ public class Grafica<T> implements Coleccion<T> {
     private Diccionario<T, Vertice> vertices;
     /* Número de aristas. */
     private int aristas;
+    /* Número de aristas cuyo peso no es un entero de a lo más PESO_ENTERO_MAXIMO. */
+    private int aristasFraccionarias;
+
+    /*
+     * Peso entero máximo para Dijkstra con montículo radix. Con a lo más
+     * VERTICES_RADIX vértices, toda distancia es menor que 2^53 y es un entero
+     * exacto en un double.
+     */
+    private static final double PESO_ENTERO_MAXIMO = Integer.MAX_VALUE;
+    /* Número máximo de vértices para Dijkstra con montículo radix. */
+    private static final int VERTICES_RADIX = 1 << 22;
 
     /**
      * Constructor único.
@@ -193,9 +204,8 @@ public class Grafica<T> implements Coleccion<T> {
     public void agrega(T elemento) {
         if (elemento == null)
             throw new IllegalArgumentException("La gráfica no acepta elementos vacíos.");
-        if (this.contiene(elemento))
+        if (vertices.agregaSiAusente(elemento, new Vertice(elemento)) != null)
             throw new IllegalArgumentException("La gráfica ya contiene el elemento.");
-        vertices.agrega(elemento, new Vertice(elemento));
     }
 
     /**
@@ -220,7 +230,7 @@ public class Grafica<T> implements Coleccion<T> {
      *         encuentra en la gráfica.
      */
     private Vertice busquedaVertice(T elemento) {
-        return (vertices.contiene(elemento)) ? vertices.get(elemento) : null;
+        return vertices.get(elemento, null);
     }
 
     /**
@@ -232,7 +242,7 @@ public class Grafica<T> implements Coleccion<T> {
      *         el elemento.
      */
     private Vecino busquedaVecino(Vertice vertice, T elemento) {
-        return (vertice.vecinos.contiene(elemento)) ? vertice.vecinos.get(elemento) : null;
+        return vertice.vecinos.get(elemento, null);
     }
 
     /**
@@ -256,11 +266,12 @@ public class Grafica<T> implements Coleccion<T> {
             throw new NoSuchElementException("El elemento b no se encuentra en la gráfica.");
         if (va == vb)
             throw new IllegalArgumentException("El elemento a es igual al elemento b.");
-        if (sonVecinos(a, b))
+        if (va.vecinos.agregaSiAusente(b, new Vecino(vb, peso)) != null)
             throw new IllegalArgumentException("Los elementos a y b ya están conectados.");
-        va.vecinos.agrega(b, new Vecino(vb, peso));
         vb.vecinos.agrega(a, new Vecino(va, peso));
         aristas++;
+        if (!pesoEntero(peso))
+            aristasFraccionarias++;
     }
 
     /**
@@ -279,11 +290,14 @@ public class Grafica<T> implements Coleccion<T> {
             throw new NoSuchElementException("El elemento a no se encuentra en la gráfica.");
         if (vb == null)
             throw new NoSuchElementException("El elemento b no se encuentra en la gráfica.");
-        if (!va.vecinos.contiene(b))
+        Vecino vecino = busquedaVecino(va, b);
+        if (vecino == null)
             throw new IllegalArgumentException("Los elementos a y b no están conectados.");
         va.vecinos.elimina(b);
         vb.vecinos.elimina(a);
         aristas--;
+        if (!pesoEntero(vecino.peso))
+            aristasFraccionarias--;
     }
 
     /**
@@ -314,6 +328,8 @@ public class Grafica<T> implements Coleccion<T> {
         for (Vecino vecino : v.vecinos) {
             vecino.vecino.vecinos.elimina(elemento);
             aristas--;
+            if (!pesoEntero(vecino.peso))
+                aristasFraccionarias--;
         }
     }
 
@@ -386,6 +402,10 @@ public class Grafica<T> implements Coleccion<T> {
         Vecino vecinoB = busquedaVecino(vb, a);
         if (vecinoA == null || vecinoB == null)
             throw new IllegalArgumentException("Los elementos a y b no están conectados.");
+        if (!pesoEntero(vecinoA.peso))
+            aristasFraccionarias--;
+        if (!pesoEntero(peso))
+            aristasFraccionarias++;
         vecinoA.peso = peso;
         vecinoB.peso = peso;
     }
@@ -534,6 +554,7 @@ public class Grafica<T> implements Coleccion<T> {
     public void limpia() {
         vertices.limpia();
         aristas = 0;
+        aristasFraccionarias = 0;
     }
 
     /**
@@ -675,19 +696,24 @@ public class Grafica<T> implements Coleccion<T> {
         verticeOrigen.distancia = 0;
         int elementos = vertices.getElementos();
         MonticuloDijkstra<Vertice> monticulo = null;
-        if (aristas > (elementos * (elementos - 1)) / 2 - elementos)
-            monticulo = new MonticuloArreglo<Vertice>(vertices, vertices.getElementos());
-        else
-            monticulo = new MonticuloMinimo<>(vertices, vertices.getElementos());
-        while (!monticulo.esVacia()) {
-            Vertice v = monticulo.elimina();
-            for (Vecino vecino : v.vecinos) {
-                Vertice verticeVecino = vecino.vecino;
-                if (verticeVecino.distancia > v.distancia + vecino.peso) {
-                    verticeVecino.distancia = v.distancia + vecino.peso;
-                    monticulo.reordena(verticeVecino);
+        if (pesosEnteros())
+            monticulo = new MonticuloRadix<Vertice>(vertices, elementos,
+                    v -> v.distancia == Double.MAX_VALUE ? Long.MAX_VALUE : (long) v.distancia);
+        else if (aristas > (elementos * (elementos - 1)) / 2 - elementos)
+            monticulo = new MonticuloArreglo<Vertice>(vertices, elementos);
+        if (monticulo != null) {
+            while (!monticulo.esVacia()) {
+                Vertice v = monticulo.elimina();
+                for (Vecino vecino : v.vecinos) {
+                    Vertice verticeVecino = vecino.vecino;
+                    if (verticeVecino.distancia > v.distancia + vecino.peso) {
+                        verticeVecino.distancia = v.distancia + vecino.peso;
+                        monticulo.reordena(verticeVecino);
+                    }
                 }
             }
+        } else {
+            distanciasIndexadas(verticeOrigen);
         }
         if (verticeDestino.distancia == Double.MAX_VALUE)
             return trayectoria;
@@ -696,6 +722,52 @@ public class Grafica<T> implements Coleccion<T> {
         return trayectoria;
     }
 
+    /* Nos dice si un peso es entero y de a lo más PESO_ENTERO_MAXIMO. */
+    private static boolean pesoEntero(double peso) {
+        return peso <= PESO_ENTERO_MAXIMO && peso == Math.floor(peso);
+    }
+
+    /*
+     * Nos dice si todos los pesos son enteros y lo bastante chicos para que
+     * cualquier distancia sea un entero exacto en un double; entonces Dijkstra
+     * puede usar un montículo radix.
+     */
+    private boolean pesosEnteros() {
+        return aristasFraccionarias == 0 && vertices.getElementos() <= VERTICES_RADIX;
+    }
+
+    /*
+     * Calcula las distancias desde el origen con un montículo indexado. Los
+     * vértices se numeran en su campo índice, y el montículo sólo guarda los
+     * alcanzados que no se han terminado, sin crear objetos por vértice.
+     */
+    private void distanciasIndexadas(Vertice origen) {
+        Object[] porIndice = new Object[vertices.getElementos()];
+        int i = 0;
+        for (Vertice v : vertices) {
+            v.indice = i;
+            porIndice[i++] = v;
+        }
+        MonticuloIndexado monticulo = new MonticuloIndexado(porIndice.length);
+        monticulo.agrega(origen.indice, MonticuloIndexado.claveOrdenada(0));
+        while (!monticulo.esVacia()) {
+            @SuppressWarnings("unchecked")
+            Vertice v = (Vertice) porIndice[monticulo.elimina()];
+            for (Vecino vecino : v.vecinos) {
+                Vertice verticeVecino = vecino.vecino;
+                double distancia = v.distancia + vecino.peso;
+                if (verticeVecino.distancia > distancia) {
+                    verticeVecino.distancia = distancia;
+                    long clave = MonticuloIndexado.claveOrdenada(distancia);
+                    if (monticulo.contiene(verticeVecino.indice))
+                        monticulo.disminuyeClave(verticeVecino.indice, clave);
+                    else
+                        monticulo.agrega(verticeVecino.indice, clave);
+                }
+            }
+        }
+    }
+
     /**
      * Reconstruye la trayectoria del vertice origen al de destino y agrega los
      * vértices a la lista proporcionada.
@@ -0,0 +1,159 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * <p>Bosquejo <i>HyperLogLog</i> de Flajolet, Fusy, Gandouet y Meunier, para
+ * estimar cuántas cadenas distintas tiene un flujo usando memoria fija.</p>
+ *
+ * <p>El bosquejo tiene <i>m</i> = 2<sup><i>p</i></sup> registros de un byte.
+ * Los primeros <i>p</i> bits de la dispersión de cada cadena eligen un
+ * registro, que guarda el máximo de la posición del primer bit encendido en el
+ * resto de la dispersión. Las cadenas repetidas no cambian el bosquejo, y el
+ * error estándar de la estimación es alrededor de 1.04/√<i>m</i>. Dos bosquejos
+ * con la misma precisión se combinan tomando el máximo registro por registro,
+ * y el resultado es el bosquejo de la unión de sus flujos.</p>
+ */
+public class HyperLogLog {
+
+    /** Precisión mínima del bosquejo. */
+    public static final int PRECISION_MINIMA = 4;
+    /** Precisión máxima del bosquejo. */
+    public static final int PRECISION_MAXIMA = 16;
+
+    /* Número de bits de la dispersión que eligen el registro. */
+    private int precision;
+    /* Los registros. */
+    private byte[] registros;
+
+    /**
+     * Construye un bosquejo vacío con 2<sup>precision</sup> registros.
+     *
+     * @param precision el número de bits que eligen el registro.
+     * @throws IllegalArgumentException si la precisión no está entre {@link
+     *                                  #PRECISION_MINIMA} y {@link
+     *                                  #PRECISION_MAXIMA}.
+     */
+    public HyperLogLog(int precision) {
+        if (precision < PRECISION_MINIMA || precision > PRECISION_MAXIMA)
+            throw new IllegalArgumentException("La precisión debe estar entre " +
+                                               PRECISION_MINIMA + " y " +
+                                               PRECISION_MAXIMA + ".");
+        this.precision = precision;
+        registros = new byte[1 << precision];
+    }
+
+    /**
+     * Agrega una cadena al bosquejo.
+     *
+     * @param cadena la cadena.
+     * @throws IllegalArgumentException si la cadena es nula.
+     */
+    public void agrega(String cadena) {
+        if (cadena == null)
+            throw new IllegalArgumentException("La cadena no puede ser nula.");
+        agrega(Dispersores.dispersa64(cadena));
+    }
+
+    /**
+     * Agrega al bosquejo la cadena formada por los caracteres
+     * <code>cadena[inicio, inicio + longitud)</code>.
+     *
+     * @param cadena   arreglo con los caracteres de la cadena.
+     * @param inicio   índice del primer carácter de la cadena.
+     * @param longitud número de caracteres de la cadena.
+     * @throws IllegalArgumentException si la cadena es nula.
+     */
+    public void agrega(char[] cadena, int inicio, int longitud) {
+        if (cadena == null)
+            throw new IllegalArgumentException("La cadena no puede ser nula.");
+        agrega(Dispersores.dispersa64(cadena, inicio, longitud));
+    }
+
+    /**
+     * Regresa la estimación del número de cadenas distintas agregadas al
+     * bosquejo. Para pocas cadenas, cuando todavía hay registros vacíos, se usa
+     * el conteo lineal de los registros vacíos, que es más preciso.
+     *
+     * @return la estimación del número de cadenas distintas.
+     */
+    public long estima() {
+        int m = registros.length;
+        double suma = 0;
+        int vacios = 0;
+        for (byte r : registros) {
+            suma += Double.longBitsToDouble((1023L - r) << 52);
+            if (r == 0)
+                vacios++;
+        }
+        double estimacion = alfa(m) * m * m / suma;
+        if (estimacion <= 2.5 * m && vacios > 0)
+            estimacion = m * Math.log((double) m / vacios);
+        return Math.round(estimacion);
+    }
+
+    /**
+     * Combina otro bosquejo con éste, que queda como el bosquejo de la unión de
+     * los dos flujos. El otro bosquejo no se modifica.
+     *
+     * @param bosquejo el bosquejo a combinar.
+     * @throws IllegalArgumentException si el bosquejo es nulo o tiene una
+     *                                  precisión distinta.
+     */
+    public void combina(HyperLogLog bosquejo) {
+        if (bosquejo == null)
+            throw new IllegalArgumentException("El bosquejo no puede ser nulo.");
+        if (bosquejo.precision != precision)
+            throw new IllegalArgumentException("Los bosquejos deben tener la misma precisión.");
+        for (int i = 0; i < registros.length; i++)
+            if (bosquejo.registros[i] > registros[i])
+                registros[i] = bosquejo.registros[i];
+    }
+
+    /**
+     * Regresa una copia del bosquejo.
+     *
+     * @return una copia del bosquejo.
+     */
+    public HyperLogLog copia() {
+        HyperLogLog copia = new HyperLogLog(precision);
+        System.arraycopy(registros, 0, copia.registros, 0, registros.length);
+        return copia;
+    }
+
+    /**
+     * Regresa la precisión del bosquejo.
+     *
+     * @return el número de bits que eligen el registro.
+     */
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Regresa el error estándar relativo de la estimación, 1.04/√<i>m</i>.
+     *
+     * @return el error estándar relativo.
+     */
+    public double errorEstandar() {
+        return 1.04 / Math.sqrt(registros.length);
+    }
+
+    /* Actualiza el registro que elige la dispersión. */
+    private void agrega(long h) {
+        int i = (int) (h >>> (64 - precision));
+        // El centinela garantiza un bit encendido aunque el resto sea cero.
+        long resto = (h << precision) | (1L << (precision - 1));
+        byte rango = (byte) (Long.numberOfLeadingZeros(resto) + 1);
+        if (rango > registros[i])
+            registros[i] = rango;
+    }
+
+    /* La constante de corrección del sesgo para m registros. */
+    private static double alfa(int m) {
+        switch (m) {
+        case 16: return 0.673;
+        case 32: return 0.697;
+        case 64: return 0.709;
+        default: return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+}
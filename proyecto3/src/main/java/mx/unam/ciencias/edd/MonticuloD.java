@@ -0,0 +1,347 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para montículos mínimos <i>d</i>-arios, con <i>d</i> igual a 2, 4
+ * u 8.</p>
+ *
+ * <p>Cumple el mismo contrato que {@link MonticuloMinimo}, pero los
+ * acomodos son iterativos y mueven un <i>hueco</i> en lugar de intercambiar
+ * elementos: cada nivel copia un solo elemento y actualiza un solo índice, y
+ * el elemento que se acomoda se escribe una vez, al final. Con más hijos por
+ * vértice el árbol tiene log<sub><i>d</i></sub> <i>n</i> niveles, así que
+ * {@link #reordena} cuando un elemento disminuye es más barato, a cambio de
+ * comparar <i>d</i> hijos en cada nivel al eliminar.</p>
+ *
+ * <p>{@link Grafica} no lo usa: su Dijkstra numera los vértices y usa un
+ * {@link MonticuloIndexado}, que sólo guarda los vértices alcanzados, o un
+ * {@link MonticuloRadix} si los pesos son enteros. Este montículo se conserva
+ * para quien ya tiene elementos {@link ComparableIndexable}, como reemplazo de
+ * {@link MonticuloMinimo} o como {@link MonticuloDijkstra}.</p>
+ */
+public class MonticuloD<T extends ComparableIndexable<T>> implements Coleccion<T>, MonticuloDijkstra<T> {
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador implements Iterator<T> {
+
+        /* Índice del iterador. */
+        private int indice;
+
+        /* Nos dice si hay un siguiente elemento. */
+        @Override
+        public boolean hasNext() {
+            return indice < elementos;
+        }
+
+        /* Regresa el siguiente elemento. */
+        @Override
+        public T next() {
+            if (indice >= elementos)
+                throw new NoSuchElementException("No hay mas elementos.");
+            return arbol[indice++];
+        }
+    }
+
+    /* El número de elementos en el arreglo. */
+    private int elementos;
+    /* Usamos un truco para poder utilizar arreglos genéricos. */
+    private T[] arbol;
+    /* El logaritmo base 2 de la aridad. */
+    private int bits;
+
+    /*
+     * Truco para crear arreglos genéricos. Es necesario hacerlo así por cómo Java
+     * implementa sus genéricos; de otra forma obtenemos advertencias del
+     * compilador.
+     */
+    @SuppressWarnings("unchecked")
+    private T[] nuevoArreglo(int n) {
+        return (T[]) (new ComparableIndexable[n]);
+    }
+
+    /**
+     * Construye un montículo vacío con la aridad dada.
+     *
+     * @param aridad el número de hijos de cada vértice: 2, 4 u 8.
+     * @throws IllegalArgumentException si la aridad no es 2, 4 u 8.
+     */
+    public MonticuloD(int aridad) {
+        bits = bits(aridad);
+        arbol = nuevoArreglo(100);
+    }
+
+    /**
+     * Construye un montículo con los elementos de una colección, en tiempo
+     * <i>O</i>(<i>n</i>).
+     *
+     * @param coleccion la colección a partir de la cuál queremos construir el
+     *                  montículo.
+     * @param aridad    el número de hijos de cada vértice: 2, 4 u 8.
+     * @throws IllegalArgumentException si la aridad no es 2, 4 u 8.
+     */
+    public MonticuloD(Coleccion<T> coleccion, int aridad) {
+        this(coleccion, coleccion.getElementos(), aridad);
+    }
+
+    /**
+     * Construye un montículo con los elementos de un iterable, en tiempo
+     * <i>O</i>(<i>n</i>).
+     *
+     * @param iterable el iterable a partir de la cuál queremos construir el
+     *                 montículo.
+     * @param n        el número de elementos en el iterable.
+     * @param aridad   el número de hijos de cada vértice: 2, 4 u 8.
+     * @throws IllegalArgumentException si la aridad no es 2, 4 u 8.
+     */
+    public MonticuloD(Iterable<T> iterable, int n, int aridad) {
+        bits = bits(aridad);
+        arbol = nuevoArreglo(Math.max(n, 1));
+        for (T elemento : iterable) {
+            arbol[elementos] = elemento;
+            elemento.setIndice(elementos++);
+        }
+        for (int i = padre(elementos - 1); i >= 0; i--)
+            acomodaHaciaAbajo(i, arbol[i]);
+    }
+
+    /**
+     * Agrega un nuevo elemento en el montículo.
+     *
+     * @param elemento el elemento a agregar en el montículo.
+     */
+    @Override
+    public void agrega(T elemento) {
+        if (arbol.length == elementos) {
+            T[] arbolNuevo = nuevoArreglo(elementos * 2);
+            System.arraycopy(arbol, 0, arbolNuevo, 0, elementos);
+            arbol = arbolNuevo;
+        }
+        acomodaHaciaArriba(elementos++, elemento);
+    }
+
+    /**
+     * Elimina el elemento mínimo del montículo.
+     *
+     * @return el elemento mínimo del montículo.
+     * @throws IllegalStateException si el montículo es vacío.
+     */
+    @Override
+    public T elimina() {
+        if (elementos == 0)
+            throw new IllegalStateException("El montículo es vacío.");
+        T minimo = arbol[0];
+        T ultimo = arbol[--elementos];
+        arbol[elementos] = null;
+        if (elementos > 0)
+            acomodaHaciaAbajo(0, ultimo);
+        minimo.setIndice(-1);
+        return minimo;
+    }
+
+    /**
+     * Elimina un elemento del montículo.
+     *
+     * @param elemento a eliminar del montículo.
+     */
+    @Override
+    public void elimina(T elemento) {
+        int i = elemento.getIndice();
+        if (i < 0 || i >= elementos || arbol[i] != elemento)
+            return;
+        T ultimo = arbol[--elementos];
+        arbol[elementos] = null;
+        if (i < elementos)
+            acomoda(i, ultimo);
+        elemento.setIndice(-1);
+    }
+
+    /**
+     * Nos dice si un elemento está contenido en el montículo.
+     *
+     * @param elemento el elemento que queremos saber si está contenido.
+     * @return <code>true</code> si el elemento está contenido, <code>false</code>
+     *         en otro caso.
+     */
+    @Override
+    public boolean contiene(T elemento) {
+        int indice = elemento.getIndice();
+        return !(indice < 0 || indice >= elementos) && elemento.equals(arbol[indice]);
+    }
+
+    /**
+     * Nos dice si el montículo es vacío.
+     *
+     * @return <code>true</code> si ya no hay elementos en el montículo,
+     *         <code>false</code> en otro caso.
+     */
+    @Override
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Limpia el montículo de elementos, dejándolo vacío.
+     */
+    @Override
+    public void limpia() {
+        for (int i = 0; i < elementos; i++)
+            arbol[i] = null;
+        elementos = 0;
+    }
+
+    /**
+     * Reordena un elemento en el árbol, después de que su valor cambió.
+     *
+     * @param elemento el elemento que hay que reordenar.
+     */
+    @Override
+    public void reordena(T elemento) {
+        int i = elemento.getIndice();
+        if (i < 0 || i >= elementos)
+            return;
+        acomoda(i, elemento);
+    }
+
+    /**
+     * Regresa el número de elementos en el montículo.
+     *
+     * @return el número de elementos en el montículo.
+     */
+    @Override
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Regresa el número de hijos de cada vértice del montículo.
+     *
+     * @return la aridad del montículo.
+     */
+    public int getAridad() {
+        return 1 << bits;
+    }
+
+    /**
+     * Regresa el <i>i</i>-ésimo elemento del árbol, por niveles.
+     *
+     * @param i el índice del elemento que queremos, por niveles.
+     * @return el <i>i</i>-ésimo elemento del árbol, por niveles.
+     * @throws NoSuchElementException si i es menor que cero, o mayor o igual que el
+     *                                número de elementos.
+     */
+    @Override
+    public T get(int i) {
+        if (i < 0 || i >= elementos)
+            throw new NoSuchElementException();
+        return arbol[i];
+    }
+
+    /**
+     * Regresa una representación en cadena del montículo.
+     *
+     * @return una representación en cadena del montículo.
+     */
+    @Override
+    public String toString() {
+        StringBuilder s = new StringBuilder();
+        for (int i = 0; i < elementos; i++)
+            s.append(arbol[i].toString()).append(", ");
+        return s.toString();
+    }
+
+    /**
+     * Nos dice si el montículo es igual al objeto recibido: si tiene la misma
+     * aridad y los mismos elementos en el mismo orden.
+     *
+     * @param objeto el objeto con el que queremos comparar el montículo.
+     * @return <code>true</code> si el objeto recibido es un montículo igual al que
+     *         llama el método; <code>false</code> en otro caso.
+     */
+    @Override
+    public boolean equals(Object objeto) {
+        if (objeto == null || getClass() != objeto.getClass())
+            return false;
+        @SuppressWarnings("unchecked")
+        MonticuloD<T> monticulo = (MonticuloD<T>) objeto;
+        if (bits != monticulo.bits || elementos != monticulo.elementos)
+            return false;
+        for (int i = 0; i < elementos; i++)
+            if (!arbol[i].equals(monticulo.arbol[i]))
+                return false;
+        return true;
+    }
+
+    /**
+     * Regresa un iterador para iterar el montículo. El montículo se itera en
+     * orden BFS.
+     *
+     * @return un iterador para iterar el montículo.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterador();
+    }
+
+    /* Regresa el logaritmo base 2 de la aridad. */
+    private static int bits(int aridad) {
+        switch (aridad) {
+        case 2: return 1;
+        case 4: return 2;
+        case 8: return 3;
+        default:
+            throw new IllegalArgumentException("La aridad debe ser 2, 4 u 8.");
+        }
+    }
+
+    /* Regresa el índice del padre del vértice en i; -1 para la raíz. */
+    private int padre(int i) {
+        return i <= 0 ? -1 : (i - 1) >>> bits;
+    }
+
+    /* Coloca el elemento en el hueco i, subiéndolo o bajándolo. */
+    private void acomoda(int i, T elemento) {
+        if (i > 0 && elemento.compareTo(arbol[padre(i)]) < 0)
+            acomodaHaciaArriba(i, elemento);
+        else
+            acomodaHaciaAbajo(i, elemento);
+    }
+
+    /* Sube el hueco en i, bajando a los padres mayores, y ahí pone el elemento. */
+    private void acomodaHaciaArriba(int i, T elemento) {
+        while (i > 0) {
+            int p = (i - 1) >>> bits;
+            T padre = arbol[p];
+            if (elemento.compareTo(padre) >= 0)
+                break;
+            arbol[i] = padre;
+            padre.setIndice(i);
+            i = p;
+        }
+        arbol[i] = elemento;
+        elemento.setIndice(i);
+    }
+
+    /* Baja el hueco en i, subiendo al hijo menor, y ahí pone el elemento. */
+    private void acomodaHaciaAbajo(int i, T elemento) {
+        while (true) {
+            int primero = (i << bits) + 1;
+            if (primero >= elementos)
+                break;
+            int fin = Math.min(primero + (1 << bits), elementos);
+            int menor = primero;
+            for (int h = primero + 1; h < fin; h++)
+                if (arbol[h].compareTo(arbol[menor]) < 0)
+                    menor = h;
+            T hijo = arbol[menor];
+            if (hijo.compareTo(elemento) >= 0)
+                break;
+            arbol[i] = hijo;
+            hijo.setIndice(i);
+            i = menor;
+        }
+        arbol[i] = elemento;
+        elemento.setIndice(i);
+    }
+}
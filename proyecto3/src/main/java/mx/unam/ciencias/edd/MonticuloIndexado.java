@@ -0,0 +1,252 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Montículo mínimo indexado de identificadores enteros densos, en [0,
+ * <i>n</i>), con claves <code>long</code>.</p>
+ *
+ * <p>A diferencia de {@link MonticuloMinimo}, los elementos no tienen que
+ * implementar {@link ComparableIndexable}: el montículo guarda los
+ * identificadores en un arreglo de enteros, y en arreglos paralelos la clave y
+ * la posición en el montículo de cada identificador. Así, agregar, eliminar el
+ * mínimo y disminuir la clave de un identificador toman tiempo <i>O</i>(log
+ * <i>n</i>) sin crear objetos. Entre claves iguales sale primero el
+ * identificador menor.</p>
+ *
+ * <p>Para usar claves <code>double</code>, como distancias, se convierten con
+ * {@link #claveOrdenada}, que respeta su orden.</p>
+ */
+public class MonticuloIndexado {
+
+    /* Los identificadores, acomodados como montículo. */
+    private int[] arbol;
+    /* La posición en el árbol de cada identificador, o -1. */
+    private int[] posiciones;
+    /* La clave de cada identificador. */
+    private long[] claves;
+    /* El número de identificadores en el montículo. */
+    private int elementos;
+
+    /**
+     * Construye un montículo vacío para los identificadores en [0, capacidad).
+     *
+     * @param capacidad el número de identificadores.
+     * @throws IllegalArgumentException si la capacidad es negativa.
+     */
+    public MonticuloIndexado(int capacidad) {
+        if (capacidad < 0)
+            throw new IllegalArgumentException("La capacidad no puede ser negativa.");
+        arbol = new int[capacidad];
+        posiciones = new int[capacidad];
+        claves = new long[capacidad];
+        for (int i = 0; i < capacidad; i++)
+            posiciones[i] = -1;
+    }
+
+    /**
+     * Construye un montículo con todos los identificadores en [0,
+     * claves.length), donde la clave del identificador i es claves[i]. Es más
+     * barato construir el montículo con todos sus identificadores de antemano
+     * (tiempo <i>O</i>(<i>n</i>)), que agregándolos uno por uno (tiempo
+     * <i>O</i>(<i>n</i> log <i>n</i>)). El arreglo de claves se copia.
+     *
+     * @param claves la clave de cada identificador.
+     * @throws IllegalArgumentException si el arreglo de claves es
+     *                                  <code>null</code>.
+     */
+    public MonticuloIndexado(long[] claves) {
+        if (claves == null)
+            throw new IllegalArgumentException("Las claves no pueden ser null.");
+        int n = claves.length;
+        this.claves = claves.clone();
+        arbol = new int[n];
+        posiciones = new int[n];
+        for (int i = 0; i < n; i++)
+            arbol[i] = posiciones[i] = i;
+        elementos = n;
+        for (int i = (n / 2) - 1; i >= 0; i--)
+            acomodaHaciaAbajo(i, arbol[i]);
+    }
+
+    /**
+     * Agrega un identificador con su clave.
+     *
+     * @param id    el identificador.
+     * @param clave la clave del identificador.
+     * @throws IllegalArgumentException si el identificador no está en [0,
+     *                                  capacidad) o ya está en el montículo.
+     */
+    public void agrega(int id, long clave) {
+        if (id < 0 || id >= posiciones.length)
+            throw new IllegalArgumentException("Identificador inválido: " + id);
+        if (posiciones[id] >= 0)
+            throw new IllegalArgumentException("El identificador ya está en el montículo: " + id);
+        claves[id] = clave;
+        acomodaHaciaArriba(elementos++, id);
+    }
+
+    /**
+     * Elimina el identificador con la clave mínima.
+     *
+     * @return el identificador con la clave mínima.
+     * @throws IllegalStateException si el montículo es vacío.
+     */
+    public int elimina() {
+        if (elementos == 0)
+            throw new IllegalStateException("El montículo es vacío.");
+        int minimo = arbol[0];
+        int ultimo = arbol[--elementos];
+        if (elementos > 0)
+            acomodaHaciaAbajo(0, ultimo);
+        posiciones[minimo] = -1;
+        return minimo;
+    }
+
+    /**
+     * Disminuye la clave de un identificador del montículo.
+     *
+     * @param id    el identificador.
+     * @param clave la nueva clave, menor o igual que la actual.
+     * @throws NoSuchElementException   si el identificador no está en el
+     *                                  montículo.
+     * @throws IllegalArgumentException si la nueva clave es mayor que la actual.
+     */
+    public void disminuyeClave(int id, long clave) {
+        if (!contiene(id))
+            throw new NoSuchElementException("El identificador no está en el montículo: " + id);
+        if (clave > claves[id])
+            throw new IllegalArgumentException("La nueva clave es mayor que la actual.");
+        claves[id] = clave;
+        acomodaHaciaArriba(posiciones[id], id);
+    }
+
+    /**
+     * Regresa el identificador con la clave mínima, sin eliminarlo.
+     *
+     * @return el identificador con la clave mínima.
+     * @throws IllegalStateException si el montículo es vacío.
+     */
+    public int minimo() {
+        if (elementos == 0)
+            throw new IllegalStateException("El montículo es vacío.");
+        return arbol[0];
+    }
+
+    /**
+     * Regresa la clave de un identificador del montículo.
+     *
+     * @param id el identificador.
+     * @return la clave del identificador.
+     * @throws NoSuchElementException si el identificador no está en el
+     *                                montículo.
+     */
+    public long clave(int id) {
+        if (!contiene(id))
+            throw new NoSuchElementException("El identificador no está en el montículo: " + id);
+        return claves[id];
+    }
+
+    /**
+     * Nos dice si un identificador está en el montículo.
+     *
+     * @param id el identificador.
+     * @return <code>true</code> si el identificador está en el montículo,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(int id) {
+        return id >= 0 && id < posiciones.length && posiciones[id] >= 0;
+    }
+
+    /**
+     * Nos dice si el montículo es vacío.
+     *
+     * @return <code>true</code> si el montículo es vacío, <code>false</code> en
+     *         otro caso.
+     */
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de identificadores en el montículo.
+     *
+     * @return el número de identificadores en el montículo.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Regresa el número de identificadores posibles, <i>n</i>.
+     *
+     * @return la capacidad del montículo.
+     */
+    public int getCapacidad() {
+        return posiciones.length;
+    }
+
+    /**
+     * Limpia el montículo, dejándolo vacío, en tiempo proporcional a sus
+     * elementos.
+     */
+    public void limpia() {
+        for (int i = 0; i < elementos; i++)
+            posiciones[arbol[i]] = -1;
+        elementos = 0;
+    }
+
+    /**
+     * Convierte un <code>double</code> en una clave <code>long</code> con el
+     * mismo orden que {@link Double#compare}: para todo <i>a</i> y <i>b</i>,
+     * <code>Double.compare(a, b) &lt; 0</code> si y sólo si
+     * <code>claveOrdenada(a) &lt; claveOrdenada(b)</code>.
+     *
+     * @param valor el valor a convertir.
+     * @return la clave del valor.
+     */
+    public static long claveOrdenada(double valor) {
+        long bits = Double.doubleToLongBits(valor);
+        // Los negativos tienen el orden invertido en sus bits de magnitud.
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /* Nos dice si el identificador a va antes que el b. */
+    private boolean menor(int a, int b) {
+        long ca = claves[a], cb = claves[b];
+        return ca < cb || (ca == cb && a < b);
+    }
+
+    /* Sube el hueco en i, bajando a los padres mayores, y ahí pone el id. */
+    private void acomodaHaciaArriba(int i, int id) {
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            int padre = arbol[p];
+            if (!menor(id, padre))
+                break;
+            arbol[i] = padre;
+            posiciones[padre] = i;
+            i = p;
+        }
+        arbol[i] = id;
+        posiciones[id] = i;
+    }
+
+    /* Baja el hueco en i, subiendo al hijo menor, y ahí pone el id. */
+    private void acomodaHaciaAbajo(int i, int id) {
+        while (true) {
+            int hijo = 2 * i + 1;
+            if (hijo >= elementos)
+                break;
+            if (hijo + 1 < elementos && menor(arbol[hijo + 1], arbol[hijo]))
+                hijo++;
+            if (!menor(arbol[hijo], id))
+                break;
+            arbol[i] = arbol[hijo];
+            posiciones[arbol[i]] = i;
+            i = hijo;
+        }
+        arbol[i] = id;
+        posiciones[id] = i;
+    }
+}
@@ -29,39 +29,6 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>> implements Colecc
         }
     }
 
-    /* Clase estática privada para adaptadores. */
-    private static class Adaptador<T extends Comparable<T>> implements ComparableIndexable<Adaptador<T>> {
-
-        /* El elemento. */
-        private T elemento;
-        /* El índice. */
-        private int indice;
-
-        /* Crea un nuevo comparable indexable. */
-        public Adaptador(T elemento) {
-            this.elemento = elemento;
-            indice = -1;
-        }
-
-        /* Regresa el índice. */
-        @Override
-        public int getIndice() {
-            return indice;
-        }
-
-        /* Define el índice. */
-        @Override
-        public void setIndice(int indice) {
-            this.indice = indice;
-        }
-
-        /* Compara un adaptador con otro. */
-        @Override
-        public int compareTo(Adaptador<T> adaptador) {
-            return this.elemento.compareTo(adaptador.elemento);
-        }
-    }
-
     /* El número de elementos en el arreglo. */
     private int elementos;
     /* Usamos un truco para poder utilizar arreglos genéricos. */
@@ -313,25 +280,24 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>> implements Colecc
     }
 
     /**
-     * Ordena la colección usando HeapSort.
+     * Ordena la colección usando HeapSort. Los elementos se copian a un arreglo
+     * que se ordena en el lugar con {@link Arreglos#heapSort(Comparable[])}.
      * 
      * @param <T>       tipo del que puede ser el arreglo.
      * @param coleccion la colección a ordenar.
      * @return una lista ordenada con los elementos de la colección.
      */
     public static <T extends Comparable<T>> Lista<T> heapSort(Coleccion<T> coleccion) {
-        Lista<Adaptador<T>> lista1 = new Lista<>();
-        Lista<T> lista2 = new Lista<>();
+        @SuppressWarnings("unchecked")
+        T[] arreglo = (T[]) new Comparable[coleccion.getElementos()];
         int i = 0;
-        for (T elemento : coleccion) {
-            Adaptador<T> adaptadorElemento = new Adaptador<>(elemento);
-            adaptadorElemento.setIndice(i++);
-            lista1.agregaFinal(adaptadorElemento);
-        }
-        MonticuloMinimo<Adaptador<T>> monticulo = new MonticuloMinimo<>(lista1);
-        while (!monticulo.esVacia())
-            lista2.agregaFinal(monticulo.elimina().elemento);
-        return lista2;
+        for (T elemento : coleccion)
+            arreglo[i++] = elemento;
+        Arreglos.heapSort(arreglo);
+        Lista<T> lista = new Lista<>();
+        for (T elemento : arreglo)
+            lista.agregaFinal(elemento);
+        return lista;
     }
 
     /**
@@ -0,0 +1,233 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>Montículo <i>radix</i> monótono para claves enteras no negativas, como
+ * las distancias de Dijkstra en gráficas con pesos enteros.</p>
+ *
+ * <p>El montículo recuerda la última clave eliminada y reparte los elementos
+ * en 65 cubetas según el bit más alto en que su clave difiere de ella: la
+ * cubeta 0 tiene las claves iguales a la última, y la cubeta <i>b</i> las que
+ * difieren por primera vez en el bit <i>b</i> - 1. Para eliminar, si la cubeta
+ * 0 está vacía, la mínima clave de la primera cubeta no vacía se vuelve la
+ * última y esa cubeta se reparte en cubetas menores. Cada elemento baja de
+ * cubeta a lo más 64 veces, así que, mientras las claves nunca sean menores
+ * que la última eliminada, eliminar cuesta tiempo amortizado
+ * <i>O</i>(log <i>C</i>), con <i>C</i> la clave máxima, y {@link #reordena}
+ * tiempo constante, sin comparar elementos.</p>
+ *
+ * <p>Las claves se leen de los elementos con una función; como en los demás
+ * {@link MonticuloDijkstra}, después de cambiar la clave de un elemento hay
+ * que llamar a {@link #reordena}. El índice de cada elemento es su lugar en el
+ * montículo, y se vuelve -1 cuando se elimina.</p>
+ *
+ * @param <T> el tipo de los elementos.
+ */
+public class MonticuloRadix<T extends ComparableIndexable<T>> implements MonticuloDijkstra<T> {
+
+    /* Número de cubetas: una por bit, más la de las claves iguales. */
+    private static final int CUBETAS = 65;
+
+    /* La función que da la clave de cada elemento. */
+    private ToLongFunction<T> clave;
+    /* Los elementos, por lugar. */
+    private T[] lugares;
+    /* La clave de cada lugar cuando se acomodó. */
+    private long[] claves;
+    /* La cubeta de cada lugar, o -1 si se eliminó. */
+    private int[] cubetaDe;
+    /* La posición de cada lugar en su cubeta. */
+    private int[] posicionDe;
+    /* Los lugares en cada cubeta. */
+    private int[][] cubetas;
+    /* El número de lugares en cada cubeta. */
+    private int[] tamanos;
+    /* La última clave eliminada. */
+    private long ultima;
+    /* El número de elementos en el montículo. */
+    private int elementos;
+
+    /*
+     * Truco para crear arreglos genéricos. Es necesario hacerlo así por cómo Java
+     * implementa sus genéricos; de otra forma obtenemos advertencias del
+     * compilador.
+     */
+    @SuppressWarnings("unchecked")
+    private T[] nuevoArreglo(int n) {
+        return (T[]) (new ComparableIndexable[n]);
+    }
+
+    /**
+     * Construye un montículo con los elementos de una colección.
+     *
+     * @param coleccion la colección a partir de la cuál queremos construir el
+     *                  montículo.
+     * @param clave     la función que da la clave de cada elemento.
+     * @throws IllegalArgumentException si alguna clave es negativa.
+     */
+    public MonticuloRadix(Coleccion<T> coleccion, ToLongFunction<T> clave) {
+        this(coleccion, coleccion.getElementos(), clave);
+    }
+
+    /**
+     * Construye un montículo con los elementos de un iterable, en tiempo
+     * <i>O</i>(<i>n</i>).
+     *
+     * @param iterable el iterable a partir de la cuál queremos construir el
+     *                 montículo.
+     * @param n        el número de elementos en el iterable.
+     * @param clave    la función que da la clave de cada elemento.
+     * @throws IllegalArgumentException si alguna clave es negativa.
+     */
+    public MonticuloRadix(Iterable<T> iterable, int n, ToLongFunction<T> clave) {
+        this.clave = clave;
+        lugares = nuevoArreglo(n);
+        claves = new long[n];
+        cubetaDe = new int[n];
+        posicionDe = new int[n];
+        cubetas = new int[CUBETAS][];
+        tamanos = new int[CUBETAS];
+        for (int b = 0; b < CUBETAS; b++)
+            cubetas[b] = new int[4];
+        for (T elemento : iterable) {
+            long k = clave.applyAsLong(elemento);
+            if (k < 0)
+                throw new IllegalArgumentException("Las claves no pueden ser negativas.");
+            lugares[elementos] = elemento;
+            claves[elementos] = k;
+            elemento.setIndice(elementos);
+            mete(elementos++);
+        }
+    }
+
+    /**
+     * Elimina el elemento con la clave mínima del montículo.
+     *
+     * @return el elemento con la clave mínima del montículo.
+     * @throws IllegalStateException si el montículo es vacío.
+     */
+    @Override
+    public T elimina() {
+        if (elementos == 0)
+            throw new IllegalStateException("El montículo es vacío.");
+        if (tamanos[0] == 0)
+            reparte();
+        int lugar = cubetas[0][--tamanos[0]];
+        cubetaDe[lugar] = -1;
+        elementos--;
+        T elemento = lugares[lugar];
+        elemento.setIndice(-1);
+        return elemento;
+    }
+
+    /**
+     * Reordena un elemento del montículo después de que su clave cambió. Si el
+     * elemento ya no está en el montículo, no hace nada.
+     *
+     * @param elemento el elemento que hay que reordenar.
+     * @throws IllegalArgumentException si la nueva clave es menor que la última
+     *                                  eliminada.
+     */
+    @Override
+    public void reordena(T elemento) {
+        int lugar = elemento.getIndice();
+        if (lugar < 0 || lugar >= lugares.length || lugares[lugar] != elemento || cubetaDe[lugar] < 0)
+            return;
+        long k = clave.applyAsLong(elemento);
+        if (k < ultima)
+            throw new IllegalArgumentException("La clave no puede ser menor que la última eliminada.");
+        saca(lugar);
+        claves[lugar] = k;
+        mete(lugar);
+    }
+
+    /**
+     * Regresa el <i>i</i>-ésimo elemento del montículo, recorriendo las cubetas
+     * de menor a mayor.
+     *
+     * @param i el índice del elemento que queremos.
+     * @return el <i>i</i>-ésimo elemento del montículo.
+     * @throws NoSuchElementException si <i>i</i> es inválido.
+     */
+    @Override
+    public T get(int i) {
+        if (i < 0 || i >= elementos)
+            throw new NoSuchElementException("El indice no es correcto.");
+        int b = 0;
+        while (i >= tamanos[b])
+            i -= tamanos[b++];
+        return lugares[cubetas[b][i]];
+    }
+
+    /**
+     * Nos dice si el montículo es vacío.
+     *
+     * @return <code>true</code> si ya no hay elementos en el montículo,
+     *         <code>false</code> en otro caso.
+     */
+    @Override
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de elementos en el montículo.
+     *
+     * @return el número de elementos en el montículo.
+     */
+    @Override
+    public int getElementos() {
+        return elementos;
+    }
+
+    /* Regresa la cubeta de una clave respecto a la última eliminada. */
+    private int cubeta(long k) {
+        return k == ultima ? 0 : 64 - Long.numberOfLeadingZeros(k ^ ultima);
+    }
+
+    /* Mete el lugar en la cubeta de su clave. */
+    private void mete(int lugar) {
+        int b = cubeta(claves[lugar]);
+        if (tamanos[b] == cubetas[b].length) {
+            int[] nueva = new int[tamanos[b] * 2];
+            System.arraycopy(cubetas[b], 0, nueva, 0, tamanos[b]);
+            cubetas[b] = nueva;
+        }
+        cubetaDe[lugar] = b;
+        posicionDe[lugar] = tamanos[b];
+        cubetas[b][tamanos[b]++] = lugar;
+    }
+
+    /* Saca el lugar de su cubeta, llenando el hueco con el último de ella. */
+    private void saca(int lugar) {
+        int b = cubetaDe[lugar];
+        int p = posicionDe[lugar];
+        int ultimo = cubetas[b][--tamanos[b]];
+        cubetas[b][p] = ultimo;
+        posicionDe[ultimo] = p;
+    }
+
+    /*
+     * Hace de la mínima clave de la primera cubeta no vacía la última, y
+     * reparte esa cubeta; sus elementos caen en cubetas menores, y al menos
+     * uno en la cubeta 0.
+     */
+    private void reparte() {
+        int b = 1;
+        while (tamanos[b] == 0)
+            b++;
+        int[] cubeta = cubetas[b];
+        int n = tamanos[b];
+        long minima = Long.MAX_VALUE;
+        for (int i = 0; i < n; i++)
+            minima = Math.min(minima, claves[cubeta[i]]);
+        ultima = minima;
+        // La cubeta se vacía antes de repartirla porque ningún elemento puede
+        // volver a ella.
+        tamanos[b] = 0;
+        for (int i = 0; i < n; i++)
+            mete(cubeta[i]);
+    }
+}
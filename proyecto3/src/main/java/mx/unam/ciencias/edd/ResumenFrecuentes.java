@@ -0,0 +1,313 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Resumen de las cadenas más frecuentes de un flujo, con el algoritmo
+ * <i>Space-Saving</i> de Metwally, Agrawal y El Abbadi. El resumen usa un
+ * número fijo <i>k</i> de contadores, sin importar cuántas cadenas distintas
+ * tenga el flujo.</p>
+ *
+ * <p>Mientras haya contadores libres, cada cadena nueva toma uno. Cuando ya no
+ * hay, la cadena nueva reemplaza a la del contador mínimo, que hereda su valor
+ * más uno; ese valor heredado es el error del contador. Así, para toda cadena
+ * del resumen, su conteo real está entre <code>get - error</code> y
+ * <code>get</code>, y toda cadena que no está en el resumen aparece a lo más
+ * {@link #minimo} veces, que a su vez es a lo más <i>N</i>/<i>k</i> para un
+ * flujo de <i>N</i> cadenas. En particular, toda cadena que aparece más de
+ * <i>N</i>/<i>k</i> veces está en el resumen. La suma de los contadores es
+ * siempre <i>N</i>.</p>
+ */
+public class ResumenFrecuentes {
+
+    /* Contador de una cadena, ordenado por su valor en el montículo. */
+    private static class Contador implements ComparableIndexable<Contador> {
+
+        /* La cadena. */
+        private String llave;
+        /* La dispersión de la cadena. */
+        private int dispersion;
+        /* El valor del contador. */
+        private int conteo;
+        /* Lo que el valor puede sobreestimar el conteo real. */
+        private int error;
+        /* El índice en el montículo. */
+        private int indice;
+
+        /* Compara por el valor del contador. */
+        @Override public int compareTo(Contador contador) {
+            return Integer.compare(conteo, contador.conteo);
+        }
+
+        /* Regresa el índice en el montículo. */
+        @Override public int getIndice() {
+            return indice;
+        }
+
+        /* Define el índice en el montículo. */
+        @Override public void setIndice(int indice) {
+            this.indice = indice;
+        }
+    }
+
+    /* Clase interna privada para iteradores de llaves. */
+    private class IteradorLlaves implements Iterator<String> {
+
+        /* La siguiente posición ocupada de la tabla. */
+        private int indice;
+
+        /* Construye un nuevo iterador. */
+        public IteradorLlaves() {
+            indice = -1;
+            mueveIndice();
+        }
+
+        /* Nos dice si hay una siguiente llave. */
+        @Override public boolean hasNext() {
+            return indice < tabla.length;
+        }
+
+        /* Regresa la siguiente llave. */
+        @Override public String next() {
+            if (indice >= tabla.length)
+                throw new NoSuchElementException("No quedan elementos por iterar.");
+            String llave = tabla[indice].llave;
+            mueveIndice();
+            return llave;
+        }
+
+        /* Mueve el índice a la siguiente posición ocupada. */
+        private void mueveIndice() {
+            do {
+                indice++;
+            } while (indice < tabla.length && tabla[indice] == null);
+        }
+    }
+
+    /* Número de contadores. */
+    private int contadores;
+    /* Tabla de dispersión con sondeo lineal; null en las posiciones libres. */
+    private Contador[] tabla;
+    /* Montículo de los contadores, con el mínimo en la raíz. */
+    private MonticuloMinimo<Contador> monticulo;
+    /* Número de cadenas del flujo. */
+    private long total;
+
+    /**
+     * Construye un resumen con el número de contadores dado.
+     *
+     * @param contadores el número de contadores.
+     * @throws IllegalArgumentException si el número de contadores no es
+     *                                  positivo.
+     */
+    public ResumenFrecuentes(int contadores) {
+        if (contadores < 1)
+            throw new IllegalArgumentException("El número de contadores debe ser positivo.");
+        this.contadores = contadores;
+        int n = 2;
+        while (n < contadores * 2L && n < (1 << 30))
+            n *= 2;
+        tabla = new Contador[n];
+        monticulo = new MonticuloMinimo<Contador>();
+    }
+
+    /**
+     * Cuenta una aparición de la cadena.
+     *
+     * @param llave la cadena.
+     * @throws IllegalArgumentException si la cadena es nula.
+     */
+    public void incrementa(String llave) {
+        if (llave == null)
+            throw new IllegalArgumentException("La llave no puede ser nula.");
+        incrementa(llave.toCharArray(), 0, llave.length());
+    }
+
+    /**
+     * Cuenta una aparición de la cadena formada por los caracteres
+     * <code>cadena[inicio, inicio + longitud)</code>. Sólo se crea una cadena si
+     * la cadena no estaba en el resumen.
+     *
+     * @param cadena   arreglo con los caracteres de la cadena.
+     * @param inicio   índice del primer carácter de la cadena.
+     * @param longitud número de caracteres de la cadena.
+     * @throws IllegalArgumentException si la cadena es nula.
+     */
+    public void incrementa(char[] cadena, int inicio, int longitud) {
+        if (cadena == null)
+            throw new IllegalArgumentException("La llave no puede ser nula.");
+        total++;
+        // Misma función que String.hashCode, para poder comparar dispersiones.
+        int h = 0;
+        for (int k = inicio; k < inicio + longitud; k++)
+            h = 31 * h + cadena[k];
+        int dispersion = Dispersores.mezcla(h);
+        int mascara = tabla.length - 1;
+        int i = dispersion & mascara;
+        Contador actual;
+        while ((actual = tabla[i]) != null) {
+            if (actual.dispersion == dispersion && iguales(actual.llave, cadena, inicio, longitud)) {
+                actual.conteo++;
+                monticulo.reordena(actual);
+                return;
+            }
+            i = (i + 1) & mascara;
+        }
+        Contador contador;
+        if (monticulo.getElementos() < contadores) {
+            contador = new Contador();
+            monticulo.agrega(contador);
+        } else {
+            // Reemplaza la cadena del contador mínimo.
+            contador = monticulo.get(0);
+            quita(contador);
+            contador.error = contador.conteo;
+            i = dispersion & mascara;
+            while (tabla[i] != null)
+                i = (i + 1) & mascara;
+        }
+        contador.llave = new String(cadena, inicio, longitud);
+        contador.dispersion = dispersion;
+        contador.conteo++;
+        tabla[i] = contador;
+        monticulo.reordena(contador);
+    }
+
+    /**
+     * Regresa el valor del contador de una cadena, que es una cota superior de
+     * sus apariciones.
+     *
+     * @param llave la cadena.
+     * @return el valor del contador de la cadena, o cero si no está en el
+     *         resumen.
+     */
+    public int get(String llave) {
+        Contador contador = busca(llave);
+        return contador == null ? 0 : contador.conteo;
+    }
+
+    /**
+     * Regresa cuánto puede sobreestimar {@link #get} las apariciones de una
+     * cadena.
+     *
+     * @param llave la cadena.
+     * @return el error del contador de la cadena, o cero si no está en el
+     *         resumen.
+     */
+    public int error(String llave) {
+        Contador contador = busca(llave);
+        return contador == null ? 0 : contador.error;
+    }
+
+    /**
+     * Nos dice si una cadena está en el resumen.
+     *
+     * @param llave la cadena.
+     * @return <code>true</code> si la cadena tiene un contador,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(String llave) {
+        return busca(llave) != null;
+    }
+
+    /**
+     * Regresa el valor del contador mínimo si todos los contadores están
+     * ocupados, o cero si no. Es una cota superior de las apariciones de
+     * cualquier cadena que no esté en el resumen, y del error de cualquier
+     * contador.
+     *
+     * @return el valor del contador mínimo.
+     */
+    public int minimo() {
+        return monticulo.getElementos() < contadores ? 0 : monticulo.get(0).conteo;
+    }
+
+    /**
+     * Regresa el número de cadenas en el resumen.
+     *
+     * @return el número de cadenas en el resumen.
+     */
+    public int getElementos() {
+        return monticulo.getElementos();
+    }
+
+    /**
+     * Regresa el número de contadores del resumen.
+     *
+     * @return el número de contadores.
+     */
+    public int getContadores() {
+        return contadores;
+    }
+
+    /**
+     * Regresa el número de cadenas contadas.
+     *
+     * @return el número de cadenas contadas, con repeticiones.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Regresa un iterador para iterar las cadenas del resumen, sin ningún orden
+     * específico.
+     *
+     * @return un iterador para iterar las cadenas del resumen.
+     */
+    public Iterator<String> iteradorLlaves() {
+        return new IteradorLlaves();
+    }
+
+    /* Regresa el contador de la cadena, o null si no está. */
+    private Contador busca(String llave) {
+        if (llave == null)
+            return null;
+        int dispersion = Dispersores.mezcla(llave.hashCode());
+        int mascara = tabla.length - 1;
+        int i = dispersion & mascara;
+        Contador actual;
+        while ((actual = tabla[i]) != null) {
+            if (actual.dispersion == dispersion && actual.llave.equals(llave))
+                return actual;
+            i = (i + 1) & mascara;
+        }
+        return null;
+    }
+
+    /*
+     * Quita el contador de la tabla, recorriendo hacia atrás los contadores que
+     * le siguen en su racha de sondeo para no dejar huecos.
+     */
+    private void quita(Contador contador) {
+        int mascara = tabla.length - 1;
+        int i = contador.dispersion & mascara;
+        while (tabla[i] != contador)
+            i = (i + 1) & mascara;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mascara;
+            if (tabla[j] == null)
+                break;
+            int k = tabla[j].dispersion & mascara;
+            // El contador en j puede moverse a i si i está entre su posición
+            // ideal k y j, cíclicamente.
+            if ((j > i && (k <= i || k > j)) || (j < i && (k <= i && k > j))) {
+                tabla[i] = tabla[j];
+                i = j;
+            }
+        }
+        tabla[i] = null;
+    }
+
+    /* Compara la llave con los caracteres cadena[inicio, inicio + longitud). */
+    private static boolean iguales(String llave, char[] cadena, int inicio, int longitud) {
+        if (llave.length() != longitud)
+            return false;
+        for (int k = 0; k < longitud; k++)
+            if (llave.charAt(k) != cadena[inicio + k])
+                return false;
+        return true;
+    }
+}
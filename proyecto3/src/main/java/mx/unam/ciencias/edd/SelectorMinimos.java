@@ -0,0 +1,208 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * <p>Clase para seleccionar los <i>k</i> elementos mínimos de un flujo, en el
+ * orden en que saldrían de un {@link MonticuloMinimo}, sin guardar todo el
+ * flujo.</p>
+ *
+ * <p>El selector es un montículo de a lo más <i>k</i> elementos con el
+ * <i>máximo</i> de los seleccionados en la raíz. Un elemento nuevo entra sólo si
+ * es menor que esa raíz, y entonces la reemplaza; así, procesar un flujo de
+ * <i>n</i> elementos cuesta tiempo <i>O</i>(<i>n</i> log <i>k</i>) y memoria
+ * <i>O</i>(<i>k</i>). Entre elementos iguales se prefieren los que llegaron
+ * primero, así que la selección no depende de cómo se acomode el montículo.</p>
+ *
+ * @param <T> el tipo de los elementos.
+ */
+public class SelectorMinimos<T extends Comparable<T>> {
+
+    /* Los elementos seleccionados, con el mayor en la raíz. */
+    private T[] arbol;
+    /* El orden de llegada de cada elemento seleccionado. */
+    private long[] llegadas;
+    /* El número de elementos seleccionados. */
+    private int elementos;
+    /* El número de elementos recibidos. */
+    private long recibidos;
+
+    /*
+     * Truco para crear arreglos genéricos. Es necesario hacerlo así por cómo Java
+     * implementa sus genéricos; de otra forma obtenemos advertencias del
+     * compilador.
+     */
+    @SuppressWarnings("unchecked")
+    private T[] nuevoArreglo(int n) {
+        return (T[]) (new Comparable[n]);
+    }
+
+    /**
+     * Construye un selector vacío de a lo más <i>k</i> elementos.
+     *
+     * @param k el número de elementos a seleccionar.
+     * @throws IllegalArgumentException si k no es positivo.
+     */
+    public SelectorMinimos(int k) {
+        if (k < 1)
+            throw new IllegalArgumentException("El número de elementos a seleccionar debe ser positivo.");
+        arbol = nuevoArreglo(k);
+        llegadas = new long[k];
+    }
+
+    /**
+     * Ofrece un elemento al selector. Si ya hay <i>k</i> elementos seleccionados,
+     * el nuevo entra sólo si es menor que el mayor de ellos, que sale.
+     *
+     * @param elemento el elemento a ofrecer.
+     * @return <code>true</code> si el elemento quedó seleccionado,
+     *         <code>false</code> en otro caso.
+     * @throws IllegalArgumentException si el elemento es <code>null</code>.
+     */
+    public boolean agrega(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException("El elemento no puede ser null.");
+        long llegada = recibidos++;
+        if (elementos < arbol.length) {
+            arbol[elementos] = elemento;
+            llegadas[elementos] = llegada;
+            acomodaHaciaArriba(elementos++);
+            return true;
+        }
+        if (elemento.compareTo(arbol[0]) >= 0)
+            return false;
+        arbol[0] = elemento;
+        llegadas[0] = llegada;
+        acomodaHaciaAbajo(arbol, llegadas, 0, elementos);
+        return true;
+    }
+
+    /**
+     * Nos dice si un elemento entraría al selector, sin agregarlo. Sirve para no
+     * construir elementos que no van a entrar.
+     *
+     * @param elemento el elemento a probar.
+     * @return <code>true</code> si el selector tiene lugar o el elemento es menor
+     *         que el mayor de los seleccionados, <code>false</code> en otro caso.
+     */
+    public boolean admite(T elemento) {
+        return elemento != null && (elementos < arbol.length || elemento.compareTo(arbol[0]) < 0);
+    }
+
+    /**
+     * Regresa el mayor de los elementos seleccionados, que es el primero en salir
+     * cuando entra uno menor.
+     *
+     * @return el mayor de los elementos seleccionados.
+     * @throws IllegalStateException si el selector es vacío.
+     */
+    public T tope() {
+        if (elementos == 0)
+            throw new IllegalStateException("El selector es vacío.");
+        return arbol[0];
+    }
+
+    /**
+     * Nos dice si ya hay <i>k</i> elementos seleccionados.
+     *
+     * @return <code>true</code> si el selector está lleno, <code>false</code> en
+     *         otro caso.
+     */
+    public boolean estaLleno() {
+        return elementos == arbol.length;
+    }
+
+    /**
+     * Nos dice si el selector es vacío.
+     *
+     * @return <code>true</code> si no hay elementos seleccionados,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de elementos seleccionados.
+     *
+     * @return el número de elementos seleccionados.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Regresa el número máximo de elementos que se seleccionan.
+     *
+     * @return <i>k</i>.
+     */
+    public int getCapacidad() {
+        return arbol.length;
+    }
+
+    /**
+     * Regresa una lista con los elementos seleccionados de menor a mayor; entre
+     * elementos iguales, en el orden en que llegaron. El selector no se
+     * modifica.
+     *
+     * @return una lista con los elementos seleccionados en orden.
+     */
+    public Lista<T> ordenados() {
+        // Ordena una copia del montículo sacando la raíz al final, como en
+        // heapsort.
+        T[] copia = nuevoArreglo(elementos);
+        long[] copiaLlegadas = new long[elementos];
+        for (int i = 0; i < elementos; i++) {
+            copia[i] = arbol[i];
+            copiaLlegadas[i] = llegadas[i];
+        }
+        for (int n = elementos - 1; n > 0; n--) {
+            intercambia(copia, copiaLlegadas, 0, n);
+            acomodaHaciaAbajo(copia, copiaLlegadas, 0, n);
+        }
+        Lista<T> lista = new Lista<>();
+        for (int i = 0; i < elementos; i++)
+            lista.agrega(copia[i]);
+        return lista;
+    }
+
+    /* Sube el elemento en i mientras sea mayor que su padre. */
+    private void acomodaHaciaArriba(int i) {
+        while (i > 0) {
+            int padre = (i - 1) / 2;
+            if (!mayor(arbol, llegadas, i, padre))
+                return;
+            intercambia(arbol, llegadas, i, padre);
+            i = padre;
+        }
+    }
+
+    /* Nos dice si el elemento en i va después que el elemento en j. */
+    private static <T extends Comparable<T>> boolean mayor(T[] a, long[] llegadas, int i, int j) {
+        int c = a[i].compareTo(a[j]);
+        return c > 0 || (c == 0 && llegadas[i] > llegadas[j]);
+    }
+
+    /* Baja el elemento en i entre los primeros n mientras algún hijo sea mayor. */
+    private static <T extends Comparable<T>> void acomodaHaciaAbajo(T[] a, long[] llegadas, int i, int n) {
+        while (true) {
+            int izquierdo = 2 * i + 1, derecho = izquierdo + 1, mayor = i;
+            if (izquierdo < n && mayor(a, llegadas, izquierdo, mayor))
+                mayor = izquierdo;
+            if (derecho < n && mayor(a, llegadas, derecho, mayor))
+                mayor = derecho;
+            if (mayor == i)
+                return;
+            intercambia(a, llegadas, i, mayor);
+            i = mayor;
+        }
+    }
+
+    /* Intercambia los elementos en i y j. */
+    private static <T> void intercambia(T[] a, long[] llegadas, int i, int j) {
+        T t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+        long l = llegadas[i];
+        llegadas[i] = llegadas[j];
+        llegadas[j] = l;
+    }
+}
@@ -6,6 +6,11 @@ import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import mx.unam.ciencias.edd.Conjunto;
 import mx.unam.ciencias.edd.Lista;
@@ -15,9 +20,11 @@ import mx.unam.ciencias.edd.proyecto3.excepciones.ExcepcionArchivoNocreado;
 import mx.unam.ciencias.edd.proyecto3.excepciones.ExcepcionArgumentoInvalido;
 import mx.unam.ciencias.edd.proyecto3.excepciones.ExcepcionBanderaInvalida;
 import mx.unam.ciencias.edd.proyecto3.reportes.Archivo;
+import mx.unam.ciencias.edd.proyecto3.reportes.ConfiguracionArchivo;
 import mx.unam.ciencias.edd.proyecto3.reportes.ReporteArchivo;
 import mx.unam.ciencias.edd.proyecto3.reportes.ReporteGeneral;
 import mx.unam.ciencias.edd.proyecto3.util.Copia;
+import mx.unam.ciencias.edd.proyecto3.util.EjecutorAcotado;
 import mx.unam.ciencias.edd.proyecto3.util.Pareja;
 
 /**
@@ -27,6 +34,9 @@ public class Reportador {
 
 	private Conjunto<File> archivos;
 	private File directorioDestino;
+	private ConfiguracionArchivo configuracion;
+	private int hilos;
+	private Conjunto<String> nombresReservados;
 
 	/**
 	 * Inicializa el programa a partir de las rutas de los archivos y del directorio
@@ -37,6 +47,10 @@ public class Reportador {
 	 */
 	public Reportador(String[] args) {
 		archivos = new Conjunto<File>();
+		configuracion = new ConfiguracionArchivo();
+		configuracion.setRegistroDiferido(true);
+		hilos = Runtime.getRuntime().availableProcessors();
+		nombresReservados = new Conjunto<String>();
 		for (int i = 0; i < args.length; i++) {
 			String argumento = args[i];
 			if (esBandera(argumento)) {
@@ -68,24 +82,15 @@ public class Reportador {
 							+ "El directorio de salida ya contiene un archivo nombrado \"index.html\"");
 		String nombreRecurso = copiarRecurso("style.css"); // Copia la hoja de estilo al directorio de destino.
 		Archivo[] archivos = leerArchivos();
-		// Crea los reportes de los archivos.
+		// Reserva los nombres de los reportes antes de generarlos, para que no
+		// dependan del orden en que terminan de escribirse.
 		Lista<Pareja<Archivo, String>> archivosConRuta = new Lista<>();
+		File[] rutas = new File[archivos.length];
 		for (int i = 0; i < archivos.length; i++) {
-			Archivo archivo = archivos[i];
-			String nombre = archivo.obtenerNombre();
-			File rutaArchivo = validarNombreArchivoDestino(nombre + ".html");
-			archivosConRuta.agrega(Pareja.crearPareja(archivo, rutaArchivo.getName()));
-			ReporteArchivo reporteArchivo = new ReporteArchivo(archivo, "Reporte " + nombre, nombreRecurso,
-					"index.html");
-			try {
-				reporteArchivo.generarReportes(new FileWriter(rutaArchivo));
-			} catch (IOException ioe) {
-				throw new ExcepcionArchivoNocreado(
-						"Ha ocurrido un error inesperado al tratar de escribir en el directorio: "
-								+ directorioDestino.getAbsolutePath(),
-						ioe);
-			}
+			rutas[i] = validarNombreArchivoDestino(archivos[i].obtenerNombre() + ".html");
+			archivosConRuta.agrega(Pareja.crearPareja(archivos[i], rutas[i].getName()));
 		}
+		escribirReportesArchivos(archivos, rutas, nombreRecurso);
 		ReporteGeneral reportePrincipal = new ReporteGeneral(archivosConRuta, "Reporte General", nombreRecurso);
 		try {
 			reportePrincipal.generarReportes(new FileWriter(rutaReporteGeneral));
@@ -97,17 +102,71 @@ public class Reportador {
 		}
 	}
 
+	/*
+	 * Genera los reportes de los archivos de forma concurrente y espera a que
+	 * terminen de escribirse.
+	 */
+	private void escribirReportesArchivos(Archivo[] archivos, File[] rutas, String nombreRecurso) {
+		List<Future<Void>> futuros = new ArrayList<>(archivos.length);
+		try (EjecutorAcotado ejecutor = new EjecutorAcotado(hilos)) {
+			for (int i = 0; i < archivos.length; i++) {
+				Archivo archivo = archivos[i];
+				File ruta = rutas[i];
+				futuros.add(ejecutor.envia(() -> {
+					escribirReporteArchivo(archivo, ruta, nombreRecurso);
+					return null;
+				}));
+			}
+			for (Future<Void> futuro : futuros)
+				espera(futuro);
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new ExcepcionArchivoNocreado("Se interrumpió la escritura de los reportes.", ie);
+		}
+	}
+
+	/* Genera el reporte de un archivo y lo escribe en la ruta dada. */
+	private void escribirReporteArchivo(Archivo archivo, File ruta, String nombreRecurso) {
+		ReporteArchivo reporteArchivo = new ReporteArchivo(archivo, "Reporte " + archivo.obtenerNombre(),
+				nombreRecurso, "index.html");
+		try {
+			reporteArchivo.generarReportes(new FileWriter(ruta));
+		} catch (IOException ioe) {
+			throw new ExcepcionArchivoNocreado(
+					"Ha ocurrido un error inesperado al tratar de escribir en el directorio: "
+							+ directorioDestino.getAbsolutePath(),
+					ioe);
+		}
+	}
+
+	/*
+	 * Espera a que termine una tarea que sólo puede fallar con excepciones no
+	 * verificadas, y relanza la excepción con la que falló.
+	 */
+	private void espera(Future<?> futuro) throws InterruptedException {
+		try {
+			futuro.get();
+		} catch (ExecutionException ee) {
+			Throwable causa = ee.getCause();
+			if (causa instanceof Error)
+				throw (Error) causa;
+			throw (RuntimeException) causa;
+		}
+	}
+
 	/*
 	 * Genera un nombre para el archivo en el directtorio de destino que no coincida
-	 * con ninguno actualmente existente.
+	 * con ninguno actualmente existente ni con otro reservado previamente, y lo
+	 * reserva.
 	 */
 	private File validarNombreArchivoDestino(String nombre) {
 		String nombreValidar = nombre;
 		int i = 1;
 		if (nombre.equals("index.html"))
 			nombreValidar = nombre + String.format("(%d)", i++);
-		while (crearCaminoArchivo(nombreValidar).exists())
+		while (nombresReservados.contiene(nombreValidar) || crearCaminoArchivo(nombreValidar).exists())
 			nombreValidar = nombre + String.format("(%d)", i++);
+		nombresReservados.agrega(nombreValidar);
 		return crearCaminoArchivo(nombreValidar);
 	}
 
@@ -121,21 +180,65 @@ public class Reportador {
 		}
 	}
 
-	/* Lee los archivos a reportar. */
+	/*
+	 * Lee los archivos a reportar de forma concurrente. Las palabras de cada
+	 * archivo se registran en el orden en que se recorren los archivos, así que ni
+	 * los identificadores de los archivos ni los de las palabras dependen del orden
+	 * en que terminan de leerse. Los archivos grandes que se cuentan en paralelo
+	 * comparten los mismos hilos de conteo.
+	 */
 	private Archivo[] leerArchivos() {
+		int n = this.archivos.getElementos();
+		File[] rutas = new File[n];
+		List<Future<Archivo>> futuros = new ArrayList<>(n);
 		int i = 0;
-		Archivo[] archivos = new Archivo[this.archivos.getElementos()];
-		for (File ruta : this.archivos) {
-			try {
-				archivos[i] = new Archivo(ruta, ++i);
-			} catch (FileNotFoundException fnfe) {
-				throw new ExcepcionArchivoNoEncontrado("No se pudo leer: " + fnfe.getMessage(), fnfe);
-			} catch (IOException ioe) {
-				throw new ExcepcionArchivoNoLeido(
-						"Ha ocurrido un error inesperado al tratar de leer: " + ruta.getAbsolutePath(), ioe);
+		for (File ruta : this.archivos)
+			rutas[i++] = ruta;
+		ForkJoinPool hilosConteo = null;
+		if (configuracion.getParalelismo() > 1) {
+			hilosConteo = new ForkJoinPool(configuracion.getParalelismo());
+			configuracion.setHilosConteo(hilosConteo);
+		}
+		try (EjecutorAcotado ejecutor = new EjecutorAcotado(hilos)) {
+			for (i = 0; i < n; i++) {
+				File ruta = rutas[i];
+				int identificador = i + 1;
+				futuros.add(ejecutor.envia(() -> new Archivo(ruta, identificador, configuracion)));
+			}
+			Archivo[] archivos = new Archivo[n];
+			for (i = 0; i < n; i++) {
+				archivos[i] = resultado(futuros.get(i), rutas[i]);
+				archivos[i].registra();
 			}
+			return archivos;
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new ExcepcionArchivoNoLeido("Se interrumpió la lectura de los archivos.", ie);
+		} finally {
+			if (hilosConteo != null) {
+				configuracion.setHilosConteo(null);
+				hilosConteo.shutdown();
+			}
+		}
+	}
+
+	/* Espera el resultado de la lectura de un archivo. */
+	private Archivo resultado(Future<Archivo> futuro, File ruta) throws InterruptedException {
+		try {
+			return futuro.get();
+		} catch (ExecutionException ee) {
+			Throwable causa = ee.getCause();
+			if (causa instanceof FileNotFoundException)
+				throw new ExcepcionArchivoNoEncontrado("No se pudo leer: " + causa.getMessage(), causa);
+			if (causa instanceof IOException)
+				throw new ExcepcionArchivoNoLeido(
+						"Ha ocurrido un error inesperado al tratar de leer: " + ruta.getAbsolutePath(), causa);
+			if (causa instanceof RuntimeException)
+				throw (RuntimeException) causa;
+			if (causa instanceof Error)
+				throw (Error) causa;
+			throw new ExcepcionArchivoNoLeido("No se pudo leer: " + ruta.getAbsolutePath(), causa);
 		}
-		return archivos;
 	}
 
 	/* Copia un recurso al directorio de destino de los reportes. */
@@ -182,6 +285,18 @@ public class Reportador {
 						throw new ExcepcionArgumentoInvalido(directorioDestino.getName() + " no es un directorio.");
 					procesados++;
 					break;
+				case 'j':
+					hilos = argumentoEntero(argumentos, indice + ++procesados, 'j');
+					break;
+				case 'p':
+					configuracion.setParalelismo(argumentoEntero(argumentos, indice + ++procesados, 'p'));
+					break;
+				case 't':
+					configuracion.setTamanoRango(argumentoEntero(argumentos, indice + ++procesados, 't') * 1024L * 1024L);
+					break;
+				case 'a':
+					configuracion.setContadores(argumentoEntero(argumentos, indice + ++procesados, 'a'));
+					break;
 				default:
 					throw new ExcepcionBanderaInvalida(bandera.charAt(i) + " es una opción inválida.");
 			}
@@ -189,6 +304,22 @@ public class Reportador {
 		return procesados;
 	}
 
+	/*
+	 * Regresa el argumento entero positivo de una opción, que se encuentra en la
+	 * posición dada.
+	 */
+	private int argumentoEntero(String[] argumentos, int posicion, char opcion) {
+		if (posicion >= argumentos.length)
+			throw new ExcepcionArgumentoInvalido("La opcion '" + opcion + "' debe recibir un argumento.");
+		try {
+			int valor = Integer.parseInt(argumentos[posicion]);
+			if (valor > 0)
+				return valor;
+		} catch (NumberFormatException nfe) {
+		}
+		throw new ExcepcionArgumentoInvalido("La opcion '" + opcion + "' debe recibir un entero positivo.");
+	}
+
 	/**
 	 * Checa si un argumento es una bandera
 	 */
@@ -21,6 +21,7 @@ import mx.unam.ciencias.edd.proyecto3.util.Pareja;
 public class DibujarGrafica<T> implements GraficableSVG, ContenidoHTML {
 
     private Grafica<Pareja<T, Pareja<Double, Double>>> grafica;
+    private boolean ponderada;
 
     /**
      * Crea una grafica dibujable a partir de la colección recibida como parámetro.
@@ -28,21 +29,44 @@ public class DibujarGrafica<T> implements GraficableSVG, ContenidoHTML {
      * @param coleccion Pares de elementos representando aristas de la gráfica.
      */
     public DibujarGrafica(Coleccion<T> coleccion) {
+        this(coleccion, null);
+    }
+
+    /**
+     * Crea una grafica dibujable con aristas ponderadas. Cada arista se dibuja con
+     * un grosor proporcional a su peso, así que los pesos deben estar entre 0 y 1.
+     * Un par de elementos iguales agrega el elemento sin aristas, y su peso se
+     * ignora.
+     * 
+     * @param coleccion Pares de elementos representando aristas de la gráfica.
+     * @param pesos     Peso de cada arista, en el mismo orden que los pares, o
+     *                  null para una gráfica sin pesos.
+     */
+    public DibujarGrafica(Coleccion<T> coleccion, Coleccion<Double> pesos) {
         grafica = new Grafica<>();
+        ponderada = pesos != null;
         Iterator<T> iterador = coleccion.iterator();
+        Iterator<Double> iteradorPesos = ponderada ? pesos.iterator() : null;
         while (iterador.hasNext()) {
+            double peso = ponderada ? iteradorPesos.next() : 1;
             Pareja<Double, Double> aux = Pareja.crearPareja(0.0, 0.0);
             Pareja<T, Pareja<Double, Double>> primerElemento = Pareja.crearPareja(iterador.next(), aux);
+            // Usa siempre el elemento que ya está en la gráfica, para que sus
+            // aristas sigan encontrándose después de asignarle su punto.
             if (!grafica.contiene(primerElemento))
                 grafica.agrega(primerElemento);
+            else
+                primerElemento = grafica.vertice(primerElemento).get();
             Pareja<Double, Double> aux2 = Pareja.crearPareja(0.0, 0.0);
             Pareja<T, Pareja<Double, Double>> segundoElemento = Pareja.crearPareja(iterador.next(), aux2);
             if (primerElemento.equals(segundoElemento))
                 continue;
             if (!grafica.contiene(segundoElemento))
                 grafica.agrega(segundoElemento);
+            else
+                segundoElemento = grafica.vertice(segundoElemento).get();
             if (!grafica.sonVecinos(primerElemento, segundoElemento))
-                grafica.conecta(primerElemento, segundoElemento);
+                grafica.conecta(primerElemento, segundoElemento, peso);
         }
     }
 
@@ -94,7 +118,10 @@ public class DibujarGrafica<T> implements GraficableSVG, ContenidoHTML {
                 Pareja<Double, Double> puntoVecino = vecino.get().getY();
                 if (puntoVecino.getX() == 0.0)
                     cambiarPunto(puntoVecino, largo, ancho, diametroM, angulo, i++);
-                if (vecino.getColor() != Color.NEGRO)
+                if (vecino.getColor() != Color.NEGRO && ponderada)
+                    svg.linea(puntoVertice, puntoVecino, ColorSVG.BLACK,
+                            0.5 + 4 * grafica.getPeso(elemento, vecino.get()));
+                else if (vecino.getColor() != Color.NEGRO)
                     svg.linea(puntoVertice, puntoVecino, ColorSVG.BLACK);
             }
             svg.circuloConTexto(puntoVertice, radioVertice, ColorSVG.BLACK, ColorSVG.WHITE, ColorSVG.BLACK,
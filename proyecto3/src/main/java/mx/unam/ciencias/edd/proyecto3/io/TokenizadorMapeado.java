@@ -0,0 +1,318 @@
+package mx.unam.ciencias.edd.proyecto3.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+import mx.unam.ciencias.edd.Lista;
+
+/**
+ * Tokenizador que lee por palabras un archivo codificado en UTF-8 mapeándolo a
+ * memoria con {@link FileChannel#map}. Los bytes se clasifican con una tabla
+ * precalculada y la palabra leída se deja en un arreglo de caracteres que se
+ * reutiliza entre lecturas, por lo que no se crean objetos por cada carácter.
+ *
+ * Separa las palabras con los mismos caracteres que {@link LectorPalabra}: el
+ * espacio y los caracteres de control ASCII (U+0000 a U+001F y U+007F). Ninguno
+ * de ellos puede aparecer dentro de una secuencia UTF-8 de varios bytes, así
+ * que basta con clasificar cada byte por separado.
+ */
+public class TokenizadorMapeado implements Closeable {
+
+	/** Tamaño por omisión de la región del archivo mapeada a la vez (64 MiB). */
+	public static final long VENTANA = 1L << 26;
+
+	/* Byte que forma parte de una palabra y es ASCII. */
+	private static final byte ASCII = 0;
+	/* Byte que separa palabras. */
+	private static final byte SEPARADOR = 1;
+	/* Byte que forma parte de una secuencia UTF-8 de más de un byte. */
+	private static final byte MULTIBYTE = 2;
+
+	/* Tabla con la clase de cada uno de los 256 valores de un byte. */
+	private static final byte[] CLASES = new byte[256];
+
+	static {
+		for (int i = 0; i < 256; i++) {
+			if (i <= 0x20 || i == 0x7f)
+				CLASES[i] = SEPARADOR;
+			else if (i < 0x80)
+				CLASES[i] = ASCII;
+			else
+				CLASES[i] = MULTIBYTE;
+		}
+	}
+
+	private FileChannel canal;
+	/* Posición absoluta del siguiente byte a leer y fin de la región a leer. */
+	private long posicion;
+	private long fin;
+	/* Región del archivo mapeada actualmente. */
+	private MappedByteBuffer ventana;
+	private long tamanoVentana;
+	private long inicioVentana;
+	private long finVentana;
+
+	/* Bytes de la palabra actual. */
+	private byte[] bytes;
+	private int numBytes;
+	private boolean soloAscii;
+	/* Caracteres de la palabra actual. */
+	private char[] caracteres;
+	private int longitud;
+
+	/* Decodificador y buffers reutilizables para palabras no ASCII. */
+	private CharsetDecoder decodificador;
+	private ByteBuffer bufferBytes;
+	private CharBuffer bufferCaracteres;
+
+	/**
+	 * Crea un nuevo tokenizador que lee el archivo completo.
+	 *
+	 * @param archivo Archivo a leer.
+	 * @throws FileNotFoundException Si no se encuentra el archivo.
+	 * @throws IOException           Si ocurre un error de I/O al abrir el
+	 *                               archivo.
+	 */
+	public TokenizadorMapeado(File archivo) throws FileNotFoundException, IOException {
+		this(archivo, 0, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Crea un nuevo tokenizador que lee únicamente los bytes del archivo en el
+	 * rango [inicio, fin). Quien llama es responsable de que los extremos del rango
+	 * no corten ninguna palabra.
+	 *
+	 * @param archivo Archivo a leer.
+	 * @param inicio  Posición del primer byte a leer.
+	 * @param fin     Posición siguiente al último byte a leer.
+	 * @throws FileNotFoundException Si no se encuentra el archivo.
+	 * @throws IOException           Si ocurre un error de I/O al abrir el
+	 *                               archivo.
+	 */
+	public TokenizadorMapeado(File archivo, long inicio, long fin) throws FileNotFoundException, IOException {
+		this(archivo, inicio, fin, VENTANA);
+	}
+
+	/**
+	 * Crea un nuevo tokenizador que lee los bytes del archivo en el rango [inicio,
+	 * fin), mapeando a memoria a lo más el número de bytes dado a la vez. Las
+	 * palabras pueden cruzar el límite entre dos ventanas.
+	 *
+	 * @param archivo Archivo a leer.
+	 * @param inicio  Posición del primer byte a leer.
+	 * @param fin     Posición siguiente al último byte a leer.
+	 * @param ventana Tamaño máximo en bytes de la región mapeada a la vez.
+	 * @throws FileNotFoundException    Si no se encuentra el archivo.
+	 * @throws IOException              Si ocurre un error de I/O al abrir el
+	 *                                  archivo.
+	 * @throws IllegalArgumentException Si el rango es inválido o la ventana no
+	 *                                  está entre 1 y
+	 *                                  <code>Integer.MAX_VALUE</code>.
+	 */
+	public TokenizadorMapeado(File archivo, long inicio, long fin, long ventana)
+			throws FileNotFoundException, IOException {
+		if (inicio < 0 || fin < inicio)
+			throw new IllegalArgumentException("Rango inválido.");
+		if (ventana < 1 || ventana > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Tamaño de ventana inválido.");
+		canal = new FileInputStream(archivo).getChannel();
+		tamanoVentana = ventana;
+		this.posicion = inicio;
+		try {
+			this.fin = Math.min(fin, canal.size());
+		} catch (IOException | RuntimeException e) {
+			// Nadie más puede cerrar el canal si el constructor falla.
+			try {
+				canal.close();
+			} catch (IOException cierre) {
+				e.addSuppressed(cierre);
+			}
+			throw e;
+		}
+		inicioVentana = finVentana = inicio;
+		bytes = new byte[64];
+		caracteres = new char[64];
+	}
+
+	/**
+	 * Avanza a la siguiente palabra del archivo.
+	 *
+	 * @return <code>true</code> si se leyó una palabra, <code>false</code> si ya
+	 *         no quedan palabras por leer.
+	 * @throws IOException Si ocurre un error de I/O al mapear el archivo.
+	 */
+	public boolean siguiente() throws IOException {
+		numBytes = 0;
+		soloAscii = true;
+		while (posicion < fin) {
+			if (posicion >= finVentana)
+				mapea(posicion);
+			int i = (int) (posicion - inicioVentana);
+			int limite = (int) (finVentana - inicioVentana);
+			while (i < limite) {
+				int b = ventana.get(i) & 0xff;
+				byte clase = CLASES[b];
+				i++;
+				if (clase != SEPARADOR) {
+					if (clase == MULTIBYTE)
+						soloAscii = false;
+					agregaByte(b);
+					continue;
+				}
+				if (numBytes > 0) {
+					posicion = inicioVentana + i;
+					return decodifica();
+				}
+			}
+			posicion = inicioVentana + i;
+		}
+		return (numBytes > 0) ? decodifica() : false;
+	}
+
+	/**
+	 * Regresa el arreglo con los caracteres de la última palabra leída. Sólo las
+	 * primeras {@link #longitud} posiciones son válidas, y el arreglo se reutiliza
+	 * en la siguiente llamada a {@link #siguiente}.
+	 *
+	 * @return Arreglo con los caracteres de la palabra.
+	 */
+	public char[] caracteres() {
+		return caracteres;
+	}
+
+	/**
+	 * Regresa el número de caracteres de la última palabra leída.
+	 *
+	 * @return Longitud de la palabra.
+	 */
+	public int longitud() {
+		return longitud;
+	}
+
+	/**
+	 * Lee la siguiente palabra.
+	 *
+	 * @return Cadena con la palabra leída o <code>null</code> si ya no quedan
+	 *         palabras.
+	 * @throws IOException Si ocurre un error de I/O al leer la palabra.
+	 */
+	public String leePalabra() throws IOException {
+		return siguiente() ? new String(caracteres, 0, longitud) : null;
+	}
+
+	/**
+	 * Cierra el tokenizador.
+	 */
+	@Override
+	public void close() throws IOException {
+		ventana = null;
+		canal.close();
+	}
+
+	/**
+	 * Divide el archivo en rangos de bytes de aproximadamente el tamaño dado, que
+	 * pueden leerse por separado con {@link #TokenizadorMapeado(File,long,long)}.
+	 * Cada límite intermedio se recorre hasta el siguiente byte separador, de
+	 * modo que ninguna palabra quede cortada entre dos rangos.
+	 *
+	 * @param archivo     Archivo a dividir.
+	 * @param tamanoRango Tamaño aproximado en bytes de cada rango.
+	 * @return Arreglo de límites que empieza en cero y termina en el tamaño del
+	 *         archivo; el rango i es [límites[i], límites[i + 1]), y sólo es vacío
+	 *         si el archivo lo es.
+	 * @throws IOException Si ocurre un error de I/O al leer el archivo.
+	 */
+	public static long[] rangos(File archivo, long tamanoRango) throws IOException {
+		if (tamanoRango < 1)
+			throw new IllegalArgumentException("El tamaño de rango debe ser positivo.");
+		Lista<Long> lista = new Lista<>();
+		try (FileChannel canal = new FileInputStream(archivo).getChannel()) {
+			long tamano = canal.size();
+			ByteBuffer buffer = ByteBuffer.allocate(4096);
+			long limite = 0;
+			lista.agrega(limite);
+			while (tamano - limite > tamanoRango) {
+				limite = siguienteSeparador(canal, limite + tamanoRango, buffer);
+				if (limite >= tamano)
+					break;
+				lista.agrega(limite);
+			}
+			lista.agrega(tamano);
+		}
+		long[] limites = new long[lista.getElementos()];
+		Iterator<Long> iterador = lista.iterator();
+		for (int k = 0; k < limites.length; k++)
+			limites[k] = iterador.next();
+		return limites;
+	}
+
+	/* Regresa la posición del primer separador a partir de la posición dada. */
+	private static long siguienteSeparador(FileChannel canal, long posicion, ByteBuffer buffer) throws IOException {
+		while (true) {
+			buffer.clear();
+			int leidos = canal.read(buffer, posicion);
+			if (leidos <= 0)
+				return canal.size();
+			for (int k = 0; k < leidos; k++)
+				if (CLASES[buffer.get(k) & 0xff] == SEPARADOR)
+					return posicion + k;
+			posicion += leidos;
+		}
+	}
+
+	/* Mapea la ventana que comienza en la posición dada. */
+	private void mapea(long inicio) throws IOException {
+		long tamano = Math.min(tamanoVentana, fin - inicio);
+		ventana = canal.map(FileChannel.MapMode.READ_ONLY, inicio, tamano);
+		inicioVentana = inicio;
+		finVentana = inicio + tamano;
+	}
+
+	/* Agrega un byte a la palabra actual. */
+	private void agregaByte(int b) {
+		if (numBytes == bytes.length) {
+			byte[] nuevo = new byte[bytes.length * 2];
+			System.arraycopy(bytes, 0, nuevo, 0, numBytes);
+			bytes = nuevo;
+		}
+		bytes[numBytes++] = (byte) b;
+	}
+
+	/* Decodifica los bytes de la palabra actual a caracteres. */
+	private boolean decodifica() {
+		if (caracteres.length < numBytes)
+			caracteres = new char[bytes.length];
+		if (soloAscii) {
+			for (int i = 0; i < numBytes; i++)
+				caracteres[i] = (char) bytes[i];
+			longitud = numBytes;
+			return true;
+		}
+		if (decodificador == null)
+			decodificador = StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		if (bufferBytes == null || bufferBytes.array() != bytes)
+			bufferBytes = ByteBuffer.wrap(bytes);
+		if (bufferCaracteres == null || bufferCaracteres.array() != caracteres)
+			bufferCaracteres = CharBuffer.wrap(caracteres);
+		bufferBytes.clear();
+		bufferBytes.limit(numBytes);
+		bufferCaracteres.clear();
+		decodificador.reset();
+		decodificador.decode(bufferBytes, bufferCaracteres, true);
+		decodificador.flush(bufferCaracteres);
+		longitud = bufferCaracteres.position();
+		return true;
+	}
+}
@@ -3,14 +3,25 @@ package mx.unam.ciencias.edd.proyecto3.reportes;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
+import mx.unam.ciencias.edd.Arreglos;
+import mx.unam.ciencias.edd.BosquejoConteo;
 import mx.unam.ciencias.edd.ComparableIndexable;
-import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.ContadorCadenas;
+import mx.unam.ciencias.edd.FiltroBloom;
+import mx.unam.ciencias.edd.FirmaMinHash;
+import mx.unam.ciencias.edd.HyperLogLog;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.MonticuloIndexado;
 import mx.unam.ciencias.edd.MonticuloMinimo;
+import mx.unam.ciencias.edd.ResumenFrecuentes;
 import mx.unam.ciencias.edd.proyecto3.io.LectorPalabra;
+import mx.unam.ciencias.edd.proyecto3.io.TokenizadorMapeado;
+import mx.unam.ciencias.edd.proyecto3.util.NormalizadorPalabra;
 
 /**
  * Clase para representar archivo de texto que pueden contar las palabras y
@@ -18,6 +29,12 @@ import mx.unam.ciencias.edd.proyecto3.io.LectorPalabra;
  */
 public class Archivo implements Iterable<Archivo.PalabraContada> {
 
+	/**
+	 * Longitud mínima de las palabras con las que se calcula la firma MinHash del
+	 * archivo; las más cortas suelen ser comunes a casi todos los textos.
+	 */
+	public static final int LONGITUD_FIRMA = 7;
+
 	/**
 	 * Clase para representar una palabra del archivo, junto con el número de veces
 	 * que se encuentra repetida en él.
@@ -25,12 +42,16 @@ public class Archivo implements Iterable<Archivo.PalabraContada> {
 	public static class PalabraContada implements ComparableIndexable<PalabraContada> {
 
 		private String palabra;
+		private int identificador;
 		private Integer repeticiones;
+		private int error;
 		private int indice;
 
-		private PalabraContada(String palabra, int repeticiones) {
+		private PalabraContada(String palabra, int identificador, int repeticiones, int error) {
 			this.palabra = palabra;
+			this.identificador = identificador;
 			this.repeticiones = repeticiones;
+			this.error = error;
 			this.indice = -1;
 		}
 
@@ -43,6 +64,15 @@ public class Archivo implements Iterable<Archivo.PalabraContada> {
 			return palabra;
 		}
 
+		/**
+		 * Regresa el identificador de la palabra en la tabla de símbolos del archivo.
+		 * 
+		 * @return Identificador de la palabra.
+		 */
+		public int obtenerIdentificador() {
+			return identificador;
+		}
+
 		/**
 		 * Regresa el número de veces que se encuentra repetida la palabra
 		 * 
@@ -52,6 +82,16 @@ public class Archivo implements Iterable<Archivo.PalabraContada> {
 			return repeticiones;
 		}
 
+		/**
+		 * Regresa cuánto pueden sobreestimar las repeticiones a las reales. En el
+		 * conteo exacto es cero.
+		 * 
+		 * @return Error máximo de las repeticiones de la palabra.
+		 */
+		public int obtenerError() {
+			return error;
+		}
+
 		/**
 		 * Compara dos Palabras según el número de veces que se encuentra repetida cada
 		 * una en el archivo.
@@ -100,7 +140,7 @@ public class Archivo implements Iterable<Archivo.PalabraContada> {
 
 	private class Iterador implements Iterator<PalabraContada> {
 
-		private final Iterator<String> iteradorDiccionario = palabras.iteradorLlaves();
+		private int siguiente;
 
 		/**
 		 * Checa si hay elementos por iterar.
@@ -108,7 +148,7 @@ public class Archivo implements Iterable<Archivo.PalabraContada> {
 		 * @return true si quedan elementos por iterar, falso en caso contrario.
 		 */
 		public boolean hasNext() {
-			return iteradorDiccionario.hasNext();
+			return siguiente < identificadores.length;
 		}
 
 		/**
@@ -118,30 +158,116 @@ public class Archivo implements Iterable<Archivo.PalabraContada> {
 		 * @throws NoSuchElementException Si no quedan elementos por iterar.
 		 */
 		public PalabraContada next() {
-			String palabra = iteradorDiccionario.next();
-			return new PalabraContada(palabra, palabras.get(palabra));
+			if (siguiente >= identificadores.length)
+				throw new NoSuchElementException("No quedan elementos por iterar.");
+			int i = siguiente++;
+			int identificador = identificadores[i];
+			return new PalabraContada(tablaSimbolos.palabra(identificador), identificador, repeticiones[i],
+					errores == null ? 0 : errores[i]);
 		}
 	}
 
-	/*
-	 * Elimina acentos, caracteres que no sean alfabéticos y pasa todas las letras a
-	 * minúscula
-	 */
-	private String normalizarCadena(String cadena) {
-		String cadenaNormalizada = Normalizer.normalize(cadena, Normalizer.Form.NFKD);
-		cadenaNormalizada = cadenaNormalizada.trim().toLowerCase();
-		String regex = "[^\\p{L}\\p{Nd}+]";
-		return cadenaNormalizada.replaceAll(regex, "");
+	/* Iterador de las palabras de la más repetida a la menos. */
+	private class IteradorRepeticiones implements Iterator<PalabraContada> {
+
+		/* Posiciones de las palabras que faltan, por repeticiones. */
+		private MonticuloIndexado monticulo;
+
+		/* Construye el montículo con todas las posiciones de una vez. */
+		private IteradorRepeticiones() {
+			// Entre claves iguales sale la posición menor, que es la del
+			// identificador menor.
+			long[] claves = new long[identificadores.length];
+			for (int i = 0; i < claves.length; i++)
+				claves[i] = Integer.MAX_VALUE - (long) repeticiones[i];
+			monticulo = new MonticuloIndexado(claves);
+		}
+
+		/**
+		 * Checa si hay elementos por iterar.
+		 * 
+		 * @return true si quedan elementos por iterar, falso en caso contrario.
+		 */
+		public boolean hasNext() {
+			return !monticulo.esVacia();
+		}
+
+		/**
+		 * Regresa la siguiente palabra más repetida.
+		 * 
+		 * @return La siguiente palabra más repetida.
+		 * @throws NoSuchElementException Si no quedan elementos por iterar.
+		 */
+		public PalabraContada next() {
+			if (monticulo.esVacia())
+				throw new NoSuchElementException("No quedan elementos por iterar.");
+			int i = monticulo.elimina();
+			int identificador = identificadores[i];
+			return new PalabraContada(tablaSimbolos.palabra(identificador), identificador, repeticiones[i],
+					errores == null ? 0 : errores[i]);
+		}
 	}
 
-	/* Diccionario con las palabras del archivo. */
-	private Diccionario<String, Integer> palabras;
-	// private Diccionario<CadenaNormalizada, Integer> palabras;
+	/* Identificadores de las palabras del archivo, en orden creciente. */
+	private int[] identificadores;
+	/* Repeticiones de cada palabra, en el orden de los identificadores. */
+	private int[] repeticiones;
+	/* Error de las repeticiones de cada palabra; null en el conteo exacto. */
+	private int[] errores;
+	/* Bosquejo de las repeticiones de todas las palabras; null en el conteo exacto. */
+	private BosquejoConteo bosquejo;
+	/* Número de contadores del conteo aproximado; cero en el conteo exacto. */
+	private int contadores;
+	/* Cota de las repeticiones de las palabras que no se guardaron. */
+	private int cotaResumen;
+	/* Total de palabras leídas, con repeticiones. */
+	private long totalRepeticiones;
+	/* Bosquejo de las palabras distintas del archivo. */
+	private HyperLogLog distintas;
+	/* Filtro de Bloom de las palabras guardadas; null si no se usa o no se ha consultado. */
+	private FiltroBloom filtro;
+	/* Tasa de falsos positivos del filtro de Bloom; cero si no se usa. */
+	private double tasaFiltro;
+	/* Normalizador de las palabras consultadas, que se reutiliza entre consultas. */
+	private NormalizadorPalabra normalizador;
+	/* Firma MinHash de las palabras largas del archivo. */
+	private FirmaMinHash firma;
+	/* Tabla de símbolos de las palabras del archivo. */
+	private TablaSimbolos tablaSimbolos;
+	/* Índice invertido al que se agregó el archivo. */
+	private IndiceInvertido indiceInvertido;
+	/* Registro de las palabras que falta hacer; null si ya se hizo. */
+	private Runnable registroPendiente;
 	private String nombre;
 	private int identificador;
 
+	/**
+	 * Lee y cuenta las palabras de un archivo usando la configuración por omisión.
+	 * 
+	 * @param archivo       Archivo a leer.
+	 * @param identificador Identificador del archivo.
+	 * @throws FileNotFoundException Si no se encuentra el archivo.
+	 * @throws IOException           Si ocurre un error de I/O al leer el archivo.
+	 */
 	public Archivo(File archivo, int identificador) throws FileNotFoundException, IOException {
-		palabras = new Diccionario<>();
+		this(archivo, identificador, new ConfiguracionArchivo());
+	}
+
+	/**
+	 * Lee y cuenta las palabras de un archivo con la configuración dada. Las
+	 * palabras se registran en la tabla de símbolos de la configuración, y el
+	 * archivo se agrega a su índice invertido; si la configuración difiere el
+	 * registro, esto se hace hasta que se llame {@link #registra}.
+	 * 
+	 * @param archivo       Archivo a leer.
+	 * @param identificador Identificador del archivo.
+	 * @param configuracion Opciones con las que se leen las palabras.
+	 * @throws FileNotFoundException Si no se encuentra el archivo.
+	 * @throws IOException           Si ocurre un error de I/O al leer el archivo.
+	 */
+	public Archivo(File archivo, int identificador, ConfiguracionArchivo configuracion)
+			throws FileNotFoundException, IOException {
+		ContadorCadenas palabras = new ContadorCadenas();
 		// Establece el nombre del archivo como el nombre que posee en el sistema
 		// quitandole la extensión.
 		String nombreArchivo = archivo.getName();
@@ -151,39 +277,427 @@ public class Archivo implements Iterable<Archivo.PalabraContada> {
 		else
 			nombre = nombreArchivo.substring(0, indiceInicioExtension);
 		this.identificador = identificador;
-		try (LectorPalabra in = new LectorPalabra(archivo)) {
-			String palabra;
-			while ((palabra = in.leePalabra()) != null) {
-				String palabraNormalizada = normalizarCadena(palabra);
-				if (palabraNormalizada.isEmpty())
-					continue;
-				if (!palabras.contiene(palabraNormalizada)) {
-					palabras.agrega(palabraNormalizada, 1);
-				} else {
-					int repeticiones = palabras.get(palabraNormalizada);
-					palabras.agrega(palabraNormalizada, repeticiones + 1);
-				}
+		distintas = new HyperLogLog(configuracion.getPrecision());
+		firma = new FirmaMinHash(configuracion.getTamanoFirma());
+		if (configuracion.usaConteoAproximado()) {
+			cuentaAproximado(archivo, configuracion);
+			return;
+		}
+		if (!configuracion.usaLectorMapeado()) {
+			NormalizadorPalabra normalizador = new NormalizadorPalabra();
+			try (LectorPalabra in = new LectorPalabra(archivo)) {
+				String palabra;
+				while ((palabra = in.leePalabra()) != null)
+					if (normalizador.normaliza(palabra) > 0)
+						palabras.incrementa(normalizador.buffer(), 0, normalizador.longitud());
+			}
+		} else if (configuracion.getParalelismo() > 1 && archivo.length() > configuracion.getTamanoRango()) {
+			if (configuracion.getHilosConteo() != null)
+				palabras = ConteoParalelo.cuenta(archivo, configuracion.getTamanoRango(),
+						configuracion.getHilosConteo());
+			else
+				palabras = ConteoParalelo.cuenta(archivo, configuracion.getTamanoRango(),
+						configuracion.getParalelismo());
+		} else {
+			try (TokenizadorMapeado in = new TokenizadorMapeado(archivo)) {
+				cuentaPalabras(in, palabras);
+			}
+		}
+		registraPalabras(palabras, configuracion);
+	}
+
+	/**
+	 * Registra las palabras del archivo en la tabla de símbolos y agrega el
+	 * archivo al índice invertido, si se leyó con registro diferido. Si las
+	 * palabras ya se registraron no hace nada. Las consultas de las palabras del
+	 * archivo sólo pueden hacerse después de registrarlas.
+	 */
+	public void registra() {
+		if (registroPendiente == null)
+			return;
+		Runnable registro = registroPendiente;
+		registroPendiente = null;
+		registro.run();
+	}
+
+	/*
+	 * Registra las palabras contadas en la tabla de símbolos y guarda sus
+	 * identificadores ordenados junto con sus repeticiones. Después de esto el
+	 * contador ya no se usa, por lo que cada palabra queda guardada sólo en la
+	 * tabla. Como las repeticiones no cambian el HyperLogLog ni la firma
+	 * MinHash, basta agregarles cada palabra distinta una vez.
+	 */
+	private void registraPalabras(ContadorCadenas palabras, ConfiguracionArchivo configuracion) {
+		int n = palabras.getElementos();
+		String[] llaves = new String[n];
+		int[] conteos = new int[n];
+		Iterator<String> iterador = palabras.iteradorLlaves();
+		for (int i = 0; i < n; i++) {
+			llaves[i] = iterador.next();
+			conteos[i] = palabras.get(llaves[i]);
+			totalRepeticiones += conteos[i];
+			distintas.agrega(llaves[i]);
+			if (llaves[i].length() >= LONGITUD_FIRMA)
+				firma.agrega(llaves[i]);
+		}
+		preparaRegistro(llaves, conteos, null, configuracion);
+	}
+
+	/*
+	 * Prepara el registro de las palabras y lo hace en seguida, a menos que la
+	 * configuración lo difiera.
+	 */
+	private void preparaRegistro(String[] llaves, int[] conteos, int[] errores,
+			ConfiguracionArchivo configuracion) {
+		registroPendiente = () -> {
+			registraPalabras(llaves, conteos, errores, configuracion);
+			indiceInvertido = configuracion.getIndiceInvertido();
+			indiceInvertido.agrega(identificador, identificadores);
+		};
+		if (!configuracion.difiereRegistro())
+			registra();
+	}
+
+	/*
+	 * Registra las palabras en la tabla de símbolos y guarda sus identificadores
+	 * ordenados junto con sus repeticiones y, si los hay, sus errores. El filtro
+	 * de Bloom de las palabras no se construye aquí, sino en la primera consulta.
+	 */
+	private void registraPalabras(String[] llaves, int[] conteos, int[] errores,
+			ConfiguracionArchivo configuracion) {
+		tablaSimbolos = configuracion.getTablaSimbolos();
+		int n = llaves.length;
+		tasaFiltro = configuracion.getTasaFiltro();
+		int[] ids = tablaSimbolos.identificadores(llaves);
+		// Ordena las parejas (identificador, posición) empacadas en un long.
+		long[] parejas = new long[n];
+		for (int i = 0; i < n; i++)
+			parejas[i] = ((long) ids[i] << 32) | i;
+		Arrays.sort(parejas);
+		identificadores = new int[n];
+		repeticiones = new int[n];
+		if (errores != null)
+			this.errores = new int[n];
+		for (int i = 0; i < n; i++) {
+			int j = (int) parejas[i];
+			identificadores[i] = (int) (parejas[i] >>> 32);
+			repeticiones[i] = conteos[j];
+			if (errores != null)
+				this.errores[i] = errores[j];
+		}
+	}
+
+	/*
+	 * Cuenta las palabras del archivo con memoria fija: las más frecuentes en un
+	 * resumen de Space-Saving y todas en un bosquejo Count-Min, en el HyperLogLog
+	 * y, si son largas, en la firma MinHash. Sólo las palabras del resumen se
+	 * registran en la tabla de símbolos.
+	 */
+	private void cuentaAproximado(File archivo, ConfiguracionArchivo configuracion) throws IOException {
+		contadores = configuracion.getContadores();
+		ResumenFrecuentes resumen = new ResumenFrecuentes(contadores);
+		bosquejo = new BosquejoConteo(configuracion.getEpsilon(), configuracion.getDelta());
+		NormalizadorPalabra normalizador = new NormalizadorPalabra();
+		if (configuracion.usaLectorMapeado()) {
+			try (TokenizadorMapeado in = new TokenizadorMapeado(archivo)) {
+				while (in.siguiente())
+					if (normalizador.normaliza(in.caracteres(), 0, in.longitud()) > 0) {
+						resumen.incrementa(normalizador.buffer(), 0, normalizador.longitud());
+						bosquejo.incrementa(normalizador.buffer(), 0, normalizador.longitud());
+						distintas.agrega(normalizador.buffer(), 0, normalizador.longitud());
+						if (normalizador.longitud() >= LONGITUD_FIRMA)
+							firma.agrega(normalizador.buffer(), 0, normalizador.longitud());
+					}
+			}
+		} else {
+			try (LectorPalabra in = new LectorPalabra(archivo)) {
+				String palabra;
+				while ((palabra = in.leePalabra()) != null)
+					if (normalizador.normaliza(palabra) > 0) {
+						resumen.incrementa(normalizador.buffer(), 0, normalizador.longitud());
+						bosquejo.incrementa(normalizador.buffer(), 0, normalizador.longitud());
+						distintas.agrega(normalizador.buffer(), 0, normalizador.longitud());
+						if (normalizador.longitud() >= LONGITUD_FIRMA)
+							firma.agrega(normalizador.buffer(), 0, normalizador.longitud());
+					}
 			}
 		}
+		int n = resumen.getElementos();
+		String[] llaves = new String[n];
+		int[] conteos = new int[n];
+		int[] errores = new int[n];
+		Iterator<String> iterador = resumen.iteradorLlaves();
+		for (int i = 0; i < n; i++) {
+			llaves[i] = iterador.next();
+			conteos[i] = resumen.get(llaves[i]);
+			errores[i] = resumen.error(llaves[i]);
+		}
+		cotaResumen = resumen.minimo();
+		totalRepeticiones = resumen.getTotal();
+		preparaRegistro(llaves, conteos, errores, configuracion);
+	}
+
+	/*
+	 * Lee todas las palabras del tokenizador, las normaliza y las cuenta en el
+	 * contador.
+	 */
+	static void cuentaPalabras(TokenizadorMapeado in, ContadorCadenas palabras) throws IOException {
+		NormalizadorPalabra normalizador = new NormalizadorPalabra();
+		while (in.siguiente())
+			if (normalizador.normaliza(in.caracteres(), 0, in.longitud()) > 0)
+				palabras.incrementa(normalizador.buffer(), 0, normalizador.longitud());
 	}
 
 	/**
-	 * regresa el total de palabras en el archivo.
+	 * regresa el total de palabras en el archivo. En el conteo aproximado es el
+	 * número de palabras que se guardaron; el número de palabras distintas se
+	 * estima con {@link #estimaPalabrasDistintas}.
 	 * 
 	 * @return Total de palabras en el archivo.
 	 */
 	public int totalPalabras() {
-		return palabras.getElementos();
+		return identificadores.length;
+	}
+
+	/**
+	 * Regresa la estimación del HyperLogLog del número de palabras distintas del
+	 * archivo, que está disponible también en el conteo aproximado.
+	 * 
+	 * @return Estimación del número de palabras distintas.
+	 */
+	public long estimaPalabrasDistintas() {
+		return distintas.estima();
 	}
 
 	/**
-	 * Checa si una palabra está en el archivo.
+	 * Regresa una copia del HyperLogLog de las palabras distintas del archivo,
+	 * para combinarla con las de otros archivos sin modificar la de éste.
+	 * 
+	 * @return Copia del HyperLogLog del archivo.
+	 */
+	public HyperLogLog obtenerHyperLogLog() {
+		return distintas.copia();
+	}
+
+	/**
+	 * Checa si una palabra está en el archivo. Si el filtro de Bloom descarta la
+	 * palabra, no se consulta la tabla de símbolos; el filtro se construye en la
+	 * primera consulta. En el conteo aproximado, una
+	 * palabra que no se guardó se busca en el bosquejo, que puede dar falsos
+	 * positivos pero no falsos negativos.
 	 * 
 	 * @param palabra Cadena con la palabra a revisar.
 	 * @return true si la palabra se encuentra en el archivo y false si no.
 	 */
-	public boolean contienePalabra(String palabra) {
-		return palabras.contiene(normalizarCadena(palabra));
+	public synchronized boolean contienePalabra(String palabra) {
+		normaliza(palabra);
+		FiltroBloom filtro = filtro();
+		if (filtro == null || filtro.contiene(normalizador.buffer(), 0, normalizador.longitud())) {
+			int identificador = tablaSimbolos.busca(normalizador.cadena());
+			if (identificador >= 0 && contieneIdentificador(identificador))
+				return true;
+		}
+		return bosquejo != null && cotaResumen > 0 && bosquejo.estima(normalizador.cadena()) > 0;
+	}
+
+	/**
+	 * Checa si la palabra con el identificador dado está en el archivo.
+	 * 
+	 * @param identificador Identificador de la palabra en la tabla de símbolos del
+	 *                      archivo.
+	 * @return true si la palabra se encuentra en el archivo y false si no.
+	 */
+	public boolean contieneIdentificador(int identificador) {
+		return Arrays.binarySearch(identificadores, identificador) >= 0;
+	}
+
+	/**
+	 * Regresa las repeticiones de la palabra con el identificador dado.
+	 * 
+	 * @param identificador Identificador de la palabra en la tabla de símbolos del
+	 *                      archivo.
+	 * @return Repeticiones de la palabra, o cero si no está en el archivo.
+	 */
+	public int repeticiones(int identificador) {
+		int i = Arrays.binarySearch(identificadores, identificador);
+		return i < 0 ? 0 : repeticiones[i];
+	}
+
+	/**
+	 * Regresa una cota superior de las repeticiones de una palabra. En el conteo
+	 * exacto son sus repeticiones; en el aproximado es la menor de las cotas del
+	 * resumen y del bosquejo, que para una palabra que no se guardó puede no ser
+	 * cero.
+	 * 
+	 * @param palabra Cadena con la palabra.
+	 * @return Cota superior de las repeticiones de la palabra.
+	 */
+	public synchronized int estimaRepeticiones(String palabra) {
+		normaliza(palabra);
+		FiltroBloom filtro = filtro();
+		int i = -1;
+		if (filtro == null || filtro.contiene(normalizador.buffer(), 0, normalizador.longitud())) {
+			int identificador = tablaSimbolos.busca(normalizador.cadena());
+			i = identificador < 0 ? -1 : Arrays.binarySearch(identificadores, identificador);
+		}
+		if (bosquejo == null)
+			return i < 0 ? 0 : repeticiones[i];
+		int cota = i < 0 ? cotaResumen : repeticiones[i];
+		return Math.min(cota, bosquejo.estima(normalizador.cadena()));
+	}
+
+	/**
+	 * Regresa cuánto pueden sobreestimar las repeticiones de la palabra con el
+	 * identificador dado a las reales.
+	 * 
+	 * @param identificador Identificador de la palabra en la tabla de símbolos del
+	 *                      archivo.
+	 * @return Error de las repeticiones de la palabra; cero en el conteo exacto o
+	 *         si la palabra no está en el archivo.
+	 */
+	public int errorRepeticiones(int identificador) {
+		if (errores == null)
+			return 0;
+		int i = Arrays.binarySearch(identificadores, identificador);
+		return i < 0 ? 0 : errores[i];
+	}
+
+	/**
+	 * Nos dice si las palabras del archivo se contaron de forma aproximada.
+	 * 
+	 * @return true si el conteo es aproximado, false si es exacto.
+	 */
+	public boolean esAproximado() {
+		return bosquejo != null;
+	}
+
+	/**
+	 * Regresa el número de contadores con los que se contaron las palabras.
+	 * 
+	 * @return Número de contadores del conteo aproximado, o cero en el exacto.
+	 */
+	public int obtenerContadores() {
+		return contadores;
+	}
+
+	/**
+	 * Regresa una cota de las repeticiones de cualquier palabra que no se guardó
+	 * en el conteo aproximado, que también acota el error de las que sí. Es a lo
+	 * más el total de repeticiones entre el número de contadores.
+	 * 
+	 * @return Cota de las repeticiones de las palabras no guardadas; cero en el
+	 *         conteo exacto.
+	 */
+	public int obtenerCotaResumen() {
+		return cotaResumen;
+	}
+
+	/**
+	 * Regresa el filtro de Bloom de las palabras guardadas del archivo,
+	 * construyéndolo si no se había consultado.
+	 * 
+	 * @return Filtro de Bloom del archivo, o null si la configuración no lo usa.
+	 */
+	public synchronized FiltroBloom obtenerFiltro() {
+		return filtro();
+	}
+
+	/* Normaliza la palabra consultada con el normalizador del archivo. */
+	private void normaliza(String palabra) {
+		if (normalizador == null)
+			normalizador = new NormalizadorPalabra();
+		normalizador.normaliza(palabra);
+	}
+
+	/*
+	 * Regresa el filtro de Bloom, construyéndolo con las palabras guardadas la
+	 * primera vez; null si la configuración no lo usa. Así un archivo que nunca
+	 * se consulta por cadena no paga el filtro.
+	 */
+	private FiltroBloom filtro() {
+		if (filtro == null && tasaFiltro > 0) {
+			filtro = new FiltroBloom(identificadores.length, tasaFiltro);
+			for (int identificador : identificadores)
+				filtro.agrega(tablaSimbolos.palabra(identificador));
+		}
+		return filtro;
+	}
+
+	/**
+	 * Regresa el bosquejo con el que se estiman las repeticiones de las palabras
+	 * que no se guardaron.
+	 * 
+	 * @return Bosquejo del conteo aproximado, o null en el conteo exacto.
+	 */
+	public BosquejoConteo obtenerBosquejo() {
+		return bosquejo;
+	}
+
+	/**
+	 * Regresa el total de palabras leídas del archivo, contando repeticiones.
+	 * 
+	 * @return Total de palabras con repeticiones.
+	 */
+	public long totalRepeticiones() {
+		return totalRepeticiones;
+	}
+
+	/*
+	 * Regresa el HyperLogLog de las palabras distintas del archivo. El bosquejo es
+	 * el del archivo, así que no debe modificarse.
+	 */
+	HyperLogLog hyperLogLog() {
+		return distintas;
+	}
+
+	/**
+	 * Regresa la estimación de la similitud de Jaccard entre las palabras de al
+	 * menos {@link #LONGITUD_FIRMA} caracteres de este archivo y las de otro.
+	 * 
+	 * @param otro El otro archivo.
+	 * @return Similitud estimada, entre 0 y 1.
+	 * @throws IllegalArgumentException si el otro archivo es null o su firma es
+	 *                                  de otro tamaño.
+	 */
+	public double similitud(Archivo otro) {
+		if (otro == null)
+			throw new IllegalArgumentException("El archivo no puede ser null.");
+		return firma.similitud(otro.firma);
+	}
+
+	/*
+	 * Regresa la firma MinHash de las palabras largas del archivo. La firma es la
+	 * del archivo, así que no debe modificarse.
+	 */
+	FirmaMinHash firma() {
+		return firma;
+	}
+
+	/*
+	 * Regresa los identificadores de las palabras del archivo en orden creciente.
+	 * El arreglo es el del archivo, así que no debe modificarse.
+	 */
+	int[] identificadoresPalabras() {
+		return identificadores;
+	}
+
+	/**
+	 * Regresa el índice invertido al que se agregó el archivo.
+	 * 
+	 * @return Índice invertido del archivo.
+	 */
+	public IndiceInvertido obtenerIndiceInvertido() {
+		return indiceInvertido;
+	}
+
+	/**
+	 * Regresa la tabla de símbolos en la que están registradas las palabras del
+	 * archivo.
+	 * 
+	 * @return Tabla de símbolos de las palabras del archivo.
+	 */
+	public TablaSimbolos obtenerTablaSimbolos() {
+		return tablaSimbolos;
 	}
 
 	/**
@@ -192,7 +706,108 @@ public class Archivo implements Iterable<Archivo.PalabraContada> {
 	 * @return Montículo mínimo con las palabras del archivo.
 	 */
 	public MonticuloMinimo<Archivo.PalabraContada> monticuloPalabras() {
-		return new MonticuloMinimo<Archivo.PalabraContada>(this, palabras.getElementos());
+		return new MonticuloMinimo<Archivo.PalabraContada>(this, identificadores.length);
+	}
+
+	/**
+	 * Regresa las k palabras más repetidas del archivo, de la más repetida a la
+	 * menos; entre palabras con las mismas repeticiones, en el orden de sus
+	 * identificadores. Las palabras se seleccionan en una sola pasada con un
+	 * {@link MonticuloIndexado} de k lugares, sobre los arreglos de conteos y sin
+	 * crear objetos; sólo se construyen las k palabras que se regresan. Toma
+	 * tiempo <i>O</i>(<i>n</i> log <i>k</i>) y memoria <i>O</i>(<i>k</i>).
+	 * 
+	 * @param k Número de palabras a regresar.
+	 * @return Lista con a lo más k palabras.
+	 * @throws IllegalArgumentException si k no es positivo.
+	 */
+	public Lista<Archivo.PalabraContada> palabrasMasRepetidas(int k) {
+		if (k < 1)
+			throw new IllegalArgumentException("k debe ser positivo.");
+		int lugares = Math.min(k, identificadores.length);
+		MonticuloIndexado monticulo = new MonticuloIndexado(lugares);
+		// La posición en los arreglos de la palabra en cada lugar.
+		int[] posiciones = new int[lugares];
+		for (int i = 0; i < identificadores.length; i++) {
+			// Las claves empatan repeticiones con la posición al revés, así que la
+			// mínima es la palabra menos repetida y, entre ésas, la última.
+			long clave = ((long) repeticiones[i] << 32) | (Integer.MAX_VALUE - i);
+			int lugar;
+			if (monticulo.getElementos() < lugares)
+				lugar = monticulo.getElementos();
+			else if (clave > monticulo.clave(monticulo.minimo()))
+				lugar = monticulo.elimina();
+			else
+				continue;
+			posiciones[lugar] = i;
+			monticulo.agrega(lugar, clave);
+		}
+		PalabraContada[] palabras = new PalabraContada[monticulo.getElementos()];
+		for (int j = palabras.length - 1; j >= 0; j--) {
+			int i = posiciones[monticulo.elimina()];
+			palabras[j] = new PalabraContada(tablaSimbolos.palabra(identificadores[i]), identificadores[i],
+					repeticiones[i], errores == null ? 0 : errores[i]);
+		}
+		Lista<Archivo.PalabraContada> lista = new Lista<>();
+		for (PalabraContada palabra : palabras)
+			lista.agrega(palabra);
+		return lista;
+	}
+
+	/**
+	 * Regresa un iterador de las palabras del archivo de la más repetida a la
+	 * menos; entre palabras con las mismas repeticiones, en el orden de sus
+	 * identificadores. El orden se produce conforme se consume: crear el iterador
+	 * acomoda las posiciones en un {@link MonticuloIndexado} y cada palabra cuesta
+	 * tiempo <i>O</i>(log <i>n</i>), así que leer sólo las primeras no ordena el
+	 * resto.
+	 * 
+	 * @return Iterador de las palabras por repeticiones.
+	 */
+	public Iterator<Archivo.PalabraContada> palabrasPorRepeticiones() {
+		return new IteradorRepeticiones();
+	}
+
+	/**
+	 * Regresa las palabras del archivo en orden alfabético (el orden de sus
+	 * cadenas). Las palabras ya no cambian después de contar el archivo, así que
+	 * se copian a un arreglo que se ordena con {@link
+	 * Arreglos#ordenaParalelo(Object[],Comparator)}, repartiendo el trabajo entre
+	 * los núcleos cuando el archivo tiene muchas palabras distintas.
+	 * 
+	 * @return Lista con las palabras del archivo en orden alfabético.
+	 */
+	public Lista<Archivo.PalabraContada> palabrasEnOrdenAlfabetico() {
+		PalabraContada[] palabras = new PalabraContada[identificadores.length];
+		int i = 0;
+		for (PalabraContada palabra : this)
+			palabras[i++] = palabra;
+		Arreglos.ordenaParalelo(palabras, (a, b) -> a.obtenerPalabra().compareTo(b.obtenerPalabra()));
+		Lista<Archivo.PalabraContada> lista = new Lista<>();
+		for (PalabraContada palabra : palabras)
+			lista.agrega(palabra);
+		return lista;
+	}
+
+	/**
+	 * Regresa las repeticiones de la k-ésima palabra más repetida del archivo:
+	 * toda palabra que se repite más veces está entre las k más repetidas. Si el
+	 * archivo tiene menos de k palabras distintas, regresa las de la menos
+	 * repetida. Las repeticiones no se ordenan; se parte una copia con {@link
+	 * Arreglos#particionaMayores(int[],int)} en tiempo <i>O</i>(<i>n</i>).
+	 * 
+	 * @param k Posición de la palabra entre las más repetidas.
+	 * @return Las repeticiones de la k-ésima palabra más repetida, o 0 si el
+	 *         archivo no tiene palabras.
+	 * @throws IllegalArgumentException si k no es positivo.
+	 */
+	public int umbralRepeticiones(int k) {
+		if (k < 1)
+			throw new IllegalArgumentException("k debe ser positivo.");
+		if (repeticiones.length == 0)
+			return 0;
+		int[] copia = Arrays.copyOf(repeticiones, repeticiones.length);
+		return Arreglos.particionaMayores(copia, Math.min(k, copia.length));
 	}
 
 	/**
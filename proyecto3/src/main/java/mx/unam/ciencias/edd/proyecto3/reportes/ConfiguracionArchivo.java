@@ -0,0 +1,377 @@
+package mx.unam.ciencias.edd.proyecto3.reportes;
+
+import java.util.concurrent.ForkJoinPool;
+
+import mx.unam.ciencias.edd.BosquejoConteo;
+import mx.unam.ciencias.edd.HyperLogLog;
+
+/**
+ * Clase con las opciones con las que se leen y cuentan las palabras de un
+ * {@link Archivo}.
+ */
+public class ConfiguracionArchivo {
+
+    /** Tamaño por omisión de los rangos en que se divide un archivo (64 MiB). */
+    public static final long TAMANO_RANGO = 1L << 26;
+    /** Error relativo por omisión del bosquejo del conteo aproximado. */
+    public static final double EPSILON = 0.002;
+    /** Probabilidad por omisión de que el bosquejo exceda su error. */
+    public static final double DELTA = 0.01;
+    /** Precisión por omisión del HyperLogLog de las palabras distintas. */
+    public static final int PRECISION = 14;
+    /** Tasa de falsos positivos por omisión del filtro de Bloom de cada archivo. */
+    public static final double TASA_FILTRO = 0.01;
+    /** Tamaño por omisión de la firma MinHash de cada archivo. */
+    public static final int TAMANO_FIRMA = 128;
+
+    private boolean lectorMapeado;
+    private int paralelismo;
+    private ForkJoinPool hilosConteo;
+    private long tamanoRango;
+    private TablaSimbolos tablaSimbolos;
+    private IndiceInvertido indiceInvertido;
+    private boolean registroDiferido;
+    private int contadores;
+    private double epsilon;
+    private double delta;
+    private int precision;
+    private double tasaFiltro;
+    private int tamanoFirma;
+
+    /**
+     * Crea una configuración con las opciones por omisión: las palabras se leen
+     * con el tokenizador mapeado a memoria, por un solo hilo, se cuentan de forma
+     * exacta, y se registran en una tabla de símbolos y un índice invertido
+     * nuevos.
+     */
+    public ConfiguracionArchivo() {
+        lectorMapeado = true;
+        paralelismo = 1;
+        tamanoRango = TAMANO_RANGO;
+        tablaSimbolos = new TablaSimbolos();
+        indiceInvertido = new IndiceInvertido();
+        epsilon = EPSILON;
+        delta = DELTA;
+        precision = PRECISION;
+        tasaFiltro = TASA_FILTRO;
+        tamanoFirma = TAMANO_FIRMA;
+    }
+
+    /**
+     * Nos dice si las palabras se leen con el tokenizador mapeado a memoria.
+     *
+     * @return <code>true</code> si se usa el tokenizador mapeado a memoria,
+     *         <code>false</code> si se usa el lector por caracteres.
+     */
+    public boolean usaLectorMapeado() {
+        return lectorMapeado;
+    }
+
+    /**
+     * Establece si las palabras se leen con el tokenizador mapeado a memoria o con
+     * el lector por caracteres.
+     *
+     * @param lectorMapeado <code>true</code> para usar el tokenizador mapeado a
+     *                      memoria.
+     */
+    public void setLectorMapeado(boolean lectorMapeado) {
+        this.lectorMapeado = lectorMapeado;
+    }
+
+    /**
+     * Regresa el número de hilos con los que se cuentan las palabras de un mismo
+     * archivo.
+     *
+     * @return Número de hilos por archivo.
+     */
+    public int getParalelismo() {
+        return paralelismo;
+    }
+
+    /**
+     * Establece el número de hilos con los que se cuentan las palabras de un mismo
+     * archivo. Con más de un hilo, los archivos mayores que el tamaño de rango se
+     * dividen en rangos que se cuentan en paralelo.
+     *
+     * @param paralelismo Número de hilos por archivo.
+     * @throws IllegalArgumentException si el paralelismo es menor que uno.
+     */
+    public void setParalelismo(int paralelismo) {
+        if (paralelismo < 1)
+            throw new IllegalArgumentException("El paralelismo debe ser al menos uno.");
+        this.paralelismo = paralelismo;
+    }
+
+    /**
+     * Regresa los hilos compartidos con los que se cuentan en paralelo los rangos
+     * de los archivos, o <code>null</code> si cada archivo crea los suyos.
+     *
+     * @return Hilos compartidos del conteo en paralelo.
+     */
+    public ForkJoinPool getHilosConteo() {
+        return hilosConteo;
+    }
+
+    /**
+     * Establece los hilos con los que se cuentan en paralelo los rangos de todos
+     * los archivos leídos con esta configuración, para no crear
+     * {@link #getParalelismo} hilos por cada archivo que se lee a la vez. Quien
+     * los crea es responsable de terminarlos cuando ya no se lean archivos.
+     *
+     * @param hilosConteo Hilos compartidos, o <code>null</code> para que cada
+     *                    archivo cree los suyos.
+     */
+    public void setHilosConteo(ForkJoinPool hilosConteo) {
+        this.hilosConteo = hilosConteo;
+    }
+
+    /**
+     * Regresa el tamaño en bytes de los rangos en que se divide un archivo para
+     * contarlo en paralelo.
+     *
+     * @return Tamaño de los rangos en bytes.
+     */
+    public long getTamanoRango() {
+        return tamanoRango;
+    }
+
+    /**
+     * Establece el tamaño en bytes de los rangos en que se divide un archivo para
+     * contarlo en paralelo.
+     *
+     * @param tamanoRango Tamaño de los rangos en bytes.
+     * @throws IllegalArgumentException si el tamaño no es positivo.
+     */
+    public void setTamanoRango(long tamanoRango) {
+        if (tamanoRango < 1)
+            throw new IllegalArgumentException("El tamaño de rango debe ser positivo.");
+        this.tamanoRango = tamanoRango;
+    }
+
+    /**
+     * Regresa la tabla de símbolos donde se registran las palabras. Los archivos
+     * leídos con la misma configuración comparten la tabla, y por lo tanto los
+     * identificadores de sus palabras.
+     *
+     * @return Tabla de símbolos de las palabras.
+     */
+    public TablaSimbolos getTablaSimbolos() {
+        return tablaSimbolos;
+    }
+
+    /**
+     * Establece la tabla de símbolos donde se registran las palabras.
+     *
+     * @param tablaSimbolos Tabla de símbolos de las palabras.
+     * @throws IllegalArgumentException si la tabla es <code>null</code>.
+     */
+    public void setTablaSimbolos(TablaSimbolos tablaSimbolos) {
+        if (tablaSimbolos == null)
+            throw new IllegalArgumentException("La tabla de símbolos no puede ser null.");
+        this.tablaSimbolos = tablaSimbolos;
+    }
+
+    /**
+     * Regresa el índice invertido al que se agregan los archivos leídos con esta
+     * configuración.
+     *
+     * @return Índice invertido de los archivos.
+     */
+    public IndiceInvertido getIndiceInvertido() {
+        return indiceInvertido;
+    }
+
+    /**
+     * Establece el índice invertido al que se agregan los archivos. El índice debe
+     * usarse con la tabla de símbolos de la configuración.
+     *
+     * @param indiceInvertido Índice invertido de los archivos.
+     * @throws IllegalArgumentException si el índice es <code>null</code>.
+     */
+    public void setIndiceInvertido(IndiceInvertido indiceInvertido) {
+        if (indiceInvertido == null)
+            throw new IllegalArgumentException("El índice invertido no puede ser null.");
+        this.indiceInvertido = indiceInvertido;
+    }
+
+    /**
+     * Nos dice si los archivos esperan a que se llame {@link Archivo#registra}
+     * para registrar sus palabras.
+     *
+     * @return <code>true</code> si el registro es diferido, <code>false</code>
+     *         si cada archivo registra sus palabras al terminar de leerse.
+     */
+    public boolean difiereRegistro() {
+        return registroDiferido;
+    }
+
+    /**
+     * Establece si los archivos difieren el registro de sus palabras en la tabla
+     * de símbolos y en el índice invertido hasta que se llame {@link
+     * Archivo#registra}. Los identificadores se asignan en el orden en que se
+     * registran las palabras, así que al leer varios archivos a la vez, diferir
+     * el registro y hacerlo en el orden de los archivos da los mismos
+     * identificadores sin importar cuál termina primero de leerse.
+     *
+     * @param registroDiferido <code>true</code> para diferir el registro.
+     */
+    public void setRegistroDiferido(boolean registroDiferido) {
+        this.registroDiferido = registroDiferido;
+    }
+
+    /**
+     * Nos dice si las palabras se cuentan de forma aproximada, con memoria fija.
+     *
+     * @return <code>true</code> si el conteo es aproximado, <code>false</code>
+     *         si es exacto.
+     */
+    public boolean usaConteoAproximado() {
+        return contadores > 0;
+    }
+
+    /**
+     * Regresa el número de contadores del conteo aproximado, o cero si el conteo
+     * es exacto.
+     *
+     * @return Número de contadores por archivo.
+     */
+    public int getContadores() {
+        return contadores;
+    }
+
+    /**
+     * Establece el número de contadores con los que se cuentan las palabras de
+     * forma aproximada. Con cero, el conteo es exacto y guarda todas las palabras
+     * distintas; con <i>k</i> positivo, cada archivo guarda sólo <i>k</i>
+     * palabras con un {@link mx.unam.ciencias.edd.ResumenFrecuentes} y estima las
+     * demás con un {@link mx.unam.ciencias.edd.BosquejoConteo}. El conteo
+     * aproximado lee cada archivo con un solo hilo.
+     *
+     * @param contadores Número de contadores por archivo, o cero para el conteo
+     *                   exacto.
+     * @throws IllegalArgumentException si el número de contadores es negativo.
+     */
+    public void setContadores(int contadores) {
+        if (contadores < 0)
+            throw new IllegalArgumentException("El número de contadores no puede ser negativo.");
+        this.contadores = contadores;
+    }
+
+    /**
+     * Regresa el error relativo pedido para el bosquejo del conteo aproximado.
+     *
+     * @return Error relativo del bosquejo.
+     */
+    public double getEpsilon() {
+        return epsilon;
+    }
+
+    /**
+     * Regresa la probabilidad pedida de que el bosquejo del conteo aproximado
+     * exceda su error.
+     *
+     * @return Probabilidad de exceder el error.
+     */
+    public double getDelta() {
+        return delta;
+    }
+
+    /**
+     * Establece los parámetros de error del bosquejo del conteo aproximado.
+     *
+     * @param epsilon Error relativo, como fracción del total de palabras.
+     * @param delta   Probabilidad de que una estimación exceda el error.
+     * @throws IllegalArgumentException si epsilon o delta no están en el
+     *                                  intervalo (0, 1), o si epsilon necesita
+     *                                  más de {@link BosquejoConteo#MAXIMO_ANCHO}
+     *                                  columnas.
+     */
+    public void setErrorBosquejo(double epsilon, double delta) {
+        if (!(epsilon > 0 && epsilon < 1) || !(delta > 0 && delta < 1))
+            throw new IllegalArgumentException("Epsilon y delta deben estar en el intervalo (0, 1).");
+        if (Math.ceil(Math.E / epsilon) > BosquejoConteo.MAXIMO_ANCHO)
+            throw new IllegalArgumentException("Epsilon debe ser al menos e/"
+                                               + BosquejoConteo.MAXIMO_ANCHO + ".");
+        this.epsilon = epsilon;
+        this.delta = delta;
+    }
+
+    /**
+     * Regresa la precisión del HyperLogLog con el que se estiman las palabras
+     * distintas de cada archivo.
+     *
+     * @return Precisión del HyperLogLog.
+     */
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Establece la precisión del HyperLogLog con el que se estiman las palabras
+     * distintas de cada archivo. Cada archivo usa 2<sup>precision</sup> bytes, y
+     * sólo los archivos con la misma precisión pueden combinar sus estimaciones.
+     *
+     * @param precision Precisión del HyperLogLog.
+     * @throws IllegalArgumentException si la precisión no está entre {@link
+     *                                  HyperLogLog#PRECISION_MINIMA} y {@link
+     *                                  HyperLogLog#PRECISION_MAXIMA}.
+     */
+    public void setPrecision(int precision) {
+        if (precision < HyperLogLog.PRECISION_MINIMA || precision > HyperLogLog.PRECISION_MAXIMA)
+            throw new IllegalArgumentException("La precisión debe estar entre " +
+                                               HyperLogLog.PRECISION_MINIMA + " y " +
+                                               HyperLogLog.PRECISION_MAXIMA + ".");
+        this.precision = precision;
+    }
+
+    /**
+     * Regresa la tasa de falsos positivos del filtro de Bloom con el que cada
+     * archivo descarta las palabras que no tiene, o cero si no se usa filtro.
+     *
+     * @return Tasa de falsos positivos del filtro.
+     */
+    public double getTasaFiltro() {
+        return tasaFiltro;
+    }
+
+    /**
+     * Establece la tasa de falsos positivos del filtro de Bloom de cada archivo.
+     * Cada archivo construye su filtro la primera vez que se le consulta una
+     * palabra, así que los que nunca se consultan no lo pagan. Con una tasa menor
+     * el filtro usa más bits por palabra; con cero no se construye filtro y toda
+     * consulta va a la tabla de símbolos.
+     *
+     * @param tasaFiltro Tasa de falsos positivos, o cero para no usar filtro.
+     * @throws IllegalArgumentException si la tasa no es cero ni está en el
+     *                                  intervalo (0, 1).
+     */
+    public void setTasaFiltro(double tasaFiltro) {
+        if (tasaFiltro != 0 && !(tasaFiltro > 0 && tasaFiltro < 1))
+            throw new IllegalArgumentException("La tasa del filtro debe ser cero o estar en el intervalo (0, 1).");
+        this.tasaFiltro = tasaFiltro;
+    }
+
+    /**
+     * Regresa el número de componentes de la firma MinHash con la que se estima
+     * la similitud entre archivos.
+     *
+     * @return Tamaño de la firma.
+     */
+    public int getTamanoFirma() {
+        return tamanoFirma;
+    }
+
+    /**
+     * Establece el número de componentes de la firma MinHash de cada archivo. El
+     * error estándar de la similitud estimada es a lo más 1/(2√tamaño), y sólo
+     * los archivos con firmas del mismo tamaño pueden compararse.
+     *
+     * @param tamanoFirma Tamaño de la firma.
+     * @throws IllegalArgumentException si el tamaño no es positivo.
+     */
+    public void setTamanoFirma(int tamanoFirma) {
+        if (tamanoFirma < 1)
+            throw new IllegalArgumentException("El tamaño de la firma debe ser positivo.");
+        this.tamanoFirma = tamanoFirma;
+    }
+}
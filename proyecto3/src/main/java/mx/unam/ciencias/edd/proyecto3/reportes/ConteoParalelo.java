@@ -0,0 +1,112 @@
+package mx.unam.ciencias.edd.proyecto3.reportes;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import mx.unam.ciencias.edd.ContadorCadenas;
+import mx.unam.ciencias.edd.proyecto3.io.TokenizadorMapeado;
+
+/**
+ * Cuenta las palabras de un archivo grande en paralelo. Divide el archivo en
+ * rangos de bytes que comienzan en un separador con {@link
+ * TokenizadorMapeado#rangos}, cuenta cada rango en un {@link ForkJoinPool} y
+ * combina los conteos de los rangos.
+ */
+class ConteoParalelo {
+
+    /* Tarea que cuenta los rangos [i, j) y combina sus conteos. */
+    private static class TareaConteo extends RecursiveTask<ContadorCadenas> {
+
+        private static final long serialVersionUID = 1L;
+
+        private File archivo;
+        private long[] limites;
+        private int i;
+        private int j;
+
+        public TareaConteo(File archivo, long[] limites, int i, int j) {
+            this.archivo = archivo;
+            this.limites = limites;
+            this.i = i;
+            this.j = j;
+        }
+
+        @Override
+        protected ContadorCadenas compute() {
+            if (j - i == 1) {
+                ContadorCadenas palabras = new ContadorCadenas();
+                try (TokenizadorMapeado in = new TokenizadorMapeado(archivo, limites[i], limites[i + 1])) {
+                    Archivo.cuentaPalabras(in, palabras);
+                } catch (IOException ioe) {
+                    throw new UncheckedIOException(ioe);
+                }
+                return palabras;
+            }
+            int m = i + (j - i) / 2;
+            TareaConteo izquierda = new TareaConteo(archivo, limites, i, m);
+            izquierda.fork();
+            ContadorCadenas derecha = new TareaConteo(archivo, limites, m, j).compute();
+            return combina(izquierda.join(), derecha);
+        }
+    }
+
+    private ConteoParalelo() {
+    }
+
+    /**
+     * Cuenta las palabras del archivo en paralelo con hilos propios, que se
+     * terminan al acabar.
+     *
+     * @param archivo     Archivo a contar.
+     * @param tamanoRango Tamaño aproximado en bytes de cada rango.
+     * @param paralelismo Número de hilos a usar.
+     * @return Contador con las repeticiones de cada palabra normalizada.
+     * @throws IOException Si ocurre un error de I/O al leer el archivo.
+     */
+    static ContadorCadenas cuenta(File archivo, long tamanoRango, int paralelismo) throws IOException {
+        ForkJoinPool hilos = new ForkJoinPool(paralelismo);
+        try {
+            return cuenta(archivo, tamanoRango, hilos);
+        } finally {
+            hilos.shutdown();
+        }
+    }
+
+    /**
+     * Cuenta las palabras del archivo en paralelo con los hilos dados, que
+     * pueden compartirse entre varios archivos que se cuentan a la vez.
+     *
+     * @param archivo     Archivo a contar.
+     * @param tamanoRango Tamaño aproximado en bytes de cada rango.
+     * @param hilos       Hilos con los que se cuentan los rangos.
+     * @return Contador con las repeticiones de cada palabra normalizada.
+     * @throws IOException Si ocurre un error de I/O al leer el archivo.
+     */
+    static ContadorCadenas cuenta(File archivo, long tamanoRango, ForkJoinPool hilos) throws IOException {
+        long[] limites = TokenizadorMapeado.rangos(archivo, tamanoRango);
+        try {
+            return hilos.invoke(new TareaConteo(archivo, limites, 0, limites.length - 1));
+        } catch (UncheckedIOException uioe) {
+            throw uioe.getCause();
+        }
+    }
+
+    /* Agrega los conteos del contador menor al mayor y regresa el mayor. */
+    private static ContadorCadenas combina(ContadorCadenas a, ContadorCadenas b) {
+        if (a.getElementos() < b.getElementos()) {
+            ContadorCadenas t = a;
+            a = b;
+            b = t;
+        }
+        Iterator<String> llaves = b.iteradorLlaves();
+        while (llaves.hasNext()) {
+            String palabra = llaves.next();
+            a.incrementa(palabra, b.get(palabra));
+        }
+        return a;
+    }
+}
@@ -0,0 +1,113 @@
+package mx.unam.ciencias.edd.proyecto3.reportes;
+
+/**
+ * Índice invertido de un corpus: asocia a cada palabra, por su identificador en
+ * una {@link TablaSimbolos}, la lista de identificadores de los archivos que la
+ * contienen. Cada {@link Archivo} agrega sus palabras al índice de su
+ * configuración al terminar de leerse, así que el índice se construye en la
+ * misma pasada que lee los archivos. {@link PalabrasCorpus} lo usa para sumar
+ * las repeticiones de cada palabra sólo en los archivos que la contienen.
+ *
+ * El índice puede usarse desde varios hilos a la vez. Las listas de archivos
+ * guardan los identificadores en el orden en que se agregaron los archivos, que
+ * con lectura concurrente no es necesariamente creciente.
+ */
+public class IndiceInvertido {
+
+    /* Listas de archivos de cada palabra; null si ningún archivo la contiene. */
+    private int[][] listas;
+    /* Número de archivos en la lista de cada palabra. */
+    private int[] frecuencias;
+    /* Número de archivos agregados. */
+    private int archivos;
+
+    /**
+     * Crea un índice vacío.
+     */
+    public IndiceInvertido() {
+        listas = new int[64][];
+        frecuencias = new int[64];
+    }
+
+    /**
+     * Agrega un archivo al índice.
+     *
+     * @param archivo  Identificador del archivo; no debe haberse agregado antes.
+     * @param palabras Identificadores de las palabras distintas del archivo.
+     * @throws IllegalArgumentException si el arreglo de palabras es
+     *                                  <code>null</code> o tiene un
+     *                                  identificador negativo.
+     */
+    public synchronized void agrega(int archivo, int[] palabras) {
+        if (palabras == null)
+            throw new IllegalArgumentException("El arreglo de palabras no puede ser null.");
+        for (int palabra : palabras)
+            if (palabra < 0)
+                throw new IllegalArgumentException("Identificador inválido: " + palabra);
+        for (int palabra : palabras) {
+            if (palabra >= listas.length)
+                crece(palabra + 1);
+            int[] lista = listas[palabra];
+            int n = frecuencias[palabra];
+            if (lista == null)
+                lista = listas[palabra] = new int[2];
+            else if (n == lista.length)
+                lista = listas[palabra] = copia(lista, n * 2);
+            lista[n] = archivo;
+            frecuencias[palabra] = n + 1;
+        }
+        archivos++;
+    }
+
+    /**
+     * Regresa los identificadores de los archivos que contienen la palabra.
+     *
+     * @param palabra Identificador de la palabra.
+     * @return Arreglo nuevo con los identificadores de los archivos que contienen
+     *         la palabra; vacío si ninguno la contiene.
+     */
+    public synchronized int[] archivos(int palabra) {
+        if (palabra < 0 || palabra >= listas.length || listas[palabra] == null)
+            return new int[0];
+        return copia(listas[palabra], frecuencias[palabra]);
+    }
+
+    /**
+     * Regresa el número de archivos que contienen la palabra.
+     *
+     * @param palabra Identificador de la palabra.
+     * @return Número de archivos que contienen la palabra.
+     */
+    public synchronized int frecuencia(int palabra) {
+        if (palabra < 0 || palabra >= frecuencias.length)
+            return 0;
+        return frecuencias[palabra];
+    }
+
+    /**
+     * Regresa el número de archivos agregados al índice.
+     *
+     * @return Número de archivos agregados.
+     */
+    public synchronized int totalArchivos() {
+        return archivos;
+    }
+
+    /* Hace que los arreglos tengan lugar para al menos n palabras. */
+    private void crece(int n) {
+        int m = listas.length;
+        while (m < n)
+            m *= 2;
+        int[][] nuevas = new int[m][];
+        System.arraycopy(listas, 0, nuevas, 0, listas.length);
+        listas = nuevas;
+        frecuencias = copia(frecuencias, m);
+    }
+
+    /* Regresa un arreglo de tamaño n con los primeros elementos del arreglo. */
+    private static int[] copia(int[] arreglo, int n) {
+        int[] copia = new int[n];
+        System.arraycopy(arreglo, 0, copia, 0, Math.min(n, arreglo.length));
+        return copia;
+    }
+}
@@ -0,0 +1,245 @@
+package mx.unam.ciencias.edd.proyecto3.reportes;
+
+import java.util.Iterator;
+
+import mx.unam.ciencias.edd.ComparableIndexable;
+import mx.unam.ciencias.edd.ConjuntoBits;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.MonticuloMinimo;
+import mx.unam.ciencias.edd.SelectorMinimos;
+import mx.unam.ciencias.edd.proyecto3.util.Pareja;
+
+/**
+ * <p>Clase para calcular las k palabras más repetidas de un corpus, sumando sus
+ * repeticiones en todos los archivos, sin combinar los conteos de los
+ * archivos.</p>
+ *
+ * <p>Cada archivo da sus palabras de la más repetida a la menos con {@link
+ * Archivo#palabrasPorRepeticiones}, y un {@link MonticuloMinimo} con la palabra
+ * siguiente de cada archivo mezcla esos flujos: siempre se lee la palabra con
+ * más repeticiones entre las siguientes de todos los archivos. La primera vez
+ * que aparece una palabra se suman sus repeticiones en los archivos que la
+ * contienen, según el {@link IndiceInvertido} que comparten, y se ofrece el
+ * total a un {@link SelectorMinimos} de k lugares. Una palabra que no ha
+ * aparecido en ningún flujo se repite en cada archivo a lo más tanto como la
+ * palabra siguiente de ese archivo, así que su total no pasa de la suma de las
+ * siguientes (el umbral); en cuanto las k palabras seleccionadas superan el
+ * umbral, ninguna otra puede entrar y la mezcla se detiene sin leer el resto de
+ * los flujos.</p>
+ *
+ * <p>Las palabras salen del total mayor al menor; entre totales iguales, en el
+ * orden de sus identificadores. Los archivos deben compartir la misma {@link
+ * TablaSimbolos}; si no comparten también el índice, o sus identificadores se
+ * repiten, las repeticiones de cada palabra se buscan en todos los archivos. Si
+ * algún archivo se contó de forma aproximada, sus repeticiones son cotas
+ * superiores y las palabras que no guardó cuentan como cero en él.</p>
+ */
+public class PalabrasCorpus {
+
+    /* La palabra siguiente del flujo de un archivo. */
+    private static class Cabeza implements ComparableIndexable<Cabeza> {
+
+        /* El flujo del archivo. */
+        private Iterator<Archivo.PalabraContada> flujo;
+        /* La palabra siguiente del flujo. */
+        private Archivo.PalabraContada palabra;
+        /* El índice en el montículo. */
+        private int indice;
+
+        /* Construye la cabeza de un flujo no vacío. */
+        private Cabeza(Iterator<Archivo.PalabraContada> flujo) {
+            this.flujo = flujo;
+            palabra = flujo.next();
+        }
+
+        /* Avanza a la siguiente palabra; regresa false si el flujo se acabó. */
+        private boolean avanza() {
+            if (!flujo.hasNext())
+                return false;
+            palabra = flujo.next();
+            return true;
+        }
+
+        /* Va primero la palabra con más repeticiones y, entre ésas, la de
+         * identificador menor. */
+        @Override
+        public int compareTo(Cabeza cabeza) {
+            int c = Integer.compare(cabeza.palabra.obtenerRepeticiones(), palabra.obtenerRepeticiones());
+            if (c != 0)
+                return c;
+            return Integer.compare(palabra.obtenerIdentificador(), cabeza.palabra.obtenerIdentificador());
+        }
+
+        @Override
+        public int getIndice() {
+            return indice;
+        }
+
+        @Override
+        public void setIndice(int indice) {
+            this.indice = indice;
+        }
+    }
+
+    /* Una palabra con sus repeticiones en todo el corpus. */
+    private static class Candidato implements Comparable<Candidato> {
+
+        private String palabra;
+        private int identificador;
+        private long total;
+
+        private Candidato(String palabra, int identificador, long total) {
+            this.palabra = palabra;
+            this.identificador = identificador;
+            this.total = total;
+        }
+
+        /* Va primero el total mayor y, entre iguales, el identificador menor. */
+        @Override
+        public int compareTo(Candidato candidato) {
+            int c = Long.compare(candidato.total, total);
+            return c != 0 ? c : Integer.compare(identificador, candidato.identificador);
+        }
+    }
+
+    // Las palabras más repetidas con sus totales, de la más repetida a la menos.
+    private Lista<Pareja<String, Long>> palabras;
+    // Número de palabras leídas de los flujos.
+    private long entradasLeidas;
+    // Número de palabras de todos los archivos, contando una vez por archivo.
+    private long totalEntradas;
+    // Número de palabras distintas cuyo total se calculó.
+    private int palabrasRevisadas;
+    // Si algún archivo se contó de forma aproximada.
+    private boolean aproximado;
+
+    /**
+     * Calcula las k palabras más repetidas de los archivos.
+     *
+     * @param archivos Archivos del corpus, con la misma tabla de símbolos.
+     * @param k        Número de palabras a calcular.
+     * @throws IllegalArgumentException si archivos es null o k no es positivo.
+     */
+    public PalabrasCorpus(Iterable<Archivo> archivos, int k) {
+        if (archivos == null)
+            throw new IllegalArgumentException("Los archivos no pueden ser null.");
+        if (k < 1)
+            throw new IllegalArgumentException("k debe ser positivo.");
+        Lista<Archivo> lista = new Lista<>();
+        Lista<Cabeza> cabezas = new Lista<>();
+        // Los archivos por su identificador, para recorrer sólo los que
+        // contienen cada palabra; null si no puede usarse el índice.
+        Diccionario<Integer, Archivo> porIdentificador = new Diccionario<>();
+        IndiceInvertido indice = null;
+        // Cota de las repeticiones de cualquier palabra que no se ha leído.
+        long umbral = 0;
+        int vocabulario = 0;
+        for (Archivo archivo : archivos) {
+            lista.agrega(archivo);
+            if (porIdentificador != null) {
+                if (indice == null)
+                    indice = archivo.obtenerIndiceInvertido();
+                if (archivo.obtenerIndiceInvertido() != indice ||
+                    porIdentificador.agregaSiAusente(archivo.obtenerIdentificador(), archivo) != null)
+                    porIdentificador = null;
+            }
+            vocabulario = archivo.obtenerTablaSimbolos().getElementos();
+            totalEntradas += archivo.totalPalabras();
+            aproximado = aproximado || archivo.esAproximado();
+            Iterator<Archivo.PalabraContada> flujo = archivo.palabrasPorRepeticiones();
+            if (!flujo.hasNext())
+                continue;
+            Cabeza cabeza = new Cabeza(flujo);
+            cabezas.agrega(cabeza);
+            umbral += cabeza.palabra.obtenerRepeticiones();
+        }
+        MonticuloMinimo<Cabeza> monticulo = new MonticuloMinimo<>(cabezas);
+        SelectorMinimos<Candidato> selector = new SelectorMinimos<>(k);
+        ConjuntoBits revisadas = new ConjuntoBits(vocabulario);
+        // Con totales iguales al umbral, una palabra sin leer todavía podría
+        // ganarle a la última seleccionada por su identificador.
+        while (!monticulo.esVacia() && !(selector.estaLleno() && selector.tope().total > umbral)) {
+            Cabeza cabeza = monticulo.elimina();
+            Archivo.PalabraContada palabra = cabeza.palabra;
+            entradasLeidas++;
+            umbral -= palabra.obtenerRepeticiones();
+            if (cabeza.avanza()) {
+                umbral += cabeza.palabra.obtenerRepeticiones();
+                monticulo.agrega(cabeza);
+            }
+            int identificador = palabra.obtenerIdentificador();
+            if (revisadas.contiene(identificador))
+                continue;
+            revisadas.agrega(identificador);
+            palabrasRevisadas++;
+            long total = 0;
+            if (porIdentificador != null) {
+                for (int a : indice.archivos(identificador)) {
+                    Archivo archivo = porIdentificador.get(a, null);
+                    if (archivo != null)
+                        total += archivo.repeticiones(identificador);
+                }
+            } else {
+                for (Archivo archivo : lista)
+                    total += archivo.repeticiones(identificador);
+            }
+            selector.agrega(new Candidato(palabra.obtenerPalabra(), identificador, total));
+        }
+        palabras = new Lista<>();
+        for (Candidato candidato : selector.ordenados())
+            palabras.agrega(new Pareja<>(candidato.palabra, candidato.total));
+    }
+
+    /**
+     * Regresa las palabras más repetidas del corpus con sus repeticiones, de la
+     * más repetida a la menos. Si el corpus tiene menos de k palabras distintas,
+     * las regresa todas.
+     *
+     * @return Lista de parejas de palabra y repeticiones en el corpus.
+     */
+    public Lista<Pareja<String, Long>> palabras() {
+        return palabras.copia();
+    }
+
+    /**
+     * Regresa el número de palabras que se leyeron de los flujos de los archivos
+     * antes de detener la mezcla.
+     *
+     * @return Número de entradas leídas.
+     */
+    public long entradasLeidas() {
+        return entradasLeidas;
+    }
+
+    /**
+     * Regresa el número de palabras de todos los archivos, contando cada palabra
+     * una vez por cada archivo en que aparece: lo que se leería sin detener la
+     * mezcla.
+     *
+     * @return Total de entradas de los archivos.
+     */
+    public long totalEntradas() {
+        return totalEntradas;
+    }
+
+    /**
+     * Regresa el número de palabras distintas cuyas repeticiones en el corpus se
+     * sumaron.
+     *
+     * @return Número de palabras revisadas.
+     */
+    public int palabrasRevisadas() {
+        return palabrasRevisadas;
+    }
+
+    /**
+     * Nos dice si algún archivo se contó de forma aproximada, y los totales son
+     * cotas superiores.
+     *
+     * @return true si algún archivo es aproximado, false en otro caso.
+     */
+    public boolean esAproximado() {
+        return aproximado;
+    }
+}
@@ -2,17 +2,16 @@ package mx.unam.ciencias.edd.proyecto3.reportes;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.Iterator;
 
 import mx.unam.ciencias.edd.Coleccion;
 import mx.unam.ciencias.edd.Lista;
-import mx.unam.ciencias.edd.MonticuloMinimo;
 import mx.unam.ciencias.edd.proyecto3.excepciones.ExcepcionArchivoVacio;
 import mx.unam.ciencias.edd.proyecto3.graficador.DibujarArbolAVL;
 import mx.unam.ciencias.edd.proyecto3.graficador.DibujarArbolRojinegro;
 import mx.unam.ciencias.edd.proyecto3.html.ContenidoHTML;
 import mx.unam.ciencias.edd.proyecto3.html.EtiquetaEmparejada;
 import mx.unam.ciencias.edd.proyecto3.html.HTML;
-import mx.unam.ciencias.edd.proyecto3.reportes.Archivo.PalabraContada;
 import mx.unam.ciencias.edd.proyecto3.svg.GraficaBarras;
 import mx.unam.ciencias.edd.proyecto3.svg.GraficaPastel;
 
@@ -104,20 +103,34 @@ public class ReporteArchivo {
         // variable para contar el total de repeticiones de palabras.
         int totalPalabras = 0;
         // Genera el reporte del conteo de las palabras
+        // En el conteo aproximado cada entrada lleva también su error.
+        boolean aproximado = archivo.esAproximado();
         Coleccion<String[]> elementos = new Lista<>();
-        elementos.agrega(new String[] {"Palabra", "repeticiones" }); // agrega los enunciados.
-        for (Archivo.PalabraContada palabra : archivo) {
+        if (aproximado)
+            elementos.agrega(new String[] { "Palabra", "repeticiones", "error máximo" });
+        else
+            elementos.agrega(new String[] {"Palabra", "repeticiones" }); // agrega los enunciados.
+        // La tabla lista las palabras en orden alfabético.
+        for (Archivo.PalabraContada palabra : archivo.palabrasEnOrdenAlfabetico()) {
             int repeticionesPalabra = palabra.obtenerRepeticiones();
             totalPalabras += repeticionesPalabra;
-            String[] entrada = { palabra.obtenerPalabra(), Integer.toString(repeticionesPalabra) };
+            String[] entrada = aproximado
+                    ? new String[] { palabra.obtenerPalabra(), Integer.toString(repeticionesPalabra),
+                            Integer.toString(palabra.obtenerError()) }
+                    : new String[] { palabra.obtenerPalabra(), Integer.toString(repeticionesPalabra) };
             elementos.agrega(entrada);
         }
+        if (aproximado)
+            cuerpoHTML.agregarContenido(UtilReportes.reporteConteoAproximado(archivo));
         cuerpoHTML.agregarContenido(UtilReportes.reporteConteo(elementos));
         // Genera los demas reportes.
         // Coleccion para las leyendas de los arboles
         Coleccion<String[]> leyendaArboles = new Lista<>();
         leyendaArboles.agrega(new String[] { "ID", "Palabra", "Repeticiones" }); // Encabezados de la tabla de leyendas.
-        MonticuloMinimo<PalabraContada> monticulo = archivo.monticuloPalabras();
+        // Sólo se usan las 15 palabras más repetidas, que se seleccionan sin
+        // ordenar todo el vocabulario.
+        Lista<Archivo.PalabraContada> seleccionadas = archivo.palabrasMasRepetidas(15);
+        Iterator<Archivo.PalabraContada> iterador = seleccionadas.iterator();
         Coleccion<Archivo.PalabraContada> palabrasMasRepetidas = new Lista<>();
         // booleanos para controlar el ciclo while
         boolean faltaReporteGraficas = true;
@@ -132,7 +145,7 @@ public class ReporteArchivo {
         while (true) {
             // Crea una nueva coleccion solo con las repeticiones de las palabras para
             // construir los arboles.
-            Archivo.PalabraContada palabra = monticulo.elimina();
+            Archivo.PalabraContada palabra = iterador.next();
             int repeticionesPalabra = palabra.obtenerRepeticiones();
             porcientoAcumulado += ((double) repeticionesPalabra) / totalPalabras;
             palabrasMasRepetidas.agrega(palabra);
@@ -142,7 +155,7 @@ public class ReporteArchivo {
             // Si no se ha generado el reporte y, ya no hay mas palabras en el archivo o se
             // llega ha que se han tomado 8 elementos o que se ha tomado al menos el 95
             // porciento del total de repeticiones genera las graficas de barras y de pastel
-            if (faltaReporteGraficas && (monticulo.esVacia() || porcientoAcumulado >= 0.95
+            if (faltaReporteGraficas && (!iterador.hasNext() || porcientoAcumulado >= 0.95
                     || palabrasMasRepetidas.getElementos() == 8)) {
                 graficaPastel = new GraficaPastel(400, palabrasMasRepetidas, totalPalabras, "Resto de palabras");
                 graficaBarras = new GraficaBarras(palabrasMasRepetidas, totalPalabras);
@@ -150,7 +163,7 @@ public class ReporteArchivo {
             }
             // Genera un arbol Rojinegro o un arbol AVL con las 15 palabras mas repetidas, o
             // con todas las palabras en caso de haber menos de 15 en el archivo.
-            if (monticulo.esVacia() || palabrasMasRepetidas.getElementos() == 15) {
+            if (!iterador.hasNext()) {
                 arbolRojinegro = new DibujarArbolRojinegro<>(repeticionesPalabras);
                 arbolAVL = new DibujarArbolAVL<>(repeticionesPalabras);
                 break; // rompe el ciclo, si ya se generaron los svg de los arboles también los de las
@@ -2,11 +2,11 @@ package mx.unam.ciencias.edd.proyecto3.reportes;
 
 import java.io.IOException;
 import java.io.Writer;
-import java.util.Iterator;
 
 import mx.unam.ciencias.edd.Coleccion;
-import mx.unam.ciencias.edd.Conjunto;
-import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.ConjuntoBits;
+import mx.unam.ciencias.edd.FirmaMinHash;
+import mx.unam.ciencias.edd.HyperLogLog;
 import mx.unam.ciencias.edd.Lista;
 import mx.unam.ciencias.edd.proyecto3.graficador.DibujarGrafica;
 import mx.unam.ciencias.edd.proyecto3.html.EtiquetaEmparejada;
@@ -16,29 +16,99 @@ import mx.unam.ciencias.edd.proyecto3.util.Pareja;
 /**
  * Clase para generar reportes de archivos de texto, genera un reporte con el
  * numero de palabras en cada archivo de texto así como una grafica donde
- * relaciona dos archivos de texto si tienen al menos una palabra en comun con
- * mas de 7 caracteres.
+ * relaciona dos archivos de texto si sus palabras de al menos 7 caracteres son
+ * similares, con la similitud como peso de la arista, y las palabras más
+ * repetidas de todos los archivos.
  * 
  */
 public class ReporteGeneral {
 
+    /**
+     * Similitud de Jaccard estimada mínima para relacionar dos archivos en la
+     * gráfica.
+     */
+    public static final double UMBRAL_SIMILITUD = 0.3;
+    /**
+     * Número de componentes de cada banda en que se parten las firmas para buscar
+     * parejas similares. Con firmas de 128 componentes son 42 bandas, y una
+     * pareja con similitud 0.3 se encuentra con probabilidad 0.68, una con 0.4
+     * con 0.94 y una con 0.5 con 0.996, mientras que una con 0.05 se compara con
+     * probabilidad 0.005.
+     */
+    public static final int FILAS_BANDA = 3;
+    /**
+     * Número de palabras más repetidas de todos los archivos que se reportan.
+     */
+    public static final int PALABRAS_CORPUS = 15;
+
     // Colección con los archivos junto al nombre que ocupan en el directorio de
     // destino del reporte
     private Coleccion<Pareja<Archivo, String>> archivos;
+    // HyperLogLog de las palabras distintas de todos los archivos.
+    private HyperLogLog vocabulario;
+    // Número exacto de palabras distintas de todos los archivos, o -1 si no se
+    // conoce.
+    private int vocabularioExacto;
     private HTML html;
     private EtiquetaEmparejada cuerpoHTML;
 
     /**
      * Crea una instancia de la clase a partir de un arreglo con los archivos a
-     * reporte y de la ruta a una hoja de estilo CSS.
+     * reporte y de la ruta a una hoja de estilo CSS. Los archivos se comparan por
+     * los identificadores de sus palabras, así que todos deben compartir la misma
+     * {@link TablaSimbolos} y el mismo {@link IndiceInvertido}, sus
+     * HyperLogLog deben tener la misma precisión para estimar el vocabulario del
+     * corpus, y sus firmas MinHash el mismo tamaño para compararlos.
      * 
      * @param archivos      Archivos a reportar.
      * @param tituloReporte Titulo del reporte.
      * @param ruta          Ruta del archivo CSS con el estilo del html
+     * @throws IllegalArgumentException si algún parámetro es null, si los
+     *                                  archivos no comparten la tabla de
+     *                                  símbolos y el índice, si sus
+     *                                  HyperLogLog tienen precisiones distintas
+     *                                  o sus firmas tamaños distintos, o si
+     *                                  algún identificador de archivo es
+     *                                  negativo o está repetido.
      */
     public ReporteGeneral(Lista<Pareja<Archivo, String>> archivos, String tituloReporte, String ruta) {
         if (archivos == null || ruta == null || tituloReporte == null)
             throw new IllegalArgumentException("Los parametros archivo, ruta y tituloReporte no pueden ser null.");
+        TablaSimbolos tablaSimbolos = null;
+        IndiceInvertido indice = null;
+        ConjuntoBits identificadores = new ConjuntoBits();
+        boolean exacto = true;
+        int tamanoFirma = -1;
+        for (Pareja<Archivo, String> pareja : archivos) {
+            Archivo archivo = pareja.getX();
+            if (tablaSimbolos == null) {
+                tablaSimbolos = archivo.obtenerTablaSimbolos();
+                indice = archivo.obtenerIndiceInvertido();
+            } else if (archivo.obtenerTablaSimbolos() != tablaSimbolos || archivo.obtenerIndiceInvertido() != indice) {
+                throw new IllegalArgumentException("Los archivos deben compartir la tabla de símbolos y el índice.");
+            }
+            if (archivo.obtenerIdentificador() < 0 || identificadores.contiene(archivo.obtenerIdentificador()))
+                throw new IllegalArgumentException("Los identificadores de los archivos deben ser distintos y no negativos.");
+            identificadores.agrega(archivo.obtenerIdentificador());
+            // Combinar los bosquejos cuesta lo mismo sin importar el tamaño de los
+            // archivos.
+            if (vocabulario == null)
+                vocabulario = archivo.obtenerHyperLogLog();
+            else if (archivo.hyperLogLog().getPrecision() != vocabulario.getPrecision())
+                throw new IllegalArgumentException("Los HyperLogLog de los archivos deben tener la misma precisión.");
+            else
+                vocabulario.combina(archivo.hyperLogLog());
+            if (tamanoFirma == -1)
+                tamanoFirma = archivo.firma().getTamano();
+            else if (archivo.firma().getTamano() != tamanoFirma)
+                throw new IllegalArgumentException("Las firmas de los archivos deben tener el mismo tamaño.");
+            exacto = exacto && !archivo.esAproximado();
+        }
+        // Si todos los archivos del índice están en el reporte y se contaron de
+        // forma exacta, la tabla de símbolos tiene exactamente su vocabulario.
+        vocabularioExacto = -1;
+        if (exacto && indice != null && indice.totalArchivos() == identificadores.getElementos())
+            vocabularioExacto = tablaSimbolos.getElementos();
         this.archivos = archivos.copia();
         html = new HTML();
         html.agregarContenido(UtilReportes.encabezadoDocumento("Reporte General", ruta));
@@ -58,83 +128,66 @@ public class ReporteGeneral {
         // Genera el reporte con el nombre de los archivos junto con el total de
         // palabras de cada uno
         cuerpoHTML.agregarContenido(UtilReportes.reporteTotalPalabras(archivos));
+        // Genera el reporte con el vocabulario de todos los archivos.
+        if (vocabulario != null)
+            cuerpoHTML.agregarContenido(UtilReportes.reporteVocabulario(vocabulario, vocabularioExacto));
+        // Genera el reporte con las palabras más repetidas de todos los archivos,
+        // mezclando los conteos ordenados de cada uno.
+        if (!archivos.esVacia()) {
+            Lista<Archivo> corpus = new Lista<>();
+            for (Pareja<Archivo, String> pareja : archivos)
+                corpus.agrega(pareja.getX());
+            cuerpoHTML.agregarContenido(
+                    UtilReportes.reportePalabrasCorpus(new PalabrasCorpus(corpus, PALABRAS_CORPUS)));
+        }
         // Genera la grafica con la relación entre los archivos.
         Coleccion<String[]> leyendaArchivos = new Lista<>();
         leyendaArchivos.agrega(new String[] { "ID", "Nombre Archivo" }); // Leyenda para la grafica.
-        Diccionario<Archivo, Conjunto<Archivo>> auxiliarGrafica = new Diccionario<>();
-        int i = -1;
-        // Añade los elementos al diccionario auxiliar para generar el reporte de
-        // archivos con elementos en común
         for (Pareja<Archivo, String> pareja : archivos) {
-            ++i;
             Archivo archivo = pareja.getX();
-            int j = -1;
             leyendaArchivos
                     .agrega(new String[] { Integer.toString(archivo.obtenerIdentificador()), archivo.obtenerNombre() });
-            Conjunto<Archivo> otrosArchivos = new Conjunto<>();
-            for (Pareja<Archivo, String> parejaInterna : archivos) {
-                ++j;
-                if (i == j)
-                    continue;
-                otrosArchivos.agrega(parejaInterna.getX());
-            }
-            auxiliarGrafica.agrega(archivo, otrosArchivos);
         }
-        // Busca las palabras en compun entre los archivos.
         Coleccion<Integer> elementosGrafica = new Lista<>();
-        Iterator<Archivo> iterador = auxiliarGrafica.iteradorLlaves();
-        while (iterador.hasNext()) {
-            Archivo archivo = iterador.next();
-            Conjunto<Archivo> demasArchivos = auxiliarGrafica.get(archivo);
-            boolean noEnlazado = true;
-            Lista<Archivo> archivosEnlazar = null;
-            for (Archivo.PalabraContada palabra : archivo) {
-                if (demasArchivos.esVacia())
-                    break;
-                if (palabra.obtenerPalabra().length() < 7)
-                    continue;
-                archivosEnlazar = new Lista<>();
-                for (Archivo otroArchivo : demasArchivos) {
-                    if (otroArchivo.contienePalabra(palabra.obtenerPalabra())) {
-                        archivosEnlazar.agrega(otroArchivo);
-                        demasArchivos.elimina(otroArchivo);
-                        auxiliarGrafica.get(otroArchivo).elimina(archivo);
-                    }
-                }
-                if (!archivosEnlazar.esVacia()) {
-                    archivosEnlazar.agrega(archivo);
-                    enlazarArchivos(archivosEnlazar, elementosGrafica);
-                    noEnlazado = false;
-                }
-            }
-            for (Archivo archivoNoEnlazado : demasArchivos) {
-                auxiliarGrafica.get(archivoNoEnlazado).elimina(archivo);
-            }
-            if (noEnlazado) {
-                archivosEnlazar = new Lista<>();
-                archivosEnlazar.agrega(archivo);
-                archivosEnlazar.agrega(archivo);
-                enlazarArchivos(archivosEnlazar, elementosGrafica);
-            }
-        }
-        cuerpoHTML.agregarContenido(UtilReportes.reporteGraficoConLeyenda(new DibujarGrafica<>(elementosGrafica),
-                leyendaArchivos, "Relacion de Archivos por Palabras comunes"));
+        Coleccion<Double> pesos = new Lista<>();
+        aristasSimilares(elementosGrafica, pesos);
+        cuerpoHTML.agregarContenido(UtilReportes.reporteGraficoConLeyenda(
+                new DibujarGrafica<>(elementosGrafica, pesos), leyendaArchivos, "Relacion de Archivos por Similitud"));
         // Escribe el reporte generado en el archivo de destino.
         html.imprimirHTML(out);
     }
 
     /*
-     * Añade todas las parejas de elementos en la lista de elementos a enlazar al la
-     * colección de elementos
+     * Agrega a las colecciones las aristas de la gráfica de relación, como parejas
+     * consecutivas de identificadores, y sus pesos: dos archivos se relacionan si
+     * la similitud estimada de sus palabras largas es al menos el umbral, y el
+     * peso es esa similitud. Un archivo sin relaciones aparece enlazado consigo
+     * mismo. Las parejas candidatas salen de las bandas de las firmas MinHash, así
+     * que no se comparan todas las parejas de archivos.
      */
-    private void enlazarArchivos(Lista<Archivo> archivosEnlazar, Coleccion<Integer> elementosGrafica) {
-        do {
-            Archivo archivo = archivosEnlazar.getPrimero();
-            archivosEnlazar.elimina(archivo);
-            for (Archivo otroArchivo : archivosEnlazar) {
-                elementosGrafica.agrega(archivo.obtenerIdentificador());
-                elementosGrafica.agrega(otroArchivo.obtenerIdentificador());
+    private void aristasSimilares(Coleccion<Integer> aristas, Coleccion<Double> pesos) {
+        int n = archivos.getElementos();
+        Archivo[] arreglo = new Archivo[n];
+        FirmaMinHash[] firmas = new FirmaMinHash[n];
+        int i = 0;
+        for (Pareja<Archivo, String> pareja : archivos) {
+            arreglo[i] = pareja.getX();
+            firmas[i++] = pareja.getX().firma();
+        }
+        boolean[] relacionados = new boolean[n];
+        int bandas = n == 0 ? 1 : Math.max(1, firmas[0].getTamano() / FILAS_BANDA);
+        for (long pareja : FirmaMinHash.parejasSimilares(firmas, bandas, UMBRAL_SIMILITUD)) {
+            int a = (int) (pareja >>> 32), b = (int) pareja;
+            aristas.agrega(arreglo[a].obtenerIdentificador());
+            aristas.agrega(arreglo[b].obtenerIdentificador());
+            pesos.agrega(firmas[a].similitud(firmas[b]));
+            relacionados[a] = relacionados[b] = true;
+        }
+        for (i = 0; i < n; i++)
+            if (!relacionados[i]) {
+                aristas.agrega(arreglo[i].obtenerIdentificador());
+                aristas.agrega(arreglo[i].obtenerIdentificador());
+                pesos.agrega(0.0);
             }
-        } while (!archivosEnlazar.esVacia());
     }
-}
\ No newline at end of file
+}
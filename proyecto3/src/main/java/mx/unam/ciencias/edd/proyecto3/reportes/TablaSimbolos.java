@@ -0,0 +1,154 @@
+package mx.unam.ciencias.edd.proyecto3.reportes;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import mx.unam.ciencias.edd.ContadorCadenas;
+
+/**
+ * Tabla de símbolos que asigna a cada palabra normalizada un identificador
+ * entero. Los identificadores son densos: la n-ésima palabra registrada recibe
+ * el identificador n - 1. Una misma tabla se comparte entre todos los archivos
+ * de un reporte, de modo que cada palabra se guarda una sola vez y los archivos
+ * se comparan con enteros en lugar de cadenas.
+ *
+ * Los identificadores se guardan en un {@link ContadorCadenas}, que asocia a
+ * cada palabra su identificador más uno; así el cero que regresa el contador
+ * para las palabras que no tiene no se confunde con el identificador cero.
+ *
+ * La tabla puede usarse desde varios hilos a la vez. Sólo el registro toma el
+ * candado de escritura, y {@link #busca} el de lectura. Como la tabla sólo
+ * crece agregando palabras al final, {@link #palabra} y {@link #getElementos}
+ * no toman candado: cada palabra se guarda antes de publicar el nuevo número
+ * de elementos, que es volátil, y al crecer el arreglo de palabras se
+ * reemplaza por una copia completa.
+ */
+public class TablaSimbolos {
+
+    /* Capacidad inicial del arreglo de palabras. */
+    private static final int MINIMA_CAPACIDAD = 32;
+
+    /* Candado del registro y de las búsquedas por palabra. */
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+    /* El identificador más uno de cada palabra. */
+    private ContadorCadenas llaves;
+    /* Las palabras, indexadas por identificador. */
+    private volatile String[] palabras;
+    /* Número de palabras registradas; se escribe después de guardar la palabra. */
+    private volatile int elementos;
+
+    /**
+     * Crea una tabla de símbolos vacía.
+     */
+    public TablaSimbolos() {
+        llaves = new ContadorCadenas();
+        palabras = new String[MINIMA_CAPACIDAD];
+    }
+
+    /**
+     * Regresa el identificador de una palabra, registrándola si no estaba en la
+     * tabla.
+     *
+     * @param palabra Palabra normalizada.
+     * @return Identificador de la palabra.
+     * @throws IllegalArgumentException si la palabra es <code>null</code>.
+     */
+    public int identificador(String palabra) {
+        if (palabra == null)
+            throw new IllegalArgumentException("La palabra no puede ser null.");
+        candado.writeLock().lock();
+        try {
+            return registra(palabra);
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Regresa los identificadores de varias palabras, registrando las que no
+     * estaban en la tabla. Registrar todas las palabras de un archivo con una sola
+     * llamada toma el candado de escritura una sola vez. Si alguna palabra es
+     * <code>null</code> no se registra ninguna.
+     *
+     * @param palabras Palabras normalizadas.
+     * @return Arreglo donde el elemento i es el identificador de palabras[i].
+     * @throws IllegalArgumentException si el arreglo o alguna palabra es
+     *                                  <code>null</code>.
+     */
+    public int[] identificadores(String[] palabras) {
+        if (palabras == null)
+            throw new IllegalArgumentException("El arreglo de palabras no puede ser null.");
+        for (String palabra : palabras)
+            if (palabra == null)
+                throw new IllegalArgumentException("La palabra no puede ser null.");
+        int[] identificadores = new int[palabras.length];
+        candado.writeLock().lock();
+        try {
+            for (int i = 0; i < palabras.length; i++)
+                identificadores[i] = registra(palabras[i]);
+        } finally {
+            candado.writeLock().unlock();
+        }
+        return identificadores;
+    }
+
+    /**
+     * Regresa el identificador de una palabra sin registrarla.
+     *
+     * @param palabra Palabra normalizada.
+     * @return Identificador de la palabra, o -1 si no está en la tabla.
+     */
+    public int busca(String palabra) {
+        if (palabra == null)
+            return -1;
+        candado.readLock().lock();
+        try {
+            return llaves.get(palabra) - 1;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Regresa la palabra con el identificador dado.
+     *
+     * @param identificador Identificador de la palabra.
+     * @return La palabra con el identificador.
+     * @throws IllegalArgumentException si el identificador no pertenece a una
+     *                                  palabra de la tabla.
+     */
+    public String palabra(int identificador) {
+        // Leer primero el número de elementos garantiza ver las palabras
+        // guardadas antes de publicarlo.
+        if (identificador < 0 || identificador >= elementos)
+            throw new IllegalArgumentException("Identificador inválido: " + identificador);
+        return palabras[identificador];
+    }
+
+    /**
+     * Regresa el número de palabras registradas.
+     *
+     * @return Número de palabras registradas.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /* Regresa el identificador de la palabra, registrándola si no estaba. */
+    private int registra(String palabra) {
+        int n = elementos;
+        int identificador = llaves.agregaSiFalta(palabra, n + 1) - 1;
+        if (identificador < n)
+            return identificador;
+        String[] arreglo = palabras;
+        if (n == arreglo.length) {
+            arreglo = Arrays.copyOf(arreglo, n * 2);
+            arreglo[n] = palabra;
+            palabras = arreglo;
+        } else {
+            arreglo[n] = palabra;
+        }
+        elementos = n + 1;
+        return identificador;
+    }
+}
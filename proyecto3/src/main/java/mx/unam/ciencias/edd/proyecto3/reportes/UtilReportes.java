@@ -1,8 +1,11 @@
 package mx.unam.ciencias.edd.proyecto3.reportes;
 
 import java.util.Iterator;
+import java.util.Locale;
 
+import mx.unam.ciencias.edd.BosquejoConteo;
 import mx.unam.ciencias.edd.Coleccion;
+import mx.unam.ciencias.edd.HyperLogLog;
 import mx.unam.ciencias.edd.Lista;
 import mx.unam.ciencias.edd.proyecto3.html.ContenidoHTML;
 import mx.unam.ciencias.edd.proyecto3.html.EtiquetaEmparejada;
@@ -134,6 +137,39 @@ public class UtilReportes {
         return division;
     }
 
+    /**
+     * Genera el html que explica las cotas de error de un archivo contado de
+     * forma aproximada.
+     * 
+     * @param archivo Archivo contado de forma aproximada.
+     * @return ContenidoHTML del reporte generado.
+     */
+    public static ContenidoHTML reporteConteoAproximado(Archivo archivo) {
+        BosquejoConteo bosquejo = archivo.obtenerBosquejo();
+        long total = archivo.totalRepeticiones();
+        int contadores = archivo.obtenerContadores();
+        EtiquetaEmparejada division = UtilHTML.division("reporteConteoAproximado", "reporte");
+        division.agregarContenido(UtilHTML.h2("Conteo Aproximado"));
+        String resumen;
+        if (archivo.totalPalabras() < contadores)
+            resumen = String.format(Locale.ROOT, "Las %d palabras distintas del archivo cupieron en los %d "
+                    + "contadores, así que sus repeticiones son exactas.", archivo.totalPalabras(), contadores);
+        else
+            resumen = String.format(Locale.ROOT, "Las repeticiones son aproximadas: se leyeron %d palabras y "
+                    + "sólo se guardaron las más frecuentes en %d contadores (Space-Saving). Cada repetición de "
+                    + "la tabla es una cota superior de la real, y la excede a lo más por su error máximo. "
+                    + "Ninguna palabra fuera de la tabla se repite más de %d veces, y toda palabra que se repite "
+                    + "más de %d veces (el total entre el número de contadores) está en la tabla.",
+                    total, contadores, archivo.obtenerCotaResumen(), total / contadores);
+        division.agregarContenido(UtilHTML.parrafo(resumen));
+        division.agregarContenido(UtilHTML.parrafo(String.format(Locale.ROOT, "Las consultas de palabras "
+                + "individuales usan un bosquejo Count-Min de %d por %d contadores, cuyas estimaciones exceden "
+                + "a las repeticiones reales por a lo más %.0f (ε = %.5f del total) con probabilidad de al "
+                + "menos %.4f.", bosquejo.getProfundidad(), bosquejo.getAncho(),
+                Math.ceil(bosquejo.getEpsilon() * total), bosquejo.getEpsilon(), 1 - bosquejo.getDelta())));
+        return division;
+    }
+
     /**
      * Genera el html correspondiente al reporte de Gráfica de Pastel y de gráfica
      * de barras.
@@ -174,7 +210,56 @@ public class UtilReportes {
     }
 
     /**
-     * Genera el código html del reporte de archivos con total de palabras.
+     * Genera el html con el número de palabras distintas de todos los archivos,
+     * estimado con un HyperLogLog.
+     * 
+     * @param vocabulario HyperLogLog combinado de todos los archivos.
+     * @param exacto      Número exacto de palabras distintas, o un número negativo
+     *                    si no se conoce.
+     * @return ContenidoHTML del reporte generado.
+     */
+    public static ContenidoHTML reporteVocabulario(HyperLogLog vocabulario, int exacto) {
+        EtiquetaEmparejada division = UtilHTML.division("reporteVocabulario", "reporte");
+        division.agregarContenido(UtilHTML.h2("Vocabulario del Corpus"));
+        division.agregarContenido(UtilHTML.parrafo(String.format(Locale.ROOT, "Palabras distintas en todos los "
+                + "archivos: aproximadamente %d, estimadas con un HyperLogLog de %d registros con error estándar "
+                + "de %.2f%%.", vocabulario.estima(), 1 << vocabulario.getPrecision(),
+                vocabulario.errorEstandar() * 100)));
+        if (exacto >= 0)
+            division.agregarContenido(UtilHTML.parrafo(String.format(Locale.ROOT, "El número exacto de palabras "
+                    + "distintas es %d.", exacto)));
+        return division;
+    }
+
+    /**
+     * Genera el html con las palabras más repetidas de todos los archivos.
+     * 
+     * @param palabras Palabras más repetidas del corpus.
+     * @return ContenidoHTML del reporte generado.
+     */
+    public static ContenidoHTML reportePalabrasCorpus(PalabrasCorpus palabras) {
+        Coleccion<String[]> filas = new Lista<>();
+        filas.agrega(new String[] { "palabra", "repeticiones" });
+        String prefijo = palabras.esAproximado() ? "≤ " : "";
+        for (Pareja<String, Long> pareja : palabras.palabras())
+            filas.agrega(new String[] { pareja.getX(), prefijo + pareja.getY() });
+        EtiquetaEmparejada division = UtilHTML.division("reportePalabrasCorpus", "reporte");
+        division.agregarContenido(UtilHTML.h2("Palabras más Repetidas del Corpus"));
+        division.agregarContenido(tabla(filas));
+        division.agregarContenido(UtilHTML.parrafo(String.format(Locale.ROOT, "Se leyeron %d de las %d "
+                + "entradas de los conteos de los archivos, de la más repetida a la menos, y se sumaron las "
+                + "repeticiones de %d palabras antes de asegurar que ninguna otra se repite más.",
+                palabras.entradasLeidas(), palabras.totalEntradas(), palabras.palabrasRevisadas())));
+        if (palabras.esAproximado())
+            division.agregarContenido(UtilHTML.parrafo("Algunos archivos se contaron de forma aproximada: sus "
+                    + "repeticiones son cotas superiores y las palabras que no guardaron cuentan como cero."));
+        return division;
+    }
+
+    /**
+     * Genera el código html del reporte de archivos con total de palabras. Para
+     * los archivos contados de forma aproximada se muestra la estimación de sus
+     * palabras distintas.
      * 
      * @param archivos Colección de archivos junto con con el nombre en el sistema
      *                 de los archivos para generar los enlaces.
@@ -187,7 +272,9 @@ public class UtilReportes {
             Archivo archivo = pareja.getX();
             String nombreArchivo = archivo.obtenerNombre();
             EtiquetaEmparejada enlace = UtilHTML.enlace(pareja.getY(), nombreArchivo);
-            coleccionArchivos.agrega(new String[] { enlace.codigoHTML(), Integer.toString(archivo.totalPalabras()) });
+            String total = archivo.esAproximado() ? "≈ " + archivo.estimaPalabrasDistintas()
+                    : Integer.toString(archivo.totalPalabras());
+            coleccionArchivos.agrega(new String[] { enlace.codigoHTML(), total });
         }
         EtiquetaEmparejada division = UtilHTML.division("reporteNombreArchivos", "reporte");
         division.agregarContenido(UtilHTML.h2("Archivos"));
@@ -67,6 +67,22 @@ public class SVG implements ContenidoHTML {
                 punto1.getX(), punto1.getY(), punto2.getX(), punto2.getY(), color.getValor()));
     }
 
+    /**
+     * Representación SVG de una línea con el grosor dado.
+     * 
+     * @param punto1 Primer punto de la línea.
+     * @param punto2 Segundo punto de la línea.
+     * @param color  Color de la línea.
+     * @param grosor Grosor de la línea.
+     */
+    public void linea(Pareja<Double, Double> punto1, Pareja<Double, Double> punto2, ColorSVG color, double grosor) {
+        if (punto1 == null || punto2 == null || color == null)
+            throw new IllegalArgumentException("No se admiten valores null");
+        svg.append(indentar());
+        svg.append(String.format("<line x1='%.2f' y1='%.2f' x2='%.2f' y2='%.2f' stroke='%s' stroke-width='%.2f' />\n",
+                punto1.getX(), punto1.getY(), punto2.getX(), punto2.getY(), color.getValor(), grosor));
+    }
+
     /**
      * Representación SVG de un círculo.
      * 
@@ -0,0 +1,93 @@
+package mx.unam.ciencias.edd.proyecto3.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Ejecutor de tareas que limita el número de tareas en curso. Si la máquina
+ * virtual ofrece hilos virtuales (Java 21 o posterior) cada tarea se ejecuta en
+ * su propio hilo virtual; si no, se usa un grupo fijo de hilos de plataforma. En
+ * ambos casos {@link #envia} bloquea mientras ya haya tantas tareas en curso
+ * como el límite.
+ */
+public class EjecutorAcotado implements AutoCloseable {
+
+    private ExecutorService ejecutor;
+    private Semaphore enCurso;
+
+    /**
+     * Crea un ejecutor con el límite de tareas en curso dado.
+     *
+     * @param limite Número máximo de tareas en curso.
+     * @throws IllegalArgumentException si el límite es menor que uno.
+     */
+    public EjecutorAcotado(int limite) {
+        if (limite < 1)
+            throw new IllegalArgumentException("El límite debe ser al menos uno.");
+        ejecutor = ejecutorVirtual();
+        if (ejecutor == null)
+            ejecutor = Executors.newFixedThreadPool(limite);
+        enCurso = new Semaphore(limite);
+    }
+
+    /**
+     * Envía una tarea al ejecutor, esperando a que haya lugar si ya se alcanzó el
+     * límite de tareas en curso.
+     *
+     * @param <T>   Tipo del resultado de la tarea.
+     * @param tarea Tarea a ejecutar.
+     * @return Futuro con el resultado de la tarea.
+     * @throws InterruptedException Si el hilo se interrumpe mientras espera.
+     */
+    public <T> Future<T> envia(Callable<T> tarea) throws InterruptedException {
+        enCurso.acquire();
+        try {
+            return ejecutor.submit(() -> {
+                try {
+                    return tarea.call();
+                } finally {
+                    enCurso.release();
+                }
+            });
+        } catch (RuntimeException re) {
+            enCurso.release();
+            throw re;
+        }
+    }
+
+    /**
+     * Cancela las tareas pendientes y termina el ejecutor.
+     */
+    @Override
+    public void close() {
+        ejecutor.shutdownNow();
+    }
+
+    /* Crea un ejecutor con un hilo virtual por tarea, si están disponibles. */
+    private static ExecutorService ejecutorVirtual() {
+        Method metodo = metodoHilosVirtuales();
+        if (metodo == null)
+            return null;
+        try {
+            return (ExecutorService) metodo.invoke(null);
+        } catch (ReflectiveOperationException roe) {
+            return null;
+        }
+    }
+
+    /*
+     * Busca Executors.newVirtualThreadPerTaskExecutor, que sólo existe a partir de
+     * Java 21; el proyecto compila para Java 8, así que se obtiene por reflexión.
+     */
+    private static Method metodoHilosVirtuales() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException nsme) {
+            return null;
+        }
+    }
+}
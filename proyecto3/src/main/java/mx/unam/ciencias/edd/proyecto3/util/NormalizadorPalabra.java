@@ -0,0 +1,159 @@
+package mx.unam.ciencias.edd.proyecto3.util;
+
+import java.nio.CharBuffer;
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Clase para normalizar palabras: elimina acentos y caracteres que no sean
+ * letras, dígitos o '+', y pasa todas las letras a minúscula. Escribe el
+ * resultado en un arreglo de caracteres que se reutiliza entre llamadas, por lo
+ * que una instancia no debe compartirse entre hilos.
+ *
+ * El resultado es idéntico al de
+ * <code>Normalizer.normalize(s, NFKD).trim().toLowerCase().replaceAll("[^\\p{L}\\p{Nd}+]", "")</code>.
+ * Las palabras ASCII se normalizan en una sola pasada sin descomposición
+ * Unicode; las demás se descomponen y se pasan a minúscula antes de filtrarse.
+ */
+public class NormalizadorPalabra {
+
+    /*
+     * En estos idiomas toLowerCase no es la conversión ASCII habitual (por ejemplo
+     * 'I' se convierte en 'ı' en turco), así que no se puede usar la vía rápida.
+     */
+    private static final boolean ASCII_SEGURO = !esIdiomaEspecial(Locale.getDefault().getLanguage());
+
+    private char[] buffer;
+    private int longitud;
+
+    /**
+     * Crea un nuevo normalizador.
+     */
+    public NormalizadorPalabra() {
+        buffer = new char[32];
+    }
+
+    /**
+     * Normaliza los caracteres <code>cadena[inicio, inicio + longitud)</code>.
+     *
+     * @param cadena   Arreglo con los caracteres de la palabra.
+     * @param inicio   Índice del primer carácter de la palabra.
+     * @param longitud Número de caracteres de la palabra.
+     * @return La longitud de la palabra normalizada, que queda en
+     *         {@link #buffer}.
+     */
+    public int normaliza(char[] cadena, int inicio, int longitud) {
+        asegura(longitud);
+        if (ASCII_SEGURO && normalizaAscii(cadena, inicio, longitud))
+            return this.longitud;
+        String descompuesta = Normalizer.normalize(CharBuffer.wrap(cadena, inicio, longitud), Normalizer.Form.NFKD);
+        return filtra(descompuesta.trim().toLowerCase());
+    }
+
+    /**
+     * Normaliza una cadena.
+     *
+     * @param cadena Cadena con la palabra.
+     * @return La longitud de la palabra normalizada, que queda en
+     *         {@link #buffer}.
+     */
+    public int normaliza(String cadena) {
+        int n = cadena.length();
+        asegura(n);
+        if (ASCII_SEGURO) {
+            char[] caracteres = buffer;
+            int j = 0;
+            for (int i = 0; i < n; i++) {
+                char c = cadena.charAt(i);
+                if (c >= 0x80)
+                    return filtra(Normalizer.normalize(cadena, Normalizer.Form.NFKD).trim().toLowerCase());
+                if (c >= 'A' && c <= 'Z')
+                    caracteres[j++] = (char) (c + ('a' - 'A'));
+                else if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '+')
+                    caracteres[j++] = c;
+            }
+            return longitud = j;
+        }
+        return filtra(Normalizer.normalize(cadena, Normalizer.Form.NFKD).trim().toLowerCase());
+    }
+
+    /**
+     * Regresa el arreglo con la última palabra normalizada. Sólo las primeras
+     * {@link #longitud} posiciones son válidas.
+     *
+     * @return Arreglo con la palabra normalizada.
+     */
+    public char[] buffer() {
+        return buffer;
+    }
+
+    /**
+     * Regresa la longitud de la última palabra normalizada.
+     *
+     * @return Longitud de la palabra normalizada.
+     */
+    public int longitud() {
+        return longitud;
+    }
+
+    /**
+     * Regresa una cadena con la última palabra normalizada.
+     *
+     * @return Cadena con la palabra normalizada.
+     */
+    public String cadena() {
+        return new String(buffer, 0, longitud);
+    }
+
+    /*
+     * Normaliza la palabra si es ASCII. Regresa false sin terminar si encuentra un
+     * carácter que no lo sea.
+     */
+    private boolean normalizaAscii(char[] cadena, int inicio, int n) {
+        char[] caracteres = buffer;
+        int j = 0;
+        for (int i = inicio; i < inicio + n; i++) {
+            char c = cadena[i];
+            if (c >= 0x80)
+                return false;
+            if (c >= 'A' && c <= 'Z')
+                caracteres[j++] = (char) (c + ('a' - 'A'));
+            else if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '+')
+                caracteres[j++] = c;
+        }
+        longitud = j;
+        return true;
+    }
+
+    /* Copia al buffer las letras, dígitos y '+' de la cadena. */
+    private int filtra(String cadena) {
+        int n = cadena.length();
+        asegura(n);
+        int j = 0;
+        for (int i = 0; i < n; i++) {
+            char c = cadena.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(cadena.charAt(i + 1))) {
+                int puntoCodigo = Character.toCodePoint(c, cadena.charAt(i + 1));
+                if (Character.isLetter(puntoCodigo) || Character.isDigit(puntoCodigo)) {
+                    buffer[j++] = c;
+                    buffer[j++] = cadena.charAt(i + 1);
+                }
+                i++;
+            } else if (Character.isLetter(c) || Character.isDigit(c) || c == '+') {
+                buffer[j++] = c;
+            }
+        }
+        return longitud = j;
+    }
+
+    /* Se asegura de que el buffer tenga al menos n posiciones. */
+    private void asegura(int n) {
+        if (buffer.length < n)
+            buffer = new char[Math.max(n, buffer.length * 2)];
+    }
+
+    /* Nos dice si el idioma tiene reglas especiales para minúsculas. */
+    private static boolean esIdiomaEspecial(String idioma) {
+        return idioma.equals("tr") || idioma.equals("az") || idioma.equals("lt");
+    }
+}
@@ -206,6 +206,20 @@ public class UtilHTML {
         return division;
     }
 
+    /**
+     * Genera una etiqueta p con el texto dado.
+     * 
+     * @param contenido Texto del párrafo.
+     * @return Etiqueta p.
+     */
+    public static EtiquetaEmparejada parrafo(String contenido) {
+        if (contenido == null)
+            throw new IllegalArgumentException("No se admiten parametros null.");
+        EtiquetaEmparejada p = new EtiquetaEmparejada("p");
+        p.agregarContenido(new TextoPlanoHTML(contenido));
+        return p;
+    }
+
     /**
      * Genera una etiqueta h1.
      * 
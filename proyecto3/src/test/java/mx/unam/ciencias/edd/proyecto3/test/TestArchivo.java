@@ -0,0 +1,542 @@
+package mx.unam.ciencias.edd.proyecto3.test;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import mx.unam.ciencias.edd.HyperLogLog;
+import mx.unam.ciencias.edd.proyecto3.reportes.Archivo;
+import mx.unam.ciencias.edd.proyecto3.reportes.ConfiguracionArchivo;
+import mx.unam.ciencias.edd.proyecto3.reportes.TablaSimbolos;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link Archivo}.
+ */
+public class TestArchivo {
+
+    /** Expiración para que ninguna prueba tarde más de 10 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(10);
+
+    /* Palabras con las que se genera el archivo. */
+    private static final String[] PALABRAS = {
+        "Árbol", "árbol", "ARBOL", "rojinegro", "niño", "canción,", "¿qué?",
+        "C++", "datos", "estructuras", "pingüino", "日本語", "x", "año"
+    };
+    /* Separadores entre palabras. */
+    private static final String[] SEPARADORES = {
+        " ", "  ", "\n", "\r\n", "\t", " \u0001 "
+    };
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* El archivo de prueba. */
+    private File archivo;
+
+    /**
+     * Crea un archivo de prueba con palabras aleatorias.
+     * @throws IOException si no se puede escribir el archivo.
+     */
+    @Before public void creaArchivo() throws IOException {
+        random = new Random();
+        archivo = File.createTempFile("archivo", ".txt");
+        try (BufferedWriter out = new BufferedWriter(
+                 new OutputStreamWriter(new FileOutputStream(archivo),
+                                        StandardCharsets.UTF_8))) {
+            int total = 20000 + random.nextInt(20000);
+            for (int i = 0; i < total; i++) {
+                out.write(PALABRAS[random.nextInt(PALABRAS.length)]);
+                out.write(SEPARADORES[random.nextInt(SEPARADORES.length)]);
+            }
+        }
+    }
+
+    /**
+     * Borra el archivo de prueba.
+     */
+    @After public void borraArchivo() {
+        archivo.delete();
+    }
+
+    /* Regresa un mapa con las repeticiones de cada palabra del archivo. */
+    private static Map<String, Integer> conteo(Archivo archivo) {
+        Map<String, Integer> conteo = new HashMap<>();
+        for (Archivo.PalabraContada palabra : archivo)
+            conteo.put(palabra.obtenerPalabra(),
+                       palabra.obtenerRepeticiones());
+        return conteo;
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * Archivo#Archivo(File,int,ConfiguracionArchivo)} contando en paralelo:
+     * los conteos deben ser iguales a los secuenciales, con hilos propios o
+     * compartidos, y los hilos compartidos deben seguir activos al terminar.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Test public void testConteoParalelo() throws IOException {
+        Archivo secuencial = new Archivo(archivo, 1);
+        ConfiguracionArchivo configuracion = new ConfiguracionArchivo();
+        configuracion.setParalelismo(2 + random.nextInt(4));
+        configuracion.setTamanoRango(1 + random.nextInt(4096));
+        Archivo paralelo = new Archivo(archivo, 1, configuracion);
+        Assert.assertTrue(secuencial.totalPalabras() == paralelo.totalPalabras());
+        Assert.assertEquals(conteo(secuencial), conteo(paralelo));
+        ForkJoinPool hilos = new ForkJoinPool(configuracion.getParalelismo());
+        try {
+            configuracion.setHilosConteo(hilos);
+            Assert.assertTrue(configuracion.getHilosConteo() == hilos);
+            for (int i = 0; i < 2; i++) {
+                Archivo compartido = new Archivo(archivo, 2 + i, configuracion);
+                Assert.assertEquals(conteo(secuencial), conteo(compartido));
+                Assert.assertFalse(hilos.isShutdown());
+            }
+        } finally {
+            hilos.shutdown();
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * Archivo#Archivo(File,int,ConfiguracionArchivo)} con el lector por
+     * caracteres: los conteos deben ser iguales a los del tokenizador mapeado
+     * cuando la codificación por omisión es UTF-8.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Test public void testLectorPalabra() throws IOException {
+        Assume.assumeTrue(Charset.defaultCharset().equals(StandardCharsets.UTF_8));
+        Archivo mapeado = new Archivo(archivo, 1);
+        ConfiguracionArchivo configuracion = new ConfiguracionArchivo();
+        configuracion.setLectorMapeado(false);
+        Archivo lector = new Archivo(archivo, 1, configuracion);
+        Assert.assertEquals(conteo(mapeado), conteo(lector));
+    }
+
+    /**
+     * Prueba unitaria para {@link Archivo#contienePalabra}, {@link
+     * Archivo#contieneIdentificador} y {@link Archivo#repeticiones}.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Test public void testContienePalabra() throws IOException {
+        Archivo a = new Archivo(archivo, 1);
+        TablaSimbolos tabla = a.obtenerTablaSimbolos();
+        Map<String, Integer> conteo = conteo(a);
+        for (Archivo.PalabraContada palabra : a) {
+            Assert.assertTrue(a.contienePalabra(palabra.obtenerPalabra()));
+            Assert.assertTrue(a.contieneIdentificador(palabra.obtenerIdentificador()));
+            Assert.assertTrue(a.repeticiones(palabra.obtenerIdentificador()) ==
+                              palabra.obtenerRepeticiones());
+            Assert.assertEquals(palabra.obtenerPalabra(),
+                                tabla.palabra(palabra.obtenerIdentificador()));
+        }
+        Assert.assertTrue(a.contienePalabra("ÁRBOL"));
+        Assert.assertFalse(a.contienePalabra("ausente"));
+        int nuevo = tabla.identificador("ausente");
+        Assert.assertFalse(a.contieneIdentificador(nuevo));
+        Assert.assertTrue(a.repeticiones(nuevo) == 0);
+        Assert.assertTrue(conteo.size() == a.totalPalabras());
+    }
+
+    /**
+     * Prueba unitaria para el filtro de Bloom de {@link Archivo}: con o sin
+     * filtro, {@link Archivo#contienePalabra} y {@link
+     * Archivo#estimaRepeticiones} deben dar lo mismo para palabras presentes y
+     * ausentes.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Test public void testFiltroBloom() throws IOException {
+        Archivo a = new Archivo(archivo, 1);
+        ConfiguracionArchivo configuracion = new ConfiguracionArchivo();
+        configuracion.setTasaFiltro(0);
+        Archivo b = new Archivo(archivo, 1, configuracion);
+        Assert.assertTrue(a.obtenerFiltro() != null);
+        Assert.assertTrue(a.obtenerFiltro().getElementos() == a.totalPalabras());
+        Assert.assertTrue(b.obtenerFiltro() == null);
+        for (Archivo.PalabraContada palabra : a) {
+            String p = palabra.obtenerPalabra();
+            Assert.assertTrue(a.obtenerFiltro().contiene(p));
+            Assert.assertTrue(a.contienePalabra(p) && b.contienePalabra(p));
+            Assert.assertTrue(a.estimaRepeticiones(p) == b.estimaRepeticiones(p));
+        }
+        for (int i = 0; i < 1000; i++) {
+            String p = "ausente" + i;
+            Assert.assertFalse(a.contienePalabra(p));
+            Assert.assertFalse(b.contienePalabra(p));
+            Assert.assertTrue(a.estimaRepeticiones(p) == 0);
+        }
+        double[] invalidas = { -0.1, 1, Double.NaN };
+        for (double tasa : invalidas)
+            try {
+                configuracion.setTasaFiltro(tasa);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Archivo#Archivo(File,int,ConfiguracionArchivo)}
+     * con una tabla de símbolos compartida: la misma palabra debe tener el mismo
+     * identificador en ambos archivos, y la tabla debe guardarla una sola vez.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Test public void testTablaCompartida() throws IOException {
+        ConfiguracionArchivo configuracion = new ConfiguracionArchivo();
+        Archivo a = new Archivo(archivo, 1, configuracion);
+        configuracion.setParalelismo(2);
+        configuracion.setTamanoRango(1 + random.nextInt(4096));
+        Archivo b = new Archivo(archivo, 2, configuracion);
+        Assert.assertTrue(a.obtenerTablaSimbolos() == b.obtenerTablaSimbolos());
+        Assert.assertTrue(a.obtenerTablaSimbolos().getElementos() == a.totalPalabras());
+        Map<String, Integer> ids = new HashMap<>();
+        for (Archivo.PalabraContada palabra : a)
+            ids.put(palabra.obtenerPalabra(), palabra.obtenerIdentificador());
+        int anterior = -1;
+        for (Archivo.PalabraContada palabra : b) {
+            Assert.assertTrue(ids.get(palabra.obtenerPalabra()) == palabra.obtenerIdentificador());
+            Assert.assertTrue(palabra.obtenerIdentificador() > anterior);
+            anterior = palabra.obtenerIdentificador();
+        }
+        try {
+            configuracion.setTablaSimbolos(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /* Regresa un mapa con el identificador de cada palabra del archivo. */
+    private static Map<String, Integer> identificadores(Archivo archivo) {
+        Map<String, Integer> ids = new HashMap<>();
+        for (Archivo.PalabraContada palabra : archivo)
+            ids.put(palabra.obtenerPalabra(), palabra.obtenerIdentificador());
+        return ids;
+    }
+
+    /**
+     * Prueba unitaria para {@link Archivo#registra}: con el registro diferido,
+     * los identificadores deben depender sólo del orden en que se registran los
+     * archivos, no del orden en que se leyeron.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Test public void testRegistroDiferido() throws IOException {
+        File otro = File.createTempFile("otro", ".txt");
+        try {
+            try (BufferedWriter out = new BufferedWriter(
+                     new OutputStreamWriter(new FileOutputStream(otro),
+                                            StandardCharsets.UTF_8))) {
+                for (int i = 0; i < 1000; i++)
+                    out.write("otra" + random.nextInt(500) + " datos ");
+            }
+            ConfiguracionArchivo inmediata = new ConfiguracionArchivo();
+            Archivo a = new Archivo(archivo, 1, inmediata);
+            Archivo b = new Archivo(otro, 2, inmediata);
+            ConfiguracionArchivo diferida = new ConfiguracionArchivo();
+            diferida.setRegistroDiferido(true);
+            Assert.assertTrue(diferida.difiereRegistro());
+            Archivo d = new Archivo(otro, 2, diferida);
+            Archivo c = new Archivo(archivo, 1, diferida);
+            Assert.assertTrue(diferida.getTablaSimbolos().getElementos() == 0);
+            Assert.assertTrue(diferida.getIndiceInvertido().totalArchivos() == 0);
+            c.registra();
+            d.registra();
+            d.registra();
+            Assert.assertTrue(diferida.getTablaSimbolos().getElementos() ==
+                              inmediata.getTablaSimbolos().getElementos());
+            Assert.assertTrue(diferida.getIndiceInvertido().totalArchivos() == 2);
+            Assert.assertEquals(identificadores(a), identificadores(c));
+            Assert.assertEquals(identificadores(b), identificadores(d));
+        } finally {
+            otro.delete();
+        }
+    }
+
+    /* Regresa las k palabras con más repeticiones del conteo. */
+    private static Set<String> masRepetidas(Map<String, Integer> conteo, int k) {
+        List<Map.Entry<String, Integer>> entradas = new ArrayList<>(conteo.entrySet());
+        entradas.sort((a, b) -> b.getValue() - a.getValue());
+        Set<String> palabras = new HashSet<>();
+        for (int i = 0; i < k && i < entradas.size(); i++)
+            palabras.add(entradas.get(i).getKey());
+        return palabras;
+    }
+
+    /**
+     * Prueba unitaria para {@link Archivo#palabrasMasRepetidas}: deben ser las
+     * primeras del ordenamiento de todas las palabras por repeticiones y, entre
+     * empates, por identificador.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Test public void testPalabrasMasRepetidas() throws IOException {
+        Archivo a = new Archivo(archivo, 1);
+        List<Archivo.PalabraContada> todas = new ArrayList<>();
+        for (Archivo.PalabraContada palabra : a)
+            todas.add(palabra);
+        todas.sort((p, q) -> p.obtenerRepeticiones() != q.obtenerRepeticiones()
+                             ? q.obtenerRepeticiones() - p.obtenerRepeticiones()
+                             : p.obtenerIdentificador() - q.obtenerIdentificador());
+        for (int k : new int[] { 1, 3, todas.size(), todas.size() + 5 }) {
+            int i = 0;
+            for (Archivo.PalabraContada palabra : a.palabrasMasRepetidas(k)) {
+                Assert.assertEquals(todas.get(i).obtenerPalabra(), palabra.obtenerPalabra());
+                Assert.assertTrue(todas.get(i).obtenerRepeticiones() == palabra.obtenerRepeticiones());
+                i++;
+            }
+            Assert.assertTrue(i == Math.min(k, todas.size()));
+        }
+        try {
+            a.palabrasMasRepetidas(0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Archivo#palabrasPorRepeticiones}: debe
+     * recorrer todas las palabras por repeticiones y, entre empates, por
+     * identificador.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Test public void testPalabrasPorRepeticiones() throws IOException {
+        Archivo a = new Archivo(archivo, 1);
+        List<Archivo.PalabraContada> todas = new ArrayList<>();
+        for (Archivo.PalabraContada palabra : a)
+            todas.add(palabra);
+        todas.sort((p, q) -> p.obtenerRepeticiones() != q.obtenerRepeticiones()
+                             ? q.obtenerRepeticiones() - p.obtenerRepeticiones()
+                             : p.obtenerIdentificador() - q.obtenerIdentificador());
+        Iterator<Archivo.PalabraContada> iterador = a.palabrasPorRepeticiones();
+        for (Archivo.PalabraContada esperada : todas) {
+            Assert.assertTrue(iterador.hasNext());
+            Archivo.PalabraContada palabra = iterador.next();
+            Assert.assertEquals(esperada.obtenerPalabra(), palabra.obtenerPalabra());
+            Assert.assertTrue(esperada.obtenerRepeticiones() == palabra.obtenerRepeticiones());
+        }
+        Assert.assertFalse(iterador.hasNext());
+        try {
+            iterador.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Archivo#palabrasEnOrdenAlfabetico}: debe
+     * tener todas las palabras del archivo, en orden alfabético.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Test public void testPalabrasEnOrdenAlfabetico() throws IOException {
+        Archivo a = new Archivo(archivo, 1);
+        Map<String, Integer> conteo = conteo(a);
+        List<String> esperadas = new ArrayList<>(conteo.keySet());
+        esperadas.sort(null);
+        int i = 0;
+        for (Archivo.PalabraContada palabra : a.palabrasEnOrdenAlfabetico()) {
+            Assert.assertEquals(esperadas.get(i++), palabra.obtenerPalabra());
+            Assert.assertTrue(conteo.get(palabra.obtenerPalabra()) == palabra.obtenerRepeticiones());
+        }
+        Assert.assertTrue(i == esperadas.size());
+    }
+
+    /**
+     * Prueba unitaria para {@link Archivo#umbralRepeticiones}: debe ser la
+     * k-ésima repetición más alta del archivo.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Test public void testUmbralRepeticiones() throws IOException {
+        Archivo a = new Archivo(archivo, 1);
+        List<Integer> repeticiones = new ArrayList<>(conteo(a).values());
+        repeticiones.sort((p, q) -> q - p);
+        for (int k = 1; k <= repeticiones.size(); k++)
+            Assert.assertTrue(a.umbralRepeticiones(k) == repeticiones.get(k - 1));
+        Assert.assertTrue(a.umbralRepeticiones(repeticiones.size() + 1)
+                          == repeticiones.get(repeticiones.size() - 1));
+        try {
+            a.umbralRepeticiones(0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para el conteo aproximado de {@link
+     * Archivo#Archivo(File,int,ConfiguracionArchivo)} sobre un archivo con una
+     * distribución de Zipf y muchas palabras que aparecen una sola vez: las 15
+     * palabras más repetidas deben ser las del conteo exacto, y todas las cotas
+     * de error deben cumplirse.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Test public void testConteoAproximado() throws IOException {
+        File zipf = File.createTempFile("zipf", ".txt");
+        try {
+            int distintas = 2000, k = 15;
+            double[] acumulada = new double[distintas];
+            double suma = 0;
+            for (int i = 0; i < distintas; i++)
+                acumulada[i] = suma += 1.0 / Math.pow(i + 1, 1.1);
+            try (BufferedWriter out = new BufferedWriter(
+                     new OutputStreamWriter(new FileOutputStream(zipf),
+                                            StandardCharsets.UTF_8))) {
+                for (int i = 0; i < 100000; i++) {
+                    if (random.nextInt(4) == 0) {
+                        out.write("id" + Long.toHexString(random.nextLong()) + " ");
+                        continue;
+                    }
+                    int j = Arrays.binarySearch(acumulada, random.nextDouble() * suma);
+                    out.write("palabra" + (j < 0 ? -j - 1 : j) + " ");
+                }
+            }
+            Archivo exacto = new Archivo(zipf, 1);
+            ConfiguracionArchivo configuracion = new ConfiguracionArchivo();
+            configuracion.setContadores(200);
+            Archivo aproximado = new Archivo(zipf, 1, configuracion);
+            Assert.assertFalse(exacto.esAproximado());
+            Assert.assertTrue(aproximado.esAproximado());
+            Assert.assertTrue(aproximado.totalPalabras() == 200);
+            Map<String, Integer> real = conteo(exacto);
+            Set<String> esperadas = masRepetidas(real, k);
+            Set<String> obtenidas = masRepetidas(conteo(aproximado), k);
+            obtenidas.retainAll(esperadas);
+            Assert.assertTrue(obtenidas.size() == k);
+            long total = 0;
+            for (Archivo.PalabraContada palabra : aproximado) {
+                int r = real.get(palabra.obtenerPalabra());
+                Assert.assertTrue(palabra.obtenerRepeticiones() >= r);
+                Assert.assertTrue(palabra.obtenerRepeticiones() - palabra.obtenerError() <= r);
+                Assert.assertTrue(palabra.obtenerError() <= aproximado.obtenerCotaResumen());
+                total += palabra.obtenerRepeticiones();
+            }
+            Assert.assertTrue(total == aproximado.totalRepeticiones());
+            Assert.assertTrue(total == exacto.totalRepeticiones());
+            Assert.assertTrue(aproximado.obtenerCotaResumen() <= total / 200);
+            for (Map.Entry<String, Integer> e : real.entrySet()) {
+                Assert.assertTrue(aproximado.estimaRepeticiones(e.getKey()) >= e.getValue());
+                Assert.assertTrue(aproximado.contienePalabra(e.getKey()));
+                int id = aproximado.obtenerTablaSimbolos().busca(e.getKey());
+                if (id < 0 || !aproximado.contieneIdentificador(id))
+                    Assert.assertTrue(e.getValue() <= aproximado.obtenerCotaResumen());
+                Assert.assertTrue(exacto.estimaRepeticiones(e.getKey()) == e.getValue());
+            }
+            try {
+                configuracion.setContadores(-1);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+        } finally {
+            zipf.delete();
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Archivo#estimaPalabrasDistintas} y {@link
+     * Archivo#obtenerHyperLogLog}: la estimación debe estar cerca del número real
+     * de palabras distintas en ambos conteos, y la combinación de los bosquejos
+     * de dos archivos cerca del tamaño de la unión de sus vocabularios.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Test public void testPalabrasDistintas() throws IOException {
+        File a = File.createTempFile("vocabularioA", ".txt");
+        File b = File.createTempFile("vocabularioB", ".txt");
+        try {
+            Set<String> vocabularioA = new HashSet<>();
+            Set<String> vocabularioB = new HashSet<>();
+            int n = 20000 + random.nextInt(20000);
+            try (BufferedWriter outA = new BufferedWriter(
+                     new OutputStreamWriter(new FileOutputStream(a), StandardCharsets.UTF_8));
+                 BufferedWriter outB = new BufferedWriter(
+                     new OutputStreamWriter(new FileOutputStream(b), StandardCharsets.UTF_8))) {
+                for (int i = 0; i < 60000; i++) {
+                    String palabra = "palabra" + random.nextInt(n);
+                    if (random.nextBoolean()) {
+                        vocabularioA.add(palabra);
+                        outA.write(palabra + " ");
+                    } else {
+                        palabra = "palabra" + (n / 2 + random.nextInt(n));
+                        vocabularioB.add(palabra);
+                        outB.write(palabra + "\n");
+                    }
+                }
+            }
+            ConfiguracionArchivo configuracion = new ConfiguracionArchivo();
+            Archivo exactoA = new Archivo(a, 1, configuracion);
+            Archivo exactoB = new Archivo(b, 2, configuracion);
+            ConfiguracionArchivo aproximada = new ConfiguracionArchivo();
+            aproximada.setContadores(100);
+            Archivo aproximadoA = new Archivo(a, 1, aproximada);
+            double error = 4 * exactoA.obtenerHyperLogLog().errorEstandar();
+            Assert.assertTrue(exactoA.totalPalabras() == vocabularioA.size());
+            Assert.assertTrue(Math.abs(exactoA.estimaPalabrasDistintas() - vocabularioA.size())
+                              <= error * vocabularioA.size());
+            Assert.assertTrue(aproximadoA.estimaPalabrasDistintas() == exactoA.estimaPalabrasDistintas());
+            Assert.assertTrue(Math.abs(exactoB.estimaPalabrasDistintas() - vocabularioB.size())
+                              <= error * vocabularioB.size());
+            vocabularioA.addAll(vocabularioB);
+            long antes = exactoA.estimaPalabrasDistintas();
+            HyperLogLog union = exactoA.obtenerHyperLogLog();
+            union.combina(exactoB.obtenerHyperLogLog());
+            Assert.assertTrue(exactoA.estimaPalabrasDistintas() == antes);
+            Assert.assertTrue(Math.abs(union.estima() - vocabularioA.size()) <= error * vocabularioA.size());
+            Assert.assertTrue(configuracion.getTablaSimbolos().getElementos() == vocabularioA.size());
+            try {
+                configuracion.setPrecision(HyperLogLog.PRECISION_MAXIMA + 1);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+        } finally {
+            a.delete();
+            b.delete();
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Archivo#similitud}: un archivo es idéntico a sí
+     * mismo, la similitud es simétrica, y un archivo sin palabras largas no se
+     * parece a ninguno.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Test public void testSimilitud() throws IOException {
+        File otro = File.createTempFile("similitud", ".txt");
+        try {
+            try (BufferedWriter out = new BufferedWriter(
+                     new OutputStreamWriter(new FileOutputStream(otro), StandardCharsets.UTF_8))) {
+                out.write("estructuras rojinegro pingüino documento");
+            }
+            ConfiguracionArchivo configuracion = new ConfiguracionArchivo();
+            Archivo a = new Archivo(archivo, 1, configuracion);
+            Archivo b = new Archivo(otro, 2, configuracion);
+            configuracion.setContadores(5);
+            Archivo c = new Archivo(archivo, 3, configuracion);
+            // a tiene {estructuras, rojinegro, pingüino} y b además documento.
+            Assert.assertTrue(a.similitud(a) == 1);
+            Assert.assertTrue(a.similitud(c) == 1);
+            Assert.assertTrue(a.similitud(b) == b.similitud(a));
+            Assert.assertTrue(a.similitud(b) > 0.25);
+            File corto = File.createTempFile("corto", ".txt");
+            try {
+                Archivo d = new Archivo(corto, 4, configuracion);
+                Assert.assertTrue(d.similitud(a) == 0);
+            } finally {
+                corto.delete();
+            }
+            configuracion.setTamanoFirma(16);
+            Archivo e = new Archivo(otro, 5, configuracion);
+            try {
+                a.similitud(e);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+        } finally {
+            otro.delete();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package mx.unam.ciencias.edd.proyecto3.test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import mx.unam.ciencias.edd.proyecto3.reportes.IndiceInvertido;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link IndiceInvertido}.
+ */
+public class TestIndiceInvertido {
+
+    /** Expiración para que ninguna prueba tarde más de 10 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(10);
+
+    /* Generador de números aleatorios. */
+    private Random random = new Random();
+    /* El índice. */
+    private IndiceInvertido indice = new IndiceInvertido();
+
+    /**
+     * Prueba unitaria para {@link IndiceInvertido#agrega}, {@link
+     * IndiceInvertido#archivos} y {@link IndiceInvertido#frecuencia}: cada
+     * palabra debe listar exactamente los archivos que la contienen.
+     */
+    @Test public void testAgrega() {
+        int archivos = 10 + random.nextInt(20), palabras = 200 + random.nextInt(300);
+        @SuppressWarnings("unchecked") Set<Integer>[] esperado = new Set[palabras];
+        for (int p = 0; p < palabras; p++)
+            esperado[p] = new HashSet<>();
+        for (int a = 0; a < archivos; a++) {
+            Set<Integer> distintas = new HashSet<>();
+            for (int i = random.nextInt(palabras); i > 0; i--)
+                distintas.add(random.nextInt(palabras));
+            int[] arreglo = new int[distintas.size()];
+            int i = 0;
+            for (int p : distintas) {
+                arreglo[i++] = p;
+                esperado[p].add(a);
+            }
+            indice.agrega(a, arreglo);
+        }
+        Assert.assertTrue(indice.totalArchivos() == archivos);
+        for (int p = 0; p < palabras; p++) {
+            int[] lista = indice.archivos(p);
+            Assert.assertTrue(indice.frecuencia(p) == esperado[p].size());
+            Assert.assertTrue(lista.length == esperado[p].size());
+            for (int a : lista)
+                Assert.assertTrue(esperado[p].contains(a));
+            /* El arreglo regresado es una copia. */
+            Arrays.fill(lista, -1);
+            Assert.assertTrue(indice.archivos(p).length == 0 || indice.archivos(p)[0] != -1);
+        }
+        Assert.assertTrue(indice.archivos(palabras * 4).length == 0);
+        Assert.assertTrue(indice.frecuencia(-1) == 0);
+        try {
+            indice.agrega(archivos, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            indice.agrega(archivos, new int[] { 0, -1 });
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(indice.frecuencia(0) == esperado[0].size());
+        Assert.assertTrue(indice.totalArchivos() == archivos);
+    }
+}
@@ -0,0 +1,116 @@
+package mx.unam.ciencias.edd.proyecto3.test;
+
+import java.text.Normalizer;
+import java.util.Random;
+import mx.unam.ciencias.edd.proyecto3.util.NormalizadorPalabra;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link NormalizadorPalabra}.
+ */
+public class TestNormalizadorPalabra {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Corpus dorado: palabras con los casos especiales de la normalización. */
+    private static final String[] CORPUS = {
+        "", "a", "Hola", "MUNDO", "¿Cómo?", "estás", "Árbol", "ÁRBOL",
+        "pingüino", "Niño", "canción,", "(paréntesis)", "\"comillas\"",
+        "C++", "a+b", "x-y", "e-mail", "3.1416", "2020-2", "¡¡¡", "...",
+        "straße", "STRASSE", "ﬁn", "ｆｕｌｌ", "x²", "½", "Ⅻ", "ΟΔΥΣΣΕΥΣ",
+        "ΣΑΣ", "Σ", "İstanbul", "DİYARBAKIR", "ǅemal", "ﬀ", "日本語",
+        "한국어", "٣٤٥", "۱۲۳", "mañana ", " espacio", "tab\u0009",
+        "é", "ño", "😀emoji", "𝔘𝔫𝔦𝔠𝔬𝔡𝔢", "𝟙𝟚𝟛", "\ud800solo",
+        "fin\udc00", "zwj‍x", "bom﻿", "Ǆ", "ﾊﾝｶｸ", "Å", "Ω",
+        "K", "ǰ", "ŉ", "ΐ", "İ", "ﬃ", "ß", "ẞ", "Ⓐⓑ", "㎏", "™"
+    };
+
+    /* La normalización original de Archivo. */
+    private static String normalizacionOriginal(String cadena) {
+        String cadenaNormalizada = Normalizer.normalize(cadena, Normalizer.Form.NFKD);
+        cadenaNormalizada = cadenaNormalizada.trim().toLowerCase();
+        String regex = "[^\\p{L}\\p{Nd}+]";
+        return cadenaNormalizada.replaceAll(regex, "");
+    }
+
+    /* Normaliza una cadena con el normalizador a partir de un arreglo. */
+    private static String normalizaArreglo(NormalizadorPalabra normalizador,
+                                           String cadena) {
+        char[] arreglo = ("##" + cadena + "##").toCharArray();
+        int n = normalizador.normaliza(arreglo, 2, cadena.length());
+        Assert.assertTrue(n == normalizador.longitud());
+        return normalizador.cadena();
+    }
+
+    /**
+     * Prueba unitaria para {@link NormalizadorPalabra#normaliza(String)} con
+     * el corpus dorado.
+     */
+    @Test public void testNormalizaCadena() {
+        NormalizadorPalabra normalizador = new NormalizadorPalabra();
+        for (String palabra : CORPUS) {
+            normalizador.normaliza(palabra);
+            Assert.assertEquals(palabra, normalizacionOriginal(palabra),
+                                normalizador.cadena());
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * NormalizadorPalabra#normaliza(char[],int,int)} con el corpus dorado.
+     */
+    @Test public void testNormalizaArreglo() {
+        NormalizadorPalabra normalizador = new NormalizadorPalabra();
+        for (String palabra : CORPUS)
+            Assert.assertEquals(palabra, normalizacionOriginal(palabra),
+                                normalizaArreglo(normalizador, palabra));
+    }
+
+    /**
+     * Prueba unitaria para {@link NormalizadorPalabra#normaliza(String)} con
+     * palabras aleatorias, ASCII y no ASCII.
+     */
+    @Test public void testNormalizaAleatorias() {
+        Random random = new Random();
+        NormalizadorPalabra normalizador = new NormalizadorPalabra();
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int n = random.nextInt(40);
+            boolean ascii = random.nextBoolean();
+            for (int j = 0; j < n; j++) {
+                int c = ascii ? random.nextInt(0x80)
+                    : random.nextInt(random.nextBoolean() ? 0x800 : 0x30000);
+                if (Character.isValidCodePoint(c))
+                    sb.appendCodePoint(c);
+            }
+            String palabra = sb.toString();
+            String esperada = normalizacionOriginal(palabra);
+            normalizador.normaliza(palabra);
+            Assert.assertEquals(esperada, normalizador.cadena());
+            Assert.assertEquals(esperada, normalizaArreglo(normalizador, palabra));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link NormalizadorPalabra#buffer}: el buffer se
+     * reutiliza entre llamadas y crece con palabras largas.
+     */
+    @Test public void testBuffer() {
+        NormalizadorPalabra normalizador = new NormalizadorPalabra();
+        normalizador.normaliza("Hola");
+        char[] buffer = normalizador.buffer();
+        normalizador.normaliza("Mundo");
+        Assert.assertSame(buffer, normalizador.buffer());
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++)
+            sb.append("Á");
+        normalizador.normaliza(sb.toString());
+        Assert.assertTrue(normalizador.longitud() == 1000);
+        Assert.assertEquals(normalizacionOriginal(sb.toString()),
+                            normalizador.cadena());
+    }
+}
@@ -0,0 +1,201 @@
+package mx.unam.ciencias.edd.proyecto3.test;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.proyecto3.reportes.Archivo;
+import mx.unam.ciencias.edd.proyecto3.reportes.ConfiguracionArchivo;
+import mx.unam.ciencias.edd.proyecto3.reportes.IndiceInvertido;
+import mx.unam.ciencias.edd.proyecto3.reportes.PalabrasCorpus;
+import mx.unam.ciencias.edd.proyecto3.reportes.TablaSimbolos;
+import mx.unam.ciencias.edd.proyecto3.util.Pareja;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link PalabrasCorpus}.
+ */
+public class TestPalabrasCorpus {
+
+    /** Expiración para que ninguna prueba tarde más de 10 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(10);
+
+    /* Número de archivos del corpus. */
+    private static final int ARCHIVOS = 4;
+    /* Número de palabras distintas de la distribución. */
+    private static final int DISTINTAS = 3000;
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Los archivos de prueba. */
+    private File[] archivos;
+
+    /**
+     * Crea archivos de prueba con palabras con una distribución de Zipf, cada
+     * uno con el orden de las palabras revuelto de forma distinta.
+     * @throws IOException si no se puede escribir un archivo.
+     */
+    @Before public void creaArchivos() throws IOException {
+        random = new Random();
+        double[] acumulada = new double[DISTINTAS];
+        double suma = 0;
+        for (int i = 0; i < DISTINTAS; i++)
+            acumulada[i] = suma += 1.0 / Math.pow(i + 1, 1.1);
+        archivos = new File[ARCHIVOS];
+        for (int a = 0; a < ARCHIVOS; a++) {
+            archivos[a] = File.createTempFile("corpus", ".txt");
+            // Cada archivo desplaza el rango de las palabras para que sus más
+            // repetidas no coincidan del todo.
+            int desplazamiento = random.nextInt(20);
+            try (BufferedWriter out = new BufferedWriter(
+                     new OutputStreamWriter(new FileOutputStream(archivos[a]),
+                                            StandardCharsets.UTF_8))) {
+                int total = 20000 + random.nextInt(20000);
+                for (int i = 0; i < total; i++) {
+                    int j = Arrays.binarySearch(acumulada, random.nextDouble() * suma);
+                    j = j < 0 ? -j - 1 : j;
+                    out.write("palabra" + (j + desplazamiento) + " ");
+                }
+            }
+        }
+    }
+
+    /**
+     * Borra los archivos de prueba.
+     */
+    @After public void borraArchivos() {
+        for (File archivo : archivos)
+            archivo.delete();
+    }
+
+    /* Cuenta los archivos de prueba compartiendo la tabla de símbolos. */
+    private Lista<Archivo> cuentaArchivos(ConfiguracionArchivo configuracion) throws IOException {
+        Lista<Archivo> lista = new Lista<>();
+        for (int a = 0; a < ARCHIVOS; a++)
+            lista.agrega(new Archivo(archivos[a], a + 1, configuracion));
+        return lista;
+    }
+
+    /* Regresa las palabras ordenadas por repeticiones en todos los archivos y,
+     * entre empates, por identificador. */
+    private static List<Map.Entry<String, Long>> ordenadas(Lista<Archivo> lista) {
+        Map<String, Long> conteo = new HashMap<>();
+        for (Archivo archivo : lista)
+            for (Archivo.PalabraContada palabra : archivo)
+                conteo.merge(palabra.obtenerPalabra(), (long) palabra.obtenerRepeticiones(), Long::sum);
+        TablaSimbolos tabla = lista.getPrimero().obtenerTablaSimbolos();
+        List<Map.Entry<String, Long>> entradas = new ArrayList<>(conteo.entrySet());
+        entradas.sort((p, q) -> !p.getValue().equals(q.getValue())
+                                ? Long.compare(q.getValue(), p.getValue())
+                                : Integer.compare(tabla.busca(p.getKey()), tabla.busca(q.getKey())));
+        return entradas;
+    }
+
+    /**
+     * Prueba unitaria para {@link PalabrasCorpus#palabras}: deben ser las
+     * primeras de sumar las repeticiones de todos los archivos, y la mezcla
+     * debe detenerse antes de leer todos los conteos.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Test public void testPalabras() throws IOException {
+        Lista<Archivo> lista = cuentaArchivos(new ConfiguracionArchivo());
+        List<Map.Entry<String, Long>> esperadas = ordenadas(lista);
+        long totalEntradas = 0;
+        for (Archivo archivo : lista)
+            totalEntradas += archivo.totalPalabras();
+        for (int k : new int[] { 1, 15, 100, esperadas.size(), esperadas.size() + 5 }) {
+            PalabrasCorpus corpus = new PalabrasCorpus(lista, k);
+            int i = 0;
+            for (Pareja<String, Long> pareja : corpus.palabras()) {
+                Assert.assertEquals(esperadas.get(i).getKey(), pareja.getX());
+                Assert.assertEquals(esperadas.get(i).getValue(), pareja.getY());
+                i++;
+            }
+            Assert.assertTrue(i == Math.min(k, esperadas.size()));
+            Assert.assertFalse(corpus.esAproximado());
+            Assert.assertTrue(corpus.totalEntradas() == totalEntradas);
+            Assert.assertTrue(corpus.palabrasRevisadas() <= corpus.entradasLeidas());
+            Assert.assertTrue(corpus.entradasLeidas() <= totalEntradas);
+            if (k <= 15)
+                Assert.assertTrue(corpus.entradasLeidas() < totalEntradas / 2);
+        }
+        try {
+            new PalabrasCorpus(lista, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new PalabrasCorpus(null, 1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link PalabrasCorpus#palabras} con una parte de los
+     * archivos del índice, y con archivos que no comparten el índice: los
+     * totales deben sumar sólo las repeticiones de los archivos dados.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Test public void testIndice() throws IOException {
+        Lista<Archivo> todos = cuentaArchivos(new ConfiguracionArchivo());
+        Lista<Archivo> parte = new Lista<>();
+        for (Archivo archivo : todos)
+            if (parte.getElementos() < ARCHIVOS - 1)
+                parte.agrega(archivo);
+        ConfiguracionArchivo configuracion = new ConfiguracionArchivo();
+        Lista<Archivo> separados = new Lista<>();
+        for (int a = 0; a < ARCHIVOS; a++) {
+            configuracion.setIndiceInvertido(new IndiceInvertido());
+            separados.agrega(new Archivo(archivos[a], a + 1, configuracion));
+        }
+        for (Lista<Archivo> lista : Arrays.asList(parte, separados)) {
+            List<Map.Entry<String, Long>> esperadas = ordenadas(lista);
+            int i = 0;
+            for (Pareja<String, Long> pareja : new PalabrasCorpus(lista, 50).palabras()) {
+                Assert.assertEquals(esperadas.get(i).getKey(), pareja.getX());
+                Assert.assertEquals(esperadas.get(i).getValue(), pareja.getY());
+                i++;
+            }
+            Assert.assertTrue(i == 50);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link PalabrasCorpus#PalabrasCorpus} sin archivos y
+     * con archivos contados de forma aproximada.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Test public void testCasosEspeciales() throws IOException {
+        PalabrasCorpus vacio = new PalabrasCorpus(new Lista<Archivo>(), 5);
+        Assert.assertTrue(vacio.palabras().esVacia());
+        Assert.assertTrue(vacio.entradasLeidas() == 0);
+        ConfiguracionArchivo configuracion = new ConfiguracionArchivo();
+        configuracion.setContadores(100);
+        Lista<Archivo> lista = cuentaArchivos(configuracion);
+        PalabrasCorpus corpus = new PalabrasCorpus(lista, 10);
+        Assert.assertTrue(corpus.esAproximado());
+        // Con conteos aproximados el resultado es el de sumar los conteos
+        // guardados de cada archivo.
+        List<Map.Entry<String, Long>> esperadas = ordenadas(lista);
+        int i = 0;
+        for (Pareja<String, Long> pareja : corpus.palabras()) {
+            Assert.assertEquals(esperadas.get(i).getKey(), pareja.getX());
+            Assert.assertEquals(esperadas.get(i).getValue(), pareja.getY());
+            i++;
+        }
+        Assert.assertTrue(i == 10);
+    }
+}
@@ -0,0 +1,179 @@
+package mx.unam.ciencias.edd.proyecto3.test;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import mx.unam.ciencias.edd.proyecto3.Reportador;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link Reportador}.
+ */
+public class TestReportador {
+
+    /** Expiración para que ninguna prueba tarde más de 10 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(10);
+
+    /* Número de archivos de entrada. */
+    private static final int ARCHIVOS = 6;
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Directorio temporal de la prueba. */
+    private File directorio;
+    /* Los archivos de entrada. */
+    private File[] archivos;
+
+    /**
+     * Crea archivos de entrada con palabras compartidas y propias, y con muchas
+     * palabras de repeticiones iguales, para que los empates se noten en los
+     * reportes.
+     * @throws IOException si no se puede escribir un archivo.
+     */
+    @Before public void creaArchivos() throws IOException {
+        random = new Random();
+        directorio = Files.createTempDirectory("reportador").toFile();
+        archivos = new File[ARCHIVOS];
+        for (int a = 0; a < ARCHIVOS; a++) {
+            archivos[a] = new File(directorio, "entrada" + a + ".txt");
+            try (BufferedWriter out = new BufferedWriter(
+                     new OutputStreamWriter(new FileOutputStream(archivos[a]),
+                                            StandardCharsets.UTF_8))) {
+                int total = 2000 + random.nextInt(2000);
+                for (int i = 0; i < total; i++) {
+                    out.write(random.nextBoolean() ? "comun" : "propia" + a + "_");
+                    out.write(random.nextInt(40) + " ");
+                }
+            }
+        }
+    }
+
+    /**
+     * Borra el directorio temporal con todo su contenido.
+     */
+    @After public void borraDirectorio() {
+        borra(directorio);
+    }
+
+    /* Borra un archivo o un directorio con todo su contenido. */
+    private static void borra(File archivo) {
+        File[] hijos = archivo.listFiles();
+        if (hijos != null)
+            for (File hijo : hijos)
+                borra(hijo);
+        archivo.delete();
+    }
+
+    /* Genera los reportes de los archivos de entrada en el directorio dado. */
+    private void reporta(File destino, String... banderas) {
+        reporta(archivos, destino, banderas);
+    }
+
+    /* Genera los reportes de los archivos dados en el directorio dado. */
+    private static void reporta(File[] archivos, File destino, String... banderas) {
+        List<String> argumentos = new ArrayList<>();
+        for (File archivo : archivos)
+            argumentos.add(archivo.getPath());
+        argumentos.addAll(Arrays.asList(banderas));
+        argumentos.add("-o");
+        argumentos.add(destino.getPath());
+        new Reportador(argumentos.toArray(new String[0])).ejecutar();
+    }
+
+    /* Verifica que dos directorios de reportes tengan los mismos archivos, con
+     * el mismo contenido. */
+    private static void comparaDirectorios(File esperado, File obtenido) throws IOException {
+        String[] nombres = esperado.list();
+        String[] otros = obtenido.list();
+        Arrays.sort(nombres);
+        Arrays.sort(otros);
+        Assert.assertArrayEquals(nombres, otros);
+        for (String nombre : nombres)
+            Assert.assertArrayEquals(nombre,
+                                     Files.readAllBytes(new File(esperado, nombre).toPath()),
+                                     Files.readAllBytes(new File(obtenido, nombre).toPath()));
+    }
+
+    /**
+     * Prueba unitaria para {@link Reportador#ejecutar} leyendo varios archivos
+     * a la vez: los reportes deben ser idénticos en cada ejecución, sin
+     * importar qué archivo termina primero de leerse.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Test public void testEjecucionesIdenticas() throws IOException {
+        File primera = new File(directorio, "salida0");
+        reporta(primera, "-j", "4");
+        Assert.assertTrue(new File(primera, "index.html").exists());
+        for (int i = 1; i < 4; i++) {
+            File salida = new File(directorio, "salida" + i);
+            reporta(salida, "-j", "4");
+            comparaDirectorios(primera, salida);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Reportador#ejecutar}: leer los archivos con
+     * varios hilos debe dar exactamente los mismos reportes que leerlos uno por
+     * uno.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Test public void testHilosComoSecuencial() throws IOException {
+        File secuencial = new File(directorio, "secuencial");
+        reporta(secuencial, "-j", "1");
+        for (String hilos : new String[] { "2", "4", String.valueOf(ARCHIVOS + 3) }) {
+            File concurrente = new File(directorio, "concurrente" + hilos);
+            reporta(concurrente, "-j", hilos);
+            comparaDirectorios(secuencial, concurrente);
+        }
+        File paralelo = new File(directorio, "paralelo");
+        reporta(paralelo, "-j", "3", "-p", "2");
+        comparaDirectorios(secuencial, paralelo);
+    }
+
+    /**
+     * Prueba unitaria para {@link Reportador#ejecutar} con archivos cuyos
+     * reportes se llamarían igual: cada uno debe recibir un nombre distinto, y
+     * los nombres deben asignarse igual con uno o con varios hilos.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Test public void testNombresRepetidos() throws IOException {
+        String[] rutas = { "a/notas.txt", "b/notas.md", "c/notas", "d/index.txt", "e/notas.tar.gz" };
+        File[] entradas = new File[rutas.length + archivos.length];
+        for (int i = 0; i < rutas.length; i++) {
+            entradas[i] = new File(directorio, rutas[i]);
+            entradas[i].getParentFile().mkdirs();
+            Files.copy(archivos[i].toPath(), entradas[i].toPath());
+        }
+        System.arraycopy(archivos, 0, entradas, rutas.length, archivos.length);
+        File secuencial = new File(directorio, "secuencial");
+        reporta(entradas, secuencial, "-j", "1");
+        String[] esperados = { "notas.html", "notas.html(1)", "notas.html(2)", "notas.html(3)",
+                               "index.html", "index.html(1)", "style.css" };
+        for (String nombre : esperados)
+            Assert.assertTrue(nombre, new File(secuencial, nombre).exists());
+        Assert.assertTrue(secuencial.list().length == entradas.length + 2);
+        String indice = new String(Files.readAllBytes(new File(secuencial, "index.html").toPath()),
+                                   StandardCharsets.UTF_8);
+        for (String nombre : esperados)
+            if (!nombre.equals("index.html") && !nombre.equals("style.css"))
+                Assert.assertTrue(nombre, indice.contains("\"" + nombre + "\""));
+        for (String hilos : new String[] { "2", "4", String.valueOf(entradas.length) }) {
+            File concurrente = new File(directorio, "concurrente" + hilos);
+            reporta(entradas, concurrente, "-j", hilos);
+            comparaDirectorios(secuencial, concurrente);
+        }
+    }
+}
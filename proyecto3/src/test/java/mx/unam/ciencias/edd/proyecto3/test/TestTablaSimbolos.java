@@ -0,0 +1,146 @@
+package mx.unam.ciencias.edd.proyecto3.test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import mx.unam.ciencias.edd.proyecto3.reportes.TablaSimbolos;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link TablaSimbolos}.
+ */
+public class TestTablaSimbolos {
+
+    /** Expiración para que ninguna prueba tarde más de 10 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(10);
+
+    /* Generador de números aleatorios. */
+    private Random random = new Random();
+    /* La tabla. */
+    private TablaSimbolos tabla = new TablaSimbolos();
+
+    /**
+     * Prueba unitaria para {@link TablaSimbolos#identificador}: los
+     * identificadores son densos y estables.
+     */
+    @Test public void testIdentificador() {
+        Map<String, Integer> esperado = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            String s = Integer.toString(random.nextInt(2000), 36);
+            int id = tabla.identificador(s);
+            Integer anterior = esperado.putIfAbsent(s, id);
+            if (anterior == null)
+                Assert.assertTrue(id == esperado.size() - 1);
+            else
+                Assert.assertTrue(id == anterior);
+            Assert.assertEquals(s, tabla.palabra(id));
+        }
+        Assert.assertTrue(tabla.getElementos() == esperado.size());
+        for (Map.Entry<String, Integer> e : esperado.entrySet())
+            Assert.assertTrue(tabla.busca(e.getKey()) == e.getValue());
+        Assert.assertTrue(tabla.busca("no-está") == -1);
+        Assert.assertTrue(tabla.busca(null) == -1);
+        try {
+            tabla.identificador(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            tabla.palabra(tabla.getElementos());
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link TablaSimbolos#identificadores} desde varios
+     * hilos: cada palabra debe recibir un solo identificador.
+     * @throws Exception si alguno de los hilos falla.
+     */
+    @Test public void testIdentificadoresConcurrentes() throws Exception {
+        int hilos = 4, n = 3000;
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        List<Future<Map<String, Integer>>> futuros = new ArrayList<>();
+        try {
+            for (int h = 0; h < hilos; h++) {
+                long semilla = random.nextLong();
+                futuros.add(ejecutor.submit(() -> {
+                    Random r = new Random(semilla);
+                    Map<String, Integer> vistos = new HashMap<>();
+                    for (int k = 0; k < 20; k++) {
+                        String[] palabras = new String[n / 20];
+                        for (int i = 0; i < palabras.length; i++)
+                            palabras[i] = "p" + r.nextInt(n);
+                        int[] ids = tabla.identificadores(palabras);
+                        for (int i = 0; i < palabras.length; i++)
+                            vistos.put(palabras[i], ids[i]);
+                    }
+                    return vistos;
+                }));
+            }
+            Map<String, Integer> todos = new HashMap<>();
+            for (Future<Map<String, Integer>> futuro : futuros)
+                for (Map.Entry<String, Integer> e : futuro.get().entrySet()) {
+                    Integer anterior = todos.putIfAbsent(e.getKey(), e.getValue());
+                    Assert.assertTrue(anterior == null || anterior.equals(e.getValue()));
+                }
+            Assert.assertTrue(tabla.getElementos() == todos.size());
+            boolean[] usados = new boolean[todos.size()];
+            for (Map.Entry<String, Integer> e : todos.entrySet()) {
+                Assert.assertFalse(usados[e.getValue()]);
+                usados[e.getValue()] = true;
+                Assert.assertEquals(e.getKey(), tabla.palabra(e.getValue()));
+            }
+        } finally {
+            ejecutor.shutdown();
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link TablaSimbolos#palabra} y {@link
+     * TablaSimbolos#busca} leyendo mientras otro hilo registra palabras: todo
+     * identificador menor que el número de elementos debe tener ya su palabra,
+     * aunque el arreglo crezca a la mitad de la lectura.
+     * @throws Exception si alguno de los hilos falla.
+     */
+    @Test public void testLecturasConcurrentes() throws Exception {
+        int hilos = 3, n = 20000;
+        AtomicBoolean termino = new AtomicBoolean();
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        List<Future<?>> futuros = new ArrayList<>();
+        try {
+            for (int h = 0; h < hilos; h++) {
+                long semilla = random.nextLong();
+                futuros.add(ejecutor.submit(() -> {
+                    Random r = new Random(semilla);
+                    while (!termino.get()) {
+                        int elementos = tabla.getElementos();
+                        if (elementos == 0)
+                            continue;
+                        int id = r.nextInt(elementos);
+                        String palabra = tabla.palabra(id);
+                        Assert.assertEquals("p" + id, palabra);
+                        Assert.assertTrue(tabla.busca(palabra) == id);
+                    }
+                    return null;
+                }));
+            }
+            for (int i = 0; i < n; i++)
+                Assert.assertTrue(tabla.identificador("p" + i) == i);
+            termino.set(true);
+            for (Future<?> futuro : futuros)
+                futuro.get();
+            Assert.assertTrue(tabla.getElementos() == n);
+        } finally {
+            termino.set(true);
+            ejecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package mx.unam.ciencias.edd.proyecto3.test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import mx.unam.ciencias.edd.proyecto3.io.TokenizadorMapeado;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link TokenizadorMapeado}.
+ */
+public class TestTokenizadorMapeado {
+
+    /** Expiración para que ninguna prueba tarde más de 10 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(10);
+
+    /* Palabras de uno a cuatro bytes por carácter en UTF-8. */
+    private static final String[] PALABRAS = {
+        "árbol", "niño", "pingüino", "canción,", "¿qué?", "日本語", "x",
+        "C++", "😀", "año🌳", "estructuras", "Ωmega"
+    };
+    /* Separadores entre palabras. */
+    private static final String[] SEPARADORES = {
+        " ", "  ", "\n", "\r\n", "\t", " \u0001 ", "\u007f"
+    };
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* El archivo de prueba. */
+    private File archivo;
+
+    /**
+     * Crea el archivo de prueba, vacío.
+     * @throws IOException si no se puede crear el archivo.
+     */
+    @Before public void creaArchivo() throws IOException {
+        random = new Random();
+        archivo = File.createTempFile("tokenizador", ".txt");
+    }
+
+    /**
+     * Borra el archivo de prueba.
+     */
+    @After public void borraArchivo() {
+        archivo.delete();
+    }
+
+    /* Escribe el texto en el archivo de prueba, codificado en UTF-8. */
+    private void escribe(String texto) throws IOException {
+        try (OutputStream out = new FileOutputStream(archivo)) {
+            out.write(texto.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /* Escribe en el archivo un texto aleatorio y lo regresa. */
+    private String escribeAleatorio(int palabras) throws IOException {
+        StringBuilder texto = new StringBuilder();
+        if (random.nextBoolean())
+            texto.append(SEPARADORES[random.nextInt(SEPARADORES.length)]);
+        for (int i = 0; i < palabras; i++) {
+            texto.append(PALABRAS[random.nextInt(PALABRAS.length)]);
+            if (i < palabras - 1 || random.nextBoolean())
+                texto.append(SEPARADORES[random.nextInt(SEPARADORES.length)]);
+        }
+        escribe(texto.toString());
+        return texto.toString();
+    }
+
+    /* Regresa las palabras del texto, separadas por el espacio y los
+     * caracteres de control ASCII. */
+    private static List<String> palabras(String texto) {
+        List<String> palabras = new ArrayList<>();
+        StringBuilder palabra = new StringBuilder();
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c <= 0x20 || c == 0x7f) {
+                if (palabra.length() > 0)
+                    palabras.add(palabra.toString());
+                palabra.setLength(0);
+            } else {
+                palabra.append(c);
+            }
+        }
+        if (palabra.length() > 0)
+            palabras.add(palabra.toString());
+        return palabras;
+    }
+
+    /* Lee todas las palabras del tokenizador, comprobando que caracteres y
+     * longitud coincidan con leePalabra. */
+    private static List<String> lee(TokenizadorMapeado in) throws IOException {
+        List<String> palabras = new ArrayList<>();
+        while (in.siguiente())
+            palabras.add(new String(in.caracteres(), 0, in.longitud()));
+        Assert.assertFalse(in.siguiente());
+        Assert.assertNull(in.leePalabra());
+        return palabras;
+    }
+
+    /**
+     * Prueba unitaria para {@link TokenizadorMapeado#siguiente} con el archivo
+     * completo: debe separar las palabras como el texto original, con acentos
+     * y caracteres de varios bytes.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Test public void testPalabrasMultibyte() throws IOException {
+        String texto = "Árbol\tniño  pingüino\r\n日本語 😀\u0001¿qué?\u007fañO";
+        escribe(texto);
+        try (TokenizadorMapeado in = new TokenizadorMapeado(archivo)) {
+            Assert.assertEquals(palabras(texto), lee(in));
+        }
+        texto = escribeAleatorio(5000);
+        try (TokenizadorMapeado in = new TokenizadorMapeado(archivo)) {
+            Assert.assertEquals(palabras(texto), lee(in));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link TokenizadorMapeado#leePalabra}.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Test public void testLeePalabra() throws IOException {
+        String texto = escribeAleatorio(500);
+        List<String> obtenidas = new ArrayList<>();
+        try (TokenizadorMapeado in = new TokenizadorMapeado(archivo)) {
+            String palabra;
+            while ((palabra = in.leePalabra()) != null)
+                obtenidas.add(palabra);
+        }
+        Assert.assertEquals(palabras(texto), obtenidas);
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * TokenizadorMapeado#TokenizadorMapeado(File,long,long,long)} con ventanas
+     * pequeñas: las palabras que cruzan el límite entre dos ventanas, incluso a
+     * la mitad de un carácter de varios bytes, deben leerse completas.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Test public void testVentanas() throws IOException {
+        String texto = escribeAleatorio(1000);
+        List<String> esperadas = palabras(texto);
+        long tamano = archivo.length();
+        for (long ventana = 1; ventana <= 17; ventana++)
+            try (TokenizadorMapeado in = new TokenizadorMapeado(archivo, 0, tamano, ventana)) {
+                Assert.assertEquals(esperadas, lee(in));
+            }
+        // Una sola palabra larga que cruza varias ventanas.
+        StringBuilder larga = new StringBuilder();
+        for (int i = 0; i < 300; i++)
+            larga.append(PALABRAS[random.nextInt(PALABRAS.length)]);
+        escribe(larga.toString());
+        try (TokenizadorMapeado in = new TokenizadorMapeado(archivo, 0, Long.MAX_VALUE, 7)) {
+            Assert.assertTrue(in.siguiente());
+            Assert.assertEquals(larga.toString(), new String(in.caracteres(), 0, in.longitud()));
+            Assert.assertFalse(in.siguiente());
+        }
+        try {
+            new TokenizadorMapeado(archivo, 0, tamano, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new TokenizadorMapeado(archivo, 0, tamano, 1L << 31);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new TokenizadorMapeado(archivo, 5, 4);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link TokenizadorMapeado#siguiente} con archivos
+     * vacíos o sólo con separadores.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Test public void testArchivoVacio() throws IOException {
+        for (String texto : new String[] { "", " ", "\n\r\n\t \u0001\u007f" }) {
+            escribe(texto);
+            try (TokenizadorMapeado in = new TokenizadorMapeado(archivo)) {
+                Assert.assertTrue(lee(in).isEmpty());
+            }
+            try (TokenizadorMapeado in = new TokenizadorMapeado(archivo, 0, Long.MAX_VALUE, 1)) {
+                Assert.assertTrue(lee(in).isEmpty());
+            }
+        }
+        escribe("");
+        long[] limites = TokenizadorMapeado.rangos(archivo, 1);
+        Assert.assertArrayEquals(new long[] { 0, 0 }, limites);
+    }
+
+    /**
+     * Prueba unitaria para {@link TokenizadorMapeado#rangos}: cada límite
+     * intermedio debe caer en un separador, y leer los rangos por separado
+     * debe dar las mismas palabras que leer el archivo completo.
+     * @throws IOException si ocurre un error de I/O.
+     */
+    @Test public void testRangos() throws IOException {
+        String texto = escribeAleatorio(3000);
+        List<String> esperadas = palabras(texto);
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        for (long tamanoRango : new long[] { 1, 2, 3, 7, 64, 1 + random.nextInt(4096),
+                                             bytes.length - 1, bytes.length, bytes.length + 1 }) {
+            long[] limites = TokenizadorMapeado.rangos(archivo, tamanoRango);
+            Assert.assertTrue(limites.length >= 2);
+            Assert.assertTrue(limites[0] == 0);
+            Assert.assertTrue(limites[limites.length - 1] == bytes.length);
+            for (int i = 1; i < limites.length - 1; i++) {
+                Assert.assertTrue(limites[i] > limites[i - 1]);
+                Assert.assertTrue(limites[i] - limites[i - 1] >= tamanoRango);
+                int b = bytes[(int) limites[i]] & 0xff;
+                Assert.assertTrue(b <= 0x20 || b == 0x7f);
+            }
+            List<String> obtenidas = new ArrayList<>();
+            for (int i = 0; i < limites.length - 1; i++) {
+                long ventana = 1 + random.nextInt(16);
+                try (TokenizadorMapeado in = new TokenizadorMapeado(archivo, limites[i],
+                                                                    limites[i + 1], ventana)) {
+                    obtenidas.addAll(lee(in));
+                }
+            }
+            Assert.assertEquals(esperadas, obtenidas);
+        }
+        try {
+            TokenizadorMapeado.rangos(archivo, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+}
@@ -1,5 +1,6 @@
 package mx.unam.ciencias.edd.test;
 
+import java.util.Arrays;
 import java.util.Random;
 import mx.unam.ciencias.edd.Arreglos;
 import org.junit.Assert;
@@ -120,4 +121,196 @@ public class TestArreglos {
         Assert.assertTrue(Arreglos.busquedaBinaria(arreglo, ini - 1) == -1);
         Assert.assertTrue(Arreglos.busquedaBinaria(arreglo, ini + total) == -1);
     }
+
+    /* Revisa que el arreglo esté partido alrededor del índice k. */
+    private static boolean estaPartido(int[] a, int k) {
+        for (int i = 0; i < a.length; i++)
+            if ((i < k && a[i] > a[k]) || (i > k && a[i] < a[k]))
+                return false;
+        return true;
+    }
+
+    /* Regresa un arreglo de n enteros en [0, m), o ordenado si m es cero. */
+    private int[] enteros(int n, int m) {
+        int[] a = new int[n];
+        for (int i = 0; i < n; i++)
+            a[i] = m == 0 ? i : random.nextInt(m);
+        return a;
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#seleccion(Comparable[],int)}.
+     */
+    @Test public void testSeleccion() {
+        for (int i = 0; i < total; i++)
+            arreglo[i] = random.nextInt(total);
+        Integer[] ordenado = arreglo.clone();
+        Arrays.sort(ordenado);
+        int k = random.nextInt(total);
+        Assert.assertEquals(ordenado[k], Arreglos.seleccion(arreglo, k));
+        Assert.assertEquals(ordenado[k], arreglo[k]);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(i < k ? arreglo[i] <= arreglo[k] : arreglo[i] >= arreglo[k]);
+        Arrays.sort(arreglo);
+        Assert.assertArrayEquals(ordenado, arreglo);
+        try {
+            Arreglos.seleccion(arreglo, total);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para
+     * {@link Arreglos#seleccion(Object[],int,Comparator)}.
+     */
+    @Test public void testSeleccionComparator() {
+        for (int i = 0; i < total; i++)
+            arreglo[i] = random.nextInt(total);
+        Integer[] ordenado = arreglo.clone();
+        Arrays.sort(ordenado);
+        for (int k = 0; k < total; k++)
+            Assert.assertEquals(ordenado[total - 1 - k],
+                                Arreglos.seleccion(arreglo, k, (a, b) -> b.compareTo(a)));
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#seleccion(int[],int)} con arreglos
+     * aleatorios, ordenados, invertidos y con pocos valores distintos.
+     */
+    @Test public void testSeleccionEnteros() {
+        int n = 1000 + random.nextInt(100000);
+        int[][] casos = { enteros(n, n), enteros(n, 0), enteros(n, 3), new int[n] };
+        for (int i = 0; i < n; i++)
+            casos[3][i] = n - i;
+        for (int[] a : casos) {
+            int[] ordenado = a.clone();
+            Arrays.sort(ordenado);
+            for (int k : new int[] { 0, n - 1, n / 2, random.nextInt(n) }) {
+                Assert.assertTrue(Arreglos.seleccion(a, k) == ordenado[k]);
+                Assert.assertTrue(estaPartido(a, k));
+            }
+            Arrays.sort(a);
+            Assert.assertArrayEquals(ordenado, a);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#particionaMayores(int[],int)} y
+     * {@link Arreglos#particionaMayores(Comparable[],int)}.
+     */
+    @Test public void testParticionaMayores() {
+        int n = 1 + random.nextInt(5000);
+        int[] a = enteros(n, 1 + random.nextInt(n));
+        int[] ordenado = a.clone();
+        Arrays.sort(ordenado);
+        for (int k : new int[] { 1, n, (n + 1) / 2, 1 + random.nextInt(n) }) {
+            int umbral = Arreglos.particionaMayores(a, k);
+            Assert.assertTrue(umbral == ordenado[n - k]);
+            int[] mayores = Arrays.copyOf(a, k);
+            Arrays.sort(mayores);
+            Assert.assertArrayEquals(Arrays.copyOfRange(ordenado, n - k, n), mayores);
+            for (int i = k; i < n; i++)
+                Assert.assertTrue(a[i] <= umbral);
+        }
+        for (int i = 0; i < total; i++)
+            arreglo[i] = random.nextInt(total);
+        Integer[] ordenadoObjetos = arreglo.clone();
+        Arrays.sort(ordenadoObjetos);
+        int k = 1 + random.nextInt(total);
+        Assert.assertEquals(ordenadoObjetos[total - k], Arreglos.particionaMayores(arreglo, k));
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(i < k ? arreglo[i] >= ordenadoObjetos[total - k]
+                                    : arreglo[i] <= ordenadoObjetos[total - k]);
+        try {
+            Arreglos.particionaMayores(a, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            Arreglos.particionaMayores(arreglo, total + 1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /* Regresa arreglos de n enteros con los patrones que suelen desbalancear
+     * a QuickSort: al azar, ordenado, al revés, con pocos valores distintos,
+     * en forma de montaña y todos iguales. */
+    private Integer[][] patrones(int n) {
+        Integer[][] patrones = new Integer[6][n];
+        for (int i = 0; i < n; i++) {
+            patrones[0][i] = random.nextInt();
+            patrones[1][i] = i;
+            patrones[2][i] = n - i;
+            patrones[3][i] = random.nextInt(4);
+            patrones[4][i] = i < n / 2 ? i : n - i;
+            patrones[5][i] = 7;
+        }
+        return patrones;
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#quickSort(Comparable[])} con
+     * arreglos grandes: ninguno de los patrones debe llevarla al peor caso.
+     */
+    @Test public void testQuickSortPatrones() {
+        for (Integer[] a : patrones(50000 + random.nextInt(50000))) {
+            Integer[] esperado = a.clone();
+            Arrays.sort(esperado);
+            Arreglos.quickSort(a);
+            Assert.assertArrayEquals(esperado, a);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#heapSort(Comparable[])}.
+     */
+    @Test public void testHeapSort() {
+        arreglo[0] = 1;
+        arreglo[1] = 0;
+        for (int i = 2; i < total; i++)
+            arreglo[i] = random.nextInt(total);
+        Assert.assertFalse(estaOrdenado(arreglo));
+        Arreglos.heapSort(arreglo);
+        Assert.assertTrue(estaOrdenado(arreglo));
+        for (Integer[] a : patrones(1000 + random.nextInt(1000))) {
+            Integer[] esperado = a.clone();
+            Arrays.sort(esperado);
+            Arreglos.heapSort(a);
+            Assert.assertArrayEquals(esperado, a);
+        }
+        Arreglos.heapSort(new Integer[0]);
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#heapSort(Object[],Comparator)}.
+     */
+    @Test public void testHeapSortComparator() {
+        for (int i = 0; i < total; i++)
+            arreglo[i] = random.nextInt(total);
+        Arreglos.heapSort(arreglo, (a, b) -> b.compareTo(a));
+        for (int i = 1; i < total; i++)
+            Assert.assertTrue(arreglo[i - 1] >= arreglo[i]);
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#ordenaParalelo(Comparable[])} y
+     * {@link Arreglos#ordenaParalelo(Object[],Comparator)}, con arreglos más
+     * grandes que el corte secuencial.
+     */
+    @Test public void testOrdenaParalelo() {
+        int n = Arreglos.CORTE_PARALELO * (4 + random.nextInt(8)) + random.nextInt(1000);
+        for (Integer[] a : patrones(n)) {
+            Integer[] esperado = a.clone();
+            Arrays.sort(esperado);
+            Integer[] b = a.clone();
+            Arreglos.ordenaParalelo(a);
+            Assert.assertArrayEquals(esperado, a);
+            Arreglos.ordenaParalelo(b, (x, y) -> y.compareTo(x));
+            for (int i = 0; i < n; i++)
+                Assert.assertEquals(esperado[i], b[n - 1 - i]);
+        }
+        for (int i = 0; i < total; i++)
+            arreglo[i] = random.nextInt(total);
+        Arreglos.ordenaParalelo(arreglo);
+        Assert.assertTrue(estaOrdenado(arreglo));
+    }
 }
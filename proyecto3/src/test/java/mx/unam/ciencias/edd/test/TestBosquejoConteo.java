@@ -0,0 +1,73 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import mx.unam.ciencias.edd.BosquejoConteo;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link BosquejoConteo}.
+ */
+public class TestBosquejoConteo {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random = new Random();
+
+    /**
+     * Prueba unitaria para {@link BosquejoConteo#BosquejoConteo}: las
+     * dimensiones deben corresponder a los errores pedidos.
+     */
+    @Test public void testConstructor() {
+        BosquejoConteo bosquejo = new BosquejoConteo(0.01, 0.01);
+        Assert.assertTrue(bosquejo.getAncho() == 512);
+        Assert.assertTrue(bosquejo.getProfundidad() == 5);
+        Assert.assertTrue(bosquejo.getEpsilon() <= 0.01);
+        Assert.assertTrue(bosquejo.getDelta() <= 0.01);
+        Assert.assertTrue(bosquejo.getTotal() == 0);
+        Assert.assertTrue(bosquejo.estima("x") == 0);
+        double[][] invalidos = { { 0, 0.5 }, { 0.5, 0 }, { 1, 0.5 }, { 0.5, 1 }, { Double.NaN, 0.5 },
+                                { Math.E / BosquejoConteo.MAXIMO_ANCHO / 2, 0.5 } };
+        for (double[] p : invalidos)
+            try {
+                new BosquejoConteo(p[0], p[1]);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link BosquejoConteo#estima}: las estimaciones
+     * nunca son menores que el conteo real, y casi nunca lo exceden por más de
+     * ε<i>N</i>.
+     */
+    @Test public void testEstima() {
+        BosquejoConteo bosquejo = new BosquejoConteo(0.005, 0.01);
+        Map<String, Integer> esperado = new HashMap<>();
+        int n = 50000;
+        for (int i = 0; i < n; i++) {
+            String s = "p" + (int) Math.abs(random.nextGaussian() * 500);
+            esperado.merge(s, 1, Integer::sum);
+            if (random.nextBoolean())
+                bosquejo.incrementa(s);
+            else
+                bosquejo.incrementa(("<" + s + ">").toCharArray(), 1, s.length());
+        }
+        Assert.assertTrue(bosquejo.getTotal() == n);
+        double cota = bosquejo.getEpsilon() * n;
+        int excedidas = 0;
+        for (Map.Entry<String, Integer> e : esperado.entrySet()) {
+            int estimacion = bosquejo.estima(e.getKey());
+            Assert.assertTrue(estimacion >= e.getValue());
+            if (estimacion - e.getValue() > cota)
+                excedidas++;
+        }
+        // La cota falla para cada cadena con probabilidad delta.
+        Assert.assertTrue(excedidas <= esperado.size() * 0.05);
+    }
+}
@@ -258,4 +258,28 @@ public class TestConjunto {
             c++;
         Assert.assertTrue(c == 0);
     }
+
+    /**
+     * Prueba unitaria para {@link Conjunto#iterator} eliminando cada elemento
+     * mientras se itera: el conjunto se reduce al vaciarse, y cada elemento
+     * debe recorrerse exactamente una vez.
+     */
+    @Test public void testEliminaIterando() {
+        int n = 5000;
+        Conjunto<Integer> c = new Conjunto<Integer>();
+        for (int i = 0; i < n; i++)
+            c.agrega(i);
+        boolean[] vistos = new boolean[n];
+        int vistas = 0;
+        for (Integer e : c) {
+            Assert.assertFalse(vistos[e]);
+            vistos[e] = true;
+            vistas++;
+            c.elimina(e);
+        }
+        Assert.assertTrue(vistas == n);
+        Assert.assertTrue(c.esVacia());
+        for (Integer e : c)
+            Assert.fail();
+    }
 }
@@ -0,0 +1,225 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+import mx.unam.ciencias.edd.ConjuntoBits;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ConjuntoBits}.
+ */
+public class TestConjuntoBits {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El conjunto. */
+    private ConjuntoBits conjunto;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un
+     * número total de elementos para nuestro conjunto, y un conjunto.
+     */
+    public TestConjuntoBits() {
+        random = new Random();
+        total = 100 + random.nextInt(900);
+        conjunto = new ConjuntoBits();
+    }
+
+    /* Regresa un conjunto aleatorio con corridas de longitud aleatoria. */
+    private TreeSet<Integer> aleatorio(int dominio, int corridaMaxima) {
+        TreeSet<Integer> s = new TreeSet<>();
+        for (int i = 0; i < total / corridaMaxima + 1; i++) {
+            int inicio = random.nextInt(dominio);
+            int longitud = 1 + random.nextInt(corridaMaxima);
+            for (int j = 0; j < longitud; j++)
+                s.add(inicio + j);
+        }
+        return s;
+    }
+
+    /* Regresa un ConjuntoBits con los elementos de s. */
+    private static ConjuntoBits conjuntoBits(TreeSet<Integer> s, boolean compacto) {
+        ConjuntoBits c = new ConjuntoBits();
+        for (Integer e : s)
+            c.agrega(e);
+        if (compacto)
+            c.compacta();
+        return c;
+    }
+
+    /* Verifica que el conjunto tenga exactamente los elementos de s, en orden. */
+    private static void verifica(TreeSet<Integer> s, ConjuntoBits c) {
+        Assert.assertTrue(c.getElementos() == s.size());
+        Assert.assertTrue(c.esVacia() == s.isEmpty());
+        Iterator<Integer> i = s.iterator();
+        for (Integer e : c)
+            Assert.assertEquals(i.next(), e);
+        Assert.assertFalse(i.hasNext());
+        if (!s.isEmpty()) {
+            Assert.assertFalse(c.contiene(s.last() + 1));
+            if (s.first() > 0)
+                Assert.assertFalse(c.contiene(s.first() - 1));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoBits#agrega}, {@link
+     * ConjuntoBits#elimina} y {@link ConjuntoBits#contiene}, comparándolas con un
+     * {@link TreeSet}.
+     */
+    @Test public void testAgregaElimina() {
+        TreeSet<Integer> esperado = new TreeSet<>();
+        int dominio = total * (1 + random.nextInt(50));
+        for (int i = 0; i < total * 10; i++) {
+            int e = random.nextInt(dominio);
+            if (random.nextInt(3) == 0) {
+                esperado.remove(e);
+                conjunto.elimina(e);
+            } else {
+                esperado.add(e);
+                conjunto.agrega(e);
+            }
+            Assert.assertTrue(conjunto.contiene(e) == esperado.contains(e));
+            Assert.assertTrue(conjunto.getElementos() == esperado.size());
+            if (random.nextInt(total) == 0)
+                conjunto.compacta();
+        }
+        verifica(esperado, conjunto);
+        conjunto.compacta();
+        verifica(esperado, conjunto);
+        try {
+            conjunto.agrega(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            conjunto.agrega(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertFalse(conjunto.contiene(null));
+        Assert.assertFalse(conjunto.contiene(-1));
+        conjunto.elimina(null);
+        conjunto.elimina(-1);
+        conjunto.limpia();
+        Assert.assertTrue(conjunto.esVacia());
+        Assert.assertFalse(conjunto.iterator().hasNext());
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoBits#compacta}: un conjunto con pocas
+     * corridas largas queda en corridas, y uno disperso en mapa de bits.
+     */
+    @Test public void testCompacta() {
+        int inicio = random.nextInt(total);
+        for (int i = 0; i < total * 64; i++)
+            conjunto.agrega(inicio + i);
+        conjunto.agrega(Integer.MAX_VALUE);
+        Assert.assertTrue(conjunto.enCorridas());
+        Assert.assertTrue(conjunto.contiene(Integer.MAX_VALUE));
+        conjunto.elimina(inicio + total);
+        Assert.assertTrue(conjunto.enCorridas());
+        Assert.assertTrue(conjunto.getElementos() == total * 64);
+        ConjuntoBits disperso = new ConjuntoBits(total * 2);
+        for (int i = 0; i < total; i++)
+            disperso.agrega(2 * i);
+        Assert.assertFalse(disperso.enCorridas());
+        disperso.compacta();
+        Assert.assertFalse(disperso.enCorridas());
+        for (int i = 0; i < total; i++)
+            disperso.elimina(2 * i);
+        for (int i = 0; i < total; i++)
+            disperso.agrega(total + i);
+        disperso.compacta();
+        Assert.assertTrue(disperso.enCorridas());
+        Assert.assertTrue(disperso.getElementos() == total);
+        Assert.assertFalse(disperso.contiene(total - 1));
+        Assert.assertTrue(disperso.contiene(total));
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoBits#interseccion}, {@link
+     * ConjuntoBits#union} y {@link ConjuntoBits#cardinalidadInterseccion} con
+     * todas las combinaciones de representaciones.
+     */
+    @Test public void testInterseccionUnion() {
+        int[] corridas = { 1, 8, 200 };
+        for (int a : corridas)
+            for (int b : corridas) {
+                int dominio = total * (1 + random.nextInt(20));
+                TreeSet<Integer> s1 = aleatorio(dominio, a);
+                TreeSet<Integer> s2 = aleatorio(dominio, b);
+                TreeSet<Integer> interseccion = new TreeSet<>(s1);
+                interseccion.retainAll(s2);
+                TreeSet<Integer> union = new TreeSet<>(s1);
+                union.addAll(s2);
+                for (int k = 0; k < 4; k++) {
+                    ConjuntoBits c1 = conjuntoBits(s1, (k & 1) != 0);
+                    ConjuntoBits c2 = conjuntoBits(s2, (k & 2) != 0);
+                    verifica(interseccion, c1.interseccion(c2));
+                    verifica(union, c1.union(c2));
+                    Assert.assertTrue(c1.cardinalidadInterseccion(c2) == interseccion.size());
+                    Assert.assertTrue(c2.cardinalidadInterseccion(c1) == interseccion.size());
+                    verifica(s1, c1.interseccion(c1));
+                    verifica(s1, c1.union(new ConjuntoBits()));
+                    verifica(new TreeSet<>(), c1.interseccion(new ConjuntoBits()));
+                }
+            }
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoBits#equals}, {@link
+     * ConjuntoBits#hashCode} y {@link ConjuntoBits#toString}.
+     */
+    @Test public void testEquals() {
+        TreeSet<Integer> s = aleatorio(total * 4, 16);
+        ConjuntoBits c1 = conjuntoBits(s, false);
+        ConjuntoBits c2 = conjuntoBits(s, true);
+        Assert.assertTrue(c1.equals(c2));
+        Assert.assertTrue(c1.hashCode() == c2.hashCode());
+        Assert.assertEquals(c1.toString(), c2.toString());
+        Assert.assertEquals("{ " + s.toString().substring(1, s.toString().length() - 1) + " }",
+                            c1.toString());
+        c2.elimina(s.first());
+        Assert.assertFalse(c1.equals(c2));
+        Assert.assertFalse(c1.equals(null));
+        Assert.assertEquals("{  }", new ConjuntoBits().toString());
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoBits#iterator}: el iterador tolera que
+     * se eliminen elementos mientras se recorre el conjunto.
+     */
+    @Test public void testIterator() {
+        TreeSet<Integer> s = aleatorio(total * 4, 16);
+        for (boolean compacto : new boolean[] { false, true }) {
+            ConjuntoBits c = conjuntoBits(s, compacto);
+            int n = 0;
+            for (Integer e : c) {
+                c.elimina(e);
+                n++;
+            }
+            Assert.assertTrue(n == s.size());
+            Assert.assertTrue(c.esVacia());
+            c = conjuntoBits(s, compacto);
+            Iterator<Integer> i = c.iterator();
+            while (i.hasNext())
+                if (i.next() % 2 == 0)
+                    i.remove();
+            for (Integer e : s)
+                Assert.assertTrue(c.contiene(e) == (e % 2 != 0));
+            try {
+                i.next();
+                Assert.fail();
+            } catch (NoSuchElementException nsee) {}
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.ContadorCadenas;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ContadorCadenas}.
+ */
+public class TestContadorCadenas {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El contador. */
+    private ContadorCadenas contador;
+
+    /**
+     * Crea un contador para cada prueba.
+     */
+    public TestContadorCadenas() {
+        int N = 64;
+        random = new Random();
+        total = N + random.nextInt(N);
+        contador = new ContadorCadenas();
+    }
+
+    /**
+     * Prueba unitaria para {@link ContadorCadenas#ContadorCadenas}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(contador.esVacia());
+        Assert.assertTrue(contador.getElementos() == 0);
+        Assert.assertTrue(contador.carga() == 0.0);
+        Assert.assertFalse(contador.iteradorLlaves().hasNext());
+    }
+
+    /**
+     * Prueba unitaria para {@link ContadorCadenas#incrementa(String)}.
+     */
+    @Test public void testIncrementa() {
+        Map<String, Integer> esperado = new HashMap<>();
+        for (int i = 0; i < total * 50; i++) {
+            String s = String.format("%x", random.nextInt(total * 4));
+            int n = esperado.merge(s, 1, Integer::sum);
+            Assert.assertTrue(contador.incrementa(s) == n);
+            Assert.assertTrue(contador.carga() <= ContadorCadenas.MAXIMA_CARGA);
+        }
+        Assert.assertTrue(contador.getElementos() == esperado.size());
+        for (Map.Entry<String, Integer> e : esperado.entrySet())
+            Assert.assertTrue(contador.get(e.getKey()) == e.getValue());
+        String s = String.format("%x", total * 4);
+        Assert.assertTrue(contador.incrementa(s, 7) == 7);
+        Assert.assertTrue(contador.incrementa(s, 3) == 10);
+        try {
+            contador.incrementa((String)null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ContadorCadenas#agregaSiFalta}.
+     */
+    @Test public void testAgregaSiFalta() {
+        Map<String, Integer> esperado = new HashMap<>();
+        for (int i = 0; i < total * 20; i++) {
+            String s = String.format("%x", random.nextInt(total * 4));
+            int n = esperado.computeIfAbsent(s, k -> esperado.size() + 1);
+            Assert.assertTrue(contador.agregaSiFalta(s, esperado.size()) == n);
+            Assert.assertTrue(contador.carga() <= ContadorCadenas.MAXIMA_CARGA);
+        }
+        Assert.assertTrue(contador.getElementos() == esperado.size());
+        for (Map.Entry<String, Integer> e : esperado.entrySet())
+            Assert.assertTrue(contador.get(e.getKey()) == e.getValue());
+        try {
+            contador.agregaSiFalta(null, 1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ContadorCadenas#incrementa(char[],int,int)}.
+     */
+    @Test public void testIncrementaCaracteres() {
+        char[] buffer = new char[16];
+        for (int i = 0; i < total * 20; i++) {
+            String s = String.format("%x", random.nextInt(total * 2));
+            int inicio = random.nextInt(buffer.length - s.length());
+            s.getChars(0, s.length(), buffer, inicio);
+            int n = contador.get(s);
+            Assert.assertTrue(contador.incrementa(buffer, inicio, s.length()) == n + 1);
+            Assert.assertTrue(contador.get(s) == n + 1);
+        }
+        Assert.assertTrue(contador.incrementa(buffer, 0, 0) == 1);
+        Assert.assertTrue(contador.get("") == 1);
+        try {
+            contador.incrementa(null, 0, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ContadorCadenas#get}.
+     */
+    @Test public void testGet() {
+        int ini = 1 + random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            for (int j = 0; j <= i % 5; j++)
+                contador.incrementa(s);
+            Assert.assertTrue(contador.get(s) == i % 5 + 1);
+        }
+        Assert.assertTrue(contador.get("00000") == 0);
+        try {
+            contador.get(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ContadorCadenas#contiene}.
+     */
+    @Test public void testContiene() {
+        Assert.assertFalse(contador.contiene(null));
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            Assert.assertFalse(contador.contiene(s));
+            contador.incrementa(s);
+            Assert.assertTrue(contador.contiene(s));
+        }
+        Assert.assertFalse(contador.contiene("00000"));
+    }
+
+    /**
+     * Prueba unitaria para {@link ContadorCadenas#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (int i = 0; i < total; i++)
+            contador.incrementa(String.format("%x", i));
+        contador.limpia();
+        Assert.assertTrue(contador.esVacia());
+        Assert.assertTrue(contador.getElementos() == 0);
+        Assert.assertFalse(contador.iteradorLlaves().hasNext());
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(contador.contiene(String.format("%x", i)));
+    }
+
+    /**
+     * Prueba unitaria para {@link ContadorCadenas#iteradorLlaves}.
+     */
+    @Test public void testIteradorLlaves() {
+        Map<String, Integer> esperado = new HashMap<>();
+        for (int i = 0; i < total * 10; i++) {
+            String s = String.format("%x", random.nextInt(total * 3));
+            esperado.merge(s, 1, Integer::sum);
+            contador.incrementa(s);
+        }
+        Iterator<String> iterador = contador.iteradorLlaves();
+        int n = 0;
+        while (iterador.hasNext()) {
+            String s = iterador.next();
+            Assert.assertTrue(esperado.containsKey(s));
+            n++;
+        }
+        Assert.assertTrue(n == esperado.size());
+        try {
+            iterador.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+}
@@ -1,5 +1,6 @@
 package mx.unam.ciencias.edd.test;
 
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Random;
@@ -126,6 +127,119 @@ public class TestDiccionario {
         } catch (IllegalArgumentException iae) {}
     }
 
+    /**
+     * Prueba unitaria para {@link Diccionario#get(Object,Object)}.
+     */
+    @Test public void testGetPorOmision() {
+        int ini = 1 + random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            Assert.assertTrue(diccionario.get(s, "X").equals("X"));
+            diccionario.agrega(s, s);
+            Assert.assertTrue(diccionario.get(s, "X").equals(s));
+        }
+        Assert.assertTrue(diccionario.get("00000", null) == null);
+        try {
+            diccionario.get(null, "X");
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#agregaSiAusente}.
+     */
+    @Test public void testAgregaSiAusente() {
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total * 4; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            Assert.assertTrue(diccionario.agregaSiAusente(s, s) == null);
+            Assert.assertTrue(diccionario.agregaSiAusente(s, "X").equals(s));
+            Assert.assertTrue(diccionario.get(s).equals(s));
+            Assert.assertTrue(diccionario.getElementos() == i+1);
+            Assert.assertTrue(diccionario.carga() < Diccionario.MAXIMA_CARGA);
+        }
+        try {
+            diccionario.agregaSiAusente(null, "X");
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            diccionario.agregaSiAusente("X", null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#calcula}.
+     */
+    @Test public void testCalcula() {
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total * 4; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            String v = diccionario.calcula(s, (k, a) -> (a == null) ? k : a + k);
+            Assert.assertTrue(v.equals(s));
+            v = diccionario.calcula(s, (k, a) -> (a == null) ? k : a + k);
+            Assert.assertTrue(v.equals(s + s));
+            Assert.assertTrue(diccionario.get(s).equals(s + s));
+            Assert.assertTrue(diccionario.getElementos() == i+1);
+        }
+        String s = String.format("%x", ini);
+        Assert.assertTrue(diccionario.calcula(s, (k, a) -> null) == null);
+        Assert.assertFalse(diccionario.contiene(s));
+        Assert.assertTrue(diccionario.getElementos() == total * 4 - 1);
+        Assert.assertTrue(diccionario.calcula(s, (k, a) -> null) == null);
+        Assert.assertFalse(diccionario.contiene(s));
+        Assert.assertTrue(diccionario.getElementos() == total * 4 - 1);
+        try {
+            diccionario.calcula(null, (k, a) -> k);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            diccionario.calcula("X", null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#combina}.
+     */
+    @Test public void testCombina() {
+        Diccionario<String, Integer> conteos = new Diccionario<String, Integer>();
+        int[] esperados = new int[total];
+        for (int i = 0; i < total * 10; i++) {
+            int r = random.nextInt(total);
+            String s = String.format("%x", r);
+            int v = conteos.combina(s, 1, Integer::sum);
+            Assert.assertTrue(v == ++esperados[r]);
+        }
+        int distintas = 0;
+        for (int i = 0; i < total; i++) {
+            String s = String.format("%x", i);
+            if (esperados[i] == 0) {
+                Assert.assertFalse(conteos.contiene(s));
+                continue;
+            }
+            distintas++;
+            Assert.assertTrue(conteos.get(s) == esperados[i]);
+        }
+        Assert.assertTrue(conteos.getElementos() == distintas);
+        conteos.agrega("x", 1);
+        Assert.assertTrue(conteos.combina("x", 1, (a, b) -> null) == null);
+        Assert.assertFalse(conteos.contiene("x"));
+        Assert.assertTrue(conteos.getElementos() == distintas);
+        try {
+            conteos.combina(null, 1, Integer::sum);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            conteos.combina("x", null, Integer::sum);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            conteos.combina("x", 1, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
     /**
      * Prueba unitaria para {@link Diccionario#contiene}.
      */
@@ -275,6 +389,167 @@ public class TestDiccionario {
         Assert.assertTrue(diccionario.esVacia());
         Assert.assertTrue(diccionario.getElementos() == 0);
         Assert.assertTrue(diccionario.carga() == 0.0);
+        for (int i = 0; i < total * 8; i++)
+            diccionario.agrega(String.valueOf(i), String.valueOf(i));
+        diccionario.limpia();
+        diccionario.agrega("a", "a");
+        Assert.assertTrue(diccionario.carga() == 1.0 / calculaCapacidad(total));
+    }
+
+    /**
+     * Prueba unitaria para la reducción de {@link Diccionario} al eliminar.
+     */
+    @Test public void testReduce() {
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total * 16; i++)
+            diccionario.agrega(String.format("%x", ini + i * 1000), "");
+        double maxima = 0.0;
+        for (int i = 0; i < total * 16; i++) {
+            diccionario.elimina(String.format("%x", ini + i * 1000));
+            double c = diccionario.carga();
+            if (c > maxima)
+                maxima = c;
+            Assert.assertTrue(c < Diccionario.MAXIMA_CARGA);
+            Assert.assertTrue(diccionario.getElementos() == total * 16 - (i+1));
+        }
+        Assert.assertTrue(diccionario.esVacia());
+        diccionario.agrega("a", "a");
+        Assert.assertTrue(diccionario.carga() == 1.0 / calculaCapacidad(total));
+        Assert.assertTrue(maxima >= Diccionario.MINIMA_CARGA);
+    }
+
+    /**
+     * Prueba unitaria para las operaciones de {@link Diccionario} mientras migra
+     * sus entradas al crecer o reducirse.
+     */
+    @Test public void testMigracion() {
+        HashMap<Integer, Integer> esperado = new HashMap<>();
+        Diccionario<Integer, Integer> dicc = new Diccionario<Integer, Integer>();
+        int n = total * 32;
+        for (int i = 0; i < n * 8; i++) {
+            // Alterna fases de crecimiento y de reducción.
+            boolean crece = (i / n) % 2 == 0;
+            int k = random.nextInt(n);
+            if (crece || random.nextInt(4) == 0) {
+                dicc.agrega(k, i);
+                esperado.put(k, i);
+            } else if (esperado.containsKey(k)) {
+                dicc.elimina(k);
+                esperado.remove(k);
+            }
+            Assert.assertTrue(dicc.getElementos() == esperado.size());
+            Assert.assertTrue(dicc.carga() < Diccionario.MAXIMA_CARGA);
+            int r = random.nextInt(n);
+            Assert.assertTrue(dicc.contiene(r) == esperado.containsKey(r));
+            if (esperado.containsKey(r))
+                Assert.assertTrue(dicc.get(r).equals(esperado.get(r)));
+            if (i % n == 0) {
+                int c = 0;
+                Iterator<Integer> iterador = dicc.iteradorLlaves();
+                while (iterador.hasNext()) {
+                    Assert.assertTrue(esperado.containsKey(iterador.next()));
+                    c++;
+                }
+                Assert.assertTrue(c == esperado.size());
+            }
+        }
+    }
+
+    /**
+     * Prueba unitaria para eliminar llaves de {@link Diccionario} mientras se
+     * iteran, empezando con y sin una migración pendiente: cada llave debe
+     * recorrerse exactamente una vez, y al terminar el diccionario debe seguir
+     * funcionando y reducirse.
+     */
+    @Test public void testEliminaIterando() {
+        int n = total * 64;
+        for (int pendiente = 0; pendiente < 2; pendiente++) {
+            Diccionario<Integer, Integer> dicc = new Diccionario<Integer, Integer>();
+            // Con una sola llave más la última inserción empieza a crecer el
+            // arreglo.
+            int m = pendiente == 0 ? n : 1 + (int) (Diccionario.MAXIMA_CARGA * 2048);
+            for (int i = 0; i < m; i++)
+                dicc.agrega(i, i);
+            boolean[] vistas = new boolean[m];
+            int c = 0;
+            Iterator<Integer> iterador = dicc.iteradorLlaves();
+            while (iterador.hasNext()) {
+                int k = iterador.next();
+                Assert.assertFalse(vistas[k]);
+                vistas[k] = true;
+                c++;
+                // Elimina la llave actual y, a veces, otra que ya se recorrió.
+                dicc.elimina(k);
+                int r = random.nextInt(m);
+                if (vistas[r] && dicc.contiene(r))
+                    dicc.elimina(r);
+            }
+            Assert.assertTrue(c == m);
+            Assert.assertTrue(dicc.esVacia());
+            for (int i = 0; i < m; i += 7) {
+                Assert.assertFalse(dicc.contiene(i));
+                dicc.agrega(i, i);
+                Assert.assertTrue(dicc.get(i) == i);
+            }
+            for (int i = 0; i < m; i += 7)
+                dicc.elimina(i);
+            Assert.assertTrue(dicc.esVacia());
+        }
+    }
+
+    /**
+     * Prueba unitaria para eliminar de {@link Diccionario} llaves que el
+     * iterador todavía no recorre, mientras el arreglo se reduce: las llaves
+     * eliminadas no deben recorrerse, y las demás deben recorrerse exactamente
+     * una vez.
+     */
+    @Test public void testEliminaPendientesIterando() {
+        int m = total * 64;
+        Diccionario<Integer, Integer> dicc = new Diccionario<Integer, Integer>();
+        for (int i = 0; i < m; i++)
+            dicc.agrega(i, i);
+        boolean[] vistas = new boolean[m];
+        boolean[] eliminadas = new boolean[m];
+        Iterator<Integer> iterador = dicc.iteradorLlaves();
+        while (iterador.hasNext()) {
+            int k = iterador.next();
+            Assert.assertFalse(vistas[k]);
+            Assert.assertFalse(eliminadas[k]);
+            vistas[k] = true;
+            for (int i = 0; i < 3; i++) {
+                int r = random.nextInt(m);
+                if (!eliminadas[r] && r != k) {
+                    dicc.elimina(r);
+                    eliminadas[r] = true;
+                }
+            }
+        }
+        for (int i = 0; i < m; i++)
+            Assert.assertTrue(vistas[i] || eliminadas[i]);
+        int quedan = 0;
+        for (int i = 0; i < m; i++)
+            if (!eliminadas[i])
+                quedan++;
+        Assert.assertTrue(dicc.getElementos() == quedan);
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#elimina} después de abandonar un
+     * iterador sin terminarlo: el diccionario debe seguir reduciéndose.
+     */
+    @Test public void testIteradorAbandonado() {
+        int m = total * 64;
+        Diccionario<Integer, Integer> dicc = new Diccionario<Integer, Integer>();
+        for (int i = 0; i < m; i++)
+            dicc.agrega(i, i);
+        for (Integer v : dicc)
+            if (v != null)
+                break;
+        for (int i = 0; i < m - m / 16; i++)
+            dicc.elimina(i);
+        Assert.assertTrue(dicc.carga() >= Diccionario.MINIMA_CARGA / 2);
+        for (int i = m - m / 16; i < m; i++)
+            Assert.assertTrue(dicc.get(i) == i);
     }
 
     /**
@@ -0,0 +1,224 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.DiccionarioConcurrente;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioConcurrente}.
+ */
+public class TestDiccionarioConcurrente {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Número de hilos de las pruebas de estrés. */
+    private static final int HILOS = 4;
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El diccionario. */
+    private DiccionarioConcurrente<String, Integer> diccionario;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestDiccionarioConcurrente() {
+        int N = 64;
+        random = new Random();
+        total = N + random.nextInt(N);
+        diccionario = new DiccionarioConcurrente<>(1 + random.nextInt(32));
+    }
+
+    /* Corre la tarea en varios hilos a la vez y falla si alguno falla. */
+    private static void enHilos(int hilos, Tarea tarea) throws InterruptedException {
+        CountDownLatch salida = new CountDownLatch(1);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread[] t = new Thread[hilos];
+        for (int i = 0; i < hilos; i++) {
+            int hilo = i;
+            t[i] = new Thread(() -> {
+                try {
+                    salida.await();
+                    tarea.corre(hilo);
+                } catch (Throwable e) {
+                    error.compareAndSet(null, e);
+                }
+            });
+            t[i].start();
+        }
+        salida.countDown();
+        for (Thread h : t)
+            h.join();
+        if (error.get() != null)
+            throw new AssertionError(error.get());
+    }
+
+    /* Interfaz para las tareas de cada hilo. */
+    private interface Tarea {
+        void corre(int hilo) throws Exception;
+    }
+
+    /**
+     * Prueba unitaria para las operaciones de {@link DiccionarioConcurrente} en un
+     * solo hilo, comparándolas con las de un {@link HashMap}.
+     */
+    @Test public void testOperaciones() {
+        Assert.assertTrue(diccionario.esVacia());
+        Map<String, Integer> esperado = new HashMap<>();
+        for (int i = 0; i < total * 20; i++) {
+            String s = Integer.toString(random.nextInt(total * 2));
+            int v = random.nextInt(100);
+            switch (random.nextInt(5)) {
+            case 0:
+                diccionario.agrega(s, v);
+                esperado.put(s, v);
+                break;
+            case 1:
+                Assert.assertEquals(esperado.putIfAbsent(s, v), diccionario.agregaSiAusente(s, v));
+                break;
+            case 2:
+                Assert.assertEquals(esperado.merge(s, v, Integer::sum),
+                                    diccionario.combina(s, v, Integer::sum));
+                break;
+            case 3:
+                Integer r = esperado.compute(s, (k, x) -> (x == null || x % 2 == 0) ? v : null);
+                Assert.assertEquals(r, diccionario.calcula(s, (k, x) -> (x == null || x % 2 == 0) ? v : null));
+                break;
+            default:
+                if (esperado.remove(s) != null)
+                    diccionario.elimina(s);
+                else
+                    try {
+                        diccionario.elimina(s);
+                        Assert.fail();
+                    } catch (NoSuchElementException nsee) {}
+            }
+            Assert.assertTrue(diccionario.contiene(s) == esperado.containsKey(s));
+            Assert.assertEquals(esperado.get(s), diccionario.get(s, null));
+        }
+        Assert.assertTrue(diccionario.getElementos() == esperado.size());
+        for (Map.Entry<String, Integer> e : esperado.entrySet())
+            Assert.assertEquals(e.getValue(), diccionario.get(e.getKey()));
+        Diccionario<String, Integer> copia = diccionario.copia();
+        Assert.assertTrue(copia.getElementos() == esperado.size());
+        for (Map.Entry<String, Integer> e : esperado.entrySet())
+            Assert.assertEquals(e.getValue(), copia.get(e.getKey()));
+        diccionario.limpia();
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertFalse(diccionario.iterator().hasNext());
+        try {
+            diccionario.get("x");
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            diccionario.agrega(null, 1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new DiccionarioConcurrente<String, Integer>(0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#iteradorLlaves} y {@link
+     * DiccionarioConcurrente#iterator}.
+     */
+    @Test public void testIteradores() {
+        Map<String, Integer> esperado = new HashMap<>();
+        for (int i = 0; i < total; i++) {
+            String s = Integer.toString(random.nextInt(total * 4));
+            esperado.put(s, i);
+            diccionario.agrega(s, i);
+        }
+        Iterator<String> llaves = diccionario.iteradorLlaves();
+        Set<String> vistas = new HashSet<>();
+        while (llaves.hasNext())
+            Assert.assertTrue(vistas.add(llaves.next()));
+        Assert.assertEquals(esperado.keySet(), vistas);
+        int suma = 0, n = 0;
+        for (Integer v : diccionario) {
+            suma += v;
+            n++;
+        }
+        Assert.assertTrue(n == esperado.size());
+        Assert.assertTrue(suma == esperado.values().stream().mapToInt(Integer::intValue).sum());
+        try {
+            llaves.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba de estrés para {@link DiccionarioConcurrente#combina}: varios hilos
+     * incrementan las mismas llaves y no se debe perder ningún incremento.
+     * @throws InterruptedException si se interrumpe la prueba.
+     */
+    @Test public void testIncrementosConcurrentes() throws InterruptedException {
+        int llaves = total, incrementos = 20000;
+        enHilos(HILOS, hilo -> {
+            Random r = new Random(hilo);
+            for (int i = 0; i < incrementos; i++)
+                diccionario.combina(Integer.toString(r.nextInt(llaves)), 1, Integer::sum);
+        });
+        int suma = 0;
+        for (Integer v : diccionario)
+            suma += v;
+        Assert.assertTrue(suma == HILOS * incrementos);
+        Assert.assertTrue(diccionario.getElementos() <= llaves);
+    }
+
+    /**
+     * Prueba de estrés para los iteradores y {@link DiccionarioConcurrente#copia}
+     * mientras otros hilos modifican el diccionario. Cada escritor agrega sus
+     * llaves en orden, así que una copia que tenga una llave de un escritor debe
+     * tener todas las anteriores del mismo escritor.
+     * @throws InterruptedException si se interrumpe la prueba.
+     */
+    @Test public void testLecturasConcurrentes() throws InterruptedException {
+        int escritores = HILOS - 1, llaves = 5000;
+        AtomicBoolean terminado = new AtomicBoolean();
+        enHilos(HILOS, hilo -> {
+            if (hilo < escritores) {
+                for (int i = 0; i < llaves; i++) {
+                    diccionario.agrega(hilo + ":" + i, i);
+                    if (i % 3 == 0)
+                        diccionario.combina(hilo + ":" + (i / 2), 1, Integer::sum);
+                }
+                terminado.set(true);
+                return;
+            }
+            while (!terminado.get()) {
+                Set<String> vistas = new HashSet<>();
+                Iterator<String> iterador = diccionario.iteradorLlaves();
+                while (iterador.hasNext())
+                    Assert.assertTrue(vistas.add(iterador.next()));
+                Diccionario<String, Integer> copia = diccionario.copia();
+                for (int e = 0; e < escritores; e++) {
+                    int i = 0;
+                    while (copia.contiene(e + ":" + i))
+                        i++;
+                    while (i < llaves)
+                        Assert.assertFalse(copia.contiene(e + ":" + i++));
+                }
+            }
+        });
+        Assert.assertTrue(diccionario.getElementos() == escritores * llaves);
+    }
+}
@@ -1,5 +1,6 @@
 package mx.unam.ciencias.edd.test;
 
+import java.util.HashSet;
 import java.util.Random;
 import mx.unam.ciencias.edd.Dispersores;
 import org.junit.Assert;
@@ -116,6 +117,54 @@ public class TestDispersores {
         0xea5b748b, 0x35ca067d, 0xef0ad6a0, 0xd065aacb
     };
 
+    /* Los resultados MurmurHash3 para los subarreglos. */
+    private static final int[] RESULTADOS_MURMUR3 = {
+        0x0fc7a1b4, 0x680b0f29, 0x8ef7c3b0, 0x81c25590, 0xbe2ed914,
+        0x3f6bacc8, 0x9ecbdd75, 0xec11611a, 0xc96a49c3, 0xe4b79674,
+        0xf0615c1d, 0xb7960c1c, 0x248c8b2d, 0x33bafbea, 0x52068636,
+        0x32d4e2f1, 0xd3c600bd, 0x94fce7c0, 0x13d015e0, 0xfe7a13b5,
+        0xfc26c8bc, 0xebb0890a, 0x875cd426, 0xaa05ebca, 0x9f0fc6bf,
+        0xfbb5869d, 0x5d89577f, 0x58b08e65, 0x933f6843, 0x652dfb95,
+        0x195ff654, 0x4c96ea7a, 0xc75ff4c8, 0xb7b0659b, 0x41cfd8f0,
+        0x1e7a4bc8, 0xed383f16, 0x1d0ea8a6, 0xbbf7eb62, 0x28267536,
+        0xa2246ebd, 0x6bb9f13b, 0x989e1b33, 0xd1b64b9d, 0x8f10bfb1,
+        0xf845ccf4, 0xd1aef1ab, 0x9f92d51d, 0xf7c8598c, 0x34885cc0,
+        0xdca1b9d2, 0x1da10455, 0x7de06a00, 0x659fa449, 0xec71960d,
+        0x4480a711, 0xa7a12905, 0x23f550d7, 0x7d528695, 0x06434130,
+        0x3ffa2ce8, 0xbe4ee421, 0x1573f5fc, 0x8f66f249, 0x1d5c6a1c,
+        0x6d96fbbc, 0xc7580268, 0xb923f8b5, 0x4755a575, 0x46c1e358,
+        0x9ae5068d, 0x23683b9c, 0x4569ea76, 0xed9b3431, 0x0b43e401,
+        0xca376571, 0xc1d3454d, 0x242b928d, 0x3993ce27, 0xe8419a8a,
+        0xf8bdfd14, 0x7319f059, 0x693e8e62, 0x0a1c33ca, 0x54e4bb3b,
+        0xf5060833, 0xb753d041, 0xb837a650, 0x06ca49e1, 0x66caea20,
+        0x5111c55b, 0x022a8aa2, 0xbda929ae, 0xd6161dc8, 0x1f250ee7,
+        0xc12fc33d, 0x120e8e0f, 0x9a844ca8, 0xe163178c
+    };
+
+    /* Los resultados xxHash para los subarreglos. */
+    private static final int[] RESULTADOS_XXHASH = {
+        0x9cec73c4, 0xa9070d66, 0xa9a9e26e, 0xa4bbaefc, 0x03bf29b4,
+        0x0b95529e, 0x5c9ce639, 0xa802e820, 0xde10da2f, 0x1154919e,
+        0x6b2559aa, 0x370c2a71, 0x6b465dd2, 0x9293bdb3, 0x88321b15,
+        0x6f05080c, 0xb63098c9, 0xfeac2acd, 0xcec0cabf, 0x8309c00f,
+        0x27d638a8, 0x2eb40e28, 0x579a73cf, 0xf98f6417, 0x1fa729ff,
+        0x605f4dd9, 0xa78929c4, 0x7a84390b, 0x209e0e26, 0xc4936c1d,
+        0xd2af8b88, 0x8c80361f, 0x063c0163, 0xb7f876da, 0x9080d7e6,
+        0x64923871, 0x4c06a793, 0x6edd4eb4, 0x2410e6ba, 0x276172fa,
+        0x9bbc8e73, 0x06e1e6b0, 0x9a15737a, 0xb4ff5529, 0xffc1f269,
+        0x77f6f5ec, 0x5676fc4a, 0x7e844493, 0x2763a479, 0xc9b0cee8,
+        0x849a8c61, 0xd0001f59, 0xc1df753e, 0x87ddd223, 0xb40265b8,
+        0x7f83cdcd, 0xe64c334c, 0x5091666a, 0x92019452, 0x3a9ce080,
+        0xf755b920, 0x8d8f2f7f, 0x75c49306, 0xc70404af, 0x97cac1f5,
+        0xbf9898b7, 0xb8ebe394, 0xb7695d8d, 0x46e46e8a, 0x649c3914,
+        0x63ad6dfb, 0x5a8b9530, 0xf9b43693, 0x5267569e, 0xbfa10c60,
+        0x4f146893, 0x3bddb1a2, 0x04769146, 0xd5efc2fb, 0xdd9859d2,
+        0x077326f7, 0xd6434409, 0x4ecef648, 0x668da4d4, 0x565ef779,
+        0xb8d2063b, 0x057f8eb3, 0x7cb8bf4a, 0xed240c1c, 0x79a97fac,
+        0xa99d5eb3, 0xb4e82f5e, 0xdf4b10ed, 0x6b0a6ec7, 0x626edba1,
+        0x668ef18f, 0x51eeaf3c, 0x37e41b96, 0x75dc1dba
+    };
+
     /* Regresa un subarreglo del arreglo. */
     private byte[] subArreglo(int n) {
         byte[] sub = new byte[n];
@@ -124,6 +173,18 @@ public class TestDispersores {
         return sub;
     }
 
+    /*
+     * Regresa un arreglo con los primeros n bytes del arreglo a partir de la
+     * posición inicio, rodeados de bytes aleatorios.
+     */
+    private byte[] subArreglo(int n, int inicio, Random random) {
+        byte[] sub = new byte[inicio + n + random.nextInt(8)];
+        random.nextBytes(sub);
+        for (int i = 0; i < n; i++)
+            sub[inicio + i] = ARREGLO[i];
+        return sub;
+    }
+
     /**
      * Prueba unitaria para {@link Dispersores#dispersaXOR}.
      */
@@ -156,4 +217,99 @@ public class TestDispersores {
             Assert.assertTrue(RESULTADOS_DJB[i-1] == r);
         }
     }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaMurmur3}.
+     */
+    @Test public void testDispersaMurmur3() {
+        for (int i = 1; i < ARREGLO.length; i++) {
+            byte[] sub = subArreglo(i);
+            int r = Dispersores.dispersaMurmur3(sub);
+            Assert.assertTrue(RESULTADOS_MURMUR3[i-1] == r);
+        }
+        Assert.assertTrue(Dispersores.dispersaMurmur3(new byte[0]) == 0);
+        Assert.assertTrue(Dispersores.dispersaMurmur3(new byte[0], 0, 0, 1) == 0x514e28b7);
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaXXHash}.
+     */
+    @Test public void testDispersaXXHash() {
+        for (int i = 1; i < ARREGLO.length; i++) {
+            byte[] sub = subArreglo(i);
+            int r = Dispersores.dispersaXXHash(sub);
+            Assert.assertTrue(RESULTADOS_XXHASH[i-1] == r);
+        }
+        Assert.assertTrue(Dispersores.dispersaXXHash(new byte[0]) == 0x02cc5d05);
+    }
+
+    /**
+     * Prueba unitaria para las versiones de los dispersores que reciben un
+     * subarreglo.
+     */
+    @Test public void testDispersaSubarreglo() {
+        Random random = new Random();
+        for (int i = 1; i < ARREGLO.length; i++) {
+            int inicio = random.nextInt(16);
+            byte[] sub = subArreglo(i, inicio, random);
+            Assert.assertTrue(Dispersores.dispersaXOR(sub, inicio, i) == RESULTADOS_XOR[i-1]);
+            Assert.assertTrue(Dispersores.dispersaBJ(sub, inicio, i) == RESULTADOS_BJ[i-1]);
+            Assert.assertTrue(Dispersores.dispersaDJB(sub, inicio, i) == RESULTADOS_DJB[i-1]);
+            Assert.assertTrue(Dispersores.dispersaMurmur3(sub, inicio, i, 0) ==
+                              RESULTADOS_MURMUR3[i-1]);
+            Assert.assertTrue(Dispersores.dispersaXXHash(sub, inicio, i, 0) ==
+                              RESULTADOS_XXHASH[i-1]);
+        }
+        int semilla = random.nextInt();
+        int inicio = random.nextInt(16);
+        byte[] sub = subArreglo(ARREGLO.length, inicio, random);
+        Assert.assertTrue(Dispersores.dispersaMurmur3(sub, inicio, ARREGLO.length, semilla) ==
+                          Dispersores.dispersaMurmur3(ARREGLO, 0, ARREGLO.length, semilla));
+        Assert.assertTrue(Dispersores.dispersaXXHash(sub, inicio, ARREGLO.length, semilla) ==
+                          Dispersores.dispersaXXHash(ARREGLO, 0, ARREGLO.length, semilla));
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersa64}: las dos versiones
+     * deben coincidir, y cadenas distintas no deben chocar, ni siquiera las
+     * cortas que chocan en el polinomio de <code>String.hashCode</code>.
+     */
+    @Test public void testDispersa64() {
+        Random random = new Random();
+        HashSet<Long> dispersiones = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            String s = "p" + i;
+            int inicio = random.nextInt(16);
+            char[] sub = new char[inicio + s.length() + random.nextInt(16)];
+            s.getChars(0, s.length(), sub, inicio);
+            long h = Dispersores.dispersa64(s);
+            Assert.assertTrue(Dispersores.dispersa64(sub, inicio, s.length()) == h);
+            Assert.assertTrue(Dispersores.dispersa64(new StringBuilder(s)) == h);
+            Assert.assertTrue(dispersiones.add(h));
+        }
+        for (int i = 0; i < 100; i++) {
+            char[] larga = new char[random.nextInt(40)];
+            for (int k = 0; k < larga.length; k++)
+                larga[k] = (char) random.nextInt(Character.MAX_VALUE + 1);
+            Assert.assertTrue(Dispersores.dispersa64(larga, 0, larga.length) ==
+                              Dispersores.dispersa64(new String(larga)));
+        }
+        Assert.assertTrue(Dispersores.dispersa64(new char[4], 2, 0) == Dispersores.dispersa64(""));
+        Assert.assertTrue("an".hashCode() == "c0".hashCode());
+        Assert.assertTrue(Dispersores.dispersa64("an") != Dispersores.dispersa64("c0"));
+        String alfabeto = "abcdefghijklmnopqrstuvwxyz0123456789";
+        dispersiones.clear();
+        char[] c = new char[3];
+        int n = alfabeto.length(), total = 0;
+        for (int longitud = 1; longitud <= 3; longitud++) {
+            int cadenas = longitud == 1 ? n : longitud == 2 ? n * n : n * n * n;
+            for (int i = 0; i < cadenas; i++) {
+                for (int k = 0, r = i; k < longitud; k++, r /= n)
+                    c[k] = alfabeto.charAt(r % n);
+                Assert.assertTrue(dispersiones.add(Dispersores.dispersa64(c, 0, longitud)));
+                total++;
+            }
+        }
+        Assert.assertTrue(dispersiones.size() == total);
+    }
 }
@@ -1,9 +1,11 @@
 package mx.unam.ciencias.edd.test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Random;
 import mx.unam.ciencias.edd.AlgoritmoDispersor;
 import mx.unam.ciencias.edd.FabricaDispersores;
 import mx.unam.ciencias.edd.Dispersor;
+import mx.unam.ciencias.edd.Dispersores;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
@@ -77,6 +79,31 @@ public class TestFabricaDispersores {
         0x4e22fdf2
     };
 
+    /* Los resultados para MurmurHash3. */
+    private static final int[] DISPERSORES_MURMUR3 = {
+        0x773019cd, 0xe6577908, 0x55e6a5aa, 0x699de5c6, 0x3eb0de92,
+        0x45d555ba, 0xa008a2d4, 0xf0714e3c, 0x4ca9d33d, 0x6f179e70,
+        0x8585edcb, 0xfe1b99a0, 0xd32e94ef, 0x9800cb52, 0x1e219345,
+        0x6039877e, 0x4e08112f, 0x3b54aff3, 0x55d286ec, 0xc0b1d002,
+        0xad86c167, 0x1b0abc3c, 0x476748f0, 0x77cda291, 0x847a27c0,
+        0x3f67c1e7
+    };
+
+    /* Los resultados para xxHash. */
+    private static final int[] DISPERSORES_XXHASH = {
+        0x8d146077, 0xcc2aaf66, 0x366b2ab3, 0x2db1ddaa, 0xef6282e4,
+        0x9f0920a1, 0xc0b81757, 0xa8d68e51, 0x4954591d, 0x1dc1492b,
+        0x392e67eb, 0xcf3bb1e5, 0xfe43c737, 0x7f019a16, 0xded91dee,
+        0x71e28a42, 0x58ce5d44, 0x60be9e53, 0xec7332d1, 0x9efb19c3,
+        0x7d1bb2af, 0xefcc7e8d, 0x1898f479, 0x2569211e, 0x8bfdb336,
+        0xcb9e336a
+    };
+
+    /* Los algoritmos que aceptan semilla. */
+    private static final AlgoritmoDispersor[] CON_SEMILLA = {
+        AlgoritmoDispersor.MURMUR3_STRING, AlgoritmoDispersor.XXHASH_STRING
+    };
+
     /* El dispersor. */
     private Dispersor<String> dispersor;
 
@@ -115,4 +142,100 @@ public class TestFabricaDispersores {
         for (String mensaje : MENSAJES)
             Assert.assertTrue(djb.dispersa(mensaje) == DISPERSORES_DJB[i++]);
     }
+
+    /**
+     * Prueba unitaria para {@link FabricaDispersores#dispersorCadena} con la
+     * huella digital MurmurHash3.
+     */
+    @Test public void testDispersorCadenaMurmur3() {
+        Dispersor<String> murmur =
+            FabricaDispersores.dispersorCadena(AlgoritmoDispersor.MURMUR3_STRING);
+        int i = 0;
+        for (String mensaje : MENSAJES)
+            Assert.assertTrue(murmur.dispersa(mensaje) == DISPERSORES_MURMUR3[i++]);
+        String zorro = "The quick brown fox jumps over the lazy dog";
+        Assert.assertTrue(murmur.dispersa(zorro) == 0x2e4ff723);
+        murmur = FabricaDispersores.dispersorCadena(AlgoritmoDispersor.MURMUR3_STRING,
+                                                    0x9747b28c);
+        Assert.assertTrue(murmur.dispersa(zorro) == 0x2fa826cd);
+    }
+
+    /**
+     * Prueba unitaria para {@link FabricaDispersores#dispersorCadena} con la
+     * huella digital xxHash.
+     */
+    @Test public void testDispersorCadenaXXHash() {
+        Dispersor<String> xx =
+            FabricaDispersores.dispersorCadena(AlgoritmoDispersor.XXHASH_STRING);
+        int i = 0;
+        for (String mensaje : MENSAJES)
+            Assert.assertTrue(xx.dispersa(mensaje) == DISPERSORES_XXHASH[i++]);
+        String zorro = "The quick brown fox jumps over the lazy dog";
+        Assert.assertTrue(xx.dispersa(zorro) == 0xe85ea4de);
+        xx = FabricaDispersores.dispersorCadena(AlgoritmoDispersor.XXHASH_STRING,
+                                                0x9747b28c);
+        Assert.assertTrue(xx.dispersa(zorro) == 0xc8579d72);
+    }
+
+    /**
+     * Prueba unitaria para {@link FabricaDispersores#dispersorCadena} con
+     * semilla.
+     */
+    @Test public void testDispersorCadenaSemilla() {
+        Random random = new Random();
+        for (AlgoritmoDispersor algoritmo : CON_SEMILLA) {
+            int semilla = 1 + random.nextInt(Integer.MAX_VALUE);
+            Dispersor<String> cero = FabricaDispersores.dispersorCadena(algoritmo);
+            Dispersor<String> d1 = FabricaDispersores.dispersorCadena(algoritmo, 0);
+            Dispersor<String> d2 = FabricaDispersores.dispersorCadena(algoritmo, semilla);
+            int distintas = 0;
+            for (String mensaje : MENSAJES) {
+                Assert.assertTrue(cero.dispersa(mensaje) == d1.dispersa(mensaje));
+                if (d1.dispersa(mensaje) != d2.dispersa(mensaje))
+                    distintas++;
+            }
+            Assert.assertTrue(distintas > MENSAJES.length / 2);
+        }
+        for (AlgoritmoDispersor algoritmo : AlgoritmoDispersor.values()) {
+            if (algoritmo == AlgoritmoDispersor.MURMUR3_STRING ||
+                algoritmo == AlgoritmoDispersor.XXHASH_STRING)
+                continue;
+            try {
+                FabricaDispersores.dispersorCadena(algoritmo, 1);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link FabricaDispersores#dispersorCadena} con
+     * secuencias de caracteres que no son cadenas.
+     */
+    @Test public void testDispersorSecuencia() {
+        Random random = new Random();
+        for (AlgoritmoDispersor algoritmo : AlgoritmoDispersor.values()) {
+            Dispersor<String> cadenas = FabricaDispersores.dispersorCadena(algoritmo);
+            Dispersor<StringBuilder> secuencias =
+                FabricaDispersores.dispersorCadena(algoritmo);
+            StringBuilder sb = new StringBuilder();
+            for (String mensaje : MENSAJES) {
+                sb.setLength(0);
+                sb.append(mensaje);
+                Assert.assertTrue(secuencias.dispersa(sb) == cadenas.dispersa(mensaje));
+            }
+            // Cadenas largas, con sustitutos y con sustitutos sin pareja.
+            for (int i = 0; i < 20; i++) {
+                sb.setLength(0);
+                int n = random.nextInt(200);
+                for (int j = 0; j < n; j++)
+                    sb.append((char)random.nextInt(0x10000));
+                sb.appendCodePoint(0x1f600);
+                String s = sb.toString();
+                Assert.assertTrue(secuencias.dispersa(sb) == cadenas.dispersa(s));
+                byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+                if (algoritmo == AlgoritmoDispersor.DJB_STRING)
+                    Assert.assertTrue(cadenas.dispersa(s) == Dispersores.dispersaDJB(utf8));
+            }
+        }
+    }
 }
@@ -0,0 +1,77 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import mx.unam.ciencias.edd.FiltroBloom;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link FiltroBloom}.
+ */
+public class TestFiltroBloom {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random = new Random();
+
+    /**
+     * Prueba unitaria para {@link FiltroBloom#FiltroBloom}: las dimensiones
+     * deben corresponder a la capacidad y la tasa pedidas.
+     */
+    @Test public void testConstructor() {
+        FiltroBloom filtro = new FiltroBloom(1000, 0.01);
+        Assert.assertTrue(filtro.getBits() >= 9586);
+        Assert.assertTrue(Integer.bitCount(filtro.getBits()) == 1);
+        Assert.assertTrue(filtro.getFunciones() == 7);
+        Assert.assertTrue(filtro.getElementos() == 0);
+        Assert.assertTrue(filtro.tasaFalsosPositivos() == 0);
+        Assert.assertFalse(filtro.contiene("x"));
+        Assert.assertFalse(filtro.contiene((String) null));
+        new FiltroBloom(0, 0.5).agrega("x");
+        double[][] invalidos = { { -1, 0.5 }, { 10, 0 }, { 10, 1 }, { 10, Double.NaN } };
+        for (double[] p : invalidos)
+            try {
+                new FiltroBloom((int) p[0], p[1]);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link FiltroBloom#agrega} y {@link
+     * FiltroBloom#contiene}: el filtro no da falsos negativos, y la tasa de
+     * falsos positivos queda cerca de la pedida.
+     */
+    @Test public void testContiene() {
+        int n = 5000 + random.nextInt(5000);
+        double tasa = 0.01;
+        FiltroBloom filtro = new FiltroBloom(n, tasa);
+        Set<String> agregadas = new HashSet<>();
+        for (int i = 0; i < n; i++) {
+            String s = "p" + random.nextInt();
+            agregadas.add(s);
+            if (random.nextBoolean())
+                filtro.agrega(s);
+            else
+                filtro.agrega(("<" + s + ">").toCharArray(), 1, s.length());
+        }
+        Assert.assertTrue(filtro.getElementos() == n);
+        for (String s : agregadas) {
+            Assert.assertTrue(filtro.contiene(s));
+            Assert.assertTrue(filtro.contiene(("<" + s + ">").toCharArray(), 1, s.length()));
+        }
+        int falsos = 0, consultas = 20000;
+        for (int i = 0; i < consultas; i++) {
+            String s = "q" + random.nextInt();
+            if (filtro.contiene(s))
+                falsos++;
+        }
+        Assert.assertTrue(filtro.tasaFalsosPositivos() <= tasa);
+        Assert.assertTrue(falsos <= 3 * tasa * consultas);
+    }
+}
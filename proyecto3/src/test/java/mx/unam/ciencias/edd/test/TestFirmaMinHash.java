@@ -0,0 +1,137 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Arrays;
+import java.util.Random;
+import mx.unam.ciencias.edd.FirmaMinHash;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link FirmaMinHash}.
+ */
+public class TestFirmaMinHash {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random = new Random();
+
+    /* Regresa la firma de las cadenas "p" + i para i en [inicio, fin). */
+    private static FirmaMinHash firma(int tamano, int inicio, int fin) {
+        FirmaMinHash firma = new FirmaMinHash(tamano);
+        for (int i = inicio; i < fin; i++)
+            firma.agrega("p" + i);
+        return firma;
+    }
+
+    /**
+     * Prueba unitaria para {@link FirmaMinHash#FirmaMinHash}.
+     */
+    @Test public void testConstructor() {
+        FirmaMinHash firma = new FirmaMinHash(64);
+        Assert.assertTrue(firma.getTamano() == 64);
+        Assert.assertTrue(firma.esVacia());
+        Assert.assertTrue(firma.similitud(new FirmaMinHash(64)) == 0);
+        firma.agrega("x");
+        Assert.assertFalse(firma.esVacia());
+        Assert.assertTrue(firma.similitud(firma) == 1);
+        try {
+            new FirmaMinHash(0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            firma.similitud(new FirmaMinHash(32));
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            firma.agrega((String) null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link FirmaMinHash#agrega} y {@link
+     * FirmaMinHash#similitud}: las repeticiones no cambian la firma, y la
+     * similitud estimada queda cerca de la de Jaccard.
+     */
+    @Test public void testSimilitud() {
+        int n = 1000 + random.nextInt(1000);
+        for (int traslape = 0; traslape <= n; traslape += n / 4) {
+            // A = [0, n), B = [n - traslape, 2n - traslape).
+            FirmaMinHash a = firma(256, 0, n);
+            FirmaMinHash b = new FirmaMinHash(256);
+            for (int i = n - traslape; i < 2 * n - traslape; i++) {
+                String s = "p" + i;
+                b.agrega(("<" + s + ">").toCharArray(), 1, s.length());
+                if (random.nextBoolean())
+                    b.agrega(s);
+            }
+            double jaccard = (double) traslape / (2 * n - traslape);
+            Assert.assertTrue(Math.abs(a.similitud(b) - jaccard) <= 4 / (2 * Math.sqrt(256)));
+            Assert.assertTrue(a.similitud(b) == b.similitud(a));
+        }
+    }
+
+    /* Regresa las parejas de firmas con similitud al menos umbral. */
+    private static long[] todas(FirmaMinHash[] firmas, double umbral) {
+        long[] parejas = new long[firmas.length * firmas.length];
+        int m = 0;
+        for (int i = 0; i < firmas.length; i++)
+            for (int j = i + 1; j < firmas.length; j++)
+                if (!firmas[i].esVacia() && firmas[i].similitud(firmas[j]) >= umbral)
+                    parejas[m++] = ((long) i << 32) | j;
+        return Arrays.copyOf(parejas, m);
+    }
+
+    /**
+     * Prueba unitaria para {@link FirmaMinHash#parejasSimilares}: con pocas
+     * firmas el resultado es el de comparar todas las parejas, y con muchas las
+     * bandas encuentran las parejas muy similares sin regresar parejas por
+     * debajo del umbral.
+     */
+    @Test public void testParejasSimilares() {
+        int n = 50 + random.nextInt(50);
+        FirmaMinHash[] pocas = new FirmaMinHash[n];
+        for (int i = 0; i < n; i++) {
+            int inicio = random.nextInt(10) * 20;
+            pocas[i] = random.nextInt(10) == 0 ? new FirmaMinHash(64) : firma(64, inicio, inicio + 100);
+        }
+        Assert.assertArrayEquals(todas(pocas, 0.3), FirmaMinHash.parejasSimilares(pocas, 16, 0.3));
+        Assert.assertTrue(FirmaMinHash.parejasSimilares(new FirmaMinHash[0], 1, 0.5).length == 0);
+        // Muchas firmas disjuntas, y algunas parejas casi iguales.
+        int m = 3000;
+        FirmaMinHash[] muchas = new FirmaMinHash[m];
+        for (int i = 0; i < m; i++)
+            muchas[i] = firma(32, i * 100, i * 100 + 40);
+        int[] similares = new int[20];
+        for (int k = 0; k < similares.length; k++) {
+            int i = random.nextInt(m / 2) * 2;
+            similares[k] = i;
+            muchas[i + 1] = firma(32, i * 100 + 2, i * 100 + 42);
+        }
+        long[] parejas = FirmaMinHash.parejasSimilares(muchas, 16, 0.5);
+        for (long pareja : parejas)
+            Assert.assertTrue(muchas[(int) (pareja >>> 32)].similitud(muchas[(int) pareja]) >= 0.5);
+        for (int i : similares)
+            Assert.assertTrue(Arrays.binarySearch(parejas, ((long) i << 32) | (i + 1)) >= 0);
+        // Muchas firmas casi iguales: cada pareja coincide en casi todas las
+        // bandas, y debe regresarse una sola vez.
+        FirmaMinHash[] parecidas = new FirmaMinHash[1100];
+        for (int i = 0; i < parecidas.length; i++) {
+            int inicio = random.nextInt(3);
+            parecidas[i] = firma(32, inicio, inicio + 200);
+        }
+        Assert.assertArrayEquals(todas(parecidas, 0.9), FirmaMinHash.parejasSimilares(parecidas, 16, 0.9));
+        try {
+            FirmaMinHash.parejasSimilares(pocas, 65, 0.5);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            FirmaMinHash.parejasSimilares(new FirmaMinHash[] { pocas[0], new FirmaMinHash(8) }, 1, 0.5);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+}
@@ -725,4 +725,121 @@ public class TestGrafica {
             Assert.assertTrue(lista.equals(dijkstra));
         }
     }
+
+    /**
+     * Prueba unitaria para {@link Grafica#dijkstra} en una gráfica no densa
+     * con pesos fraccionarios: el peso de cada trayectoria debe ser la
+     * distancia calculada con Bellman-Ford.
+     */
+    @Test public void testDijkstraPesosFraccionarios() {
+        verificaDijkstra(false, false);
+    }
+
+    /**
+     * Prueba unitaria para {@link Grafica#dijkstra} en una gráfica completa con
+     * pesos fraccionarios menores que uno, que usa un montículo de arreglo: el
+     * peso de cada trayectoria debe ser la distancia calculada con
+     * Bellman-Ford.
+     */
+    @Test public void testDijkstraDensa() {
+        verificaDijkstra(false, true);
+    }
+
+    /**
+     * Prueba unitaria para {@link Grafica#dijkstra} con pesos enteros, que
+     * usa un montículo radix: el peso de cada trayectoria debe ser la
+     * distancia calculada con Bellman-Ford.
+     */
+    @Test public void testDijkstraPesosEnteros() {
+        verificaDijkstra(true, false);
+    }
+
+    /**
+     * Prueba unitaria para {@link Grafica#dijkstra} cuando los pesos pasan de
+     * enteros a fraccionarios y de regreso con {@link Grafica#setPeso}, {@link
+     * Grafica#desconecta} y {@link Grafica#elimina}.
+     */
+    @Test public void testDijkstraCambiaPesos() {
+        for (int i = 0; i < 4; i++)
+            grafica.agrega(i);
+        grafica.conecta(0, 1, 1);
+        grafica.conecta(1, 2, 1);
+        grafica.conecta(0, 2, 3);
+        Assert.assertTrue(grafica.dijkstra(0, 2).getElementos() == 3);
+        grafica.setPeso(0, 2, 1.5);
+        Assert.assertTrue(grafica.dijkstra(0, 2).getElementos() == 2);
+        grafica.conecta(2, 3, 0.25);
+        grafica.setPeso(0, 2, 2.5);
+        Assert.assertTrue(grafica.dijkstra(0, 2).getElementos() == 3);
+        grafica.desconecta(0, 1);
+        Assert.assertTrue(grafica.dijkstra(0, 3).getElementos() == 3);
+        grafica.conecta(0, 1, 0.5);
+        grafica.setPeso(0, 2, 1.25);
+        grafica.elimina(3);
+        Assert.assertTrue(grafica.dijkstra(0, 2).getElementos() == 2);
+        grafica.setPeso(0, 1, 1);
+        Assert.assertTrue(grafica.dijkstra(0, 2).getElementos() == 2);
+        grafica.setPeso(0, 2, 2.75);
+        Assert.assertTrue(grafica.dijkstra(0, 2).getElementos() == 3);
+    }
+
+    /* Compara las trayectorias de Dijkstra con las distancias de
+     * Bellman-Ford en una gráfica aleatoria, o completa si es densa. */
+    private void verificaDijkstra(boolean enteros, boolean densa) {
+        int n = densa ? 20 + random.nextInt(20) : 100 + random.nextInt(100);
+        for (int i = 0; i < n; i++)
+            grafica.agrega(i);
+        int m = 0;
+        int[][] aristas = new int[densa ? n * (n - 1) / 2 : 3 * n][];
+        if (densa) {
+            // Pesos en [0.1, 1): distancias que difieren en menos de uno.
+            for (int a = 0; a < n; a++)
+                for (int b = a + 1; b < n; b++) {
+                    grafica.conecta(a, b, 0.1 + 0.9 * random.nextDouble());
+                    aristas[m++] = new int[] { a, b };
+                }
+        }
+        for (int k = 0; !densa && k < 3 * n; k++) {
+            int a = random.nextInt(n), b = random.nextInt(n);
+            if (a == b || grafica.sonVecinos(a, b))
+                continue;
+            grafica.conecta(a, b, enteros ? 1 + random.nextInt(10) : random.nextDouble());
+            aristas[m++] = new int[] { a, b };
+        }
+        double[] distancias = new double[n];
+        for (int i = 1; i < n; i++)
+            distancias[i] = Double.MAX_VALUE;
+        for (boolean cambio = true; cambio; ) {
+            cambio = false;
+            for (int k = 0; k < m; k++) {
+                int a = aristas[k][0], b = aristas[k][1];
+                double peso = grafica.getPeso(a, b);
+                if (distancias[a] + peso < distancias[b]) {
+                    distancias[b] = distancias[a] + peso;
+                    cambio = true;
+                }
+                if (distancias[b] + peso < distancias[a]) {
+                    distancias[a] = distancias[b] + peso;
+                    cambio = true;
+                }
+            }
+        }
+        for (int i = 1; i < n; i++) {
+            Lista<VerticeGrafica<Integer>> trayectoria = grafica.dijkstra(0, i);
+            if (distancias[i] == Double.MAX_VALUE) {
+                Assert.assertTrue(trayectoria.esVacia());
+                continue;
+            }
+            double peso = 0;
+            VerticeGrafica<Integer> anterior = null;
+            for (VerticeGrafica<Integer> v : trayectoria) {
+                if (anterior != null)
+                    peso += grafica.getPeso(anterior.get(), v.get());
+                anterior = v;
+            }
+            Assert.assertTrue(trayectoria.getPrimero().get() == 0);
+            Assert.assertTrue(anterior.get() == i);
+            Assert.assertEquals(distancias[i], peso, 1e-9);
+        }
+    }
 }
@@ -0,0 +1,107 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.HyperLogLog;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link HyperLogLog}.
+ */
+public class TestHyperLogLog {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random = new Random();
+
+    /* Nos dice si la estimación está a menos de cuatro errores estándar. */
+    private static boolean cerca(HyperLogLog bosquejo, long real) {
+        return Math.abs(bosquejo.estima() - real) <= 4 * bosquejo.errorEstandar() * real + 1;
+    }
+
+    /**
+     * Prueba unitaria para {@link HyperLogLog#HyperLogLog}.
+     */
+    @Test public void testConstructor() {
+        for (int p = HyperLogLog.PRECISION_MINIMA; p <= HyperLogLog.PRECISION_MAXIMA; p++) {
+            HyperLogLog bosquejo = new HyperLogLog(p);
+            Assert.assertTrue(bosquejo.getPrecision() == p);
+            Assert.assertTrue(bosquejo.estima() == 0);
+            Assert.assertTrue(bosquejo.errorEstandar() == 1.04 / Math.sqrt(1 << p));
+        }
+        int[] invalidas = { HyperLogLog.PRECISION_MINIMA - 1, HyperLogLog.PRECISION_MAXIMA + 1, -1 };
+        for (int p : invalidas)
+            try {
+                new HyperLogLog(p);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link HyperLogLog#agrega} y {@link
+     * HyperLogLog#estima}: las repeticiones no cambian la estimación, y ésta
+     * queda cerca del número real de cadenas distintas, tanto con pocas cadenas
+     * como con muchas.
+     */
+    @Test public void testEstima() {
+        int[] tamanos = { 10, 1000, 20000 + random.nextInt(100000) };
+        for (int n : tamanos) {
+            HyperLogLog bosquejo = new HyperLogLog(12);
+            int base = random.nextInt(1000000);
+            for (int i = 0; i < n; i++) {
+                String s = "p" + (base + i);
+                bosquejo.agrega(s);
+                if (random.nextBoolean())
+                    bosquejo.agrega(("<" + s + ">").toCharArray(), 1, s.length());
+            }
+            long estimacion = bosquejo.estima();
+            for (int i = 0; i < n; i += 1 + random.nextInt(10))
+                bosquejo.agrega("p" + (base + i));
+            Assert.assertTrue(bosquejo.estima() == estimacion);
+            Assert.assertTrue(cerca(bosquejo, n));
+        }
+        try {
+            new HyperLogLog(8).agrega((String) null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link HyperLogLog#combina} y {@link
+     * HyperLogLog#copia}: la combinación de dos bosquejos es igual al bosquejo de
+     * la unión de sus cadenas.
+     */
+    @Test public void testCombina() {
+        HyperLogLog a = new HyperLogLog(10);
+        HyperLogLog b = new HyperLogLog(10);
+        HyperLogLog union = new HyperLogLog(10);
+        int n = 5000 + random.nextInt(5000);
+        for (int i = 0; i < n; i++) {
+            String s = Integer.toString(random.nextInt(2 * n));
+            (random.nextBoolean() ? a : b).agrega(s);
+            union.agrega(s);
+        }
+        HyperLogLog copia = a.copia();
+        Assert.assertTrue(copia.estima() == a.estima());
+        copia.combina(b);
+        Assert.assertTrue(copia.estima() == union.estima());
+        Assert.assertTrue(b.estima() <= union.estima());
+        copia.combina(union);
+        Assert.assertTrue(copia.estima() == union.estima());
+        long estimacion = a.estima();
+        a.combina(new HyperLogLog(10));
+        Assert.assertTrue(a.estima() == estimacion);
+        try {
+            a.combina(new HyperLogLog(11));
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            a.combina(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+}
@@ -0,0 +1,204 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.ComparableIndexable;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.MonticuloD;
+import mx.unam.ciencias.edd.ValorIndexable;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link MonticuloD}.
+ */
+public class TestMonticuloD {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Las aridades válidas. */
+    private static final int[] ARIDADES = { 2, 4, 8 };
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La aridad del montículo. */
+    private int aridad;
+    /* Los elementos con los que se construyó el montículo. */
+    private Lista<ValorIndexable<String>> lista;
+    /* El montículo. */
+    private MonticuloD<ValorIndexable<String>> monticulo;
+
+    /* Método que verifica que un montículo d-ario cumpla con sus
+     * propiedades. */
+    private static <T extends ComparableIndexable<T>> void
+    verificaMonticulo(MonticuloD<T> monticulo) {
+        int n = monticulo.getElementos();
+        int d = monticulo.getAridad();
+        for (int i = 0; i < n; i++) {
+            T e = monticulo.get(i);
+            Assert.assertTrue(e.getIndice() == i);
+            for (int h = d * i + 1; h <= d * i + d && h < n; h++)
+                Assert.assertTrue(monticulo.get(h).compareTo(e) >= 0);
+        }
+    }
+
+    /* Regresa un nuevo elemento con valor aleatorio. */
+    private ValorIndexable<String> nuevo() {
+        return new ValorIndexable<String>(Integer.toString(random.nextInt()),
+                                          random.nextDouble());
+    }
+
+    /**
+     * Crea un montículo con aridad aleatoria para cada prueba.
+     */
+    public TestMonticuloD() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        aridad = ARIDADES[random.nextInt(ARIDADES.length)];
+        lista = new Lista<ValorIndexable<String>>();
+        for (int i = 0; i < total; i++)
+            lista.agregaFinal(nuevo());
+        monticulo = new MonticuloD<ValorIndexable<String>>(lista, aridad);
+        verificaMonticulo(monticulo);
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloD#MonticuloD(int)} y {@link
+     * MonticuloD#MonticuloD(Coleccion,int)}.
+     */
+    @Test public void testConstructores() {
+        Assert.assertTrue(monticulo.getAridad() == aridad);
+        Assert.assertTrue(monticulo.getElementos() == total);
+        for (ValorIndexable<String> e : lista)
+            Assert.assertTrue(monticulo.contiene(e));
+        MonticuloD<ValorIndexable<String>> vacio =
+            new MonticuloD<ValorIndexable<String>>(aridad);
+        Assert.assertTrue(vacio.esVacia());
+        for (int a : new int[] { 0, 1, 3, 16 }) {
+            try {
+                new MonticuloD<ValorIndexable<String>>(a);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloD#agrega}.
+     */
+    @Test public void testAgrega() {
+        for (int i = 0; i < total * 4; i++) {
+            monticulo.agrega(nuevo());
+            verificaMonticulo(monticulo);
+            Assert.assertTrue(monticulo.getElementos() == total + i + 1);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloD#elimina()}: los elementos deben
+     * salir en orden.
+     */
+    @Test public void testElimina() {
+        double anterior = Double.NEGATIVE_INFINITY;
+        while (!monticulo.esVacia()) {
+            ValorIndexable<String> a = monticulo.elimina();
+            Assert.assertTrue(a.getIndice() == -1);
+            Assert.assertTrue(a.getValor() >= anterior);
+            anterior = a.getValor();
+            verificaMonticulo(monticulo);
+            Assert.assertTrue(monticulo.getElementos() == --total);
+        }
+        try {
+            monticulo.elimina();
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloD#elimina(Object)}.
+     */
+    @Test public void testEliminaElemento() {
+        while (!monticulo.esVacia()) {
+            int n = monticulo.getElementos();
+            ValorIndexable<String> a = monticulo.get(random.nextInt(n));
+            monticulo.elimina(a);
+            Assert.assertTrue(a.getIndice() == -1);
+            Assert.assertFalse(monticulo.contiene(a));
+            verificaMonticulo(monticulo);
+            Assert.assertTrue(monticulo.getElementos() == --total);
+        }
+        monticulo.elimina(nuevo());
+        Assert.assertTrue(monticulo.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloD#reordena}, disminuyendo y
+     * aumentando valores.
+     */
+    @Test public void testReordena() {
+        int n = monticulo.getElementos();
+        for (int i = 0; i < n; i++) {
+            ValorIndexable<String> idx = monticulo.get(random.nextInt(n));
+            idx.setValor(idx.getValor() / 10.0);
+            monticulo.reordena(idx);
+            verificaMonticulo(monticulo);
+        }
+        for (int i = 0; i < n; i++) {
+            ValorIndexable<String> idx = monticulo.get(random.nextInt(n));
+            idx.setValor(idx.getValor() * 10.0);
+            monticulo.reordena(idx);
+            verificaMonticulo(monticulo);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloD#limpia} y {@link
+     * MonticuloD#esVacia}.
+     */
+    @Test public void testLimpia() {
+        Assert.assertFalse(monticulo.esVacia());
+        monticulo.limpia();
+        Assert.assertTrue(monticulo.esVacia());
+        Assert.assertTrue(monticulo.getElementos() == 0);
+        try {
+            monticulo.get(0);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        monticulo.agrega(nuevo());
+        Assert.assertTrue(monticulo.getElementos() == 1);
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloD#equals}.
+     */
+    @Test public void testEquals() {
+        MonticuloD<ValorIndexable<String>> copia =
+            new MonticuloD<ValorIndexable<String>>(monticulo, total, aridad);
+        Assert.assertTrue(monticulo.equals(copia));
+        Assert.assertFalse(monticulo.equals(null));
+        copia.elimina();
+        Assert.assertFalse(monticulo.equals(copia));
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloD#iterator}: recorre el montículo
+     * por niveles.
+     */
+    @Test public void testIterator() {
+        Iterator<ValorIndexable<String>> iterador = monticulo.iterator();
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(iterador.hasNext());
+            Assert.assertTrue(iterador.next() == monticulo.get(i));
+        }
+        Assert.assertFalse(iterador.hasNext());
+        try {
+            iterador.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+}
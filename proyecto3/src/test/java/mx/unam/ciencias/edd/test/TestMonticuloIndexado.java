@@ -0,0 +1,194 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.MonticuloIndexado;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link MonticuloIndexado}.
+ */
+public class TestMonticuloIndexado {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de identificadores. */
+    private int total;
+    /* El montículo. */
+    private MonticuloIndexado monticulo;
+
+    /**
+     * Crea un montículo vacío para cada prueba.
+     */
+    public TestMonticuloIndexado() {
+        random = new Random();
+        total = 10 + random.nextInt(990);
+        monticulo = new MonticuloIndexado(total);
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloIndexado#MonticuloIndexado}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(monticulo.esVacia());
+        Assert.assertTrue(monticulo.getElementos() == 0);
+        Assert.assertTrue(monticulo.getCapacidad() == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(monticulo.contiene(i));
+        try {
+            new MonticuloIndexado(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * MonticuloIndexado#MonticuloIndexado(long[])}: los identificadores deben
+     * salir en el mismo orden que agregándolos uno por uno, y se pueden seguir
+     * disminuyendo sus claves.
+     */
+    @Test public void testConstructorClaves() {
+        long[] claves = new long[total];
+        for (int i = 0; i < total; i++) {
+            claves[i] = random.nextInt(total / 4 + 1) - total / 8;
+            monticulo.agrega(i, claves[i]);
+        }
+        MonticuloIndexado construido = new MonticuloIndexado(claves);
+        claves[0] = Long.MAX_VALUE;
+        Assert.assertTrue(construido.getElementos() == total);
+        Assert.assertTrue(construido.getCapacidad() == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(construido.contiene(i));
+        int id = random.nextInt(total);
+        long clave = construido.clave(id) - total;
+        construido.disminuyeClave(id, clave);
+        monticulo.disminuyeClave(id, clave);
+        while (!monticulo.esVacia())
+            Assert.assertTrue(construido.elimina() == monticulo.elimina());
+        Assert.assertTrue(construido.esVacia());
+        Assert.assertTrue(new MonticuloIndexado(new long[0]).esVacia());
+        try {
+            new MonticuloIndexado(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloIndexado#agrega} y {@link
+     * MonticuloIndexado#elimina}: los identificadores deben salir por clave y,
+     * entre claves iguales, por identificador.
+     */
+    @Test public void testAgregaElimina() {
+        long[] claves = new long[total];
+        for (int i = 0; i < total; i++) {
+            claves[i] = random.nextInt(total / 4 + 1) - total / 8;
+            monticulo.agrega(i, claves[i]);
+            Assert.assertTrue(monticulo.contiene(i));
+            Assert.assertTrue(monticulo.clave(i) == claves[i]);
+            Assert.assertTrue(monticulo.getElementos() == i + 1);
+        }
+        long claveAnterior = Long.MIN_VALUE;
+        int anterior = -1;
+        while (!monticulo.esVacia()) {
+            int minimo = monticulo.minimo();
+            int id = monticulo.elimina();
+            Assert.assertTrue(id == minimo);
+            Assert.assertFalse(monticulo.contiene(id));
+            Assert.assertTrue(claves[id] > claveAnterior ||
+                              (claves[id] == claveAnterior && id > anterior));
+            claveAnterior = claves[id];
+            anterior = id;
+        }
+        try {
+            monticulo.elimina();
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+        try {
+            monticulo.minimo();
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+        monticulo.agrega(0, 1);
+        try {
+            monticulo.agrega(0, 2);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            monticulo.agrega(total, 2);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloIndexado#disminuyeClave}: después
+     * de disminuir claves al azar, los identificadores deben salir en el orden
+     * de sus claves finales.
+     */
+    @Test public void testDisminuyeClave() {
+        long[] claves = new long[total];
+        for (int i = 0; i < total; i++) {
+            claves[i] = random.nextInt(1000000);
+            monticulo.agrega(i, claves[i]);
+        }
+        for (int k = 0; k < 2 * total; k++) {
+            int id = random.nextInt(total);
+            claves[id] -= random.nextInt(1000);
+            monticulo.disminuyeClave(id, claves[id]);
+            Assert.assertTrue(monticulo.clave(id) == claves[id]);
+        }
+        long[] ordenadas = claves.clone();
+        Arrays.sort(ordenadas);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(claves[monticulo.elimina()] == ordenadas[i]);
+        monticulo.agrega(0, 5);
+        try {
+            monticulo.disminuyeClave(0, 6);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            monticulo.disminuyeClave(1, 0);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloIndexado#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (int i = 0; i < total; i += 2)
+            monticulo.agrega(i, random.nextLong());
+        monticulo.limpia();
+        Assert.assertTrue(monticulo.esVacia());
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(monticulo.contiene(i));
+        monticulo.agrega(0, 3);
+        Assert.assertTrue(monticulo.elimina() == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloIndexado#claveOrdenada}: las claves
+     * deben ordenarse como los valores.
+     */
+    @Test public void testClaveOrdenada() {
+        double[] valores = new double[total];
+        for (int i = 0; i < total; i++)
+            valores[i] = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(20) - 10);
+        valores[0] = 0;
+        valores[1] = -0.0;
+        valores[2] = Double.MAX_VALUE;
+        valores[3] = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < total; i++)
+            for (int j = 0; j < 20; j++) {
+                double a = valores[i], b = valores[random.nextInt(total)];
+                Assert.assertTrue(Integer.signum(Double.compare(a, b)) ==
+                                  Long.signum(Long.compare(MonticuloIndexado.claveOrdenada(a),
+                                                           MonticuloIndexado.claveOrdenada(b))));
+            }
+    }
+}
@@ -0,0 +1,136 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.MonticuloRadix;
+import mx.unam.ciencias.edd.ValorIndexable;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link MonticuloRadix}.
+ */
+public class TestMonticuloRadix {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* Los elementos; el valor es la clave. */
+    private Lista<ValorIndexable<Integer>> lista;
+    /* El montículo. */
+    private MonticuloRadix<ValorIndexable<Integer>> monticulo;
+
+    /**
+     * Crea un montículo con claves aleatorias para cada prueba.
+     */
+    public TestMonticuloRadix() {
+        random = new Random();
+        total = 10 + random.nextInt(990);
+        lista = new Lista<ValorIndexable<Integer>>();
+        for (int i = 0; i < total; i++)
+            lista.agregaFinal(new ValorIndexable<Integer>(i, random.nextInt(1 << random.nextInt(30))));
+        monticulo = new MonticuloRadix<ValorIndexable<Integer>>(lista, e -> (long) e.getValor());
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloRadix#MonticuloRadix} y {@link
+     * MonticuloRadix#get}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(monticulo.getElementos() == total);
+        Assert.assertFalse(monticulo.esVacia());
+        boolean[] vistos = new boolean[total];
+        for (int i = 0; i < total; i++)
+            vistos[monticulo.get(i).getElemento()] = true;
+        for (boolean visto : vistos)
+            Assert.assertTrue(visto);
+        try {
+            monticulo.get(total);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        Lista<ValorIndexable<Integer>> negativos = new Lista<ValorIndexable<Integer>>();
+        negativos.agrega(new ValorIndexable<Integer>(0, -1));
+        try {
+            new MonticuloRadix<ValorIndexable<Integer>>(negativos, e -> (long) e.getValor());
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloRadix#elimina}: las claves deben
+     * salir en orden.
+     */
+    @Test public void testElimina() {
+        double anterior = -1;
+        int n = total;
+        while (!monticulo.esVacia()) {
+            ValorIndexable<Integer> e = monticulo.elimina();
+            Assert.assertTrue(e.getIndice() == -1);
+            Assert.assertTrue(e.getValor() >= anterior);
+            anterior = e.getValor();
+            Assert.assertTrue(monticulo.getElementos() == --n);
+        }
+        try {
+            monticulo.elimina();
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloRadix#reordena}: intercalando
+     * eliminaciones con cambios de clave que nunca bajan de la última
+     * eliminada, los elementos deben salir en el orden de sus claves finales.
+     */
+    @Test public void testReordena() {
+        @SuppressWarnings("unchecked")
+        ValorIndexable<Integer>[] elementos = new ValorIndexable[total];
+        for (ValorIndexable<Integer> e : lista)
+            elementos[e.getElemento()] = e;
+        double ultima = 0;
+        while (!monticulo.esVacia()) {
+            for (int k = 0; k < 3; k++) {
+                ValorIndexable<Integer> e = elementos[random.nextInt(total)];
+                if (e.getIndice() < 0)
+                    continue;
+                double nueva = ultima + random.nextInt(1 << random.nextInt(20));
+                e.setValor(nueva);
+                monticulo.reordena(e);
+            }
+            double minima = Double.MAX_VALUE;
+            for (int i = 0; i < monticulo.getElementos(); i++)
+                minima = Math.min(minima, monticulo.get(i).getValor());
+            ValorIndexable<Integer> e = monticulo.elimina();
+            Assert.assertTrue(e.getValor() == minima);
+            ultima = e.getValor();
+        }
+        ValorIndexable<Integer> eliminado = elementos[0];
+        eliminado.setValor(0);
+        monticulo.reordena(eliminado);
+        Assert.assertTrue(monticulo.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloRadix#reordena} con una clave menor
+     * que la última eliminada.
+     */
+    @Test public void testReordenaInvalido() {
+        lista = new Lista<ValorIndexable<Integer>>();
+        for (int i = 1; i <= 3; i++)
+            lista.agregaFinal(new ValorIndexable<Integer>(i, 10 * i));
+        monticulo = new MonticuloRadix<ValorIndexable<Integer>>(lista, e -> (long) e.getValor());
+        Assert.assertTrue(monticulo.elimina().getValor() == 10);
+        ValorIndexable<Integer> e = monticulo.get(0);
+        e.setValor(5);
+        try {
+            monticulo.reordena(e);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+}
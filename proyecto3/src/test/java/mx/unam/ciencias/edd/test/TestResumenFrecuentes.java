@@ -0,0 +1,105 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import mx.unam.ciencias.edd.ResumenFrecuentes;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ResumenFrecuentes}.
+ */
+public class TestResumenFrecuentes {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número de contadores. */
+    private int contadores;
+    /* El resumen. */
+    private ResumenFrecuentes resumen;
+
+    /**
+     * Crea un resumen con un número aleatorio de contadores para cada prueba.
+     */
+    public TestResumenFrecuentes() {
+        random = new Random();
+        contadores = 10 + random.nextInt(90);
+        resumen = new ResumenFrecuentes(contadores);
+    }
+
+    /**
+     * Prueba unitaria para {@link ResumenFrecuentes#incrementa} mientras hay
+     * contadores libres: los conteos deben ser exactos.
+     */
+    @Test public void testExacto() {
+        Map<String, Integer> esperado = new HashMap<>();
+        for (int i = 0; i < contadores * 20; i++) {
+            String s = Integer.toString(random.nextInt(contadores));
+            esperado.merge(s, 1, Integer::sum);
+            if (random.nextBoolean())
+                resumen.incrementa(s);
+            else
+                resumen.incrementa(("<" + s + ">").toCharArray(), 1, s.length());
+        }
+        Assert.assertTrue(resumen.getElementos() == esperado.size());
+        Assert.assertTrue(resumen.minimo() == 0 || esperado.size() == contadores);
+        for (Map.Entry<String, Integer> e : esperado.entrySet()) {
+            Assert.assertTrue(resumen.get(e.getKey()) == e.getValue());
+            Assert.assertTrue(resumen.error(e.getKey()) == 0);
+        }
+        Assert.assertFalse(resumen.contiene("ausente"));
+        Assert.assertTrue(resumen.get("ausente") == 0);
+        Assert.assertTrue(resumen.getTotal() == contadores * 20);
+        try {
+            new ResumenFrecuentes(0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para las cotas de {@link ResumenFrecuentes} con más
+     * cadenas distintas que contadores.
+     */
+    @Test public void testCotas() {
+        Map<String, Integer> esperado = new HashMap<>();
+        int n = contadores * 200;
+        for (int i = 0; i < n; i++) {
+            // La mitad de las cadenas viene de unas pocas frecuentes.
+            String s = random.nextBoolean() ? "f" + random.nextInt(contadores / 4)
+                                            : "r" + random.nextInt(n);
+            esperado.merge(s, 1, Integer::sum);
+            resumen.incrementa(s);
+        }
+        Assert.assertTrue(resumen.getElementos() == contadores);
+        Assert.assertTrue(resumen.minimo() <= n / contadores);
+        long suma = 0;
+        Set<String> llaves = new HashSet<>();
+        Iterator<String> iterador = resumen.iteradorLlaves();
+        while (iterador.hasNext()) {
+            String s = iterador.next();
+            Assert.assertTrue(llaves.add(s));
+            int real = esperado.get(s);
+            Assert.assertTrue(resumen.get(s) >= real);
+            Assert.assertTrue(resumen.get(s) - resumen.error(s) <= real);
+            Assert.assertTrue(resumen.error(s) <= resumen.minimo());
+            suma += resumen.get(s);
+        }
+        Assert.assertTrue(llaves.size() == contadores);
+        Assert.assertTrue(suma == n);
+        for (Map.Entry<String, Integer> e : esperado.entrySet()) {
+            if (!resumen.contiene(e.getKey()))
+                Assert.assertTrue(e.getValue() <= resumen.minimo());
+            if (e.getValue() > n / contadores)
+                Assert.assertTrue(resumen.contiene(e.getKey()));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Arrays;
+import java.util.Random;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.SelectorMinimos;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link SelectorMinimos}.
+ */
+public class TestSelectorMinimos {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random = new Random();
+
+    /* Entero con un identificador que no participa en la comparación. */
+    private static class Etiquetado implements Comparable<Etiquetado> {
+        private int valor;
+        private int etiqueta;
+        private Etiquetado(int valor, int etiqueta) {
+            this.valor = valor;
+            this.etiqueta = etiqueta;
+        }
+        @Override public int compareTo(Etiquetado e) {
+            return Integer.compare(valor, e.valor);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link SelectorMinimos#SelectorMinimos}.
+     */
+    @Test public void testConstructor() {
+        SelectorMinimos<Integer> selector = new SelectorMinimos<>(3);
+        Assert.assertTrue(selector.esVacia());
+        Assert.assertFalse(selector.estaLleno());
+        Assert.assertTrue(selector.getElementos() == 0);
+        Assert.assertTrue(selector.getCapacidad() == 3);
+        Assert.assertTrue(selector.ordenados().esVacia());
+        try {
+            selector.tope();
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+        try {
+            new SelectorMinimos<Integer>(0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            selector.agrega(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link SelectorMinimos#agrega} y {@link
+     * SelectorMinimos#ordenados}: los seleccionados deben ser los primeros
+     * <i>k</i> del flujo ordenado.
+     */
+    @Test public void testAgrega() {
+        int n = 1 + random.nextInt(1000);
+        int k = 1 + random.nextInt(50);
+        int[] flujo = new int[n];
+        SelectorMinimos<Integer> selector = new SelectorMinimos<>(k);
+        for (int i = 0; i < n; i++) {
+            flujo[i] = random.nextInt(200);
+            selector.agrega(flujo[i]);
+            Assert.assertTrue(selector.getElementos() == Math.min(i + 1, k));
+        }
+        Arrays.sort(flujo);
+        Lista<Integer> ordenados = selector.ordenados();
+        Assert.assertTrue(ordenados.getElementos() == Math.min(n, k));
+        int i = 0;
+        for (Integer e : ordenados)
+            Assert.assertTrue(e == flujo[i++]);
+        Assert.assertTrue(selector.tope() == flujo[Math.min(n, k) - 1]);
+        Assert.assertTrue(selector.estaLleno() == (n >= k));
+        // ordenados() no modifica el selector.
+        Assert.assertEquals(ordenados, selector.ordenados());
+    }
+
+    /**
+     * Prueba unitaria para {@link SelectorMinimos#agrega} con elementos
+     * iguales: se prefieren los que llegaron primero, y salen en el orden de
+     * llegada.
+     */
+    @Test public void testEmpates() {
+        int n = 500, k = 1 + random.nextInt(100);
+        Etiquetado[] flujo = new Etiquetado[n];
+        SelectorMinimos<Etiquetado> selector = new SelectorMinimos<>(k);
+        for (int i = 0; i < n; i++) {
+            flujo[i] = new Etiquetado(random.nextInt(5), i);
+            selector.agrega(flujo[i]);
+        }
+        // Arrays.sort es estable, así que respeta el orden de llegada.
+        Arrays.sort(flujo);
+        int i = 0;
+        for (Etiquetado e : selector.ordenados()) {
+            Assert.assertTrue(e.valor == flujo[i].valor);
+            Assert.assertTrue(e.etiqueta == flujo[i].etiqueta);
+            i++;
+        }
+        Assert.assertTrue(i == k);
+    }
+
+    /**
+     * Prueba unitaria para {@link SelectorMinimos#admite}: un elemento se
+     * admite justo cuando {@link SelectorMinimos#agrega} lo selecciona.
+     */
+    @Test public void testAdmite() {
+        SelectorMinimos<Integer> selector = new SelectorMinimos<>(10);
+        Assert.assertFalse(selector.admite(null));
+        for (int i = 0; i < 1000; i++) {
+            int e = random.nextInt(100);
+            boolean admite = selector.admite(e);
+            Assert.assertTrue(selector.agrega(e) == admite);
+        }
+        Assert.assertFalse(selector.admite(selector.tope()));
+    }
+}